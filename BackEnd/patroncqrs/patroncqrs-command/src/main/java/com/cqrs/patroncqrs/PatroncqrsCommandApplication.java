@@ -0,0 +1,16 @@
+package com.cqrs.patroncqrs;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Servicio de comandos: altas, modificaciones, bajas, operaciones en bloque, importaciones y archivado.
+ */
+@SpringBootApplication
+public class PatroncqrsCommandApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(PatroncqrsCommandApplication.class, args);
+    }
+
+}
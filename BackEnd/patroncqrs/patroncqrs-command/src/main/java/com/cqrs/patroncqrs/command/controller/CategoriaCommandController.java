@@ -0,0 +1,106 @@
+package com.cqrs.patroncqrs.command.controller;
+
+import com.cqrs.patroncqrs.command.dto.CrearCategoriaCommand;
+import com.cqrs.patroncqrs.command.dto.ResultadoMasivoDTO;
+import com.cqrs.patroncqrs.command.service.CategoriaCommandService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/categorias/commands")
+@CrossOrigin(origins = "*")
+@Tag(name = "Comandos de Categorías", description = "Operaciones de creación, actualización, eliminación y restauración de categorías")
+public class CategoriaCommandController {
+
+    private final CategoriaCommandService commandService;
+
+    @Autowired
+    public CategoriaCommandController(CategoriaCommandService commandService) {
+        this.commandService = commandService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Crear una nueva categoría")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Categoría creada correctamente"),
+            @ApiResponse(responseCode = "400", description = "Datos inválidos"),
+            @ApiResponse(responseCode = "409", description = "Ya existe una categoría activa con el mismo nombre")
+    })
+    public ResponseEntity<Long> crearCategoria(@Valid @RequestBody CrearCategoriaCommand command) {
+        Long categoriaId = commandService.crearCategoria(command);
+        return ResponseEntity.status(201).body(categoriaId);
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Actualizar una categoría existente")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Categoría actualizada correctamente"),
+            @ApiResponse(responseCode = "400", description = "Datos inválidos"),
+            @ApiResponse(responseCode = "404", description = "Categoría no encontrada"),
+            @ApiResponse(responseCode = "409", description = "Ya existe otra categoría activa con el mismo nombre")
+    })
+    public ResponseEntity<Void> actualizarCategoria(
+            @Parameter(description = "ID de la categoría", required = true) @PathVariable Long id,
+            @Valid @RequestBody CrearCategoriaCommand command) {
+        commandService.actualizarCategoria(id, command);
+        return ResponseEntity.ok().build();
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Eliminar lógicamente una categoría")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Categoría eliminada correctamente"),
+            @ApiResponse(responseCode = "404", description = "Categoría no encontrada"),
+            @ApiResponse(responseCode = "409", description = "La categoría ya está eliminada o tiene productos activos")
+    })
+    public ResponseEntity<Void> eliminarCategoria(
+            @Parameter(description = "ID de la categoría", required = true) @PathVariable Long id) {
+        commandService.eliminarCategoria(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}/cascada")
+    @Operation(summary = "Eliminar lógicamente una categoría junto con todos sus productos activos")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Categoría y productos eliminados (cantidad de productos)"),
+            @ApiResponse(responseCode = "404", description = "Categoría no encontrada"),
+            @ApiResponse(responseCode = "409", description = "La categoría ya está eliminada")
+    })
+    public ResponseEntity<ResultadoMasivoDTO> eliminarCategoriaEnCascada(
+            @Parameter(description = "ID de la categoría", required = true) @PathVariable Long id) {
+        return ResponseEntity.ok(commandService.eliminarCategoriaEnCascada(id));
+    }
+
+    @PutMapping("/restaurar/{id}")
+    @Operation(summary = "Restaurar una categoría eliminada")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Categoría restaurada correctamente"),
+            @ApiResponse(responseCode = "404", description = "Categoría no encontrada"),
+            @ApiResponse(responseCode = "409", description = "La categoría no está eliminada o su nombre está en uso")
+    })
+    public ResponseEntity<Void> restaurarCategoria(
+            @Parameter(description = "ID de la categoría", required = true) @PathVariable Long id) {
+        commandService.restaurarCategoria(id);
+        return ResponseEntity.ok().build();
+    }
+
+    @PutMapping("/restaurar/{id}/cascada")
+    @Operation(summary = "Restaurar una categoría y los productos que se eliminaron con ella")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Categoría restaurada (productos restaurados y omitidos por nombre en uso)"),
+            @ApiResponse(responseCode = "404", description = "Categoría no encontrada"),
+            @ApiResponse(responseCode = "409", description = "La categoría no está eliminada o su nombre está en uso")
+    })
+    public ResponseEntity<ResultadoMasivoDTO> restaurarCategoriaEnCascada(
+            @Parameter(description = "ID de la categoría", required = true) @PathVariable Long id) {
+        return ResponseEntity.ok(commandService.restaurarCategoriaEnCascada(id));
+    }
+}
@@ -0,0 +1,46 @@
+package com.cqrs.patroncqrs.command.controller;
+
+import com.cqrs.patroncqrs.command.dto.ErrorDTO;
+import com.cqrs.patroncqrs.domain.exception.CodigoError;
+import com.cqrs.patroncqrs.domain.exception.ConflictoDominioException;
+import com.cqrs.patroncqrs.domain.exception.DominioException;
+import com.cqrs.patroncqrs.domain.exception.EntidadNoEncontradaException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.stream.Collectors;
+
+/**
+ * Traduce las fallas de los comandos a respuestas con código de error.
+ * Las excepciones de dominio son esperadas: no se registran en el log.
+ */
+@RestControllerAdvice(basePackageClasses = CommandExceptionHandler.class)
+public class CommandExceptionHandler {
+
+    @ExceptionHandler(DominioException.class)
+    public ResponseEntity<ErrorDTO> manejarDominio(DominioException e) {
+        return ResponseEntity.status(estado(e)).body(new ErrorDTO(e.getCodigo().name(), e.getMessage()));
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ErrorDTO> manejarValidacion(MethodArgumentNotValidException e) {
+        String detalle = e.getBindingResult().getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .collect(Collectors.joining(", "));
+        CodigoError codigo = CodigoError.DATOS_INVALIDOS;
+        return ResponseEntity.badRequest().body(new ErrorDTO(codigo.name(), codigo.mensaje(detalle)));
+    }
+
+    private HttpStatus estado(DominioException e) {
+        if (e instanceof EntidadNoEncontradaException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (e instanceof ConflictoDominioException) {
+            return HttpStatus.CONFLICT;
+        }
+        return HttpStatus.BAD_REQUEST;
+    }
+}
@@ -0,0 +1,59 @@
+package com.cqrs.patroncqrs.command.controller;
+
+import com.cqrs.patroncqrs.command.service.ImportacionCommandService;
+import com.cqrs.patroncqrs.domain.entity.Importacion;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/api/productos/commands/importaciones")
+@CrossOrigin(origins = "*")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Tag(name = "Importación de Productos", description = "Carga de catálogos de proveedores en CSV o JSON lines")
+public class ImportacionCommandController {
+
+    private final ImportacionCommandService commandService;
+
+    @Autowired
+    public ImportacionCommandController(ImportacionCommandService commandService) {
+        this.commandService = commandService;
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Iniciar la importación de un archivo de productos",
+            description = "Columnas: nombre, descripcion, precio, stock, categoria (nombre de la categoría). "
+                    + "Se procesa en segundo plano; el avance se consulta en /api/productos/queries/importaciones/{id}")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Importación aceptada (devuelve su ID)"),
+            @ApiResponse(responseCode = "400", description = "Formato de archivo desconocido")
+    })
+    public ResponseEntity<Long> iniciarImportacion(
+            @RequestPart("archivo") MultipartFile archivo,
+            @Parameter(description = "Formato del archivo; si se omite, se deduce de la extensión")
+            @RequestParam(required = false) Importacion.Formato formato) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(commandService.iniciarImportacion(archivo, formato));
+    }
+
+    @PostMapping("/{id}/reanudar")
+    @Operation(summary = "Reanudar una importación fallida o interrumpida desde el último lote confirmado")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Importación reanudada"),
+            @ApiResponse(responseCode = "404", description = "Importación no encontrada"),
+            @ApiResponse(responseCode = "409", description = "La importación está en curso o ya terminó")
+    })
+    public ResponseEntity<Void> reanudarImportacion(
+            @Parameter(description = "ID de la importación", required = true) @PathVariable Long id) {
+        commandService.reanudarImportacion(id);
+        return ResponseEntity.accepted().build();
+    }
+}
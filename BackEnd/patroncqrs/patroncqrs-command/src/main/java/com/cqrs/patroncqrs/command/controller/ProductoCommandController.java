@@ -0,0 +1,149 @@
+package com.cqrs.patroncqrs.command.controller;
+
+import com.cqrs.patroncqrs.command.dto.CrearProductoCommand;
+import com.cqrs.patroncqrs.command.dto.FiltroProductosCommand;
+import com.cqrs.patroncqrs.command.dto.MovimientoStockCommand;
+import com.cqrs.patroncqrs.command.dto.ReprecioCommand;
+import com.cqrs.patroncqrs.command.dto.ResultadoMasivoDTO;
+import com.cqrs.patroncqrs.command.dto.ResultadoReprecioDTO;
+import com.cqrs.patroncqrs.command.dto.ResultadoStockDTO;
+import com.cqrs.patroncqrs.command.service.ProductoCommandService;
+import com.cqrs.patroncqrs.command.service.ReprecioCommandService;
+import com.cqrs.patroncqrs.command.service.StockCommandService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/productos/commands")
+@CrossOrigin(origins = "*")
+@Tag(name = "Comandos de Productos", description = "Operaciones para crear, actualizar, eliminar y restaurar productos")
+public class ProductoCommandController {
+
+    private final ProductoCommandService commandService;
+    private final ReprecioCommandService reprecioService;
+    private final StockCommandService stockService;
+
+    @Autowired
+    public ProductoCommandController(ProductoCommandService commandService, ReprecioCommandService reprecioService,
+                                     StockCommandService stockService) {
+        this.commandService = commandService;
+        this.reprecioService = reprecioService;
+        this.stockService = stockService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Crear un nuevo producto")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Producto creado correctamente"),
+            @ApiResponse(responseCode = "400", description = "Datos inválidos"),
+            @ApiResponse(responseCode = "404", description = "Categoría no encontrada"),
+            @ApiResponse(responseCode = "409", description = "Ya existe un producto activo con el mismo nombre")
+    })
+    public ResponseEntity<Long> crearProducto(@Valid @RequestBody CrearProductoCommand command) {
+        Long productoId = commandService.crearProducto(command);
+        return ResponseEntity.status(HttpStatus.CREATED).body(productoId);
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Actualizar un producto existente")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Producto actualizado correctamente"),
+            @ApiResponse(responseCode = "400", description = "Datos inválidos"),
+            @ApiResponse(responseCode = "404", description = "Producto o categoría no encontrados"),
+            @ApiResponse(responseCode = "409", description = "Ya existe otro producto activo con el mismo nombre")
+    })
+    public ResponseEntity<Void> actualizarProducto(
+            @Parameter(description = "ID del producto", required = true) @PathVariable Long id,
+            @Valid @RequestBody CrearProductoCommand command) {
+        commandService.actualizarProducto(id, command);
+        return ResponseEntity.ok().build();
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Eliminar lógicamente un producto")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Producto eliminado correctamente"),
+            @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
+            @ApiResponse(responseCode = "409", description = "El producto ya está eliminado")
+    })
+    public ResponseEntity<Void> eliminarProducto(
+            @Parameter(description = "ID del producto", required = true) @PathVariable Long id) {
+        commandService.eliminarProducto(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/restaurar/{id}")
+    @Operation(summary = "Restaurar un producto eliminado")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Producto restaurado correctamente"),
+            @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
+            @ApiResponse(responseCode = "409", description = "El producto no está eliminado, su nombre está en uso o su categoría está eliminada")
+    })
+    public ResponseEntity<Void> restaurarProducto(
+            @Parameter(description = "ID del producto", required = true) @PathVariable Long id) {
+        commandService.restaurarProducto(id);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/{id}/stock")
+    @Operation(summary = "Registrar una entrada (cantidad positiva) o salida (negativa) de stock",
+            description = "Nunca deja el stock negativo; con escritura diferida la base se actualiza en el próximo volcado")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Movimiento aceptado y stock resultante"),
+            @ApiResponse(responseCode = "400", description = "Cantidad inválida"),
+            @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
+            @ApiResponse(responseCode = "409", description = "Stock insuficiente")
+    })
+    public ResponseEntity<ResultadoStockDTO> moverStock(
+            @Parameter(description = "ID del producto", required = true) @PathVariable Long id,
+            @Valid @RequestBody MovimientoStockCommand command) {
+        return ResponseEntity.ok(stockService.moverStock(id, command.getCantidad()));
+    }
+
+    @DeleteMapping("/masivo")
+    @Operation(summary = "Eliminar lógicamente en bloque los productos que cumplen el filtro",
+            description = "Con la base dividida en shards el filtro tiene que indicar la categoría")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Productos eliminados (cantidad y secuencia de cambio)"),
+            @ApiResponse(responseCode = "400", description = "Filtro vacío o inválido, o sin categoría con shards")
+    })
+    public ResponseEntity<ResultadoMasivoDTO> eliminarProductos(@Valid @ParameterObject FiltroProductosCommand filtro) {
+        return ResponseEntity.ok(commandService.eliminarProductos(filtro));
+    }
+
+    @PutMapping("/restaurar/masivo")
+    @Operation(summary = "Restaurar en bloque los productos eliminados que cumplen el filtro",
+            description = "Solo se restauran productos con categoría activa; los que tienen el nombre en uso se omiten. "
+                    + "Con la base dividida en shards el filtro tiene que indicar la categoría")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Productos restaurados y omitidos"),
+            @ApiResponse(responseCode = "400", description = "Filtro vacío o inválido, o sin categoría con shards")
+    })
+    public ResponseEntity<ResultadoMasivoDTO> restaurarProductos(@Valid @ParameterObject FiltroProductosCommand filtro) {
+        return ResponseEntity.ok(commandService.restaurarProductos(filtro));
+    }
+
+    @PostMapping("/reprecio")
+    @Operation(summary = "Cambiar en bloque el precio de los productos que cumplen el filtro",
+            description = "Porcentaje o monto fijo con redondeo, aplicado por lotes en segundo plano; con simulacion=true solo informa el resultado. "
+                    + "Con la base dividida en shards el filtro tiene que indicar la categoría")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Simulación: productos que se modificarían y muestra de precios"),
+            @ApiResponse(responseCode = "202", description = "Cambio aceptado: productos que se modificarán y muestra de precios"),
+            @ApiResponse(responseCode = "400", description = "Datos inválidos, filtro vacío o sin categoría con shards"),
+            @ApiResponse(responseCode = "409", description = "Ya hay un cambio de precios en curso")
+    })
+    public ResponseEntity<ResultadoReprecioDTO> repreciar(@Valid @RequestBody ReprecioCommand command) {
+        ResultadoReprecioDTO resultado = reprecioService.repreciar(command);
+        return ResponseEntity.status(resultado.isSimulacion() ? HttpStatus.OK : HttpStatus.ACCEPTED).body(resultado);
+    }
+}
@@ -0,0 +1,17 @@
+package com.cqrs.patroncqrs.command.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CambioPrecioDTO {
+
+    private Long id;
+    private String nombre;
+    private Double precioAnterior;
+
+    // Nulo si el resultado no es un precio válido (el producto se omite)
+    private Double precioNuevo;
+}
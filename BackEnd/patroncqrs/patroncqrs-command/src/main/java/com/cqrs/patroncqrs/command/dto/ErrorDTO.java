@@ -0,0 +1,18 @@
+package com.cqrs.patroncqrs.command.dto;
+
+import lombok.*;
+
+/**
+ * Cuerpo de las respuestas de error de los comandos.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorDTO {
+
+    // Código estable para que los clientes distingan la falla (ver CodigoError)
+    private String codigo;
+
+    private String mensaje;
+}
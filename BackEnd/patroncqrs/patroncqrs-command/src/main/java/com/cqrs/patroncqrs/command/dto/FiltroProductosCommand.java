@@ -0,0 +1,39 @@
+package com.cqrs.patroncqrs.command.dto;
+
+import lombok.*;
+import jakarta.validation.constraints.*;
+
+/**
+ * Criterios de las eliminaciones y restauraciones en bloque de productos.
+ * Los criterios nulos no filtran; se exige al menos uno.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class FiltroProductosCommand {
+
+    private Long categoriaId;
+
+    @DecimalMin(value = "0.0", message = "El precio mínimo no puede ser negativo")
+    private Double precioMin;
+
+    @DecimalMin(value = "0.0", message = "El precio máximo no puede ser negativo")
+    private Double precioMax;
+
+    @Min(value = 0, message = "El stock mínimo no puede ser negativo")
+    private Integer stockMin;
+
+    @Min(value = 0, message = "El stock máximo no puede ser negativo")
+    private Integer stockMax;
+
+    public static FiltroProductosCommand deCategoria(Long categoriaId) {
+        FiltroProductosCommand filtro = new FiltroProductosCommand();
+        filtro.setCategoriaId(categoriaId);
+        return filtro;
+    }
+
+    public boolean estaVacio() {
+        return categoriaId == null && precioMin == null && precioMax == null && stockMin == null && stockMax == null;
+    }
+}
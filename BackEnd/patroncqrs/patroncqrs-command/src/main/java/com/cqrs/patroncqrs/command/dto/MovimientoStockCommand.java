@@ -0,0 +1,17 @@
+package com.cqrs.patroncqrs.command.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+/**
+ * Entrada (cantidad positiva) o salida (negativa) de stock de un producto.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MovimientoStockCommand {
+
+    @NotNull(message = "La cantidad es obligatoria")
+    private Integer cantidad;
+}
@@ -0,0 +1,57 @@
+package com.cqrs.patroncqrs.command.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+/**
+ * Cambio de precio en bloque para los productos activos que cumplen el filtro.
+ * El precio nuevo es {@code redondeo(precio * (1 + valor / 100))} para PORCENTAJE
+ * y {@code redondeo(precio + valor)} para ABSOLUTO.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReprecioCommand {
+
+    public enum Tipo {
+        PORCENTAJE,
+        ABSOLUTO
+    }
+
+    /**
+     * Redondeo al múltiplo de {@code paso} más cercano, restando {@code ajuste} al final
+     * (TERMINADO_EN_99: 12.30 pasa a 11.99 y 12.70 a 12.99).
+     */
+    @Getter
+    public enum Redondeo {
+        CENTAVO(0.01, 0),
+        DIEZ_CENTAVOS(0.10, 0),
+        ENTERO(1, 0),
+        TERMINADO_EN_99(1, 0.01);
+
+        private final double paso;
+        private final double ajuste;
+
+        Redondeo(double paso, double ajuste) {
+            this.paso = paso;
+            this.ajuste = ajuste;
+        }
+    }
+
+    @Valid
+    @NotNull(message = "El filtro es obligatorio")
+    private FiltroProductosCommand filtro;
+
+    @NotNull(message = "El tipo de cambio es obligatorio")
+    private Tipo tipo;
+
+    @NotNull(message = "El valor del cambio es obligatorio")
+    private Double valor;
+
+    private Redondeo redondeo = Redondeo.CENTAVO;
+
+    // Solo calcular y mostrar el resultado, sin modificar precios
+    private boolean simulacion;
+}
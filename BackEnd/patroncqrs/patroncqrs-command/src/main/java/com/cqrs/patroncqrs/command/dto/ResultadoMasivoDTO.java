@@ -0,0 +1,22 @@
+package com.cqrs.patroncqrs.command.dto;
+
+import lombok.*;
+
+/**
+ * Resultado de una eliminación o restauración en bloque.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoMasivoDTO {
+
+    // Productos eliminados o restaurados
+    private int afectados;
+
+    // Productos que no se restauraron porque su nombre ya está en uso por otro activo
+    private int omitidos;
+
+    // Secuencia de cambio con la que quedaron marcadas las filas (para la sincronización incremental)
+    private Long secuenciaCambio;
+}
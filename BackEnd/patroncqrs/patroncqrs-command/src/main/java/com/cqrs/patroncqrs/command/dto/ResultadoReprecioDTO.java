@@ -0,0 +1,33 @@
+package com.cqrs.patroncqrs.command.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Resultado de un cambio de precios en bloque (o de su simulación). El cambio real corre en segundo plano:
+ * las cantidades son las que cumplían el filtro al aceptarlo.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoReprecioDTO {
+
+    private boolean simulacion;
+
+    // Productos cuyo precio se modificará
+    private int afectados;
+
+    // Productos que cumplen el filtro pero cuyo precio nuevo no sería mayor a 0
+    private int omitidos;
+
+    // Transacciones usadas (0: los lotes todavía no corrieron)
+    private int lotes;
+
+    // Secuencia de cambio del último lote (nula mientras los lotes no corrieron)
+    private Long secuenciaCambio;
+
+    // Primeros productos por ID con el precio anterior y el nuevo
+    private List<CambioPrecioDTO> muestra;
+}
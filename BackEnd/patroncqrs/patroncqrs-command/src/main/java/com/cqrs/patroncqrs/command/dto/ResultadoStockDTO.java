@@ -0,0 +1,20 @@
+package com.cqrs.patroncqrs.command.dto;
+
+import lombok.*;
+
+/**
+ * Stock de un producto después de un movimiento.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoStockDTO {
+
+    private Long id;
+
+    // Con escritura diferida es el stock disponible en memoria: la base lo refleja en el próximo volcado
+    private Long stock;
+
+    private boolean diferido;
+}
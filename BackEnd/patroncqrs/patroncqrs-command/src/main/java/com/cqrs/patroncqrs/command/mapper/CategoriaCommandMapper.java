@@ -18,6 +18,9 @@ public interface CategoriaCommandMapper {
     @Mapping(target = "nombre", source = "nombre")
     @Mapping(target = "descripcion", source = "descripcion")
     @Mapping(target = "eliminado", constant = "false")
+    @Mapping(target = "fechaEliminacion", ignore = true)
+    @Mapping(target = "nombreActivo", ignore = true)
+    @Mapping(target = "secuenciaCambio", ignore = true)
     Categoria toEntity(CrearCategoriaCommand command);
 
     /**
@@ -27,6 +30,9 @@ public interface CategoriaCommandMapper {
     @Mapping(target = "nombre", source = "nombre")
     @Mapping(target = "descripcion", source = "descripcion")
     @Mapping(target = "eliminado", ignore = true)
+    @Mapping(target = "fechaEliminacion", ignore = true)
+    @Mapping(target = "nombreActivo", ignore = true)
+    @Mapping(target = "secuenciaCambio", ignore = true)
     void updateEntity(@MappingTarget Categoria categoria, CrearCategoriaCommand command);
 
 
@@ -3,6 +3,7 @@ package com.cqrs.patroncqrs.command.mapper;
 import com.cqrs.patroncqrs.command.dto.CrearProductoCommand;
 import com.cqrs.patroncqrs.domain.entity.Categoria;
 import com.cqrs.patroncqrs.domain.entity.Producto;
+import com.cqrs.patroncqrs.domain.exception.ValidacionDominioException;
 import org.mapstruct.*;
 
 @Mapper(
@@ -59,11 +60,11 @@ public interface ProductoCommandMapper {
 
         // Validaciones adicionales si son necesarias
         if (producto.getPrecio() != null && producto.getPrecio() <= 0) {
-            throw new IllegalArgumentException("El precio debe ser mayor a cero");
+            throw new ValidacionDominioException("El precio debe ser mayor a cero");
         }
 
         if (producto.getStock() != null && producto.getStock() < 0) {
-            throw new IllegalArgumentException("El stock no puede ser negativo");
+            throw new ValidacionDominioException("El stock no puede ser negativo");
         }
 
         return producto;
@@ -0,0 +1,84 @@
+package com.cqrs.patroncqrs.command.scheduler;
+
+import com.cqrs.patroncqrs.command.service.ArchivadoCommandService;
+import com.cqrs.patroncqrs.infrastructure.shard.Shards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.BiFunction;
+
+/**
+ * Ejecuta el archivado por lotes dentro de la ventana de baja demanda configurada.
+ * Se autolimita por tamaño de lote, pausa entre lotes y duración máxima de la corrida.
+ * Con shards recorre uno tras otro: cada lote se archiva dentro de su shard.
+ */
+@Component
+@ConditionalOnProperty(name = "app.archivado.habilitado", havingValue = "true", matchIfMissing = true)
+public class ArchivadoScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchivadoScheduler.class);
+
+    private final ArchivadoCommandService archivadoService;
+    private final Shards shards;
+    private final int retencionDias;
+    private final int tamanioLote;
+    private final long pausaEntreLotesMs;
+    private final Duration duracionMaxima;
+
+    @Autowired
+    public ArchivadoScheduler(ArchivadoCommandService archivadoService,
+                              Shards shards,
+                              @Value("${app.archivado.retencion-dias:90}") int retencionDias,
+                              @Value("${app.archivado.tamanio-lote:500}") int tamanioLote,
+                              @Value("${app.archivado.pausa-entre-lotes-ms:200}") long pausaEntreLotesMs,
+                              @Value("${app.archivado.duracion-maxima-minutos:60}") long duracionMaximaMinutos) {
+        this.archivadoService = archivadoService;
+        this.shards = shards;
+        this.retencionDias = retencionDias;
+        this.tamanioLote = tamanioLote;
+        this.pausaEntreLotesMs = pausaEntreLotesMs;
+        this.duracionMaxima = Duration.ofMinutes(duracionMaximaMinutos);
+    }
+
+    @Scheduled(cron = "${app.archivado.cron:0 0 3 * * *}")
+    public void archivar() {
+        LocalDateTime limite = LocalDateTime.now().minusDays(retencionDias);
+        LocalDateTime fin = LocalDateTime.now().plus(duracionMaxima);
+
+        int productos = 0;
+        int categorias = 0;
+        for (int shard = 0; shard < shards.cantidad(); shard++) {
+            // Primero los productos, así las categorías quedan libres de referencias
+            productos += shards.ejecutarEn(shard, () -> archivarPorLotes(archivadoService::archivarLoteProductos, limite, fin));
+            categorias += shards.ejecutarEn(shard, () -> archivarPorLotes(archivadoService::archivarLoteCategorias, limite, fin));
+        }
+
+        log.info("Archivado finalizado: {} productos y {} categorías movidos al archivo", productos, categorias);
+    }
+
+    private int archivarPorLotes(BiFunction<LocalDateTime, Integer, Integer> lote,
+                                 LocalDateTime limite, LocalDateTime fin) {
+        int total = 0;
+        while (LocalDateTime.now().isBefore(fin)) {
+            int movidos = lote.apply(limite, tamanioLote);
+            total += movidos;
+            if (movidos < tamanioLote) {
+                break;
+            }
+            try {
+                Thread.sleep(pausaEntreLotesMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return total;
+    }
+}
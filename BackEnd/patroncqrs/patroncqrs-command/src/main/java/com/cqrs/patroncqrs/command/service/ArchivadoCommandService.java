@@ -0,0 +1,8 @@
+package com.cqrs.patroncqrs.command.service;
+
+import java.time.LocalDateTime;
+
+public interface ArchivadoCommandService {
+    int archivarLoteProductos(LocalDateTime limite, int tamanioLote);
+    int archivarLoteCategorias(LocalDateTime limite, int tamanioLote);
+}
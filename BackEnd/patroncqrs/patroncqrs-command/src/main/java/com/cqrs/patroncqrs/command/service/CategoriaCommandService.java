@@ -1,6 +1,7 @@
 package com.cqrs.patroncqrs.command.service;
 
 import com.cqrs.patroncqrs.command.dto.CrearCategoriaCommand;
+import com.cqrs.patroncqrs.command.dto.ResultadoMasivoDTO;
 import jakarta.validation.constraints.*;
 
 public interface CategoriaCommandService {
@@ -9,4 +10,6 @@ public interface CategoriaCommandService {
     void actualizarCategoria(Long id, CrearCategoriaCommand command);
     void eliminarCategoria(Long id);
     void restaurarCategoria(Long id);
+    ResultadoMasivoDTO eliminarCategoriaEnCascada(Long id);
+    ResultadoMasivoDTO restaurarCategoriaEnCascada(Long id);
 }
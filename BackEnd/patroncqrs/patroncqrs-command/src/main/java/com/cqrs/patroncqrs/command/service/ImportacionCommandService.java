@@ -0,0 +1,9 @@
+package com.cqrs.patroncqrs.command.service;
+
+import com.cqrs.patroncqrs.domain.entity.Importacion;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface ImportacionCommandService {
+    Long iniciarImportacion(MultipartFile archivo, Importacion.Formato formato);
+    void reanudarImportacion(Long id);
+}
@@ -0,0 +1,15 @@
+package com.cqrs.patroncqrs.command.service;
+
+import com.cqrs.patroncqrs.command.dto.CrearProductoCommand;
+import com.cqrs.patroncqrs.command.dto.FiltroProductosCommand;
+import com.cqrs.patroncqrs.command.dto.ResultadoMasivoDTO;
+
+public interface ProductoCommandService {
+    Long crearProducto(CrearProductoCommand command);
+    void actualizarProducto(Long id, CrearProductoCommand command);
+    void eliminarProducto(Long id);
+    void restaurarProducto(Long id);
+    ResultadoMasivoDTO eliminarProductos(FiltroProductosCommand filtro);
+    ResultadoMasivoDTO restaurarProductos(FiltroProductosCommand filtro);
+    ResultadoMasivoDTO restaurarProductosEliminadosConCategoria(Long categoriaId, Long secuenciaEliminacion);
+}
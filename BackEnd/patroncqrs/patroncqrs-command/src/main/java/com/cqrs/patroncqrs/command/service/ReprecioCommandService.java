@@ -0,0 +1,8 @@
+package com.cqrs.patroncqrs.command.service;
+
+import com.cqrs.patroncqrs.command.dto.ReprecioCommand;
+import com.cqrs.patroncqrs.command.dto.ResultadoReprecioDTO;
+
+public interface ReprecioCommandService {
+    ResultadoReprecioDTO repreciar(ReprecioCommand command);
+}
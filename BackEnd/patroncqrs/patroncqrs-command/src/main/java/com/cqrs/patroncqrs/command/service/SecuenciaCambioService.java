@@ -0,0 +1,5 @@
+package com.cqrs.patroncqrs.command.service;
+
+public interface SecuenciaCambioService {
+    Long siguiente();
+}
@@ -0,0 +1,7 @@
+package com.cqrs.patroncqrs.command.service;
+
+import com.cqrs.patroncqrs.command.dto.ResultadoStockDTO;
+
+public interface StockCommandService {
+    ResultadoStockDTO moverStock(Long id, int cantidad);
+}
@@ -0,0 +1,61 @@
+package com.cqrs.patroncqrs.command.service.impl;
+
+import com.cqrs.patroncqrs.command.service.ArchivadoCommandService;
+import com.cqrs.patroncqrs.repository.CategoriaArchivadaRepository;
+import com.cqrs.patroncqrs.repository.CategoriaRepository;
+import com.cqrs.patroncqrs.repository.ProductoArchivadoRepository;
+import com.cqrs.patroncqrs.repository.ProductoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Mueve filas eliminadas hace más tiempo que la retención a las tablas de archivo.
+ * Cada llamada procesa un único lote en su propia transacción para mantener cortos los bloqueos.
+ */
+@Service
+@Transactional
+public class ArchivadoCommandServiceImpl implements ArchivadoCommandService {
+
+    private final ProductoRepository productoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final ProductoArchivadoRepository productoArchivadoRepository;
+    private final CategoriaArchivadaRepository categoriaArchivadaRepository;
+
+    @Autowired
+    public ArchivadoCommandServiceImpl(ProductoRepository productoRepository,
+                                       CategoriaRepository categoriaRepository,
+                                       ProductoArchivadoRepository productoArchivadoRepository,
+                                       CategoriaArchivadaRepository categoriaArchivadaRepository) {
+        this.productoRepository = productoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.productoArchivadoRepository = productoArchivadoRepository;
+        this.categoriaArchivadaRepository = categoriaArchivadaRepository;
+    }
+
+    @Override
+    public int archivarLoteProductos(LocalDateTime limite, int tamanioLote) {
+        List<Long> ids = productoRepository.findIdsEliminadosAntesDe(limite, tamanioLote);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // Copiar al archivo y recién después borrar de la tabla principal
+        productoArchivadoRepository.archivar(ids);
+        return productoRepository.deleteEliminadosByIdIn(ids);
+    }
+
+    @Override
+    public int archivarLoteCategorias(LocalDateTime limite, int tamanioLote) {
+        List<Long> ids = categoriaRepository.findIdsArchivablesAntesDe(limite, tamanioLote);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        categoriaArchivadaRepository.archivar(ids);
+        return categoriaRepository.deleteEliminadasByIdIn(ids);
+    }
+}
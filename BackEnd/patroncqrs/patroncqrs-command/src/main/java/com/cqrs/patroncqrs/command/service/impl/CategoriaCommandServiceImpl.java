@@ -0,0 +1,231 @@
+package com.cqrs.patroncqrs.command.service.impl;
+
+import com.cqrs.patroncqrs.command.dto.CrearCategoriaCommand;
+import com.cqrs.patroncqrs.command.dto.FiltroProductosCommand;
+import com.cqrs.patroncqrs.command.dto.ResultadoMasivoDTO;
+import com.cqrs.patroncqrs.command.mapper.CategoriaCommandMapper;
+import com.cqrs.patroncqrs.command.service.CategoriaCommandService;
+import com.cqrs.patroncqrs.command.service.ProductoCommandService;
+import com.cqrs.patroncqrs.command.service.SecuenciaCambioService;
+import com.cqrs.patroncqrs.domain.entity.Categoria;
+import com.cqrs.patroncqrs.domain.event.CambioCatalogoEvent;
+import com.cqrs.patroncqrs.domain.exception.CodigoError;
+import com.cqrs.patroncqrs.domain.exception.ConflictoDominioException;
+import com.cqrs.patroncqrs.domain.exception.EntidadNoEncontradaException;
+import com.cqrs.patroncqrs.infrastructure.nombres.NombreNormalizado;
+import com.cqrs.patroncqrs.infrastructure.nombres.RegistroNombres;
+import com.cqrs.patroncqrs.infrastructure.shard.EnShard;
+import com.cqrs.patroncqrs.repository.CategoriaArchivadaRepository;
+import com.cqrs.patroncqrs.repository.CategoriaRepository;
+import com.cqrs.patroncqrs.repository.ProductoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Supplier;
+
+@Service
+@Transactional
+public class CategoriaCommandServiceImpl implements CategoriaCommandService {
+
+    private final CategoriaRepository categoriaRepository;
+    private final ProductoRepository productoRepository;
+    private final CategoriaArchivadaRepository categoriaArchivadaRepository;
+    private final CategoriaCommandMapper mapper;
+    private final SecuenciaCambioService secuenciaCambioService;
+    private final ProductoCommandService productoCommandService;
+    private final RegistroNombres registroNombres;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public CategoriaCommandServiceImpl(CategoriaRepository categoriaRepository,
+                                       ProductoRepository productoRepository,
+                                       CategoriaArchivadaRepository categoriaArchivadaRepository,
+                                       CategoriaCommandMapper mapper,
+                                       SecuenciaCambioService secuenciaCambioService,
+                                       ProductoCommandService productoCommandService,
+                                       @Qualifier("registroNombresCategorias") RegistroNombres registroNombres,
+                                       ApplicationEventPublisher eventPublisher) {
+        this.categoriaRepository = categoriaRepository;
+        this.productoRepository = productoRepository;
+        this.categoriaArchivadaRepository = categoriaArchivadaRepository;
+        this.mapper = mapper;
+        this.secuenciaCambioService = secuenciaCambioService;
+        this.productoCommandService = productoCommandService;
+        this.registroNombres = registroNombres;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @EnShard("#command.nombre")
+    public Long crearCategoria(CrearCategoriaCommand command) {
+        // Reservar el nombre: falla si ya existe una categoría activa con el mismo nombre
+        String nombreActivo = reservarNombre(command.getNombre());
+
+        // Usar MapStruct para crear la categoría
+        Categoria categoria = mapper.toEntity(command);
+        categoria.setNombreActivo(nombreActivo);
+        categoria.setSecuenciaCambio(secuenciaCambioService.siguiente());
+        Categoria categoriaGuardada = conNombreUnico(command.getNombre(), () -> categoriaRepository.saveAndFlush(categoria));
+        publicarCambio(categoriaGuardada.getId(), CambioCatalogoEvent.Operacion.UPSERT);
+
+        return categoriaGuardada.getId();
+    }
+
+    @Override
+    @EnShard("#id")
+    public void actualizarCategoria(Long id, CrearCategoriaCommand command) {
+        // Buscar la categoría existente (solo activas)
+        Categoria categoria = categoriaRepository.findById(id)
+                .orElseThrow(() -> EntidadNoEncontradaException.categoria(id));
+
+        // Si cambia el nombre, reservar el nuevo y liberar el anterior al confirmar
+        String nombreActivo = NombreNormalizado.de(command.getNombre());
+        if (!nombreActivo.equals(categoria.getNombreActivo())) {
+            reservarNombre(command.getNombre());
+            liberarNombre(categoria.getNombreActivo());
+        }
+
+        // Usar MapStruct para actualizar la categoría
+        boolean cambiaNombre = !categoria.getNombre().equals(command.getNombre());
+        mapper.updateEntity(categoria, command);
+        Long secuencia = secuenciaCambioService.siguiente();
+        categoria.setNombreActivo(nombreActivo);
+        categoria.setSecuenciaCambio(secuencia);
+        conNombreUnico(command.getNombre(), () -> categoriaRepository.saveAndFlush(categoria));
+
+        // Los productos exponen el nombre de su categoría: también cambian para la sincronización
+        if (cambiaNombre) {
+            productoRepository.marcarCambioPorCategoriaId(id, secuencia);
+        }
+        publicarCambio(id, CambioCatalogoEvent.Operacion.UPSERT);
+    }
+
+    @Override
+    @EnShard("#id")
+    public void eliminarCategoria(Long id) {
+        Categoria categoria = buscarParaEliminar(id);
+
+        // Verificar que no tiene productos activos asociados
+        Long productosActivos = productoRepository.countActiveByCategoriaId(id);
+        if (productosActivos > 0) {
+            throw new ConflictoDominioException(CodigoError.CATEGORIA_CON_PRODUCTOS_ACTIVOS, productosActivos);
+        }
+
+        // Realizar soft delete (el nombre queda libre al confirmar)
+        categoriaRepository.softDeleteById(id, secuenciaCambioService.siguiente());
+        liberarNombre(categoria.getNombreActivo());
+        publicarCambio(id, CambioCatalogoEvent.Operacion.ELIMINACION);
+    }
+
+    @Override
+    @EnShard("#id")
+    public ResultadoMasivoDTO eliminarCategoriaEnCascada(Long id) {
+        Categoria categoria = buscarParaEliminar(id);
+
+        // Productos y categoría quedan con la misma secuencia: así la restauración en cascada sabe cuáles devolver
+        ResultadoMasivoDTO productos = productoCommandService.eliminarProductos(FiltroProductosCommand.deCategoria(id));
+        categoriaRepository.softDeleteById(id, productos.getSecuenciaCambio());
+        liberarNombre(categoria.getNombreActivo());
+        publicarCambio(id, CambioCatalogoEvent.Operacion.ELIMINACION);
+        return productos;
+    }
+
+    @Override
+    @EnShard("#id")
+    public void restaurarCategoria(Long id) {
+        restaurar(id);
+    }
+
+    @Override
+    @EnShard("#id")
+    public ResultadoMasivoDTO restaurarCategoriaEnCascada(Long id) {
+        // Solo vuelven los productos eliminados junto con la categoría, no los que ya estaban eliminados antes
+        Long secuenciaEliminacion = restaurar(id);
+        return productoCommandService.restaurarProductosEliminadosConCategoria(id, secuenciaEliminacion);
+    }
+
+    private Categoria buscarParaEliminar(Long id) {
+        // Verificar que la categoría existe (incluyendo eliminadas)
+        if (!categoriaRepository.existsByIdIncludingDeleted(id)) {
+            if (categoriaArchivadaRepository.existsById(id)) {
+                throw new ConflictoDominioException(CodigoError.CATEGORIA_YA_ELIMINADA, id);
+            }
+            throw EntidadNoEncontradaException.categoria(id);
+        }
+
+        // Verificar que la categoría no está ya eliminada
+        return categoriaRepository.findById(id)
+                .orElseThrow(() -> new ConflictoDominioException(CodigoError.CATEGORIA_YA_ELIMINADA, id));
+    }
+
+    // Devuelve la secuencia con la que se había eliminado la categoría
+    private Long restaurar(Long id) {
+        // Verificar que la categoría existe; si fue archivada, devolverla a la tabla principal
+        if (!categoriaRepository.existsByIdIncludingDeleted(id)) {
+            if (!categoriaArchivadaRepository.existsById(id)) {
+                throw EntidadNoEncontradaException.categoria(id);
+            }
+            categoriaArchivadaRepository.desarchivar(id);
+            categoriaArchivadaRepository.deleteArchivadaById(id);
+        }
+
+        // Buscar la categoría incluyendo eliminadas
+        Categoria categoria = categoriaRepository.findByIdIncludingDeleted(id)
+                .orElseThrow(() -> EntidadNoEncontradaException.categoria(id));
+
+        // Verificar que está eliminada
+        if (!categoria.getEliminado()) {
+            throw new ConflictoDominioException(CodigoError.CATEGORIA_NO_ELIMINADA, id);
+        }
+
+        // Reservar el nombre: falla si ya existe otra categoría activa con el mismo nombre
+        String nombreActivo = reservarNombre(categoria.getNombre());
+
+        // Restaurar categoría
+        conNombreUnico(categoria.getNombre(), () -> {
+            categoriaRepository.restoreById(id, nombreActivo, secuenciaCambioService.siguiente());
+            return null;
+        });
+        publicarCambio(id, CambioCatalogoEvent.Operacion.UPSERT);
+        return categoria.getSecuenciaCambio();
+    }
+
+    private String reservarNombre(String nombre) {
+        String nombreActivo = NombreNormalizado.de(nombre);
+        if (!registroNombres.reservar(nombreActivo)) {
+            throw new ConflictoDominioException(CodigoError.CATEGORIA_NOMBRE_DUPLICADO, nombre);
+        }
+        return nombreActivo;
+    }
+
+    private void liberarNombre(String nombreActivo) {
+        if (nombreActivo != null) {
+            registroNombres.liberar(nombreActivo);
+        }
+    }
+
+    // La restricción única de la base cubre lo que el registro local no ve (por ejemplo, otra instancia)
+    private <T> T conNombreUnico(String nombre, Supplier<T> escritura) {
+        try {
+            return escritura.get();
+        } catch (DataIntegrityViolationException e) {
+            if (esConflictoDeNombre(e)) {
+                throw new ConflictoDominioException(CodigoError.CATEGORIA_NOMBRE_DUPLICADO, nombre);
+            }
+            throw e;
+        }
+    }
+
+    private boolean esConflictoDeNombre(DataIntegrityViolationException e) {
+        String mensaje = e.getMostSpecificCause().getMessage();
+        return mensaje != null && mensaje.toLowerCase().contains("uk_categorias_nombre_activo");
+    }
+
+    private void publicarCambio(Long id, CambioCatalogoEvent.Operacion operacion) {
+        eventPublisher.publishEvent(new CambioCatalogoEvent(CambioCatalogoEvent.Entidad.CATEGORIA, operacion, id));
+    }
+}
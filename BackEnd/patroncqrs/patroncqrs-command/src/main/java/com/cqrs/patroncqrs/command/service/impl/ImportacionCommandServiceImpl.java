@@ -0,0 +1,413 @@
+package com.cqrs.patroncqrs.command.service.impl;
+
+import com.cqrs.patroncqrs.command.dto.CrearProductoCommand;
+import com.cqrs.patroncqrs.command.mapper.ProductoCommandMapper;
+import com.cqrs.patroncqrs.command.service.ImportacionCommandService;
+import com.cqrs.patroncqrs.command.service.SecuenciaCambioService;
+import com.cqrs.patroncqrs.domain.entity.Importacion;
+import com.cqrs.patroncqrs.domain.entity.ImportacionRechazo;
+import com.cqrs.patroncqrs.domain.entity.Producto;
+import com.cqrs.patroncqrs.domain.event.CambioCatalogoEvent;
+import com.cqrs.patroncqrs.domain.exception.CodigoError;
+import com.cqrs.patroncqrs.domain.exception.ConflictoDominioException;
+import com.cqrs.patroncqrs.domain.exception.EntidadNoEncontradaException;
+import com.cqrs.patroncqrs.domain.exception.ValidacionDominioException;
+import com.cqrs.patroncqrs.infrastructure.importacion.LectorRegistros;
+import com.cqrs.patroncqrs.infrastructure.importacion.RegistroImportacion;
+import com.cqrs.patroncqrs.infrastructure.nodo.IdentidadNodo;
+import com.cqrs.patroncqrs.infrastructure.nombres.NombreNormalizado;
+import com.cqrs.patroncqrs.infrastructure.nombres.RegistroNombres;
+import com.cqrs.patroncqrs.infrastructure.shard.Shards;
+import com.cqrs.patroncqrs.repository.CategoriaRepository;
+import com.cqrs.patroncqrs.repository.ImportacionRechazoRepository;
+import com.cqrs.patroncqrs.repository.ImportacionRepository;
+import com.cqrs.patroncqrs.repository.ProductoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Importación de catálogos de proveedores. El archivo se guarda en disco y se lee como flujo;
+ * cada lote se valida en paralelo (fuera de la transacción) y se confirma en una transacción
+ * corta junto con sus rechazos y el avance del punto de control. Si la importación se corta,
+ * al reanudarla se saltean los registros ya confirmados.
+ * Las importaciones se ejecutan de a una, en orden de llegada, en el nodo que recibió el archivo.
+ * Solo otro nodo que vea el mismo app.importacion.directorio (un volumen compartido) puede reanudarlas.
+ * Con la base dividida en shards no están disponibles: cada lote mezcla productos de categorías de
+ * shards distintos.
+ */
+@Service
+public class ImportacionCommandServiceImpl implements ImportacionCommandService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacionCommandServiceImpl.class);
+
+    private final ImportacionRepository importacionRepository;
+    private final ImportacionRechazoRepository rechazoRepository;
+    private final ProductoRepository productoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final ProductoCommandMapper mapper;
+    private final SecuenciaCambioService secuenciaCambioService;
+    private final RegistroNombres registroNombres;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaccion;
+    private final Shards shards;
+    private final String nodo;
+    private final Path directorio;
+    private final int tamanioLote;
+
+    private final ExecutorService ejecucion = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "importacion");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private final ForkJoinPool validacion;
+
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private final Counter importados;
+    private final Counter rechazados;
+    private final Timer duracionLote;
+
+    @Autowired
+    public ImportacionCommandServiceImpl(ImportacionRepository importacionRepository,
+                                         ImportacionRechazoRepository rechazoRepository,
+                                         ProductoRepository productoRepository,
+                                         CategoriaRepository categoriaRepository,
+                                         ProductoCommandMapper mapper,
+                                         SecuenciaCambioService secuenciaCambioService,
+                                         @Qualifier("registroNombresProductos") RegistroNombres registroNombres,
+                                         Validator validator,
+                                         ObjectMapper objectMapper,
+                                         ApplicationEventPublisher eventPublisher,
+                                         PlatformTransactionManager transactionManager,
+                                         MeterRegistry meterRegistry,
+                                         Shards shards,
+                                         IdentidadNodo identidadNodo,
+                                         @Value("${app.importacion.directorio:${java.io.tmpdir}/patroncqrs-importaciones}") String directorio,
+                                         @Value("${app.importacion.tamanio-lote:1000}") int tamanioLote,
+                                         @Value("${app.importacion.hilos-validacion:4}") int hilosValidacion) throws IOException {
+        this.importacionRepository = importacionRepository;
+        this.rechazoRepository = rechazoRepository;
+        this.productoRepository = productoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.mapper = mapper;
+        this.secuenciaCambioService = secuenciaCambioService;
+        this.registroNombres = registroNombres;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.shards = shards;
+        this.nodo = identidadNodo.id();
+        this.directorio = Files.createDirectories(Paths.get(directorio));
+        this.tamanioLote = tamanioLote;
+        this.validacion = new ForkJoinPool(hilosValidacion);
+
+        this.importados = Counter.builder("importacion.registros").tag("resultado", "importado").register(meterRegistry);
+        this.rechazados = Counter.builder("importacion.registros").tag("resultado", "rechazado").register(meterRegistry);
+        this.duracionLote = Timer.builder("importacion.lote").register(meterRegistry);
+        Gauge.builder("importacion.en.curso", enCurso, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @Override
+    public Long iniciarImportacion(MultipartFile archivo, Importacion.Formato formato) {
+        validarSinShards();
+        String nombre = archivo.getOriginalFilename() != null ? archivo.getOriginalFilename() : "importacion";
+        Importacion.Formato formatoArchivo = formato != null ? formato : formatoPorExtension(nombre);
+
+        Importacion importacion = new Importacion();
+        importacion.setArchivo(nombre);
+        importacion.setFormato(formatoArchivo);
+        importacion.setNodo(nodo);
+        importacion = importacionRepository.save(importacion);
+
+        // La subida ya está en un temporal de disco: se mueve al directorio de importaciones
+        Path destino = directorio.resolve("importacion-" + importacion.getId() + "." + formatoArchivo.name().toLowerCase());
+        try {
+            archivo.transferTo(destino);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo guardar el archivo de la importación " + importacion.getId(), e);
+        }
+        importacion.setRuta(destino.toString());
+        importacionRepository.save(importacion);
+
+        Long id = importacion.getId();
+        ejecucion.execute(() -> procesar(id));
+        return id;
+    }
+
+    @Override
+    public void reanudarImportacion(Long id) {
+        validarSinShards();
+        Importacion importacion = importacionRepository.findById(id)
+                .orElseThrow(() -> EntidadNoEncontradaException.importacion(id));
+        if (importacion.getEstado() != Importacion.Estado.FALLIDA
+                && importacion.getEstado() != Importacion.Estado.INTERRUMPIDA) {
+            throw new ConflictoDominioException(CodigoError.IMPORTACION_NO_REANUDABLE, id);
+        }
+        // Sin directorio compartido la copia solo existe en el nodo que recibió el archivo
+        if (!nodo.equals(importacion.getNodo())
+                && (importacion.getRuta() == null || !Files.exists(Paths.get(importacion.getRuta())))) {
+            throw new ConflictoDominioException(CodigoError.IMPORTACION_EN_OTRO_NODO, importacion.getNodo());
+        }
+        importacion.setNodo(nodo);
+        importacion.setEstado(Importacion.Estado.PENDIENTE);
+        importacion.setError(null);
+        importacionRepository.save(importacion);
+        ejecucion.execute(() -> procesar(id));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void marcarInterrumpidas() {
+        int interrumpidas = importacionRepository.cambiarEstadosDeNodo(nodo,
+                List.of(Importacion.Estado.PENDIENTE, Importacion.Estado.EN_CURSO), Importacion.Estado.INTERRUMPIDA);
+        if (interrumpidas > 0) {
+            log.warn("{} importaciones quedaron interrumpidas por el reinicio; se pueden reanudar", interrumpidas);
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        ejecucion.shutdownNow();
+        validacion.shutdownNow();
+    }
+
+    private void validarSinShards() {
+        if (shards.cantidad() > 1) {
+            throw new ConflictoDominioException(CodigoError.NO_DISPONIBLE_CON_SHARDS, "importación de catálogos");
+        }
+    }
+
+    private void procesar(Long id) {
+        Importacion importacion = importacionRepository.findById(id).orElse(null);
+        if (importacion == null) {
+            return;
+        }
+        importacion.setEstado(Importacion.Estado.EN_CURSO);
+        importacion.setFechaInicioEjecucion(LocalDateTime.now());
+        importacion.setProcesadosAlIniciar(importacion.getRegistrosProcesados());
+        importacion.setFechaActualizacion(LocalDateTime.now());
+        importacionRepository.save(importacion);
+
+        enCurso.incrementAndGet();
+        long importadosAntes = importacion.getImportados();
+        Importacion.Estado estadoFinal = Importacion.Estado.COMPLETADA;
+        String error = null;
+
+        // Cache de categorías de esta importación: nombre normalizado -> ID (vacío si no existe)
+        Map<String, Optional<Long>> categorias = new ConcurrentHashMap<>();
+        try (LectorRegistros lector = LectorRegistros.abrir(Paths.get(importacion.getRuta()), importacion.getFormato(), objectMapper)) {
+            long procesados = importacion.getRegistrosProcesados();
+            for (long i = 0; i < procesados; i++) {
+                if (lector.siguiente() == null) {
+                    break;
+                }
+            }
+
+            List<RegistroImportacion> lote = new ArrayList<>(tamanioLote);
+            RegistroImportacion registro;
+            while ((registro = lector.siguiente()) != null) {
+                lote.add(registro);
+                if (lote.size() == tamanioLote) {
+                    procesados = procesarLote(id, procesados, lote, categorias);
+                    lote.clear();
+                    if (Thread.currentThread().isInterrupted()) {
+                        estadoFinal = Importacion.Estado.INTERRUMPIDA;
+                        return;
+                    }
+                }
+            }
+            if (!lote.isEmpty()) {
+                procesarLote(id, procesados, lote, categorias);
+            }
+        } catch (Exception e) {
+            log.warn("La importación {} falló; se puede reanudar desde el último lote confirmado", id, e);
+            estadoFinal = Importacion.Estado.FALLIDA;
+            error = e.getMessage();
+        } finally {
+            enCurso.decrementAndGet();
+            finalizar(id, estadoFinal, error, importadosAntes);
+        }
+    }
+
+    private long procesarLote(Long id, long desde, List<RegistroImportacion> lote, Map<String, Optional<Long>> categorias)
+            throws InterruptedException, ExecutionException {
+        Timer.Sample muestra = Timer.start();
+
+        // La validación y la búsqueda de categorías no necesitan la transacción: van en paralelo antes
+        List<Validado> validados = validacion.submit(() -> lote.parallelStream()
+                .map(registro -> validar(registro, categorias))
+                .toList()).get();
+
+        long[] resultado = transaccion.execute(status -> guardarLote(id, desde, validados));
+        importados.increment(resultado[0]);
+        rechazados.increment(resultado[1]);
+        muestra.stop(duracionLote);
+        return desde + lote.size();
+    }
+
+    // Devuelve {importados, rechazados}
+    private long[] guardarLote(Long id, long desde, List<Validado> validados) {
+        List<ImportacionRechazo> rechazos = new ArrayList<>();
+        List<Validado> aceptados = new ArrayList<>();
+        for (Validado validado : validados) {
+            if (validado.motivo() != null) {
+                rechazos.add(rechazo(id, validado.registro(), validado.motivo()));
+            } else {
+                aceptados.add(validado);
+            }
+        }
+
+        // Reservar los nombres de una vez; los que ya están en uso (o repetidos en el archivo) se rechazan
+        List<String> nombresActivos = aceptados.stream()
+                .map(validado -> NombreNormalizado.de(validado.command().getNombre()))
+                .toList();
+        Set<String> disponibles = new HashSet<>(registroNombres.reservarDisponibles(nombresActivos));
+
+        Long secuencia = secuenciaCambioService.siguiente();
+        List<Producto> productos = new ArrayList<>(aceptados.size());
+        for (int i = 0; i < aceptados.size(); i++) {
+            Validado validado = aceptados.get(i);
+            if (!disponibles.remove(nombresActivos.get(i))) {
+                rechazos.add(rechazo(id, validado.registro(),
+                        CodigoError.PRODUCTO_NOMBRE_DUPLICADO.mensaje(validado.command().getNombre())));
+                continue;
+            }
+            Producto producto = mapper.toEntity(validado.command(),
+                    categoriaRepository.getReferenceById(validado.command().getCategoriaId()));
+            producto.setNombreActivo(nombresActivos.get(i));
+            producto.setSecuenciaCambio(secuencia);
+            productos.add(producto);
+        }
+
+        int insertados = productoRepository.insertarEnLote(productos);
+        rechazoRepository.saveAll(rechazos);
+        if (importacionRepository.registrarAvance(id, desde, validados.size(), insertados, rechazos.size()) == 0) {
+            throw new IllegalStateException("El punto de control de la importación " + id + " cambió durante el lote");
+        }
+        return new long[]{insertados, rechazos.size()};
+    }
+
+    private Validado validar(RegistroImportacion registro, Map<String, Optional<Long>> categorias) {
+        if (registro.error() != null) {
+            return Validado.rechazado(registro, registro.error());
+        }
+        Map<String, String> campos = registro.campos();
+
+        CrearProductoCommand command = new CrearProductoCommand();
+        command.setNombre(texto(campos.get("nombre")));
+        command.setDescripcion(texto(campos.get("descripcion")));
+        try {
+            command.setPrecio(campos.get("precio") != null && !campos.get("precio").isBlank()
+                    ? Double.valueOf(campos.get("precio").trim()) : null);
+            command.setStock(campos.get("stock") != null && !campos.get("stock").isBlank()
+                    ? Integer.valueOf(campos.get("stock").trim()) : null);
+        } catch (NumberFormatException e) {
+            return Validado.rechazado(registro, "Precio o stock no numérico");
+        }
+
+        String categoria = texto(campos.get("categoria"));
+        if (categoria != null) {
+            Optional<Long> categoriaId = categorias.computeIfAbsent(NombreNormalizado.de(categoria),
+                    categoriaRepository::findIdByNombreActivo);
+            if (categoriaId.isEmpty()) {
+                return Validado.rechazado(registro, "No existe una categoría activa con el nombre: " + categoria);
+            }
+            command.setCategoriaId(categoriaId.get());
+        }
+
+        Set<ConstraintViolation<CrearProductoCommand>> violaciones = validator.validate(command);
+        if (!violaciones.isEmpty()) {
+            return Validado.rechazado(registro, violaciones.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return new Validado(registro, command, null);
+    }
+
+    private void finalizar(Long id, Importacion.Estado estado, String error, long importadosAntes) {
+        try {
+            transaccion.executeWithoutResult(status -> {
+                Importacion importacion = importacionRepository.findById(id).orElseThrow();
+                importacion.setEstado(estado);
+                importacion.setError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+                importacion.setFechaActualizacion(LocalDateTime.now());
+                // Un único aviso por importación: los clientes recargan sus listas al final
+                if (importacion.getImportados() > importadosAntes) {
+                    eventPublisher.publishEvent(new CambioCatalogoEvent(
+                            CambioCatalogoEvent.Entidad.PRODUCTO, CambioCatalogoEvent.Operacion.RECARGAR, null));
+                }
+            });
+            if (estado == Importacion.Estado.COMPLETADA) {
+                importacionRepository.findById(id).map(Importacion::getRuta).ifPresent(this::borrarArchivo);
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudo registrar el final de la importación {}", id, e);
+        }
+    }
+
+    private void borrarArchivo(String ruta) {
+        try {
+            Files.deleteIfExists(Paths.get(ruta));
+        } catch (IOException e) {
+            log.warn("No se pudo borrar el archivo {}", ruta, e);
+        }
+    }
+
+    private static Importacion.Formato formatoPorExtension(String nombre) {
+        String minusculas = nombre.toLowerCase();
+        if (minusculas.endsWith(".csv")) {
+            return Importacion.Formato.CSV;
+        }
+        if (minusculas.endsWith(".jsonl") || minusculas.endsWith(".ndjson")) {
+            return Importacion.Formato.JSONL;
+        }
+        throw new ValidacionDominioException(CodigoError.IMPORTACION_FORMATO_DESCONOCIDO, nombre);
+    }
+
+    private static ImportacionRechazo rechazo(Long id, RegistroImportacion registro, String motivo) {
+        return new ImportacionRechazo(null, id, registro.numero(),
+                motivo.length() > 500 ? motivo.substring(0, 500) : motivo, registro.contenido());
+    }
+
+    private static String texto(String valor) {
+        return valor == null || valor.isBlank() ? null : valor.trim();
+    }
+
+    private record Validado(RegistroImportacion registro, CrearProductoCommand command, String motivo) {
+
+        static Validado rechazado(RegistroImportacion registro, String motivo) {
+            return new Validado(registro, null, motivo);
+        }
+    }
+}
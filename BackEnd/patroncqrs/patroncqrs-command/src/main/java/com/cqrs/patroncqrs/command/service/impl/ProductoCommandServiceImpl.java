@@ -0,0 +1,291 @@
+package com.cqrs.patroncqrs.command.service.impl;
+
+import com.cqrs.patroncqrs.command.dto.CrearProductoCommand;
+import com.cqrs.patroncqrs.command.dto.FiltroProductosCommand;
+import com.cqrs.patroncqrs.command.dto.ResultadoMasivoDTO;
+import com.cqrs.patroncqrs.command.mapper.ProductoCommandMapper;
+import com.cqrs.patroncqrs.command.service.ProductoCommandService;
+import com.cqrs.patroncqrs.command.service.SecuenciaCambioService;
+import com.cqrs.patroncqrs.domain.entity.Categoria;
+import com.cqrs.patroncqrs.domain.entity.Producto;
+import com.cqrs.patroncqrs.domain.entity.ProductoArchivado;
+import com.cqrs.patroncqrs.domain.event.CambioCatalogoEvent;
+import com.cqrs.patroncqrs.domain.exception.CodigoError;
+import com.cqrs.patroncqrs.domain.exception.ConflictoDominioException;
+import com.cqrs.patroncqrs.domain.exception.EntidadNoEncontradaException;
+import com.cqrs.patroncqrs.domain.exception.ValidacionDominioException;
+import com.cqrs.patroncqrs.infrastructure.nombres.NombreNormalizado;
+import com.cqrs.patroncqrs.infrastructure.nombres.RegistroNombres;
+import com.cqrs.patroncqrs.infrastructure.shard.EnShard;
+import com.cqrs.patroncqrs.repository.CategoriaRepository;
+import com.cqrs.patroncqrs.repository.ProductoArchivadoRepository;
+import com.cqrs.patroncqrs.repository.ProductoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+@Service
+@Transactional
+public class ProductoCommandServiceImpl implements ProductoCommandService {
+
+    private final ProductoRepository productoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final ProductoArchivadoRepository productoArchivadoRepository;
+    private final ProductoCommandMapper mapper;
+    private final SecuenciaCambioService secuenciaCambioService;
+    private final RegistroNombres registroNombres;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public ProductoCommandServiceImpl(ProductoRepository productoRepository,
+                                      CategoriaRepository categoriaRepository,
+                                      ProductoArchivadoRepository productoArchivadoRepository,
+                                      ProductoCommandMapper mapper,
+                                      SecuenciaCambioService secuenciaCambioService,
+                                      @Qualifier("registroNombresProductos") RegistroNombres registroNombres,
+                                      ApplicationEventPublisher eventPublisher) {
+        this.productoRepository = productoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.productoArchivadoRepository = productoArchivadoRepository;
+        this.mapper = mapper;
+        this.secuenciaCambioService = secuenciaCambioService;
+        this.registroNombres = registroNombres;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @EnShard("#command.categoriaId")
+    public Long crearProducto(CrearProductoCommand command) {
+        // Validar que la categoría existe y está activa
+        Categoria categoria = categoriaRepository.findById(command.getCategoriaId())
+                .orElseThrow(() -> EntidadNoEncontradaException.categoria(command.getCategoriaId()));
+
+        // Reservar el nombre: falla si ya existe un producto activo con el mismo nombre
+        String nombreActivo = reservarNombre(command.getNombre());
+
+        // Usar MapStruct para crear el producto
+        Producto producto = mapper.toEntity(command, categoria);
+        producto.setNombreActivo(nombreActivo);
+        producto.setSecuenciaCambio(secuenciaCambioService.siguiente());
+        Producto productoGuardado = conNombreUnico(command.getNombre(), () -> productoRepository.saveAndFlush(producto));
+        publicarCambio(productoGuardado.getId(), CambioCatalogoEvent.Operacion.UPSERT);
+
+        return productoGuardado.getId();
+    }
+
+    @Override
+    @EnShard({"#id", "#command.categoriaId"})
+    public void actualizarProducto(Long id, CrearProductoCommand command) {
+        // Buscar el producto existente (solo activos)
+        Producto producto = productoRepository.findById(id)
+                .orElseThrow(() -> EntidadNoEncontradaException.producto(id));
+
+        // Validar que la categoría existe y está activa
+        Categoria categoria = categoriaRepository.findById(command.getCategoriaId())
+                .orElseThrow(() -> EntidadNoEncontradaException.categoria(command.getCategoriaId()));
+
+        // Si cambia el nombre, reservar el nuevo y liberar el anterior al confirmar
+        String nombreActivo = NombreNormalizado.de(command.getNombre());
+        if (!nombreActivo.equals(producto.getNombreActivo())) {
+            reservarNombre(command.getNombre());
+            liberarNombre(producto.getNombreActivo());
+        }
+
+        // Usar MapStruct para actualizar el producto
+        mapper.updateEntity(producto, command, categoria);
+        producto.setNombreActivo(nombreActivo);
+        producto.setSecuenciaCambio(secuenciaCambioService.siguiente());
+        conNombreUnico(command.getNombre(), () -> productoRepository.saveAndFlush(producto));
+        publicarCambio(id, CambioCatalogoEvent.Operacion.UPSERT);
+    }
+
+    @Override
+    @EnShard("#id")
+    public void eliminarProducto(Long id) {
+        // Verificar que el producto existe (incluyendo los eliminados para mejor mensaje de error)
+        if (!productoRepository.existsByIdIncludingDeleted(id)) {
+            if (productoArchivadoRepository.existsById(id)) {
+                throw new ConflictoDominioException(CodigoError.PRODUCTO_YA_ELIMINADO, id);
+            }
+            throw EntidadNoEncontradaException.producto(id);
+        }
+
+        // Verificar que el producto no está ya eliminado
+        Producto producto = productoRepository.findById(id)
+                .orElseThrow(() -> new ConflictoDominioException(CodigoError.PRODUCTO_YA_ELIMINADO, id));
+
+        // Realizar soft delete (el nombre queda libre al confirmar)
+        productoRepository.softDeleteById(id, secuenciaCambioService.siguiente());
+        liberarNombre(producto.getNombreActivo());
+        publicarCambio(id, CambioCatalogoEvent.Operacion.ELIMINACION);
+    }
+
+    @Override
+    @EnShard("#id")
+    public void restaurarProducto(Long id) {
+        // Verificar que el producto existe; si fue archivado, devolverlo a la tabla principal
+        if (!productoRepository.existsByIdIncludingDeleted(id)) {
+            desarchivarProducto(id);
+        }
+
+        // Buscar el producto incluyendo eliminados
+        Producto producto = productoRepository.findByIdIncludingDeleted(id)
+                .orElseThrow(() -> EntidadNoEncontradaException.producto(id));
+
+        // Verificar que está eliminado
+        if (!producto.getEliminado()) {
+            throw new ConflictoDominioException(CodigoError.PRODUCTO_NO_ELIMINADO, id);
+        }
+
+        // Verificar que la categoría esté activa
+        if (producto.getCategoria().getEliminado()) {
+            throw ConflictoDominioException.CATEGORIA_ELIMINADA;
+        }
+
+        // Reservar el nombre: falla si ya existe otro producto activo con el mismo nombre
+        String nombreActivo = reservarNombre(producto.getNombre());
+
+        // Restaurar producto
+        conNombreUnico(producto.getNombre(), () -> {
+            productoRepository.restoreById(id, nombreActivo, secuenciaCambioService.siguiente());
+            return null;
+        });
+        publicarCambio(id, CambioCatalogoEvent.Operacion.UPSERT);
+    }
+
+    @Override
+    @EnShard(value = "#filtro.categoriaId", requerido = "la categoría (categoriaId)")
+    public ResultadoMasivoDTO eliminarProductos(FiltroProductosCommand filtro) {
+        validarFiltro(filtro);
+        Long secuencia = secuenciaCambioService.siguiente();
+
+        // Bloquear las filas y leer sus nombres, luego un único UPDATE para todas (los nombres quedan libres al confirmar)
+        List<String> nombresActivos = productoRepository.findNombresActivosPorFiltro(filtro.getCategoriaId(),
+                filtro.getPrecioMin(), filtro.getPrecioMax(), filtro.getStockMin(), filtro.getStockMax());
+        int eliminados = productoRepository.softDeletePorFiltro(filtro.getCategoriaId(),
+                filtro.getPrecioMin(), filtro.getPrecioMax(), filtro.getStockMin(), filtro.getStockMax(), secuencia);
+        registroNombres.liberarTodos(nombresActivos);
+
+        publicarRecarga(eliminados);
+        return new ResultadoMasivoDTO(eliminados, 0, secuencia);
+    }
+
+    @Override
+    @EnShard(value = "#filtro.categoriaId", requerido = "la categoría (categoriaId)")
+    public ResultadoMasivoDTO restaurarProductos(FiltroProductosCommand filtro) {
+        validarFiltro(filtro);
+        desarchivarProductos(productoArchivadoRepository.findIdsPorFiltro(filtro.getCategoriaId(),
+                filtro.getPrecioMin(), filtro.getPrecioMax(), filtro.getStockMin(), filtro.getStockMax()));
+        return restaurarEnBloque(productoRepository.findEliminadosPorFiltro(filtro.getCategoriaId(),
+                filtro.getPrecioMin(), filtro.getPrecioMax(), filtro.getStockMin(), filtro.getStockMax()));
+    }
+
+    @Override
+    @EnShard("#categoriaId")
+    public ResultadoMasivoDTO restaurarProductosEliminadosConCategoria(Long categoriaId, Long secuenciaEliminacion) {
+        // El archivado mueve los productos junto con su categoría: primero vuelven a la tabla principal
+        desarchivarProductos(productoArchivadoRepository.findIdsConCategoria(categoriaId, secuenciaEliminacion));
+        return restaurarEnBloque(productoRepository.findEliminadosConCategoria(categoriaId, secuenciaEliminacion));
+    }
+
+    // Restaura las filas (ID, nombre) cuyo nombre esté libre; las demás quedan eliminadas y se informan como omitidas
+    private ResultadoMasivoDTO restaurarEnBloque(List<Object[]> filas) {
+        Long secuencia = secuenciaCambioService.siguiente();
+
+        List<String> nombresActivos = new ArrayList<>(filas.size());
+        for (Object[] fila : filas) {
+            nombresActivos.add(NombreNormalizado.de((String) fila[1]));
+        }
+        Set<String> disponibles = new HashSet<>(registroNombres.reservarDisponibles(nombresActivos));
+
+        Map<Long, String> aRestaurar = new LinkedHashMap<>();
+        for (int i = 0; i < filas.size(); i++) {
+            // Si dos productos eliminados comparten nombre, solo vuelve el primero
+            if (disponibles.remove(nombresActivos.get(i))) {
+                aRestaurar.put((Long) filas.get(i)[0], nombresActivos.get(i));
+            }
+        }
+
+        int restaurados = conNombreUnico("(restauración en bloque)",
+                () -> productoRepository.restaurarConNombres(aRestaurar, secuencia));
+        publicarRecarga(restaurados);
+        return new ResultadoMasivoDTO(restaurados, filas.size() - aRestaurar.size(), secuencia);
+    }
+
+    private void validarFiltro(FiltroProductosCommand filtro) {
+        if (filtro.estaVacio()) {
+            throw new ValidacionDominioException("indique al menos un criterio (categoría, precio o stock)");
+        }
+    }
+
+    // Devuelve los productos archivados a la tabla principal (eliminados) para que los restaure restaurarEnBloque
+    private void desarchivarProductos(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        productoArchivadoRepository.desarchivarTodos(ids);
+        productoArchivadoRepository.deleteArchivadosByIdIn(ids);
+    }
+
+    private void desarchivarProducto(Long id) {
+        ProductoArchivado archivado = productoArchivadoRepository.findById(id)
+                .orElseThrow(() -> EntidadNoEncontradaException.producto(id));
+
+        // La categoría tiene que seguir en la tabla principal (las archivadas están eliminadas)
+        if (archivado.getCategoriaId() == null || !categoriaRepository.existsByIdIncludingDeleted(archivado.getCategoriaId())) {
+            throw ConflictoDominioException.CATEGORIA_ELIMINADA;
+        }
+
+        productoArchivadoRepository.desarchivar(id);
+        productoArchivadoRepository.deleteArchivadoById(id);
+    }
+
+    private String reservarNombre(String nombre) {
+        String nombreActivo = NombreNormalizado.de(nombre);
+        if (!registroNombres.reservar(nombreActivo)) {
+            throw new ConflictoDominioException(CodigoError.PRODUCTO_NOMBRE_DUPLICADO, nombre);
+        }
+        return nombreActivo;
+    }
+
+    private void liberarNombre(String nombreActivo) {
+        if (nombreActivo != null) {
+            registroNombres.liberar(nombreActivo);
+        }
+    }
+
+    // La restricción única de la base cubre lo que el registro local no ve (por ejemplo, otra instancia)
+    private <T> T conNombreUnico(String nombre, Supplier<T> escritura) {
+        try {
+            return escritura.get();
+        } catch (DataIntegrityViolationException e) {
+            if (esConflictoDeNombre(e)) {
+                throw new ConflictoDominioException(CodigoError.PRODUCTO_NOMBRE_DUPLICADO, nombre);
+            }
+            throw e;
+        }
+    }
+
+    private boolean esConflictoDeNombre(DataIntegrityViolationException e) {
+        String mensaje = e.getMostSpecificCause().getMessage();
+        return mensaje != null && mensaje.toLowerCase().contains("uk_productos_nombre_activo");
+    }
+
+    private void publicarCambio(Long id, CambioCatalogoEvent.Operacion operacion) {
+        eventPublisher.publishEvent(new CambioCatalogoEvent(CambioCatalogoEvent.Entidad.PRODUCTO, operacion, id));
+    }
+
+    // Un único aviso para todo el bloque en lugar de un evento por producto
+    private void publicarRecarga(int afectados) {
+        if (afectados > 0) {
+            publicarCambio(null, CambioCatalogoEvent.Operacion.RECARGAR);
+        }
+    }
+
+}
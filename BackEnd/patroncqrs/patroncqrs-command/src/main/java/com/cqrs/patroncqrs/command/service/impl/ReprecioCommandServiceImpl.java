@@ -0,0 +1,217 @@
+package com.cqrs.patroncqrs.command.service.impl;
+
+import com.cqrs.patroncqrs.command.dto.CambioPrecioDTO;
+import com.cqrs.patroncqrs.command.dto.FiltroProductosCommand;
+import com.cqrs.patroncqrs.command.dto.ReprecioCommand;
+import com.cqrs.patroncqrs.command.dto.ResultadoReprecioDTO;
+import com.cqrs.patroncqrs.command.service.ReprecioCommandService;
+import com.cqrs.patroncqrs.command.service.SecuenciaCambioService;
+import com.cqrs.patroncqrs.domain.event.CambioCatalogoEvent;
+import com.cqrs.patroncqrs.domain.exception.CodigoError;
+import com.cqrs.patroncqrs.domain.exception.ConflictoDominioException;
+import com.cqrs.patroncqrs.domain.exception.ValidacionDominioException;
+import com.cqrs.patroncqrs.infrastructure.shard.ContextoShard;
+import com.cqrs.patroncqrs.infrastructure.shard.EnShard;
+import com.cqrs.patroncqrs.repository.ProductoRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cambio de precios en bloque. Se recorren los productos por rangos de ID y cada rango se
+ * actualiza con un único UPDATE en su propia transacción, con una pausa entre lotes: los
+ * bloqueos duran lo que dura un lote y nunca abarcan toda la tabla. Los lotes corren en segundo plano,
+ * uno por vez, y la petición vuelve con la muestra y la cantidad estimada de productos.
+ */
+@Service
+public class ReprecioCommandServiceImpl implements ReprecioCommandService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReprecioCommandServiceImpl.class);
+
+    private final ProductoRepository productoRepository;
+    private final SecuenciaCambioService secuenciaCambioService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaccion;
+    private final TransactionTemplate lectura;
+    private final int tamanioLote;
+    private final long pausaEntreLotesMs;
+    private final int tamanioMuestra;
+
+    private final ExecutorService ejecucion = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "reprecio");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private final AtomicBoolean enCurso = new AtomicBoolean();
+
+    @Autowired
+    public ReprecioCommandServiceImpl(ProductoRepository productoRepository,
+                                      SecuenciaCambioService secuenciaCambioService,
+                                      ApplicationEventPublisher eventPublisher,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${app.reprecio.tamanio-lote:1000}") int tamanioLote,
+                                      @Value("${app.reprecio.pausa-entre-lotes-ms:50}") long pausaEntreLotesMs,
+                                      @Value("${app.reprecio.tamanio-muestra:20}") int tamanioMuestra) {
+        this.productoRepository = productoRepository;
+        this.secuenciaCambioService = secuenciaCambioService;
+        this.eventPublisher = eventPublisher;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.tamanioLote = tamanioLote;
+        this.pausaEntreLotesMs = pausaEntreLotesMs;
+        this.tamanioMuestra = tamanioMuestra;
+    }
+
+    @Override
+    @EnShard(value = "#command.filtro?.categoriaId", requerido = "la categoría (filtro.categoriaId)")
+    public ResultadoReprecioDTO repreciar(ReprecioCommand command) {
+        FiltroProductosCommand filtro = command.getFiltro();
+        if (filtro.estaVacio()) {
+            throw new ValidacionDominioException("indique al menos un criterio (categoría, precio o stock)");
+        }
+        if (command.getTipo() == ReprecioCommand.Tipo.PORCENTAJE && command.getValor() <= -100) {
+            throw new ValidacionDominioException("el porcentaje debe ser mayor a -100");
+        }
+        Formula formula = Formula.de(command);
+
+        // La muestra se toma antes de escribir para mostrar el precio anterior
+        List<CambioPrecioDTO> muestra = lectura.execute(status -> muestra(filtro, formula));
+        Object[] conteo = lectura.execute(status -> contar(filtro, formula));
+        int total = ((Number) conteo[0]).intValue();
+        int validos = ((Number) conteo[1]).intValue();
+        if (command.isSimulacion()) {
+            return new ResultadoReprecioDTO(true, validos, total - validos, 0, null, muestra);
+        }
+
+        if (!enCurso.compareAndSet(false, true)) {
+            throw new ConflictoDominioException(CodigoError.REPRECIO_EN_CURSO, null);
+        }
+        // El hilo de los lotes escribe en el shard que eligió @EnShard para esta petición
+        Integer shard = ContextoShard.actual();
+        try {
+            ejecucion.execute(() -> {
+                Integer anterior = ContextoShard.asignar(shard);
+                try {
+                    ejecutarLotes(filtro, formula);
+                } finally {
+                    ContextoShard.asignar(anterior);
+                    enCurso.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            enCurso.set(false);
+            throw e;
+        }
+        return new ResultadoReprecioDTO(false, validos, total - validos, 0, null, muestra);
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        // Interrumpe la pausa entre lotes: lo ya confirmado se avisa igual
+        ejecucion.shutdownNow();
+    }
+
+    private void ejecutarLotes(FiltroProductosCommand filtro, Formula formula) {
+        int afectados = 0;
+        int omitidos = 0;
+        int lotes = 0;
+        long desdeId = 0;
+        try {
+            while (true) {
+                long inicio = desdeId;
+                Lote lote = transaccion.execute(status -> repreciarLote(filtro, formula, inicio));
+                if (lote.cantidad() == 0) {
+                    break;
+                }
+                lotes++;
+                afectados += lote.actualizados();
+                omitidos += lote.cantidad() - lote.actualizados();
+                desdeId = lote.hastaId();
+                if (lote.cantidad() < tamanioLote || !pausar()) {
+                    break;
+                }
+            }
+            log.info("Cambio de precios terminado: {} productos modificados y {} omitidos en {} lotes", afectados, omitidos, lotes);
+        } catch (RuntimeException e) {
+            log.error("Cambio de precios interrumpido tras {} lotes ({} productos ya modificados)", lotes, afectados, e);
+        } finally {
+            // Un único aviso al terminar (aunque haya fallado): los lotes confirmados ya son visibles
+            if (afectados > 0) {
+                transaccion.executeWithoutResult(status -> eventPublisher.publishEvent(
+                        new CambioCatalogoEvent(CambioCatalogoEvent.Entidad.PRODUCTO, CambioCatalogoEvent.Operacion.RECARGAR, null)));
+            }
+        }
+    }
+
+    private Lote repreciarLote(FiltroProductosCommand filtro, Formula formula, long desdeId) {
+        List<Long> ids = productoRepository.findIdsActivosPorFiltro(filtro.getCategoriaId(),
+                filtro.getPrecioMin(), filtro.getPrecioMax(), filtro.getStockMin(), filtro.getStockMax(),
+                desdeId, Limit.of(tamanioLote));
+        if (ids.isEmpty()) {
+            return new Lote(0, 0, desdeId);
+        }
+        Long hastaId = ids.get(ids.size() - 1);
+        Long secuencia = secuenciaCambioService.siguiente();
+        int actualizados = productoRepository.repreciarRango(filtro.getCategoriaId(),
+                filtro.getPrecioMin(), filtro.getPrecioMax(), filtro.getStockMin(), filtro.getStockMax(),
+                desdeId, hastaId, formula.factor(), formula.suma(), formula.paso(), formula.ajuste(), secuencia);
+        return new Lote(ids.size(), actualizados, hastaId);
+    }
+
+    private List<CambioPrecioDTO> muestra(FiltroProductosCommand filtro, Formula formula) {
+        List<CambioPrecioDTO> muestra = new ArrayList<>();
+        for (Object[] fila : productoRepository.findMuestraReprecio(filtro.getCategoriaId(),
+                filtro.getPrecioMin(), filtro.getPrecioMax(), filtro.getStockMin(), filtro.getStockMax(),
+                formula.factor(), formula.suma(), formula.paso(), formula.ajuste(), Limit.of(tamanioMuestra))) {
+            Double precioNuevo = ((Number) fila[3]).doubleValue();
+            muestra.add(new CambioPrecioDTO((Long) fila[0], (String) fila[1], (Double) fila[2],
+                    precioNuevo > 0 ? precioNuevo : null));
+        }
+        return muestra;
+    }
+
+    private Object[] contar(FiltroProductosCommand filtro, Formula formula) {
+        return productoRepository.contarReprecio(filtro.getCategoriaId(),
+                filtro.getPrecioMin(), filtro.getPrecioMax(), filtro.getStockMin(), filtro.getStockMax(),
+                formula.factor(), formula.suma(), formula.paso(), formula.ajuste()).get(0);
+    }
+
+    private boolean pausar() {
+        try {
+            Thread.sleep(pausaEntreLotesMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // precio nuevo = redondeo(precio * factor + suma)
+    private record Formula(double factor, double suma, double paso, double ajuste) {
+
+        static Formula de(ReprecioCommand command) {
+            ReprecioCommand.Redondeo redondeo = command.getRedondeo() != null
+                    ? command.getRedondeo() : ReprecioCommand.Redondeo.CENTAVO;
+            return command.getTipo() == ReprecioCommand.Tipo.PORCENTAJE
+                    ? new Formula(1 + command.getValor() / 100, 0, redondeo.getPaso(), redondeo.getAjuste())
+                    : new Formula(1, command.getValor(), redondeo.getPaso(), redondeo.getAjuste());
+        }
+    }
+
+    private record Lote(int cantidad, int actualizados, long hastaId) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.cqrs.patroncqrs.command.service.impl;
+
+import com.cqrs.patroncqrs.command.service.SecuenciaCambioService;
+import com.cqrs.patroncqrs.domain.entity.SecuenciaCambio;
+import com.cqrs.patroncqrs.repository.SecuenciaCambioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Entrega el siguiente número de cambio dentro de la transacción del comando.
+ * La fila del contador queda bloqueada hasta el commit, así ningún cliente puede ver
+ * la secuencia N+1 confirmada antes que la N y saltearse cambios al sincronizar.
+ * El precio es que todas las escrituras del catálogo (de un shard) se serializan en esa fila: los comandos
+ * piden la secuencia después de validar, justo antes de escribir, para que el bloqueo dure solo la
+ * escritura y el commit. La fila la siembra data.sql al arrancar.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class SecuenciaCambioServiceImpl implements SecuenciaCambioService {
+
+    private final SecuenciaCambioRepository secuenciaCambioRepository;
+
+    @Autowired
+    public SecuenciaCambioServiceImpl(SecuenciaCambioRepository secuenciaCambioRepository) {
+        this.secuenciaCambioRepository = secuenciaCambioRepository;
+    }
+
+    @Override
+    public Long siguiente() {
+        SecuenciaCambio secuencia = secuenciaCambioRepository.findParaActualizar(SecuenciaCambio.CATALOGO)
+                .orElseThrow(() -> new IllegalStateException("Falta el contador '" + SecuenciaCambio.CATALOGO
+                        + "' en secuencia_cambios: se crea con data.sql al arrancar"));
+
+        secuencia.setValor(secuencia.getValor() + 1);
+        return secuencia.getValor();
+    }
+}
@@ -0,0 +1,89 @@
+package com.cqrs.patroncqrs.command.service.impl;
+
+import com.cqrs.patroncqrs.command.dto.ResultadoStockDTO;
+import com.cqrs.patroncqrs.command.service.SecuenciaCambioService;
+import com.cqrs.patroncqrs.command.service.StockCommandService;
+import com.cqrs.patroncqrs.domain.event.CambioCatalogoEvent;
+import com.cqrs.patroncqrs.domain.exception.CodigoError;
+import com.cqrs.patroncqrs.domain.exception.ConflictoDominioException;
+import com.cqrs.patroncqrs.domain.exception.EntidadNoEncontradaException;
+import com.cqrs.patroncqrs.domain.exception.ValidacionDominioException;
+import com.cqrs.patroncqrs.infrastructure.shard.EnShard;
+import com.cqrs.patroncqrs.infrastructure.stock.ContadoresStock;
+import com.cqrs.patroncqrs.repository.ProductoRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Movimientos de stock. Por defecto cada movimiento es un UPDATE condicional en su propia transacción;
+ * con app.stock.escritura-diferida.habilitada se aceptan contra los {@link ContadoresStock} en memoria
+ * y llegan a la base en lotes (los productos muy vendidos dejan de competir por la misma fila).
+ */
+@Service
+public class StockCommandServiceImpl implements StockCommandService {
+
+    private final ProductoRepository productoRepository;
+    private final SecuenciaCambioService secuenciaCambioService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaccion;
+    // Nulo sin escritura diferida
+    private final ContadoresStock contadores;
+
+    @Autowired
+    public StockCommandServiceImpl(ProductoRepository productoRepository,
+                                   SecuenciaCambioService secuenciaCambioService,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectProvider<ContadoresStock> contadores) {
+        this.productoRepository = productoRepository;
+        this.secuenciaCambioService = secuenciaCambioService;
+        this.eventPublisher = eventPublisher;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.contadores = contadores.getIfAvailable();
+    }
+
+    @Override
+    @EnShard("#id")
+    public ResultadoStockDTO moverStock(Long id, int cantidad) {
+        if (cantidad == 0) {
+            throw new ValidacionDominioException("la cantidad no puede ser cero");
+        }
+        return contadores != null ? moverDiferido(id, cantidad) : moverDirecto(id, cantidad);
+    }
+
+    // Otro comando cambió productos: los contadores afectados se releen de la base en su próximo movimiento
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alConfirmarCambio(CambioCatalogoEvent evento) {
+        if (contadores != null && evento.getEntidad() == CambioCatalogoEvent.Entidad.PRODUCTO) {
+            contadores.marcarDesactualizado(evento.getId());
+        }
+    }
+
+    private ResultadoStockDTO moverDiferido(Long id, int cantidad) {
+        ContadoresStock.Movimiento movimiento = contadores.mover(id, cantidad);
+        return switch (movimiento.estado()) {
+            case ACEPTADO -> new ResultadoStockDTO(id, movimiento.disponible(), true);
+            case INSUFICIENTE -> throw new ConflictoDominioException(CodigoError.STOCK_INSUFICIENTE, id);
+            case NO_ENCONTRADO -> throw EntidadNoEncontradaException.producto(id);
+        };
+    }
+
+    private ResultadoStockDTO moverDirecto(Long id, int cantidad) {
+        Integer stock = transaccion.execute(status -> {
+            if (productoRepository.moverStock(id, cantidad, secuenciaCambioService.siguiente()) == 0) {
+                // Ninguna fila: el producto no existe o el stock no alcanza (la excepción revierte la secuencia)
+                productoRepository.findStockActivo(id).orElseThrow(() -> EntidadNoEncontradaException.producto(id));
+                throw new ConflictoDominioException(CodigoError.STOCK_INSUFICIENTE, id);
+            }
+            eventPublisher.publishEvent(new CambioCatalogoEvent(CambioCatalogoEvent.Entidad.PRODUCTO,
+                    CambioCatalogoEvent.Operacion.UPSERT, id));
+            return productoRepository.findStockActivo(id).orElseThrow();
+        });
+        return new ResultadoStockDTO(id, stock.longValue(), false);
+    }
+}
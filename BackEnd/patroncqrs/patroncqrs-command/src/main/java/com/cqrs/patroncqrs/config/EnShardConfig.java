@@ -0,0 +1,17 @@
+package com.cqrs.patroncqrs.config;
+
+import com.cqrs.patroncqrs.infrastructure.shard.EnShardAspect;
+import com.cqrs.patroncqrs.infrastructure.shard.Shards;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.shards.habilitado", havingValue = "true")
+public class EnShardConfig {
+
+    @Bean
+    public EnShardAspect enShardAspect(Shards shards) {
+        return new EnShardAspect(shards);
+    }
+}
@@ -0,0 +1,108 @@
+package com.cqrs.patroncqrs.config;
+
+import com.cqrs.patroncqrs.infrastructure.nombres.NombreNormalizado;
+import com.cqrs.patroncqrs.infrastructure.nombres.RegistroNombres;
+import com.cqrs.patroncqrs.infrastructure.shard.Shards;
+import com.cqrs.patroncqrs.repository.CategoriaRepository;
+import com.cqrs.patroncqrs.repository.ProductoRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Registros de nombres activos de productos y categorías, cargados desde la base al crear el bean.
+ * Las filas que todavía no tienen {@code nombre_activo} (anteriores a la restricción única) se
+ * completan en la carga; si dos filas activas comparten nombre, solo la primera lo recibe.
+ * Con shards se cargan uno tras otro en el mismo registro. La restricción única de cada base cubre solo
+ * su shard (un producto o una categoría renombrada se queda en el suyo), así que con más de un shard
+ * cada reserva se confirma en todos, con una consulta por shard. Aun así, dos escrituras simultáneas en
+ * shards distintos pueden tomar el mismo nombre: la unicidad entre shards es de mejor esfuerzo.
+ */
+@Configuration
+public class RegistroNombresConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistroNombresConfig.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Shards shards;
+
+    public RegistroNombresConfig(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry, Shards shards) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.shards = shards;
+    }
+
+    @Bean
+    public RegistroNombres registroNombresProductos(ProductoRepository productoRepository) {
+        return cargar(new RegistroNombres("producto", nombres -> enUso(nombres, productoRepository::findNombresActivosEn),
+                        shards.cantidad() > 1),
+                productoRepository::findNombresActivos, productoRepository::asignarNombreActivo);
+    }
+
+    @Bean
+    public RegistroNombres registroNombresCategorias(CategoriaRepository categoriaRepository) {
+        return cargar(new RegistroNombres("categoria", nombres -> enUso(nombres, categoriaRepository::findNombresActivosEn),
+                        shards.cantidad() > 1),
+                categoriaRepository::findNombresActivos, categoriaRepository::asignarNombreActivo);
+    }
+
+    private RegistroNombres cargar(RegistroNombres registro,
+                                   Supplier<List<Object[]>> nombresActivos,
+                                   BiFunction<Long, String, Integer> asignarNombreActivo) {
+        Set<String> nombres = new HashSet<>();
+        for (int shard = 0; shard < shards.cantidad(); shard++) {
+            shards.ejecutarEn(shard, () -> transactionTemplate.execute(status -> {
+                completarNombres(registro, nombresActivos.get(), asignarNombreActivo, nombres);
+                return null;
+            }));
+        }
+
+        registro.cargar(nombres);
+        Gauge.builder("registro.nombres.tamanio", registro, RegistroNombres::tamanio)
+                .tag("entidad", registro.getEntidad())
+                .register(meterRegistry);
+        log.info("Registro de nombres de {} cargado con {} nombres", registro.getEntidad(), nombres.size());
+        return registro;
+    }
+
+    // Con un solo shard corre en la transacción del comando, que ve sus propias escrituras
+    private Set<String> enUso(Collection<String> nombres, Function<Collection<String>, List<String>> consulta) {
+        return new HashSet<>(shards.reunir(() -> consulta.apply(nombres)));
+    }
+
+    private void completarNombres(RegistroNombres registro, List<Object[]> filas,
+                                  BiFunction<Long, String, Integer> asignarNombreActivo, Set<String> usados) {
+        for (Object[] fila : filas) {
+            if (fila[2] != null) {
+                usados.add((String) fila[2]);
+            }
+        }
+
+        for (Object[] fila : filas) {
+            if (fila[2] != null) {
+                continue;
+            }
+            String normalizado = NombreNormalizado.de((String) fila[1]);
+            if (usados.add(normalizado)) {
+                asignarNombreActivo.apply((Long) fila[0], normalizado);
+            } else {
+                log.warn("{} {} comparte el nombre '{}' con otra fila activa; queda sin nombre_activo",
+                        registro.getEntidad(), fila[0], fila[1]);
+            }
+        }
+    }
+}
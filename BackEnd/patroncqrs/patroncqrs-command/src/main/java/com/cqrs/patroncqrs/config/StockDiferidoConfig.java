@@ -0,0 +1,108 @@
+package com.cqrs.patroncqrs.config;
+
+import com.cqrs.patroncqrs.command.service.SecuenciaCambioService;
+import com.cqrs.patroncqrs.domain.entity.SecuenciaCambio;
+import com.cqrs.patroncqrs.infrastructure.nodo.IdentidadNodo;
+import com.cqrs.patroncqrs.infrastructure.shard.Shards;
+import com.cqrs.patroncqrs.infrastructure.stock.ContadoresStock;
+import com.cqrs.patroncqrs.infrastructure.stock.RegistroDeltasStock;
+import com.cqrs.patroncqrs.repository.ProductoRepository;
+import com.cqrs.patroncqrs.repository.SecuenciaCambioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Escritura diferida del stock. Al crear los contadores se aplican primero los segmentos del registro
+ * que no llegaron a la base. El último segmento aplicado se guarda en la misma transacción que las
+ * diferencias (como un contador más de secuencia_cambios), así un segmento nunca se aplica dos veces.
+ * Esa marca y el directorio del registro son de un solo nodo: se exigen app.nodo.id y el directorio
+ * explícitos, para que dos JVM de la misma máquina no repitan ni borren los segmentos de la otra.
+ * No admite shards: un volcado es una sola transacción con productos de cualquier categoría.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.stock.escritura-diferida.habilitada", havingValue = "true")
+public class StockDiferidoConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(StockDiferidoConfig.class);
+
+    @Bean(destroyMethod = "cerrar")
+    public RegistroDeltasStock registroDeltasStock(
+            @Value("${app.stock.escritura-diferida.directorio:}") String directorio,
+            @Value("${app.stock.escritura-diferida.forzar-disco:false}") boolean forzarDisco) throws IOException {
+        if (directorio.isBlank()) {
+            throw new IllegalStateException("La escritura diferida del stock requiere app.stock.escritura-diferida.directorio, "
+                    + "propio de este nodo");
+        }
+        return new RegistroDeltasStock(Path.of(directorio), forzarDisco);
+    }
+
+    @Bean(destroyMethod = "cerrar")
+    public ContadoresStock contadoresStock(RegistroDeltasStock registro,
+                                           ProductoRepository productoRepository,
+                                           SecuenciaCambioRepository secuenciaCambioRepository,
+                                           SecuenciaCambioService secuenciaCambioService,
+                                           PlatformTransactionManager transactionManager,
+                                           MeterRegistry registry,
+                                           Shards shards,
+                                           IdentidadNodo identidadNodo,
+                                           @Value("${app.stock.escritura-diferida.intervalo-ms:200}") long intervaloMs,
+                                           @Value("${app.stock.escritura-diferida.umbral:5000}") int umbral) throws IOException {
+        if (shards.cantidad() > 1) {
+            throw new IllegalStateException("La escritura diferida del stock no está disponible con la base dividida en shards");
+        }
+        if (!identidadNodo.configurada()) {
+            throw new IllegalStateException("La escritura diferida del stock requiere app.nodo.id, único entre los nodos de comandos");
+        }
+        String marca = "stock-diferido:" + identidadNodo.id();
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+
+        // Un único UPDATE por lote JDBC y una sola secuencia de cambio para todo el volcado
+        ContadoresStock.Escritor escritor = (segmento, diferencias) -> transaccion.execute(status -> {
+            Set<Long> rechazados = diferencias.isEmpty() ? Set.of()
+                    : productoRepository.sumarStockEnLote(diferencias, secuenciaCambioService.siguiente());
+            secuenciaCambioRepository.save(new SecuenciaCambio(marca, segmento));
+            return rechazados;
+        });
+
+        recuperar(registro, escritor, secuenciaCambioRepository.findValor(marca).orElse(0L));
+        return new ContadoresStock(registro, id -> lectura.execute(status -> productoRepository.findStockActivo(id)),
+                escritor, intervaloMs, umbral, registry);
+    }
+
+    private void recuperar(RegistroDeltasStock registro, ContadoresStock.Escritor escritor, long aplicado) throws IOException {
+        Map<Long, Long> diferencias = new HashMap<>();
+        long ultimo = aplicado;
+        for (long segmento : registro.segmentos()) {
+            if (segmento > aplicado) {
+                registro.leer(segmento).forEach((id, diferencia) -> diferencias.merge(id, diferencia, Long::sum));
+            }
+            ultimo = Math.max(ultimo, segmento);
+        }
+
+        if (ultimo > aplicado) {
+            Set<Long> rechazados = escritor.escribir(ultimo, diferencias);
+            if (!diferencias.isEmpty()) {
+                log.info("Stock diferido recuperado del registro: {} productos hasta el segmento {}", diferencias.size(), ultimo);
+            }
+            rechazados.forEach(id -> log.warn("La base rechazó la diferencia de stock recuperada {} del producto {} "
+                    + "(eliminado o stock insuficiente); se descarta", diferencias.get(id), id));
+        }
+        registro.descartarHasta(ultimo);
+        registro.abrir(ultimo + 1);
+    }
+}
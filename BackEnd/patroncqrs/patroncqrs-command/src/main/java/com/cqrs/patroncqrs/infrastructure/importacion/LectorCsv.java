@@ -0,0 +1,116 @@
+package com.cqrs.patroncqrs.infrastructure.importacion;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV con encabezado (RFC 4180): separador coma, campos entre comillas dobles que pueden
+ * contener comas, saltos de línea y comillas duplicadas. Un BOM inicial se ignora.
+ */
+class LectorCsv implements LectorRegistros {
+
+    private static final char BOM = '\uFEFF';
+
+    private final BufferedReader lector;
+    private final List<String> encabezado;
+    private final StringBuilder contenido = new StringBuilder();
+    private long numero;
+
+    LectorCsv(BufferedReader lector) throws IOException {
+        this.lector = lector;
+        List<String> columnas = leerCampos();
+        this.encabezado = new ArrayList<>();
+        if (columnas != null) {
+            for (String columna : columnas) {
+                String nombre = columna.trim().toLowerCase(Locale.ROOT);
+                encabezado.add(!nombre.isEmpty() && nombre.charAt(0) == BOM ? nombre.substring(1) : nombre);
+            }
+        }
+    }
+
+    @Override
+    public RegistroImportacion siguiente() throws IOException {
+        List<String> campos;
+        do {
+            campos = leerCampos();
+            if (campos == null) {
+                return null;
+            }
+            // Las líneas vacías no cuentan como registros
+        } while (campos.size() == 1 && campos.get(0).isEmpty());
+
+        numero++;
+        String texto = RegistroImportacion.recortar(contenido.toString());
+        if (campos.size() != encabezado.size()) {
+            return new RegistroImportacion(numero, null, texto,
+                    "Se esperaban " + encabezado.size() + " columnas y hay " + campos.size());
+        }
+        Map<String, String> porNombre = new HashMap<>(encabezado.size() * 2);
+        for (int i = 0; i < campos.size(); i++) {
+            porNombre.put(encabezado.get(i), campos.get(i));
+        }
+        return new RegistroImportacion(numero, porNombre, texto, null);
+    }
+
+    // Lee los campos del siguiente registro, que puede ocupar varias líneas; null al final del archivo
+    private List<String> leerCampos() throws IOException {
+        contenido.setLength(0);
+        int c = lector.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        while (c != -1) {
+            char caracter = (char) c;
+            if (entreComillas) {
+                contenido.append(caracter);
+                if (caracter == '"') {
+                    lector.mark(1);
+                    int proximo = lector.read();
+                    if (proximo == '"') {
+                        contenido.append('"');
+                        campo.append('"');
+                    } else {
+                        entreComillas = false;
+                        lector.reset();
+                    }
+                } else {
+                    campo.append(caracter);
+                }
+            } else if (caracter == '"') {
+                contenido.append(caracter);
+                entreComillas = true;
+            } else if (caracter == ',') {
+                contenido.append(caracter);
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (caracter == '\n' || caracter == '\r') {
+                if (caracter == '\r') {
+                    lector.mark(1);
+                    if (lector.read() != '\n') {
+                        lector.reset();
+                    }
+                }
+                break;
+            } else {
+                contenido.append(caracter);
+                campo.append(caracter);
+            }
+            c = lector.read();
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lector.close();
+    }
+}
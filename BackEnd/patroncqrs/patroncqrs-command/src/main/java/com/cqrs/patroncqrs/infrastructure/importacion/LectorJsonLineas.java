@@ -0,0 +1,62 @@
+package com.cqrs.patroncqrs.infrastructure.importacion;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * JSON Lines: un objeto JSON por línea. Las líneas vacías se ignoran.
+ */
+class LectorJsonLineas implements LectorRegistros {
+
+    private final BufferedReader lector;
+    private final ObjectMapper objectMapper;
+    private long numero;
+
+    LectorJsonLineas(BufferedReader lector, ObjectMapper objectMapper) {
+        this.lector = lector;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public RegistroImportacion siguiente() throws IOException {
+        String linea;
+        do {
+            linea = lector.readLine();
+            if (linea == null) {
+                return null;
+            }
+        } while (linea.isBlank());
+
+        numero++;
+        String texto = RegistroImportacion.recortar(linea);
+        JsonNode nodo;
+        try {
+            nodo = objectMapper.readTree(linea);
+        } catch (JsonProcessingException e) {
+            return new RegistroImportacion(numero, null, texto, "JSON inválido: " + e.getOriginalMessage());
+        }
+        if (!nodo.isObject()) {
+            return new RegistroImportacion(numero, null, texto, "Se esperaba un objeto JSON");
+        }
+
+        Map<String, String> campos = new HashMap<>();
+        for (Map.Entry<String, JsonNode> campo : nodo.properties()) {
+            if (!campo.getValue().isNull()) {
+                campos.put(campo.getKey().toLowerCase(Locale.ROOT), campo.getValue().asText());
+            }
+        }
+        return new RegistroImportacion(numero, campos, texto, null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        lector.close();
+    }
+}
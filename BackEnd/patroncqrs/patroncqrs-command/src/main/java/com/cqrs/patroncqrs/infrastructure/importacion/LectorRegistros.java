@@ -0,0 +1,30 @@
+package com.cqrs.patroncqrs.infrastructure.importacion;
+
+import com.cqrs.patroncqrs.domain.entity.Importacion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Lee un archivo de importación registro por registro, sin cargarlo entero en memoria.
+ */
+public interface LectorRegistros extends Closeable {
+
+    /**
+     * @return el siguiente registro, o null al llegar al final del archivo
+     */
+    RegistroImportacion siguiente() throws IOException;
+
+    static LectorRegistros abrir(Path archivo, Importacion.Formato formato, ObjectMapper objectMapper) throws IOException {
+        BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8);
+        return switch (formato) {
+            case CSV -> new LectorCsv(lector);
+            case JSONL -> new LectorJsonLineas(lector, objectMapper);
+        };
+    }
+}
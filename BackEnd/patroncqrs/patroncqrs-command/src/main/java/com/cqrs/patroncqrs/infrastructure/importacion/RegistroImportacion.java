@@ -0,0 +1,16 @@
+package com.cqrs.patroncqrs.infrastructure.importacion;
+
+import java.util.Map;
+
+/**
+ * Un registro leído del archivo: sus campos por nombre (en minúsculas) y el texto original.
+ * Si no se pudo interpretar, los campos son nulos y {@code error} dice por qué.
+ */
+public record RegistroImportacion(long numero, Map<String, String> campos, String contenido, String error) {
+
+    static final int LARGO_MAXIMO_CONTENIDO = 1000;
+
+    static String recortar(String contenido) {
+        return contenido.length() > LARGO_MAXIMO_CONTENIDO ? contenido.substring(0, LARGO_MAXIMO_CONTENIDO) : contenido;
+    }
+}
@@ -0,0 +1,69 @@
+package com.cqrs.patroncqrs.infrastructure.invalidacion;
+
+import com.cqrs.patroncqrs.domain.entity.SecuenciaCambio;
+import com.cqrs.patroncqrs.domain.event.CambioCatalogoEvent;
+import com.cqrs.patroncqrs.infrastructure.shard.Shards;
+import com.cqrs.patroncqrs.repository.SecuenciaCambioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Junta los cambios confirmados por los comandos y los difunde a los demás nodos en lotes.
+ * Todo el lote lleva como versión la secuencia de cambios leída al enviarlo: es posterior a cada
+ * commit del lote, así que un nodo que aplica la invalidación y recarga ve al menos esos datos.
+ * Con shards la versión es la suma de las secuencias de todos: cada una solo crece, la suma también.
+ */
+@Component
+@ConditionalOnExpression("'${app.invalidacion.tipo:local}' != 'local'")
+public class PublicadorInvalidaciones {
+
+    private record Pendiente(CambioCatalogoEvent.Entidad entidad, Long id) {
+    }
+
+    private final BusInvalidacion bus;
+    private final SecuenciaCambioRepository secuenciaCambioRepository;
+    private final Shards shards;
+    // Un mismo registro modificado varias veces dentro del intervalo se envía una sola vez
+    private final Set<Pendiente> pendientes = new LinkedHashSet<>();
+
+    @Autowired
+    public PublicadorInvalidaciones(BusInvalidacion bus, SecuenciaCambioRepository secuenciaCambioRepository,
+                                    Shards shards) {
+        this.bus = bus;
+        this.secuenciaCambioRepository = secuenciaCambioRepository;
+        this.shards = shards;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alConfirmarCambio(CambioCatalogoEvent evento) {
+        synchronized (pendientes) {
+            pendientes.add(new Pendiente(evento.getEntidad(), evento.getId()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.invalidacion.lote-ms:20}")
+    public void enviar() {
+        List<Pendiente> lote;
+        synchronized (pendientes) {
+            if (pendientes.isEmpty()) {
+                return;
+            }
+            lote = new ArrayList<>(pendientes);
+            pendientes.clear();
+        }
+
+        long version = shards.reunir(() -> List.of(secuenciaCambioRepository.findValor(SecuenciaCambio.CATALOGO).orElse(0L)))
+                .stream().mapToLong(Long::longValue).sum();
+        bus.publicar(lote.stream()
+                .map(pendiente -> new Invalidacion(pendiente.entidad(), pendiente.id(), version))
+                .toList());
+    }
+}
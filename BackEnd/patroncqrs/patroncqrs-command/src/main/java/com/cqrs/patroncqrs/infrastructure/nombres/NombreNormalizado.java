@@ -0,0 +1,26 @@
+package com.cqrs.patroncqrs.infrastructure.nombres;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Forma canónica de un nombre para comparar unicidad: sin tildes, en minúsculas
+ * y con los espacios colapsados ("  Lácteos " y "lacteos" son el mismo nombre).
+ */
+public final class NombreNormalizado {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    private NombreNormalizado() {
+    }
+
+    public static String de(String nombre) {
+        if (nombre == null) {
+            return null;
+        }
+        String sinTildes = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(nombre, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACIOS.matcher(sinTildes.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,180 @@
+package com.cqrs.patroncqrs.infrastructure.nombres;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Conjunto en memoria de los nombres normalizados en uso por las filas activas de una entidad.
+ * Las reservas son atómicas ({@code putIfAbsent}), así dos escrituras concurrentes de esta instancia
+ * con el mismo nombre fallan rápido sin ir a la base. Cada cambio se ata a la transacción en curso: una
+ * reserva se deshace si la transacción no confirma y una liberación recién se aplica tras el commit.
+ * <p>
+ * Otras instancias también crean y liberan nombres, así que el conjunto es una pista: un nombre que
+ * figura en uso se confirma contra la base antes de rechazarlo, y uno que no figura lo termina de
+ * verificar la restricción única de la base. {@link ResincronizacionNombres} lo pone al día con las
+ * invalidaciones que llegan de las demás instancias. Si la restricción única no cubre todo el catálogo
+ * (base dividida en shards) se confirma contra la base también lo que no figura.
+ */
+public class RegistroNombres {
+
+    private final String entidad;
+    // Recibe nombres y devuelve los que alguna fila activa usa en la base
+    private final Function<Collection<String>, Set<String>> enUso;
+    // Nombres de filas confirmadas, según lo que vio esta instancia
+    private final Set<String> nombres = ConcurrentHashMap.newKeySet();
+    // Reservados por transacciones de esta instancia que todavía no terminaron
+    private final Set<String> enCurso = ConcurrentHashMap.newKeySet();
+    private final boolean confirmarSiempre;
+
+    public RegistroNombres(String entidad, Function<Collection<String>, Set<String>> enUso) {
+        this(entidad, enUso, false);
+    }
+
+    public RegistroNombres(String entidad, Function<Collection<String>, Set<String>> enUso, boolean confirmarSiempre) {
+        this.entidad = entidad;
+        this.enUso = enUso;
+        this.confirmarSiempre = confirmarSiempre;
+    }
+
+    public String getEntidad() {
+        return entidad;
+    }
+
+    public void cargar(Collection<String> nombresNormalizados) {
+        nombres.addAll(nombresNormalizados);
+    }
+
+    /**
+     * Deja el conjunto igual a los nombres leídos de la base (tras cambios en bloque de otras instancias).
+     * Lo que confirme esta instancia mientras tanto puede faltar un rato: la restricción única lo cubre.
+     */
+    public void reemplazar(Collection<String> nombresNormalizados) {
+        Set<String> vigentes = new HashSet<>(nombresNormalizados);
+        nombres.retainAll(vigentes);
+        nombres.addAll(vigentes);
+    }
+
+    public boolean contiene(String nombreNormalizado) {
+        return nombres.contains(nombreNormalizado) || enCurso.contains(nombreNormalizado);
+    }
+
+    public int tamanio() {
+        return nombres.size();
+    }
+
+    /**
+     * Reserva el nombre para la transacción actual.
+     *
+     * @return false si otra fila activa (o una transacción en curso) ya lo usa
+     */
+    public boolean reservar(String nombreNormalizado) {
+        verificarTransaccion();
+        if (!enCurso.add(nombreNormalizado)) {
+            return false;
+        }
+        // Si figura en uso puede haberlo liberado otra instancia: decide la base
+        boolean ocupado;
+        try {
+            ocupado = (confirmarSiempre || nombres.contains(nombreNormalizado))
+                    && !enUso.apply(Set.of(nombreNormalizado)).isEmpty();
+        } catch (RuntimeException e) {
+            enCurso.remove(nombreNormalizado);
+            throw e;
+        }
+        if (ocupado) {
+            enCurso.remove(nombreNormalizado);
+            return false;
+        }
+        alTerminar(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int estado) {
+                if (estado == STATUS_COMMITTED) {
+                    nombres.add(nombreNormalizado);
+                }
+                enCurso.remove(nombreNormalizado);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Deja el nombre libre cuando la transacción actual confirme.
+     */
+    public void liberar(String nombreNormalizado) {
+        verificarTransaccion();
+        alTerminar(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int estado) {
+                if (estado == STATUS_COMMITTED) {
+                    nombres.remove(nombreNormalizado);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reserva para la transacción actual los nombres que estén libres; los ocupados se ignoran.
+     * Los que figuran en uso se confirman contra la base en una sola consulta.
+     *
+     * @return los nombres reservados (un nombre repetido en la entrada se reserva una sola vez)
+     */
+    public Set<String> reservarDisponibles(Collection<String> nombresNormalizados) {
+        verificarTransaccion();
+        Set<String> reservados = new HashSet<>();
+        alTerminar(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int estado) {
+                if (estado == STATUS_COMMITTED) {
+                    nombres.addAll(reservados);
+                }
+                reservados.forEach(enCurso::remove);
+            }
+        });
+        for (String nombreNormalizado : nombresNormalizados) {
+            if (enCurso.add(nombreNormalizado)) {
+                reservados.add(nombreNormalizado);
+            }
+        }
+
+        Set<String> conocidos = confirmarSiempre ? Set.copyOf(reservados)
+                : reservados.stream().filter(nombres::contains).collect(Collectors.toSet());
+        if (!conocidos.isEmpty()) {
+            Set<String> ocupados = enUso.apply(conocidos);
+            reservados.removeAll(ocupados);
+            ocupados.forEach(enCurso::remove);
+        }
+        return reservados;
+    }
+
+    /**
+     * Deja todos los nombres libres cuando la transacción actual confirme.
+     */
+    public void liberarTodos(Collection<String> nombresNormalizados) {
+        verificarTransaccion();
+        alTerminar(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int estado) {
+                if (estado == STATUS_COMMITTED) {
+                    nombresNormalizados.forEach(nombres::remove);
+                }
+            }
+        });
+    }
+
+    private static void verificarTransaccion() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("El registro de nombres requiere una transacción activa");
+        }
+    }
+
+    private static void alTerminar(TransactionSynchronization sincronizacion) {
+        TransactionSynchronizationManager.registerSynchronization(sincronizacion);
+    }
+}
@@ -0,0 +1,112 @@
+package com.cqrs.patroncqrs.infrastructure.nombres;
+
+import com.cqrs.patroncqrs.domain.event.CambioCatalogoEvent;
+import com.cqrs.patroncqrs.infrastructure.invalidacion.Invalidacion;
+import com.cqrs.patroncqrs.infrastructure.shard.Shards;
+import com.cqrs.patroncqrs.repository.CategoriaRepository;
+import com.cqrs.patroncqrs.repository.ProductoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Pone al día los registros de nombres con los cambios de las demás instancias de comandos, que llegan
+ * como {@link Invalidacion}. Los registros modificados se juntan y en cada pasada se agregan los nombres
+ * que hoy usan (los liberados los descarta la confirmación contra la base de {@link RegistroNombres});
+ * una invalidación completa (operación en bloque) recarga todo el registro de esa entidad.
+ */
+@Component
+@ConditionalOnExpression("'${app.invalidacion.tipo:local}' != 'local'")
+public class ResincronizacionNombres {
+
+    private static final Logger log = LoggerFactory.getLogger(ResincronizacionNombres.class);
+
+    private final RegistroNombres registroProductos;
+    private final RegistroNombres registroCategorias;
+    private final ProductoRepository productoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final Shards shards;
+
+    // Solo se tocan bajo el monitor de la instancia
+    private final Set<Long> productos = new HashSet<>();
+    private final Set<Long> categorias = new HashSet<>();
+    private boolean todosProductos;
+    private boolean todasCategorias;
+
+    @Autowired
+    public ResincronizacionNombres(@Qualifier("registroNombresProductos") RegistroNombres registroProductos,
+                                   @Qualifier("registroNombresCategorias") RegistroNombres registroCategorias,
+                                   ProductoRepository productoRepository,
+                                   CategoriaRepository categoriaRepository,
+                                   Shards shards) {
+        this.registroProductos = registroProductos;
+        this.registroCategorias = registroCategorias;
+        this.productoRepository = productoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.shards = shards;
+    }
+
+    // Llega en el hilo del bus: solo se anota, la consulta queda para la pasada programada
+    @EventListener
+    public synchronized void alRecibirInvalidacion(Invalidacion invalidacion) {
+        boolean categoria = invalidacion.entidad() == CambioCatalogoEvent.Entidad.CATEGORIA;
+        if (invalidacion.esCompleta()) {
+            if (categoria) {
+                todasCategorias = true;
+            } else {
+                todosProductos = true;
+            }
+        } else {
+            (categoria ? categorias : productos).add(invalidacion.id());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.nombres.resincronizacion-ms:500}")
+    public void resincronizar() {
+        List<Long> idsProductos;
+        List<Long> idsCategorias;
+        boolean recargarProductos;
+        boolean recargarCategorias;
+        synchronized (this) {
+            idsProductos = new ArrayList<>(productos);
+            idsCategorias = new ArrayList<>(categorias);
+            recargarProductos = todosProductos;
+            recargarCategorias = todasCategorias;
+            productos.clear();
+            categorias.clear();
+            todosProductos = false;
+            todasCategorias = false;
+        }
+
+        try {
+            if (recargarProductos) {
+                registroProductos.reemplazar(activos(shards.reunir(productoRepository::findNombresActivos)));
+            } else if (!idsProductos.isEmpty()) {
+                registroProductos.cargar(shards.reunir(() -> productoRepository.findNombresActivosPorIds(idsProductos)));
+            }
+            if (recargarCategorias) {
+                registroCategorias.reemplazar(activos(shards.reunir(categoriaRepository::findNombresActivos)));
+            } else if (!idsCategorias.isEmpty()) {
+                registroCategorias.cargar(shards.reunir(() -> categoriaRepository.findNombresActivosPorIds(idsCategorias)));
+            }
+        } catch (RuntimeException e) {
+            // El registro es una pista: con nombres de menos decide la restricción única de la base
+            log.warn("No se pudo resincronizar el registro de nombres; se reintenta con el próximo cambio", e);
+        }
+    }
+
+    private static List<String> activos(List<Object[]> filas) {
+        return filas.stream().map(fila -> (String) fila[2]).filter(Objects::nonNull).toList();
+    }
+}
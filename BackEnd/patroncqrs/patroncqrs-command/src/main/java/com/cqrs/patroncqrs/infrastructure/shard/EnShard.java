@@ -0,0 +1,20 @@
+package com.cqrs.patroncqrs.infrastructure.shard;
+
+import java.lang.annotation.*;
+
+/**
+ * Marca comandos que escriben en un solo shard. Cada expresión SpEL sobre los parámetros
+ * (por ejemplo "#id" o "#command.categoriaId") da una clave: un ID de categoría o producto,
+ * o el nombre de una categoría nueva. Las claves nulas se ignoran; las demás tienen que
+ * caer en el mismo shard. Si todas son nulas la operación se rechaza: no se reparte entre shards.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EnShard {
+
+    String[] value();
+
+    // Lo que el cliente tiene que indicar cuando todas las claves son nulas (para el mensaje de error)
+    String requerido() default "el ID de la categoría o del producto";
+}
@@ -0,0 +1,90 @@
+package com.cqrs.patroncqrs.infrastructure.shard;
+
+import com.cqrs.patroncqrs.domain.exception.CodigoError;
+import com.cqrs.patroncqrs.domain.exception.ConflictoDominioException;
+import com.cqrs.patroncqrs.domain.exception.ValidacionDominioException;
+import com.cqrs.patroncqrs.infrastructure.nombres.NombreNormalizado;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.Ordered;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Liga el hilo al shard de los métodos marcados con @EnShard. Se ordena por fuera de @Transactional:
+ * la transacción tiene que abrirse ya en el shard que corresponde.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class EnShardAspect {
+
+    private final Shards shards;
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer nombresParametros = new DefaultParameterNameDiscoverer();
+    private final Map<String, Expression> expresiones = new ConcurrentHashMap<>();
+
+    public EnShardAspect(Shards shards) {
+        this.shards = shards;
+    }
+
+    @Around("@annotation(com.cqrs.patroncqrs.infrastructure.shard.EnShard)")
+    public Object enrutar(ProceedingJoinPoint joinPoint) throws Throwable {
+        // Sin enlazar la anotación como argumento: este aspecto corre antes que ExposeInvocationInterceptor
+        Method metodo = AopUtils.getMostSpecificMethod(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                joinPoint.getTarget().getClass());
+        EnShard enShard = AnnotationUtils.findAnnotation(metodo, EnShard.class);
+        MethodBasedEvaluationContext contexto = new MethodBasedEvaluationContext(
+                joinPoint.getTarget(), metodo, joinPoint.getArgs(), nombresParametros);
+
+        Integer shard = null;
+        for (String clave : enShard.value()) {
+            Object valor = expresiones.computeIfAbsent(clave, parser::parseExpression).getValue(contexto);
+            if (valor == null) {
+                continue;
+            }
+            int destino = shardDe(valor);
+            if (shard != null && shard != destino) {
+                throw new ConflictoDominioException(CodigoError.SHARDS_DISTINTOS, metodo.getName());
+            }
+            shard = destino;
+        }
+        if (shard == null) {
+            throw new ValidacionDominioException(CodigoError.SHARD_NO_DETERMINADO, enShard.requerido());
+        }
+
+        // Una transacción ya abierta no puede cambiar de base a mitad de camino
+        Integer ligado = ContextoShard.actual();
+        int enCurso = ligado != null ? ligado : ContextoShard.PRINCIPAL;
+        if (TransactionSynchronizationManager.isActualTransactionActive() && enCurso != shard) {
+            throw new ConflictoDominioException(CodigoError.SHARDS_DISTINTOS, metodo.getName());
+        }
+
+        Integer anterior = ContextoShard.asignar(shard);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ContextoShard.asignar(anterior);
+        }
+    }
+
+    // Las categorías nuevas van al shard de su nombre: dos con el mismo nombre chocan en la misma base
+    private int shardDe(Object clave) {
+        if (clave instanceof Number id) {
+            return shards.deId(id.longValue());
+        }
+        return Math.floorMod(NombreNormalizado.de(clave.toString()).hashCode(), shards.cantidad());
+    }
+}
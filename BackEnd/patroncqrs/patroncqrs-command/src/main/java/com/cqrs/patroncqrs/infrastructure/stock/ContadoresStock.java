@@ -0,0 +1,281 @@
+package com.cqrs.patroncqrs.infrastructure.stock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongFunction;
+
+/**
+ * Stock con escritura diferida: los movimientos se aceptan contra un contador en memoria por producto
+ * y se escriben en la base en lotes, cada cierto intervalo o al juntar el umbral de movimientos.
+ * Cada contador arranca con el stock de la base y rechaza lo que lo dejaría negativo, así no se vende
+ * de más. Todo movimiento aceptado queda antes en el {@link RegistroDeltasStock} para recuperarlo si el
+ * proceso cae antes del volcado. El presupuesto es el de este nodo: con varios nodos de comandos, los
+ * movimientos de un mismo producto tienen que llegar siempre al mismo.
+ * <p>
+ * La base tiene la última palabra: si al volcar una diferencia dejaría el stock negativo (porque otro
+ * comando fijó un stock menor) o el producto ya no está activo, esa diferencia se descarta, se informa
+ * en el log y en stock.diferido.descartados, y el contador se relee de la base.
+ */
+public class ContadoresStock {
+
+    private static final Logger log = LoggerFactory.getLogger(ContadoresStock.class);
+
+    public enum Estado {
+        ACEPTADO,
+        INSUFICIENTE,
+        NO_ENCONTRADO
+    }
+
+    public record Movimiento(Estado estado, long disponible) {
+    }
+
+    /**
+     * Escribe en la base, en una transacción, las diferencias del segmento y lo marca como aplicado.
+     * Devuelve los IDs cuya diferencia la base rechazó.
+     */
+    @FunctionalInterface
+    public interface Escritor {
+        Set<Long> escribir(long segmento, Map<Long, Long> diferencias);
+    }
+
+    private static final class Contador {
+        // Lo que se puede vender: stock de la base más los movimientos aceptados y no volcados
+        final AtomicLong disponible;
+        // Aceptado y todavía no escrito en la base; LongAdder reparte la contención entre hilos
+        final LongAdder pendiente = new LongAdder();
+        volatile boolean desactualizado;
+        volatile boolean usado = true;
+
+        Contador(long disponible) {
+            this.disponible = new AtomicLong(disponible);
+        }
+    }
+
+    private final Map<Long, Contador> contadores = new ConcurrentHashMap<>();
+    // Los movimientos entran con el de lectura; el volcado toma el de escritura para cortar el segmento
+    private final ReentrantReadWriteLock rotacion = new ReentrantReadWriteLock();
+    private final RegistroDeltasStock registro;
+    private final LongFunction<Optional<Integer>> stockEnBase;
+    private final Escritor escritor;
+    private final int umbral;
+    private final AtomicInteger movimientosSinVolcar = new AtomicInteger();
+    private final ScheduledExecutorService volcador;
+    private final Counter aceptados;
+    private final Counter insuficientes;
+    private final Counter descartados;
+    private final Timer duracionVolcado;
+
+    public ContadoresStock(RegistroDeltasStock registro, LongFunction<Optional<Integer>> stockEnBase, Escritor escritor,
+                           long intervaloMs, int umbral, MeterRegistry registry) {
+        this.registro = registro;
+        this.stockEnBase = stockEnBase;
+        this.escritor = escritor;
+        this.umbral = umbral;
+
+        Gauge.builder("stock.diferido.productos", contadores, Map::size)
+                .description("Productos con contador de stock en memoria")
+                .register(registry);
+        Gauge.builder("stock.diferido.pendientes", movimientosSinVolcar, AtomicInteger::get)
+                .description("Movimientos de stock aceptados y todavía no escritos en la base")
+                .register(registry);
+        this.aceptados = Counter.builder("stock.diferido.movimientos")
+                .tag("resultado", "aceptado")
+                .register(registry);
+        this.insuficientes = Counter.builder("stock.diferido.movimientos")
+                .tag("resultado", "insuficiente")
+                .register(registry);
+        this.descartados = Counter.builder("stock.diferido.descartados")
+                .description("Diferencias de stock que la base rechazó al volcarlas")
+                .register(registry);
+        this.duracionVolcado = Timer.builder("stock.diferido.volcado")
+                .description("Escritura en la base de los movimientos acumulados")
+                .register(registry);
+
+        this.volcador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "stock-volcado");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        volcador.scheduleWithFixedDelay(this::volcarSinFallar, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    public Movimiento mover(long id, long cantidad) {
+        while (true) {
+            Contador contador = contadores.get(id);
+            if (contador == null || contador.desactualizado) {
+                contador = cargar(id);
+                if (contador == null) {
+                    return new Movimiento(Estado.NO_ENCONTRADO, 0);
+                }
+            }
+            Movimiento movimiento = mover(id, contador, cantidad);
+            if (movimiento != null) {
+                return movimiento;
+            }
+        }
+    }
+
+    // Nulo si el volcado liberó el contador mientras tanto: hay que tomar el nuevo
+    private Movimiento mover(long id, Contador contador, long cantidad) {
+        rotacion.readLock().lock();
+        try {
+            if (contadores.get(id) != contador) {
+                return null;
+            }
+            long disponible;
+            long actual;
+            do {
+                actual = contador.disponible.get();
+                disponible = actual + cantidad;
+                if (disponible < 0) {
+                    insuficientes.increment();
+                    return new Movimiento(Estado.INSUFICIENTE, actual);
+                }
+            } while (!contador.disponible.compareAndSet(actual, disponible));
+
+            try {
+                registro.agregar(id, cantidad);
+            } catch (RuntimeException e) {
+                // Sin registro no se acepta: si el proceso cae, el movimiento se perdería
+                contador.disponible.addAndGet(-cantidad);
+                throw e;
+            }
+            contador.pendiente.add(cantidad);
+            contador.usado = true;
+            aceptados.increment();
+            if (movimientosSinVolcar.incrementAndGet() == umbral) {
+                volcador.execute(this::volcarSinFallar);
+            }
+            return new Movimiento(Estado.ACEPTADO, disponible);
+        } finally {
+            rotacion.readLock().unlock();
+        }
+    }
+
+    /**
+     * Otro comando cambió el stock del producto (o de todos, con id nulo): el próximo movimiento relee la base.
+     */
+    public void marcarDesactualizado(Long id) {
+        if (id == null) {
+            contadores.values().forEach(contador -> contador.desactualizado = true);
+        } else {
+            Contador contador = contadores.get(id);
+            if (contador != null) {
+                contador.desactualizado = true;
+            }
+        }
+    }
+
+    /**
+     * Escribe en la base lo acumulado. Sincronizado con la carga de contadores: entre el commit y el
+     * descuento de lo pendiente, la base y el contador cuentan dos veces lo mismo.
+     */
+    public synchronized void volcar() throws IOException {
+        if (movimientosSinVolcar.get() == 0) {
+            return;
+        }
+
+        long segmento;
+        Map<Long, Long> diferencias = new HashMap<>();
+        rotacion.writeLock().lock();
+        try {
+            segmento = registro.rotar();
+            movimientosSinVolcar.set(0);
+            contadores.forEach((id, contador) -> {
+                long pendiente = contador.pendiente.sum();
+                if (pendiente != 0) {
+                    diferencias.put(id, pendiente);
+                } else if (!contador.usado) {
+                    // Sin movimientos desde el volcado anterior: se libera y se relee de la base si vuelve
+                    contadores.remove(id);
+                }
+                contador.usado = false;
+            });
+        } finally {
+            rotacion.writeLock().unlock();
+        }
+
+        // Si la escritura falla, lo pendiente sigue en los contadores y el segmento en disco hasta el próximo volcado
+        Set<Long> rechazados;
+        try {
+            rechazados = duracionVolcado.record(() -> escritor.escribir(segmento, diferencias));
+        } catch (RuntimeException e) {
+            movimientosSinVolcar.incrementAndGet();
+            throw e;
+        }
+        diferencias.forEach((id, diferencia) -> {
+            Contador contador = contadores.get(id);
+            if (contador != null) {
+                contador.pendiente.add(-diferencia);
+                if (rechazados.contains(id)) {
+                    contador.desactualizado = true;
+                }
+            }
+        });
+        for (Long id : rechazados) {
+            descartados.increment();
+            log.warn("La base rechazó la diferencia de stock {} del producto {} (eliminado o stock insuficiente); se descarta",
+                    diferencias.get(id), id);
+        }
+        registro.descartarHasta(segmento);
+    }
+
+    public void cerrar() {
+        volcador.shutdown();
+        try {
+            volcador.awaitTermination(10, TimeUnit.SECONDS);
+            volcar();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            log.warn("No se pudo volcar el stock al cerrar; se recupera del registro al arrancar", e);
+        }
+    }
+
+    private synchronized Contador cargar(long id) {
+        Optional<Integer> stock = stockEnBase.apply(id);
+        if (stock.isEmpty()) {
+            // Si quedaba algo pendiente, el contador sigue hasta volcarlo
+            return null;
+        }
+        // Con el de escritura ningún movimiento queda entre el descuento de disponible y el de pendiente
+        rotacion.writeLock().lock();
+        try {
+            Contador contador = contadores.computeIfAbsent(id, k -> new Contador(stock.get()));
+            if (contador.desactualizado) {
+                // Fuera de un volcado, la base más lo pendiente es exactamente lo disponible
+                contador.disponible.set(stock.get() + contador.pendiente.sum());
+                contador.desactualizado = false;
+            }
+            return contador;
+        } finally {
+            rotacion.writeLock().unlock();
+        }
+    }
+
+    private void volcarSinFallar() {
+        try {
+            volcar();
+        } catch (IOException | RuntimeException e) {
+            log.warn("No se pudo volcar el stock diferido; se reintenta en el próximo intervalo", e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.cqrs.patroncqrs.infrastructure.stock;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Registro de solo agregado de los movimientos de stock aceptados y todavía no escritos en la base.
+ * Se divide en segmentos numerados: cada volcado cierra el segmento actual y abre el siguiente, y los
+ * segmentos ya confirmados en la base se borran. Al arrancar, los segmentos que quedaron se vuelven a aplicar.
+ * Cada registro son 16 bytes (ID y diferencia); un registro a medio escribir por una caída se ignora.
+ */
+public class RegistroDeltasStock {
+
+    private static final int TAMANIO_REGISTRO = Long.BYTES * 2;
+    private static final Pattern NOMBRE_SEGMENTO = Pattern.compile("deltas-(\\d+)\\.log");
+
+    private final Path directorio;
+    private final boolean forzarDisco;
+    private volatile FileChannel actual;
+    private long numeroActual;
+
+    public RegistroDeltasStock(Path directorio, boolean forzarDisco) throws IOException {
+        this.directorio = Files.createDirectories(directorio);
+        this.forzarDisco = forzarDisco;
+    }
+
+    /**
+     * Segmentos que quedaron en disco, en orden.
+     */
+    public List<Long> segmentos() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos
+                    .map(archivo -> NOMBRE_SEGMENTO.matcher(archivo.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(nombre -> Long.parseLong(nombre.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Diferencias acumuladas por producto en un segmento.
+     */
+    public Map<Long, Long> leer(long numero) throws IOException {
+        Map<Long, Long> diferencias = new HashMap<>();
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(ruta(numero)));
+        while (buffer.remaining() >= TAMANIO_REGISTRO) {
+            diferencias.merge(buffer.getLong(), buffer.getLong(), Long::sum);
+        }
+        return diferencias;
+    }
+
+    public synchronized void abrir(long numero) throws IOException {
+        actual = FileChannel.open(ruta(numero), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        numeroActual = numero;
+    }
+
+    /**
+     * Agrega un movimiento al segmento actual. Sin forzar disco sobrevive a la caída del proceso,
+     * no a la del sistema operativo.
+     */
+    public void agregar(long id, long diferencia) {
+        ByteBuffer registro = ByteBuffer.allocate(TAMANIO_REGISTRO).putLong(id).putLong(diferencia).flip();
+        try {
+            // El canal en modo APPEND escribe cada registro completo al final aunque haya varios hilos
+            FileChannel canal = actual;
+            while (registro.hasRemaining()) {
+                canal.write(registro);
+            }
+            if (forzarDisco) {
+                canal.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Cierra el segmento actual y abre el siguiente. Devuelve el número del segmento cerrado.
+     */
+    public synchronized long rotar() throws IOException {
+        long cerrado = numeroActual;
+        FileChannel anterior = actual;
+        abrir(cerrado + 1);
+        anterior.force(false);
+        anterior.close();
+        return cerrado;
+    }
+
+    /**
+     * Borra los segmentos hasta el número dado (inclusive): ya están en la base.
+     */
+    public void descartarHasta(long numero) throws IOException {
+        for (long segmento : segmentos()) {
+            if (segmento <= numero) {
+                Files.deleteIfExists(ruta(segmento));
+            }
+        }
+    }
+
+    public synchronized void cerrar() throws IOException {
+        if (actual != null) {
+            actual.close();
+        }
+    }
+
+    private Path ruta(long numero) {
+        return directorio.resolve(String.format("deltas-%019d.log", numero));
+    }
+}
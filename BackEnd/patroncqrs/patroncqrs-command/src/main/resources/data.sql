@@ -0,0 +1,3 @@
+-- Contador de cambios del catalogo. Se siembra al arrancar y no al primer cambio: dos escrituras
+-- concurrentes no compiten por crearlo. IGNORE lo vuelve idempotente entre reinicios y entre nodos.
+INSERT IGNORE INTO secuencia_cambios (nombre, valor) VALUES ('catalogo', 0);
@@ -0,0 +1,13 @@
+package com.cqrs.patroncqrs;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class PatroncqrsCommandApplicationTests {
+
+    @Test
+    void contextLoads() {
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.cqrs.patroncqrs.command.service;
+
+import com.cqrs.patroncqrs.command.dto.CrearCategoriaCommand;
+import com.cqrs.patroncqrs.command.dto.CrearProductoCommand;
+import com.cqrs.patroncqrs.command.dto.FiltroProductosCommand;
+import com.cqrs.patroncqrs.command.dto.ResultadoMasivoDTO;
+import com.cqrs.patroncqrs.domain.entity.Producto;
+import com.cqrs.patroncqrs.repository.CategoriaArchivadaRepository;
+import com.cqrs.patroncqrs.repository.ProductoArchivadoRepository;
+import com.cqrs.patroncqrs.repository.ProductoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Restauraciones en bloque de productos que el archivado ya movió a productos_archivados.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:restauracion;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "app.archivado.habilitado=false"
+})
+class RestauracionArchivadosTests {
+
+    @Autowired
+    private CategoriaCommandService categoriaService;
+
+    @Autowired
+    private ProductoCommandService productoService;
+
+    @Autowired
+    private ArchivadoCommandService archivadoService;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private ProductoArchivadoRepository productoArchivadoRepository;
+
+    @Autowired
+    private CategoriaArchivadaRepository categoriaArchivadaRepository;
+
+    @Test
+    void laCascadaDevuelveLosProductosArchivadosConSuCategoria() {
+        Long categoriaId = categoriaService.crearCategoria(new CrearCategoriaCommand("Archivada en cascada", null));
+        Long primero = productoService.crearProducto(new CrearProductoCommand("Cascada uno", null, 10.0, 1, categoriaId));
+        Long segundo = productoService.crearProducto(new CrearProductoCommand("Cascada dos", null, 20.0, 2, categoriaId));
+        categoriaService.eliminarCategoriaEnCascada(categoriaId);
+        archivarTodo();
+        assertThat(categoriaArchivadaRepository.existsById(categoriaId)).isTrue();
+        assertThat(productoArchivadoRepository.findAllById(List.of(primero, segundo))).hasSize(2);
+
+        ResultadoMasivoDTO resultado = categoriaService.restaurarCategoriaEnCascada(categoriaId);
+
+        assertThat(resultado.getAfectados()).isEqualTo(2);
+        assertThat(productoRepository.findAllByIdInWithCategoria(List.of(primero, segundo))).hasSize(2);
+        assertThat(productoArchivadoRepository.findAllById(List.of(primero, segundo))).isEmpty();
+    }
+
+    @Test
+    void elFiltroTambienRestauraProductosArchivados() {
+        Long categoriaId = categoriaService.crearCategoria(new CrearCategoriaCommand("Filtro con archivo", null));
+        Long barato = productoService.crearProducto(new CrearProductoCommand("Filtro barato", null, 5.0, 1, categoriaId));
+        Long caro = productoService.crearProducto(new CrearProductoCommand("Filtro caro", null, 500.0, 1, categoriaId));
+        productoService.eliminarProductos(FiltroProductosCommand.deCategoria(categoriaId));
+        archivarTodo();
+
+        ResultadoMasivoDTO resultado = productoService.restaurarProductos(
+                new FiltroProductosCommand(categoriaId, null, 100.0, null, null));
+
+        assertThat(resultado.getAfectados()).isEqualTo(1);
+        assertThat(productoRepository.findAllByIdInWithCategoria(List.of(barato, caro)))
+                .extracting(Producto::getId)
+                .containsExactly(barato);
+        // El que no cumple el filtro sigue archivado
+        assertThat(productoArchivadoRepository.existsById(caro)).isTrue();
+    }
+
+    // Archiva todo lo eliminado hasta ahora, primero los productos para que las categorías queden libres
+    private void archivarTodo() {
+        LocalDateTime limite = LocalDateTime.now().plusDays(1);
+        archivadoService.archivarLoteProductos(limite, 1000);
+        archivadoService.archivarLoteCategorias(limite, 1000);
+    }
+}
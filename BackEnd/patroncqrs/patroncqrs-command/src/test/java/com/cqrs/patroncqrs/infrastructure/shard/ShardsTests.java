@@ -0,0 +1,171 @@
+package com.cqrs.patroncqrs.infrastructure.shard;
+
+import com.cqrs.patroncqrs.command.dto.CrearCategoriaCommand;
+import com.cqrs.patroncqrs.command.dto.CrearProductoCommand;
+import com.cqrs.patroncqrs.command.dto.FiltroProductosCommand;
+import com.cqrs.patroncqrs.command.service.CategoriaCommandService;
+import com.cqrs.patroncqrs.command.service.ProductoCommandService;
+import com.cqrs.patroncqrs.domain.entity.Categoria;
+import com.cqrs.patroncqrs.domain.exception.CodigoError;
+import com.cqrs.patroncqrs.domain.exception.ConflictoDominioException;
+import com.cqrs.patroncqrs.domain.exception.ValidacionDominioException;
+import com.cqrs.patroncqrs.infrastructure.nombres.RegistroNombres;
+import com.cqrs.patroncqrs.repository.CategoriaRepository;
+import com.cqrs.patroncqrs.repository.ProductoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Comandos y consultas sobre tres shards en H2 en memoria.
+ */
+@SpringBootTest(properties = {
+        "app.shards.habilitado=true",
+        "app.shards.urls=" + ShardsTests.URL + "0" + ShardsTests.OPCIONES + ","
+                + ShardsTests.URL + "1" + ShardsTests.OPCIONES + ","
+                + ShardsTests.URL + "2" + ShardsTests.OPCIONES,
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "app.archivado.habilitado=false"
+})
+class ShardsTests {
+
+    static final String URL = "jdbc:h2:mem:shard";
+    static final String OPCIONES = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private Shards shards;
+
+    @Autowired
+    private CategoriaCommandService categoriaService;
+
+    @Autowired
+    private ProductoCommandService productoService;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("registroNombresCategorias")
+    private RegistroNombres registroNombresCategorias;
+
+    @Test
+    void cadaCategoriaVaConSusProductosAlShardDeSuNombre() {
+        Map<Integer, Long> categoriaPorShard = new HashMap<>();
+        for (int i = 0; categoriaPorShard.size() < shards.cantidad(); i++) {
+            String nombre = "Categoría " + i;
+            Long id = categoriaService.crearCategoria(new CrearCategoriaCommand(nombre, null));
+
+            int shard = shards.deId(id);
+            assertThat(shard).isEqualTo(Math.floorMod(("categoria " + i).hashCode(), shards.cantidad()));
+            assertThat(guardadaEn(id)).containsExactly(shard);
+            categoriaPorShard.putIfAbsent(shard, id);
+        }
+
+        categoriaPorShard.forEach((shard, categoriaId) -> {
+            Long productoId = productoService.crearProducto(
+                    new CrearProductoCommand("Producto del shard " + shard, null, 10.0, 5, categoriaId));
+            assertThat(shards.deId(productoId)).isEqualTo(shard);
+            assertThat(shards.leerDe(productoId, () -> productoRepository.existsByIdIncludingDeleted(productoId))).isTrue();
+        });
+
+        // Las consultas globales juntan las filas de todos los shards
+        List<Long> categorias = shards.reunir(() -> categoriaRepository.findAllActive().stream()
+                .map(Categoria::getId)
+                .toList());
+        assertThat(categorias).containsAll(categoriaPorShard.values());
+    }
+
+    @Test
+    void moverUnProductoAUnaCategoriaDeOtroShardSeRechaza() {
+        Map<Integer, Long> categoriaPorShard = new HashMap<>();
+        for (int i = 0; categoriaPorShard.size() < 2; i++) {
+            Long id = categoriaService.crearCategoria(new CrearCategoriaCommand("Destino " + i, null));
+            categoriaPorShard.putIfAbsent(shards.deId(id), id);
+        }
+        List<Long> ids = List.copyOf(categoriaPorShard.values());
+        Long productoId = productoService.crearProducto(new CrearProductoCommand("Viajero", null, 1.0, 1, ids.get(0)));
+
+        assertThatThrownBy(() -> productoService.actualizarProducto(productoId,
+                new CrearProductoCommand("Viajero", null, 1.0, 1, ids.get(1))))
+                .isInstanceOfSatisfying(ConflictoDominioException.class,
+                        e -> assertThat(e.getCodigo()).isEqualTo(CodigoError.SHARDS_DISTINTOS));
+    }
+
+    @Test
+    void operacionEnBloqueSinCategoriaSeRechaza() {
+        FiltroProductosCommand filtro = new FiltroProductosCommand(null, 0.0, null, null, null);
+
+        assertThatThrownBy(() -> productoService.eliminarProductos(filtro))
+                .isInstanceOfSatisfying(ValidacionDominioException.class,
+                        e -> assertThat(e.getCodigo()).isEqualTo(CodigoError.SHARD_NO_DETERMINADO));
+    }
+
+    @Test
+    void renombrarConUnNombreDeOtroShardSeRechazaAunqueElRegistroNoLoVea() {
+        Map<Integer, Long> categoriaPorShard = new HashMap<>();
+        Map<Integer, String> nombrePorShard = new HashMap<>();
+        for (int i = 0; categoriaPorShard.size() < 2; i++) {
+            String nombre = "Renombrable " + i;
+            Long id = categoriaService.crearCategoria(new CrearCategoriaCommand(nombre, null));
+            if (categoriaPorShard.putIfAbsent(shards.deId(id), id) == null) {
+                nombrePorShard.put(shards.deId(id), nombre);
+            }
+        }
+        List<Integer> usados = List.copyOf(categoriaPorShard.keySet());
+        // Como si el nombre lo hubiera tomado otra instancia y la invalidación no hubiera llegado
+        registroNombresCategorias.reemplazar(List.of());
+
+        assertThatThrownBy(() -> categoriaService.actualizarCategoria(categoriaPorShard.get(usados.get(0)),
+                new CrearCategoriaCommand(nombrePorShard.get(usados.get(1)), null)))
+                .isInstanceOfSatisfying(ConflictoDominioException.class,
+                        e -> assertThat(e.getCodigo()).isEqualTo(CodigoError.CATEGORIA_NOMBRE_DUPLICADO));
+    }
+
+    @Test
+    void reunirConUnaDefinicionUsaSuAislamientoEnCadaShard() {
+        DefaultTransactionDefinition foto = new DefaultTransactionDefinition();
+        foto.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        List<Integer> niveles = shards.reunir(
+                () -> List.of(TransactionSynchronizationManager.getCurrentTransactionIsolationLevel()), foto);
+
+        assertThat(niveles).hasSize(shards.cantidad()).containsOnly(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        assertThat(shards.reunir(() -> List.of(TransactionSynchronizationManager.isCurrentTransactionReadOnly()), foto))
+                .containsOnly(true);
+    }
+
+    // Shards en los que existe la categoría, consultando cada uno por separado
+    private List<Integer> guardadaEn(Long id) {
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+        return IntStream.range(0, shards.cantidad())
+                .filter(shard -> shards.ejecutarEn(shard,
+                        () -> lectura.execute(status -> categoriaRepository.existsByIdIncludingDeleted(id))))
+                .boxed()
+                .toList();
+    }
+}
@@ -0,0 +1,165 @@
+package com.cqrs.patroncqrs.infrastructure.stock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contadores de stock contra una base en memoria que aplica la misma guarda que el UPDATE en lote.
+ */
+class ContadoresStockTests {
+
+    private static final long PRODUCTO = 1L;
+
+    @TempDir
+    Path directorio;
+
+    private final Map<Long, Long> base = new ConcurrentHashMap<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private RegistroDeltasStock registro;
+    private ContadoresStock contadores;
+
+    @AfterEach
+    void cerrar() throws Exception {
+        if (contadores != null) {
+            contadores.cerrar();
+        }
+        registro.cerrar();
+    }
+
+    @Test
+    void movimientosConcurrentesConVolcadosNoVendenDeMas() throws Exception {
+        base.put(PRODUCTO, 1000L);
+        crear(5);
+
+        AtomicLong aceptados = new AtomicLong();
+        correrEnParalelo(8, () -> {
+            for (int i = 0; i < 300; i++) {
+                if (contadores.mover(PRODUCTO, -1).estado() == ContadoresStock.Estado.ACEPTADO) {
+                    aceptados.incrementAndGet();
+                }
+            }
+        });
+        contadores.volcar();
+
+        assertThat(aceptados.get()).isEqualTo(1000);
+        assertThat(base.get(PRODUCTO)).isZero();
+        assertThat(contadores.mover(PRODUCTO, -1).estado()).isEqualTo(ContadoresStock.Estado.INSUFICIENTE);
+    }
+
+    @Test
+    void recargarMientrasSeMueveNoPierdeMovimientos() throws Exception {
+        base.put(PRODUCTO, 500L);
+        crear(5);
+
+        AtomicBoolean moviendo = new AtomicBoolean(true);
+        AtomicLong aceptados = new AtomicLong();
+        ExecutorService recarga = Executors.newSingleThreadExecutor();
+        Future<?> marcas = recarga.submit(() -> {
+            while (moviendo.get()) {
+                contadores.marcarDesactualizado(PRODUCTO);
+                Thread.onSpinWait();
+            }
+        });
+        try {
+            correrEnParalelo(8, () -> {
+                for (int i = 0; i < 200; i++) {
+                    if (contadores.mover(PRODUCTO, -1).estado() == ContadoresStock.Estado.ACEPTADO) {
+                        aceptados.incrementAndGet();
+                    }
+                }
+            });
+        } finally {
+            moviendo.set(false);
+            marcas.get(10, TimeUnit.SECONDS);
+            recarga.shutdown();
+        }
+        contadores.volcar();
+
+        assertThat(aceptados.get()).isEqualTo(500);
+        assertThat(base.get(PRODUCTO)).isZero();
+    }
+
+    @Test
+    void diferenciaRechazadaPorLaBaseSeDescartaYElContadorSeRelee() throws Exception {
+        base.put(PRODUCTO, 10L);
+        crear(60_000);
+
+        assertThat(contadores.mover(PRODUCTO, -8).estado()).isEqualTo(ContadoresStock.Estado.ACEPTADO);
+        // Otro comando fija un stock menor antes del volcado
+        base.put(PRODUCTO, 5L);
+        contadores.volcar();
+
+        assertThat(base.get(PRODUCTO)).isEqualTo(5L);
+        assertThat(registry.get("stock.diferido.descartados").counter().count()).isEqualTo(1);
+        ContadoresStock.Movimiento movimiento = contadores.mover(PRODUCTO, -5);
+        assertThat(movimiento.estado()).isEqualTo(ContadoresStock.Estado.ACEPTADO);
+        assertThat(movimiento.disponible()).isZero();
+    }
+
+    @Test
+    void productoInexistenteNoSeMueve() throws Exception {
+        crear(60_000);
+
+        assertThat(contadores.mover(PRODUCTO, 1).estado()).isEqualTo(ContadoresStock.Estado.NO_ENCONTRADO);
+    }
+
+    private void crear(long intervaloMs) throws Exception {
+        registro = new RegistroDeltasStock(directorio, false);
+        registro.abrir(1);
+        contadores = new ContadoresStock(registro, id -> Optional.ofNullable(base.get(id)).map(Long::intValue),
+                this::escribir, intervaloMs, 100, registry);
+    }
+
+    // Misma regla que SUMAR_STOCK: no se aplica lo que dejaría el stock negativo
+    private synchronized Set<Long> escribir(long segmento, Map<Long, Long> diferencias) {
+        Set<Long> rechazados = new HashSet<>();
+        diferencias.forEach((id, diferencia) -> {
+            Long stock = base.get(id);
+            if (stock == null || stock + diferencia < 0) {
+                rechazados.add(id);
+            } else {
+                base.put(id, stock + diferencia);
+            }
+        });
+        return rechazados;
+    }
+
+    private static void correrEnParalelo(int hilos, Runnable tarea) throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            Future<?>[] tareas = new Future<?>[hilos];
+            for (int i = 0; i < hilos; i++) {
+                tareas[i] = ejecutor.submit(() -> {
+                    largada.await();
+                    tarea.run();
+                    return null;
+                });
+            }
+            largada.countDown();
+            for (Future<?> futura : tareas) {
+                futura.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.cqrs.patroncqrs.benchmark;
+
+import com.cqrs.patroncqrs.domain.exception.CodigoError;
+import com.cqrs.patroncqrs.domain.exception.ConflictoDominioException;
+import com.cqrs.patroncqrs.domain.exception.DominioException;
+import com.cqrs.patroncqrs.domain.exception.EntidadNoEncontradaException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de rechazar un comando: antes (RuntimeException con mensaje concatenado)
+ * contra las excepciones de dominio sin stack trace y la instancia preasignada.
+ * La profundidad simula los marcos de Spring (filtros, proxies, aspectos) que hay
+ * entre el controlador y el servicio, que son los que se recorren al capturar el stack.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExcepcionesBenchmark {
+
+    @Param({"20", "120"})
+    public int profundidad;
+
+    private long id = 42L;
+
+    @Benchmark
+    public void runtimeExceptionConStack(Blackhole bh) {
+        try {
+            lanzar(profundidad, () -> new RuntimeException("Producto no encontrado con ID: " + id));
+        } catch (RuntimeException e) {
+            bh.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void dominioSinStack(Blackhole bh) {
+        try {
+            lanzar(profundidad, () -> EntidadNoEncontradaException.producto(id));
+        } catch (DominioException e) {
+            bh.consume(e.getCodigo());
+        }
+    }
+
+    @Benchmark
+    public void dominioSinStackConMensaje(Blackhole bh) {
+        try {
+            lanzar(profundidad, () -> new ConflictoDominioException(CodigoError.PRODUCTO_YA_ELIMINADO, id));
+        } catch (DominioException e) {
+            // El manejador arma el mensaje para la respuesta
+            bh.consume(e.getMessage());
+        }
+    }
+
+    @Benchmark
+    public void dominioPreasignada(Blackhole bh) {
+        try {
+            lanzar(profundidad, () -> ConflictoDominioException.CATEGORIA_ELIMINADA);
+        } catch (DominioException e) {
+            bh.consume(e.getCodigo());
+        }
+    }
+
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private static void lanzar(int restantes, java.util.function.Supplier<? extends RuntimeException> falla) {
+        if (restantes == 0) {
+            throw falla.get();
+        }
+        lanzar(restantes - 1, falla);
+    }
+}
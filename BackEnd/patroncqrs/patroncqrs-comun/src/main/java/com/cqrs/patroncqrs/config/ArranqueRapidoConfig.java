@@ -0,0 +1,36 @@
+package com.cqrs.patroncqrs.config;
+
+import com.cqrs.patroncqrs.infrastructure.invalidacion.BusInvalidacion;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+
+@Configuration
+@Profile("prod")
+public class ArranqueRapidoConfig {
+
+    /**
+     * Beans que no se pueden diferir: la infraestructura JPA (si no, la primera petición
+     * paga todo el arranque de Hibernate), el bus de invalidación (tiene que escuchar desde el arranque)
+     * y las tareas programadas (un bean diferido nunca se agenda).
+     * Las tareas se reconocen por sus métodos {@link Scheduled}: cada aplicación tiene las suyas.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter beansSinInicializacionDiferida() {
+        LazyInitializationExcludeFilter infraestructura = LazyInitializationExcludeFilter.forBeanTypes(
+                EntityManagerFactory.class,
+                DataSource.class,
+                BusInvalidacion.class
+        );
+        return (nombre, definicion, tipo) -> infraestructura.isExcluded(nombre, definicion, tipo)
+                || Arrays.stream(ReflectionUtils.getUniqueDeclaredMethods(tipo))
+                        .anyMatch(metodo -> metodo.isAnnotationPresent(Scheduled.class));
+    }
+}
@@ -0,0 +1,35 @@
+package com.cqrs.patroncqrs.config;
+
+import com.cqrs.patroncqrs.infrastructure.bulkhead.Bulkhead;
+import com.cqrs.patroncqrs.infrastructure.bulkhead.BulkheadInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class BulkheadConfig implements WebMvcConfigurer {
+
+    private final Bulkhead commandBulkhead;
+    private final Bulkhead queryBulkhead;
+
+    @Autowired
+    public BulkheadConfig(MeterRegistry registry,
+                          @Value("${app.bulkhead.command.max-concurrentes:20}") int commandMax,
+                          @Value("${app.bulkhead.command.espera-maxima-ms:0}") long commandEspera,
+                          @Value("${app.bulkhead.query.max-concurrentes:50}") int queryMax,
+                          @Value("${app.bulkhead.query.espera-maxima-ms:0}") long queryEspera) {
+        this.commandBulkhead = new Bulkhead("command", commandMax, commandEspera, registry);
+        this.queryBulkhead = new Bulkhead("query", queryMax, queryEspera, registry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new BulkheadInterceptor(commandBulkhead))
+                .addPathPatterns("/api/*/commands", "/api/*/commands/**");
+        registry.addInterceptor(new BulkheadInterceptor(queryBulkhead))
+                .addPathPatterns("/api/*/queries", "/api/*/queries/**");
+    }
+}
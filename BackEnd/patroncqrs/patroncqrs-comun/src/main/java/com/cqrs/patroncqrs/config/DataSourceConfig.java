@@ -0,0 +1,62 @@
+package com.cqrs.patroncqrs.config;
+
+import com.cqrs.patroncqrs.infrastructure.datasource.CargaRoutingDataSource;
+import com.cqrs.patroncqrs.infrastructure.datasource.TipoCarga;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Un pool de conexiones para cada lado de CQRS, así una ráfaga de consultas pesadas
+ * no deja sin conexiones a las escrituras ni al revés.
+ * Ambos pools parten de spring.datasource.* y se ajustan con app.datasource.{command|query}.hikari.*
+ * Las propiedades se registran acá porque DataSourceAutoConfiguration se retira cuando hay
+ * un ConnectionFactory de R2DBC (perfil reactivo).
+ * Con la base dividida en shards, cada shard arma su propio par de pools (ver {@link ShardsConfig}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.shards.habilitado", havingValue = "false", matchIfMissing = true)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("app.datasource.command.hikari")
+    public HikariDataSource commandDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("command-pool");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.query.hikari")
+    public HikariDataSource queryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("query-pool");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("commandDataSource") DataSource commandDataSource,
+                                 @Qualifier("queryDataSource") DataSource queryDataSource) {
+        CargaRoutingDataSource routing = new CargaRoutingDataSource();
+        routing.setTargetDataSources(Map.of(
+                TipoCarga.COMMAND, commandDataSource,
+                TipoCarga.QUERY, queryDataSource
+        ));
+        routing.setDefaultTargetDataSource(commandDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
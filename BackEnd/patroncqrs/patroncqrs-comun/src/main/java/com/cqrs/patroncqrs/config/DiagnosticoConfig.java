@@ -0,0 +1,60 @@
+package com.cqrs.patroncqrs.config;
+
+import com.cqrs.patroncqrs.infrastructure.diagnostico.DiagnosticoDataSource;
+import com.cqrs.patroncqrs.infrastructure.diagnostico.DiagnosticoPeticionFilter;
+import com.cqrs.patroncqrs.infrastructure.diagnostico.PeticionesLentasEndpoint;
+import com.cqrs.patroncqrs.infrastructure.diagnostico.RegistroPeticionesLentas;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Diagnóstico de peticiones lentas: mide las sentencias SQL de cada petición a /api/**,
+ * agrega Server-Timing y guarda en un buffer las que superan el umbral o caen en el muestreo.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.diagnostico.habilitado", havingValue = "true", matchIfMissing = true)
+public class DiagnosticoConfig {
+
+    // Solo se envuelve el DataSource principal, que es el que usa JPA
+    @Bean
+    public static BeanPostProcessor diagnosticoDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && "dataSource".equals(beanName)
+                        ? new DiagnosticoDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    public RegistroPeticionesLentas registroPeticionesLentas(@Value("${app.diagnostico.capacidad:100}") int capacidad) {
+        return new RegistroPeticionesLentas(capacidad);
+    }
+
+    @Bean
+    public FilterRegistrationBean<DiagnosticoPeticionFilter> diagnosticoPeticionFilter(
+            RegistroPeticionesLentas registro,
+            @Value("${app.diagnostico.umbral-ms:500}") long umbralMs,
+            @Value("${app.diagnostico.fraccion-muestreo:0}") double fraccionMuestreo,
+            @Value("${app.diagnostico.maximo-sentencias:200}") int maximoSentencias) {
+        FilterRegistrationBean<DiagnosticoPeticionFilter> filtro = new FilterRegistrationBean<>(
+                new DiagnosticoPeticionFilter(registro, umbralMs, fraccionMuestreo, maximoSentencias));
+        filtro.addUrlPatterns("/api/*");
+        filtro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return filtro;
+    }
+
+    @Bean
+    public PeticionesLentasEndpoint peticionesLentasEndpoint(RegistroPeticionesLentas registro) {
+        return new PeticionesLentasEndpoint(registro);
+    }
+}
@@ -0,0 +1,65 @@
+package com.cqrs.patroncqrs.config;
+
+import com.cqrs.patroncqrs.infrastructure.invalidacion.BusInvalidacion;
+import com.cqrs.patroncqrs.infrastructure.invalidacion.BusInvalidacionLocal;
+import com.cqrs.patroncqrs.infrastructure.invalidacion.BusInvalidacionUdp;
+import com.cqrs.patroncqrs.infrastructure.invalidacion.ReceptorInvalidaciones;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Invalidación de caches entre nodos. app.invalidacion.tipo elige el transporte:
+ * local (un solo nodo, no difunde nada) o udp (pares fijos, por ejemplo varias JVM en la misma máquina).
+ * Con udp se escucha solo en app.invalidacion.udp.direccion y la clave compartida es obligatoria.
+ */
+@Configuration
+public class InvalidacionConfig {
+
+    @Bean
+    public ReceptorInvalidaciones receptorInvalidaciones(EntityManagerFactory entityManagerFactory,
+                                                         ApplicationEventPublisher eventPublisher,
+                                                         MeterRegistry registry,
+                                                         @Value("${app.invalidacion.maximo-versiones:100000}") long maximoVersiones) {
+        return new ReceptorInvalidaciones(entityManagerFactory, eventPublisher, maximoVersiones, registry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.invalidacion.tipo", havingValue = "local", matchIfMissing = true)
+    public BusInvalidacion busInvalidacionLocal() {
+        return new BusInvalidacionLocal();
+    }
+
+    @Bean(destroyMethod = "cerrar")
+    @ConditionalOnProperty(name = "app.invalidacion.tipo", havingValue = "udp")
+    public BusInvalidacionUdp busInvalidacionUdp(ReceptorInvalidaciones receptor,
+                                                 MeterRegistry registry,
+                                                 @Value("${app.invalidacion.udp.direccion:127.0.0.1}") String direccion,
+                                                 @Value("${app.invalidacion.udp.puerto}") int puerto,
+                                                 @Value("${app.invalidacion.udp.pares}") String pares,
+                                                 @Value("${app.invalidacion.udp.clave:}") String clave) throws IOException {
+        if (clave.length() < 16) {
+            throw new IllegalStateException("app.invalidacion.udp.clave es obligatoria con el bus UDP (al menos 16 caracteres)");
+        }
+        List<InetSocketAddress> direcciones = Arrays.stream(pares.split(","))
+                .map(String::trim)
+                .filter(par -> !par.isEmpty())
+                .map(par -> {
+                    int separador = par.lastIndexOf(':');
+                    return new InetSocketAddress(par.substring(0, separador), Integer.parseInt(par.substring(separador + 1)));
+                })
+                .toList();
+        return new BusInvalidacionUdp(new InetSocketAddress(direccion, puerto), direcciones,
+                clave.getBytes(StandardCharsets.UTF_8), receptor, registry);
+    }
+}
@@ -0,0 +1,26 @@
+package com.cqrs.patroncqrs.config;
+
+import com.cqrs.patroncqrs.infrastructure.jfr.JfrEndpoint;
+import com.cqrs.patroncqrs.infrastructure.jfr.OperacionJfrAspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.jfr.habilitado", havingValue = "true", matchIfMissing = true)
+public class JfrConfig {
+
+    @Bean
+    public OperacionJfrAspect operacionJfrAspect() {
+        return new OperacionJfrAspect();
+    }
+
+    @Bean(destroyMethod = "cerrar")
+    public JfrEndpoint jfrEndpoint(@Value("${app.jfr.tamanio-maximo-mb:100}") long tamanioMaximoMb,
+                                   @Value("${app.jfr.antiguedad-maxima-minutos:30}") long antiguedadMaximaMinutos) {
+        return new JfrEndpoint(tamanioMaximoMb * 1024 * 1024, Duration.ofMinutes(antiguedadMaximaMinutos));
+    }
+}
@@ -0,0 +1,51 @@
+package com.cqrs.patroncqrs.config;
+
+import com.cqrs.patroncqrs.infrastructure.limite.LimiteAdaptativo;
+import com.cqrs.patroncqrs.infrastructure.limite.LimiteConcurrenciaInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Límites adaptativos para los controladores de productos, categorías y catálogo, uno por lado.
+ * Se evalúan antes que los bulkheads, que quedan como tope fijo de seguridad.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.limite-concurrencia.habilitado", havingValue = "true", matchIfMissing = true)
+public class LimiteConcurrenciaConfig implements WebMvcConfigurer {
+
+    private final LimiteAdaptativo commandLimite;
+    private final LimiteAdaptativo queryLimite;
+
+    @Autowired
+    public LimiteConcurrenciaConfig(MeterRegistry registry,
+                                    @Value("${app.limite-concurrencia.factor-reduccion:0.9}") double factorReduccion,
+                                    @Value("${app.limite-concurrencia.command.inicial:10}") int commandInicial,
+                                    @Value("${app.limite-concurrencia.command.minimo:2}") int commandMinimo,
+                                    @Value("${app.limite-concurrencia.command.maximo:20}") int commandMaximo,
+                                    @Value("${app.limite-concurrencia.command.latencia-objetivo-ms:250}") long commandObjetivo,
+                                    @Value("${app.limite-concurrencia.query.inicial:20}") int queryInicial,
+                                    @Value("${app.limite-concurrencia.query.minimo:4}") int queryMinimo,
+                                    @Value("${app.limite-concurrencia.query.maximo:50}") int queryMaximo,
+                                    @Value("${app.limite-concurrencia.query.latencia-objetivo-ms:100}") long queryObjetivo) {
+        this.commandLimite = new LimiteAdaptativo("command", commandInicial, commandMinimo, commandMaximo,
+                commandObjetivo, factorReduccion, registry);
+        this.queryLimite = new LimiteAdaptativo("query", queryInicial, queryMinimo, queryMaximo,
+                queryObjetivo, factorReduccion, registry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new LimiteConcurrenciaInterceptor(commandLimite))
+                .addPathPatterns("/api/productos/commands/**", "/api/categorias/commands/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+        registry.addInterceptor(new LimiteConcurrenciaInterceptor(queryLimite))
+                .addPathPatterns("/api/productos/queries/**", "/api/categorias/queries/**", "/api/catalogo/queries/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,30 @@
+package com.cqrs.patroncqrs.config;
+
+import com.cqrs.patroncqrs.infrastructure.nodo.IdentidadNodo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+@Configuration
+public class NodoConfig {
+
+    @Bean
+    public IdentidadNodo identidadNodo(@Value("${app.nodo.id:}") String id,
+                                       @Value("${server.port:8080}") int puerto) {
+        if (!id.isBlank()) {
+            return new IdentidadNodo(id.trim(), true);
+        }
+        return new IdentidadNodo(host() + ":" + puerto, false);
+    }
+
+    private static String host() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.cqrs.patroncqrs.config;
+
+import com.cqrs.patroncqrs.domain.entity.Categoria;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache de segundo nivel de Hibernate con JCache sobre Caffeine, local a cada instancia.
+ * Solo cachea {@link Categoria}: tabla chica que cada comando de producto lee por ID.
+ * Los UPDATE/DELETE JPQL masivos sobre Categoria invalidan la región completa al confirmar,
+ * así el soft delete y la restauración nunca dejan entradas viejas.
+ */
+@Configuration
+public class SegundoNivelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.categorias.tamanio-maximo:1000}") long tamanioMaximo,
+            @Value("${app.cache.categorias.expiracion-minutos:60}") long expiracionMinutos) {
+        // Un CacheManager propio por contexto: el del URI por defecto es compartido por toda la JVM
+        CachingProvider proveedor = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = proveedor.getCacheManager(
+                URI.create(proveedor.getDefaultURI() + "#" + UUID.randomUUID()), proveedor.getDefaultClassLoader());
+
+        CaffeineConfiguration<Object, Object> categorias = new CaffeineConfiguration<>();
+        categorias.setMaximumSize(OptionalLong.of(tamanioMaximo));
+        categorias.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(expiracionMinutos)));
+        // Hibernate ya guarda entradas desensambladas: no hace falta copiarlas en cada acceso
+        categorias.setStoreByValue(false);
+        cacheManager.createCache(Categoria.REGION_CACHE, categorias);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer segundoNivelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return propiedades -> propiedades.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    /**
+     * Proporción de aciertos por región ({@code hibernate.second.level.cache.requests} trae los totales).
+     */
+    @Bean
+    public MeterBinder segundoNivelCacheAciertos(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            Gauge.builder("hibernate.second.level.cache.hit.ratio", estadisticas,
+                            e -> proporcionAciertos(e.getDomainDataRegionStatistics(Categoria.REGION_CACHE)))
+                    .tag("region", Categoria.REGION_CACHE)
+                    .register(registry);
+        };
+    }
+
+    private static double proporcionAciertos(CacheRegionStatistics region) {
+        long aciertos = region.getHitCount();
+        long total = aciertos + region.getMissCount();
+        return total == 0 ? 0.0 : (double) aciertos / total;
+    }
+}
@@ -0,0 +1,116 @@
+package com.cqrs.patroncqrs.config;
+
+import com.cqrs.patroncqrs.infrastructure.datasource.CargaRoutingDataSource;
+import com.cqrs.patroncqrs.infrastructure.datasource.TipoCarga;
+import com.cqrs.patroncqrs.infrastructure.shard.EsquemaShards;
+import com.cqrs.patroncqrs.infrastructure.shard.ShardRoutingDataSource;
+import com.cqrs.patroncqrs.infrastructure.shard.ShardUnico;
+import com.cqrs.patroncqrs.infrastructure.shard.Shards;
+import com.cqrs.patroncqrs.infrastructure.shard.ShardsDistribuidos;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base dividida en shards (app.shards.habilitado). Cada shard tiene el esquema completo y sus propios
+ * pools de commands y queries, ajustados con las mismas propiedades app.datasource.{command|query}.hikari.*
+ * que una base sola. El shard 0 es el principal: también guarda lo que no se reparte (importaciones).
+ * Sin shards se registra {@link ShardUnico} y los datos siguen en spring.datasource.url.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ShardsConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.shards.habilitado", havingValue = "false", matchIfMissing = true)
+    public Shards shardUnico() {
+        return new ShardUnico();
+    }
+
+    @Bean(destroyMethod = "cerrar")
+    @ConditionalOnProperty(name = "app.shards.habilitado", havingValue = "true")
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties properties,
+                                                         Environment environment,
+                                                         MeterRegistry registry,
+                                                         @Value("${app.shards.urls}") List<String> urls) {
+        Binder binder = Binder.get(environment);
+        List<HikariDataSource> pools = new ArrayList<>();
+        Map<Object, Object> porShard = new HashMap<>();
+        for (int shard = 0; shard < urls.size(); shard++) {
+            String url = urls.get(shard).trim();
+            HikariDataSource command = pool(properties, binder, registry, url, shard, TipoCarga.COMMAND);
+            HikariDataSource query = pool(properties, binder, registry, url, shard, TipoCarga.QUERY);
+            query.setReadOnly(true);
+            if (url.startsWith("jdbc:mysql:")) {
+                // IDs intercalados: el shard k genera k+1, k+1+N, ... en todas sus tablas
+                command.setConnectionInitSql("SET SESSION auto_increment_increment = " + urls.size()
+                        + ", auto_increment_offset = " + (shard + 1));
+            }
+            pools.add(command);
+            pools.add(query);
+
+            CargaRoutingDataSource carga = new CargaRoutingDataSource();
+            carga.setTargetDataSources(Map.of(TipoCarga.COMMAND, command, TipoCarga.QUERY, query));
+            carga.setDefaultTargetDataSource(command);
+            carga.afterPropertiesSet();
+            porShard.put(shard, carga);
+        }
+
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(pools);
+        routing.setTargetDataSources(porShard);
+        routing.setDefaultTargetDataSource(porShard.get(0));
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "app.shards.habilitado", havingValue = "true")
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean(destroyMethod = "cerrar")
+    @ConditionalOnProperty(name = "app.shards.habilitado", havingValue = "true")
+    public ShardsDistribuidos shardsDistribuidos(PlatformTransactionManager transactionManager,
+                                                 MeterRegistry registry,
+                                                 @Value("${app.shards.urls}") List<String> urls,
+                                                 @Value("${app.shards.hilos:8}") int hilos) {
+        return new ShardsDistribuidos(urls.size(), transactionManager, hilos, registry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.shards.habilitado", havingValue = "true")
+    public static EsquemaShards esquemaShards(@Value("${app.shards.urls}") List<String> urls) {
+        return new EsquemaShards(urls.size());
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder, MeterRegistry registry,
+                                         String url, int shard, TipoCarga carga) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url).build();
+        String lado = carga.name().toLowerCase();
+        binder.bind("app.datasource." + lado + ".hikari", Bindable.ofInstance(pool));
+        pool.setPoolName("shard-" + shard + "-" + lado + "-pool");
+        // No son beans: las métricas de Hikari se registran a mano
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        return pool;
+    }
+}
@@ -0,0 +1,50 @@
+package com.cqrs.patroncqrs.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.LocalDateTime;
+
+
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Categoria.REGION_CACHE)
+@Table(name = "categorias",
+        indexes = @Index(name = "idx_categorias_secuencia_cambio", columnList = "secuencia_cambio"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_categorias_nombre_activo", columnNames = "nombre_activo"))
+public class Categoria {
+
+    public static final String REGION_CACHE = "categorias";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String nombre;
+
+    // Nombre normalizado mientras la fila está activa; NULL al eliminarla para liberar el nombre
+    @Column(name = "nombre_activo")
+    private String nombreActivo;
+
+    private String descripcion;
+
+    @Column(name = "eliminado", nullable = false)
+    private Boolean eliminado = false;
+
+    @Column(name = "fecha_eliminacion")
+    private LocalDateTime fechaEliminacion;
+
+    // Número del último cambio aplicado (marca de agua para la sincronización incremental)
+    @Column(name = "secuencia_cambio", nullable = false, columnDefinition = "bigint default 0")
+    private Long secuenciaCambio = 0L;
+
+}
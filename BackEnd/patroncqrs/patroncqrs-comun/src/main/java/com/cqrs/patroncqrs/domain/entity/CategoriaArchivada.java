@@ -0,0 +1,37 @@
+package com.cqrs.patroncqrs.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Copia fría de una categoría eliminada hace más tiempo que el período de retención.
+ * Conserva el mismo ID que tenía en la tabla categorias para poder restaurarla.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "categorias_archivadas", indexes = @Index(name = "idx_categorias_archivadas_secuencia_cambio", columnList = "secuencia_cambio"))
+public class CategoriaArchivada {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String nombre;
+    private String descripcion;
+
+    @Column(name = "fecha_eliminacion")
+    private LocalDateTime fechaEliminacion;
+
+    @Column(name = "fecha_archivado", nullable = false)
+    private LocalDateTime fechaArchivado;
+
+    @Column(name = "secuencia_cambio", nullable = false, columnDefinition = "bigint default 0")
+    private Long secuenciaCambio;
+}
@@ -0,0 +1,81 @@
+package com.cqrs.patroncqrs.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Importación de un archivo de productos y su punto de control: los registros procesados
+ * se confirman junto con cada lote, así una importación cortada se reanuda desde ahí.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "importaciones")
+public class Importacion {
+
+    public enum Formato {
+        CSV,
+        JSONL
+    }
+
+    public enum Estado {
+        PENDIENTE,
+        EN_CURSO,
+        COMPLETADA,
+        FALLIDA,
+        INTERRUMPIDA
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Nombre del archivo subido
+    @Column(nullable = false)
+    private String archivo;
+
+    // Copia local del archivo, que se conserva hasta completar la importación
+    @Column(length = 500)
+    private String ruta;
+
+    // Nodo que ejecuta la importación y guarda la copia (app.nodo.id); nulo en las anteriores a esta columna
+    @Column(length = 100)
+    private String nodo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Formato formato;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Estado estado = Estado.PENDIENTE;
+
+    // Registros del archivo ya confirmados (importados o rechazados)
+    @Column(name = "registros_procesados", nullable = false)
+    private Long registrosProcesados = 0L;
+
+    @Column(nullable = false)
+    private Long importados = 0L;
+
+    @Column(nullable = false)
+    private Long rechazados = 0L;
+
+    // Inicio de la ejecución actual y registros que ya estaban procesados al empezarla (para el ritmo)
+    @Column(name = "fecha_inicio_ejecucion")
+    private LocalDateTime fechaInicioEjecucion;
+
+    @Column(name = "procesados_al_iniciar", nullable = false)
+    private Long procesadosAlIniciar = 0L;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion = LocalDateTime.now();
+
+    @Column(name = "fecha_actualizacion")
+    private LocalDateTime fechaActualizacion;
+
+    @Column(length = 1000)
+    private String error;
+}
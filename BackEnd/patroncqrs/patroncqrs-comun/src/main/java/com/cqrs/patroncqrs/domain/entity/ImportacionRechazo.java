@@ -0,0 +1,35 @@
+package com.cqrs.patroncqrs.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Registro de un archivo de importación que no se pudo cargar, con el motivo.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "importacion_rechazos",
+        indexes = @Index(name = "idx_importacion_rechazos_registro", columnList = "importacion_id, registro"))
+public class ImportacionRechazo {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "importacion_id", nullable = false)
+    private Long importacionId;
+
+    // Número de registro dentro del archivo (desde 1, sin contar el encabezado)
+    @Column(nullable = false)
+    private Long registro;
+
+    @Column(nullable = false, length = 500)
+    private String motivo;
+
+    // Contenido original, recortado
+    @Column(length = 1000)
+    private String contenido;
+}
@@ -0,0 +1,47 @@
+package com.cqrs.patroncqrs.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "productos",
+        indexes = @Index(name = "idx_productos_secuencia_cambio", columnList = "secuencia_cambio"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_productos_nombre_activo", columnNames = "nombre_activo"))
+public class Producto {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String nombre;
+
+    // Nombre normalizado mientras la fila está activa; NULL al eliminarla para liberar el nombre
+    @Column(name = "nombre_activo")
+    private String nombreActivo;
+
+    private String descripcion;
+    private Double precio;
+
+    @Column(nullable = false)
+    private Integer stock;
+
+    @Column(name = "eliminado", nullable = false)
+    private Boolean eliminado = false;
+
+    @Column(name = "fecha_eliminacion")
+    private LocalDateTime fechaEliminacion;
+
+    // Número del último cambio aplicado (marca de agua para la sincronización incremental)
+    @Column(name = "secuencia_cambio", nullable = false, columnDefinition = "bigint default 0")
+    private Long secuenciaCambio = 0L;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "categoria_id")
+    private Categoria categoria;
+}
@@ -0,0 +1,44 @@
+package com.cqrs.patroncqrs.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Copia fría de un producto eliminado hace más tiempo que el período de retención.
+ * Conserva el mismo ID que tenía en la tabla productos para poder restaurarlo.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "productos_archivados", indexes = @Index(name = "idx_productos_archivados_secuencia_cambio", columnList = "secuencia_cambio"))
+public class ProductoArchivado {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String nombre;
+    private String descripcion;
+    private Double precio;
+
+    @Column(nullable = false)
+    private Integer stock;
+
+    @Column(name = "categoria_id")
+    private Long categoriaId;
+
+    @Column(name = "categoria_nombre")
+    private String categoriaNombre;
+
+    @Column(name = "fecha_eliminacion")
+    private LocalDateTime fechaEliminacion;
+
+    @Column(name = "fecha_archivado", nullable = false)
+    private LocalDateTime fechaArchivado;
+
+    @Column(name = "secuencia_cambio", nullable = false, columnDefinition = "bigint default 0")
+    private Long secuenciaCambio;
+}
@@ -0,0 +1,28 @@
+package com.cqrs.patroncqrs.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Contador global de cambios del catálogo. Cada modificación de un producto o categoría
+ * toma el siguiente valor, que sirve como marca de agua para la sincronización incremental.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "secuencia_cambios")
+public class SecuenciaCambio {
+
+    public static final String CATALOGO = "catalogo";
+
+    @Id
+    private String nombre;
+
+    @Column(nullable = false)
+    private Long valor;
+}
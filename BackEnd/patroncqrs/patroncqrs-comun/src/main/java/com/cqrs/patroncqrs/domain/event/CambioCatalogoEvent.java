@@ -0,0 +1,29 @@
+package com.cqrs.patroncqrs.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Publicado por los servicios de comandos cada vez que cambia un producto o una categoría.
+ * Solo lleva la identidad del registro: quien lo consume lee el estado confirmado.
+ */
+@Getter
+@AllArgsConstructor
+public class CambioCatalogoEvent {
+
+    public enum Entidad {
+        PRODUCTO,
+        CATEGORIA
+    }
+
+    public enum Operacion {
+        UPSERT,
+        ELIMINACION,
+        // Cambio en bloque: no se detalla por registro y los clientes recargan sus listas (id nulo)
+        RECARGAR
+    }
+
+    private final Entidad entidad;
+    private final Operacion operacion;
+    private final Long id;
+}
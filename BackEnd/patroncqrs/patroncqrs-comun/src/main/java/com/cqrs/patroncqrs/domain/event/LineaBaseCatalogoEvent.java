@@ -0,0 +1,17 @@
+package com.cqrs.patroncqrs.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Publicado por el sondeo de cambios cuando ya leyó la secuencia de cambios de todos los shards por
+ * primera vez: los cambios posteriores a esa secuencia llegan como {@link CambioCatalogoEvent}, los
+ * anteriores no se reenvían.
+ */
+@Getter
+@AllArgsConstructor
+public class LineaBaseCatalogoEvent {
+
+    // Suma de las secuencias leídas en cada shard
+    private final long secuencia;
+}
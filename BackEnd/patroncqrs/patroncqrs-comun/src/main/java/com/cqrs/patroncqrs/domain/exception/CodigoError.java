@@ -0,0 +1,44 @@
+package com.cqrs.patroncqrs.domain.exception;
+
+/**
+ * Códigos estables de las fallas esperadas del dominio. Los clientes deciden por el código;
+ * la plantilla solo arma el mensaje legible (con {@code %s} para el dato de la falla).
+ */
+public enum CodigoError {
+
+    DATOS_INVALIDOS("Datos inválidos: %s"),
+
+    PRODUCTO_NO_ENCONTRADO("Producto no encontrado con ID: %s"),
+    PRODUCTO_YA_ELIMINADO("Producto ya eliminado con ID: %s"),
+    PRODUCTO_NO_ELIMINADO("El producto con ID: %s no está eliminado"),
+    PRODUCTO_NOMBRE_DUPLICADO("Ya existe un producto activo con el nombre: %s"),
+    STOCK_INSUFICIENTE("Stock insuficiente para el producto con ID: %s"),
+
+    CATEGORIA_NO_ENCONTRADA("Categoría no encontrada con ID: %s"),
+    CATEGORIA_YA_ELIMINADA("Categoría ya eliminada con ID: %s"),
+    CATEGORIA_NO_ELIMINADA("La categoría con ID: %s no está eliminada"),
+    CATEGORIA_NOMBRE_DUPLICADO("Ya existe una categoría activa con el nombre: %s"),
+    CATEGORIA_CON_PRODUCTOS_ACTIVOS("No se puede eliminar la categoría porque tiene %s productos activos asociados"),
+    CATEGORIA_ELIMINADA("No se puede restaurar el producto porque su categoría está eliminada"),
+
+    IMPORTACION_NO_ENCONTRADA("Importación no encontrada con ID: %s"),
+    IMPORTACION_NO_REANUDABLE("La importación con ID: %s está en curso o ya terminó"),
+    IMPORTACION_FORMATO_DESCONOCIDO("No se reconoce el formato del archivo %s (use .csv o .jsonl)"),
+    IMPORTACION_EN_OTRO_NODO("El archivo de la importación está en otro nodo: reanúdela en %s"),
+
+    REPRECIO_EN_CURSO("Ya hay un cambio de precios en curso"),
+
+    SHARDS_DISTINTOS("La operación mezcla datos de shards distintos: %s"),
+    SHARD_NO_DETERMINADO("Con la base dividida en shards la operación tiene que indicar %s"),
+    NO_DISPONIBLE_CON_SHARDS("No disponible con la base dividida en shards: %s");
+
+    private final String plantilla;
+
+    CodigoError(String plantilla) {
+        this.plantilla = plantilla;
+    }
+
+    public String mensaje(Object detalle) {
+        return detalle == null ? plantilla : String.format(plantilla, detalle);
+    }
+}
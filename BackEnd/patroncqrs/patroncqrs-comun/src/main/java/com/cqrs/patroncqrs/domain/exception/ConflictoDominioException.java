@@ -0,0 +1,14 @@
+package com.cqrs.patroncqrs.domain.exception;
+
+/**
+ * El comando choca con el estado actual: nombre en uso, entidad ya eliminada o no eliminada, etc.
+ */
+public class ConflictoDominioException extends DominioException {
+
+    public static final ConflictoDominioException CATEGORIA_ELIMINADA =
+            new ConflictoDominioException(CodigoError.CATEGORIA_ELIMINADA, null);
+
+    public ConflictoDominioException(CodigoError codigo, Object detalle) {
+        super(codigo, detalle);
+    }
+}
@@ -0,0 +1,32 @@
+package com.cqrs.patroncqrs.domain.exception;
+
+/**
+ * Base de las fallas esperadas del dominio (validaciones de los comandos).
+ * No captura stack trace ni admite excepciones suprimidas, y el mensaje se arma recién
+ * cuando alguien lo pide: rechazar un comando cuesta poco más que crear el objeto.
+ * Al ser inmutables, las fallas sin dato se pueden preasignar y lanzar siempre la misma instancia.
+ */
+public abstract class DominioException extends RuntimeException {
+
+    private final CodigoError codigo;
+    private final Object detalle;
+
+    protected DominioException(CodigoError codigo, Object detalle) {
+        super(null, null, false, false);
+        this.codigo = codigo;
+        this.detalle = detalle;
+    }
+
+    public CodigoError getCodigo() {
+        return codigo;
+    }
+
+    public Object getDetalle() {
+        return detalle;
+    }
+
+    @Override
+    public String getMessage() {
+        return codigo.mensaje(detalle);
+    }
+}
@@ -0,0 +1,23 @@
+package com.cqrs.patroncqrs.domain.exception;
+
+/**
+ * La entidad pedida (o referenciada por el comando) no existe.
+ */
+public class EntidadNoEncontradaException extends DominioException {
+
+    public EntidadNoEncontradaException(CodigoError codigo, Object detalle) {
+        super(codigo, detalle);
+    }
+
+    public static EntidadNoEncontradaException producto(Long id) {
+        return new EntidadNoEncontradaException(CodigoError.PRODUCTO_NO_ENCONTRADO, id);
+    }
+
+    public static EntidadNoEncontradaException categoria(Long id) {
+        return new EntidadNoEncontradaException(CodigoError.CATEGORIA_NO_ENCONTRADA, id);
+    }
+
+    public static EntidadNoEncontradaException importacion(Long id) {
+        return new EntidadNoEncontradaException(CodigoError.IMPORTACION_NO_ENCONTRADA, id);
+    }
+}
@@ -0,0 +1,15 @@
+package com.cqrs.patroncqrs.domain.exception;
+
+/**
+ * Los datos del comando no cumplen las reglas del dominio.
+ */
+public class ValidacionDominioException extends DominioException {
+
+    public ValidacionDominioException(String detalle) {
+        super(CodigoError.DATOS_INVALIDOS, detalle);
+    }
+
+    public ValidacionDominioException(CodigoError codigo, Object detalle) {
+        super(codigo, detalle);
+    }
+}
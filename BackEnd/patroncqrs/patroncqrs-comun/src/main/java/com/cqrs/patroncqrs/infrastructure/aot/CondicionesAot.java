@@ -0,0 +1,39 @@
+package com.cqrs.patroncqrs.infrastructure.aot;
+
+import org.springframework.core.env.PropertyResolver;
+
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Propiedades que deciden qué beans existen (@ConditionalOnProperty y @ConditionalOnExpression).
+ * Con Spring AOT esas condiciones se evalúan en el build (processAot) y quedan fijas en el jar: sus valores
+ * se guardan en {@link #RECURSO} y, al arrancar con los artefactos AOT, un valor distinto detiene el arranque
+ * en lugar de ignorarse. Para cambiarlos hay que volver a construir con -PpropiedadesAot=clave=valor,...
+ */
+public final class CondicionesAot {
+
+    public static final String RECURSO = "META-INF/patroncqrs/condiciones-aot.properties";
+
+    public static final List<String> PROPIEDADES = List.of(
+            "app.invalidacion.tipo",
+            "app.shards.habilitado",
+            "app.stock.escritura-diferida.habilitada",
+            "app.archivado.habilitado",
+            "app.cambios.sondeo.habilitado",
+            "app.consultas.agrupacion.habilitada",
+            "app.diagnostico.habilitado",
+            "app.jfr.habilitado",
+            "app.limite-concurrencia.habilitado",
+            "springdoc.api-docs.enabled");
+
+    private CondicionesAot() {
+    }
+
+    // Valor de cada propiedad, o vacío si no está definida
+    static Properties valores(PropertyResolver entorno) {
+        Properties valores = new Properties();
+        PROPIEDADES.forEach(propiedad -> valores.setProperty(propiedad, entorno.getProperty(propiedad, "")));
+        return valores;
+    }
+}
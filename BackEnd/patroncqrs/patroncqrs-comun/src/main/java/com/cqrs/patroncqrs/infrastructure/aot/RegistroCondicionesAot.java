@@ -0,0 +1,30 @@
+package com.cqrs.patroncqrs.infrastructure.aot;
+
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+/**
+ * Durante processAot guarda en el jar los valores con los que se evaluaron las condiciones de {@link CondicionesAot}.
+ */
+class RegistroCondicionesAot implements BeanFactoryInitializationAotProcessor {
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        Properties valores = CondicionesAot.valores(beanFactory.getBean(Environment.class));
+        StringWriter contenido = new StringWriter();
+        try {
+            valores.store(contenido, "Condiciones evaluadas por processAot");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return (generationContext, beanFactoryInitializationCode) ->
+                generationContext.getGeneratedFiles().addResourceFile(CondicionesAot.RECURSO, contenido.toString());
+    }
+}
@@ -0,0 +1,49 @@
+package com.cqrs.patroncqrs.infrastructure.aot;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Con los artefactos AOT, rechaza el arranque si alguna propiedad de {@link CondicionesAot} vale distinto
+ * que en el build: los beans ya se eligieron con el valor anterior y el nuevo no tendría efecto.
+ */
+class VerificacionCondicionesAot implements EnvironmentPostProcessor {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        ClassPathResource recurso = new ClassPathResource(CondicionesAot.RECURSO, application.getClassLoader());
+        if (!recurso.exists()) {
+            return;
+        }
+
+        Properties construidas;
+        try {
+            construidas = PropertiesLoaderUtils.loadProperties(recurso);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Properties actuales = CondicionesAot.valores(environment);
+        List<String> distintas = construidas.stringPropertyNames().stream()
+                .filter(propiedad -> !construidas.getProperty(propiedad).equals(actuales.getProperty(propiedad, "")))
+                .sorted()
+                .map(propiedad -> propiedad + "='" + actuales.getProperty(propiedad, "") + "' (build: '"
+                        + construidas.getProperty(propiedad) + "')")
+                .toList();
+        if (!distintas.isEmpty()) {
+            throw new IllegalStateException("El jar AOT se construyó con otras condiciones: " + String.join(", ", distintas)
+                    + ". Vuelva a construirlo con -PpropiedadesAot o arranque sin -Dspring.aot.enabled=true");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.cqrs.patroncqrs.infrastructure.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita la cantidad de ejecuciones concurrentes de un grupo de endpoints.
+ * Si no hay lugar dentro de la espera máxima, la petición se rechaza en vez de encolarse.
+ */
+public class Bulkhead {
+
+    private final String grupo;
+    private final int maxConcurrentes;
+    private final long esperaMaximaMs;
+    private final Semaphore permisos;
+    private final Counter rechazos;
+
+    public Bulkhead(String grupo, int maxConcurrentes, long esperaMaximaMs, MeterRegistry registry) {
+        this.grupo = grupo;
+        this.maxConcurrentes = maxConcurrentes;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.permisos = new Semaphore(maxConcurrentes);
+
+        Gauge.builder("bulkhead.concurrentes", this, Bulkhead::getConcurrentes)
+                .tag("grupo", grupo)
+                .description("Ejecuciones en curso dentro del bulkhead")
+                .register(registry);
+        Gauge.builder("bulkhead.limite", this, b -> b.maxConcurrentes)
+                .tag("grupo", grupo)
+                .description("Máximo de ejecuciones concurrentes permitidas")
+                .register(registry);
+        this.rechazos = Counter.builder("bulkhead.rechazos")
+                .tag("grupo", grupo)
+                .description("Peticiones rechazadas por bulkhead saturado")
+                .register(registry);
+    }
+
+    public boolean intentarEntrar() {
+        try {
+            boolean entro = esperaMaximaMs > 0
+                    ? permisos.tryAcquire(esperaMaximaMs, TimeUnit.MILLISECONDS)
+                    : permisos.tryAcquire();
+            if (!entro) {
+                rechazos.increment();
+            }
+            return entro;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rechazos.increment();
+            return false;
+        }
+    }
+
+    public void salir() {
+        permisos.release();
+    }
+
+    public String getGrupo() {
+        return grupo;
+    }
+
+    public int getConcurrentes() {
+        return maxConcurrentes - permisos.availablePermits();
+    }
+}
@@ -0,0 +1,39 @@
+package com.cqrs.patroncqrs.infrastructure.bulkhead;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Aplica un Bulkhead a las peticiones de un grupo de endpoints y responde 503 si está saturado.
+ */
+public class BulkheadInterceptor implements HandlerInterceptor {
+
+    private final Bulkhead bulkhead;
+    private final String atributo;
+
+    public BulkheadInterceptor(Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+        this.atributo = BulkheadInterceptor.class.getName() + "." + bulkhead.getGrupo();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!bulkhead.intentarEntrar()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            return false;
+        }
+        request.setAttribute(atributo, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(atributo) != null) {
+            request.removeAttribute(atributo);
+            bulkhead.salir();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.cqrs.patroncqrs.infrastructure.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Envía las transacciones de solo lectura (servicios de consulta) al pool de queries
+ * y todo lo demás al pool de commands.
+ * Debe usarse detrás de un LazyConnectionDataSourceProxy para que la conexión se pida
+ * cuando la transacción ya está marcada como de solo lectura.
+ */
+public class CargaRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? TipoCarga.QUERY
+                : TipoCarga.COMMAND;
+    }
+}
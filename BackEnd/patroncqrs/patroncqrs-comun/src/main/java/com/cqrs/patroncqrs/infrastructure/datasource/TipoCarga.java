@@ -0,0 +1,9 @@
+package com.cqrs.patroncqrs.infrastructure.datasource;
+
+/**
+ * Lado del patrón CQRS al que pertenece una operación sobre la base de datos.
+ */
+public enum TipoCarga {
+    COMMAND,
+    QUERY
+}
@@ -0,0 +1,32 @@
+package com.cqrs.patroncqrs.infrastructure.diagnostico;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Envuelve las conexiones pedidas durante una petición HTTP para registrar sus sentencias.
+ * Fuera de una petición (tareas programadas, arranque) devuelve la conexión tal cual.
+ */
+public class DiagnosticoDataSource extends DelegatingDataSource {
+
+    public DiagnosticoDataSource(DataSource destino) {
+        super(destino);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return envolver(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String clave) throws SQLException {
+        return envolver(obtainTargetDataSource().getConnection(usuario, clave));
+    }
+
+    private static Connection envolver(Connection conexion) {
+        return DiagnosticoPeticion.actual() != null ? JdbcDiagnostico.envolver(conexion) : conexion;
+    }
+}
@@ -0,0 +1,111 @@
+package com.cqrs.patroncqrs.infrastructure.diagnostico;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sentencias SQL y tiempos de la petición HTTP en curso, asociados al hilo que la atiende.
+ * Se registra todo mientras dura la petición; al terminar el filtro decide si se guarda.
+ */
+public final class DiagnosticoPeticion {
+
+    private static final ThreadLocal<DiagnosticoPeticion> ACTUAL = new ThreadLocal<>();
+
+    /**
+     * Sentencia ejecutada; las filas se van sumando mientras se recorre el ResultSet.
+     */
+    static final class Sentencia {
+        final String sql;
+        final Object[] parametros;
+        final long duracionNanos;
+        long filas = -1;
+        long lecturaNanos;
+
+        Sentencia(String sql, Object[] parametros, long duracionNanos) {
+            this.sql = sql;
+            this.parametros = parametros;
+            this.duracionNanos = duracionNanos;
+        }
+    }
+
+    private final long inicioNanos = System.nanoTime();
+    private final int maximoSentencias;
+    private final boolean muestreada;
+    private final List<Sentencia> sentencias = new ArrayList<>();
+    private int omitidas;
+    private long baseDatosNanos;
+    private long inicioSerializacionNanos;
+
+    private DiagnosticoPeticion(int maximoSentencias, boolean muestreada) {
+        this.maximoSentencias = maximoSentencias;
+        this.muestreada = muestreada;
+    }
+
+    static DiagnosticoPeticion iniciar(int maximoSentencias, boolean muestreada) {
+        DiagnosticoPeticion diagnostico = new DiagnosticoPeticion(maximoSentencias, muestreada);
+        ACTUAL.set(diagnostico);
+        return diagnostico;
+    }
+
+    static void terminar() {
+        ACTUAL.remove();
+    }
+
+    public static DiagnosticoPeticion actual() {
+        return ACTUAL.get();
+    }
+
+    Sentencia registrar(String sql, Object[] parametros, long duracionNanos) {
+        baseDatosNanos += duracionNanos;
+        Sentencia sentencia = new Sentencia(sql, parametros, duracionNanos);
+        // Se sigue midiendo el tiempo de base de datos aunque ya no se guarde el detalle
+        if (sentencias.size() < maximoSentencias) {
+            sentencias.add(sentencia);
+        } else {
+            omitidas++;
+        }
+        return sentencia;
+    }
+
+    void sumarLectura(Sentencia sentencia, long nanos, boolean hayFila) {
+        baseDatosNanos += nanos;
+        sentencia.lecturaNanos += nanos;
+        if (hayFila) {
+            sentencia.filas = Math.max(sentencia.filas, 0) + 1;
+        }
+    }
+
+    /**
+     * Marca el momento en que el controlador terminó y empieza a escribirse el cuerpo.
+     * Solo cuenta la primera marca (un error al serializar puede volver a escribir).
+     */
+    public void marcarSerializacion() {
+        if (inicioSerializacionNanos == 0) {
+            inicioSerializacionNanos = System.nanoTime();
+        }
+    }
+
+    long getInicioNanos() {
+        return inicioNanos;
+    }
+
+    long getBaseDatosNanos() {
+        return baseDatosNanos;
+    }
+
+    long getInicioSerializacionNanos() {
+        return inicioSerializacionNanos;
+    }
+
+    boolean isMuestreada() {
+        return muestreada;
+    }
+
+    List<Sentencia> getSentencias() {
+        return sentencias;
+    }
+
+    int getOmitidas() {
+        return omitidas;
+    }
+}
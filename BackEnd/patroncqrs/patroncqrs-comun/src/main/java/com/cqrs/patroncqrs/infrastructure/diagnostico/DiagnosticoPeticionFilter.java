@@ -0,0 +1,175 @@
+package com.cqrs.patroncqrs.infrastructure.diagnostico;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mide cada petición y agrega la cabecera Server-Timing (base de datos y mapeo). El cuerpo no se retiene:
+ * la cabecera se agrega justo antes de que empiece a escribirse, así que la serialización y el total que
+ * lleva llegan hasta ese momento. Si la petición supera el umbral, o cae en la fracción muestreada, se
+ * guarda con todas sus sentencias y con la serialización completa. Las peticiones asíncronas (SSE) ya
+ * respondieron al volver del filtro: no se miden.
+ */
+public class DiagnosticoPeticionFilter extends OncePerRequestFilter {
+
+    private static final int LARGO_MAXIMO_PARAMETRO = 200;
+
+    private final RegistroPeticionesLentas registro;
+    private final long umbralNanos;
+    private final double fraccionMuestreo;
+    private final int maximoSentencias;
+
+    public DiagnosticoPeticionFilter(RegistroPeticionesLentas registro, long umbralMs, double fraccionMuestreo,
+                                     int maximoSentencias) {
+        this.registro = registro;
+        this.umbralNanos = umbralMs * 1_000_000;
+        this.fraccionMuestreo = fraccionMuestreo;
+        this.maximoSentencias = maximoSentencias;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean muestreada = fraccionMuestreo > 0 && ThreadLocalRandom.current().nextDouble() < fraccionMuestreo;
+        DiagnosticoPeticion diagnostico = DiagnosticoPeticion.iniciar(maximoSentencias, muestreada);
+        RespuestaMedida respuesta = new RespuestaMedida(request, response, diagnostico);
+        try {
+            filterChain.doFilter(request, respuesta);
+        } finally {
+            DiagnosticoPeticion.terminar();
+            if (!request.isAsyncStarted()) {
+                // Sin cuerpo (204, redirecciones) la cabecera todavía no salió
+                respuesta.agregarServerTiming();
+                registrarSiEsLenta(request, respuesta, diagnostico);
+            }
+        }
+    }
+
+    private void registrarSiEsLenta(HttpServletRequest request, HttpServletResponse respuesta, DiagnosticoPeticion diagnostico) {
+        long fin = System.nanoTime();
+        long total = fin - diagnostico.getInicioNanos();
+        if (total < umbralNanos && !diagnostico.isMuestreada()) {
+            return;
+        }
+        long baseDatos = diagnostico.getBaseDatosNanos();
+        long inicioSerializacion = inicioSerializacion(diagnostico, fin);
+        long serializacion = fin - inicioSerializacion;
+        long mapeo = Math.max(0, inicioSerializacion - diagnostico.getInicioNanos() - baseDatos);
+        registro.agregar(new PeticionLenta(Instant.now(), request.getMethod(), uri(request),
+                respuesta.getStatus(), ms(total), ms(baseDatos), ms(mapeo), ms(serializacion),
+                diagnostico.isMuestreada(), diagnostico.getOmitidas(), sentencias(diagnostico)));
+    }
+
+    private static long inicioSerializacion(DiagnosticoPeticion diagnostico, long fin) {
+        return diagnostico.getInicioSerializacionNanos() != 0 ? diagnostico.getInicioSerializacionNanos() : fin;
+    }
+
+    /**
+     * Deja pasar el cuerpo tal cual y agrega Server-Timing antes de la primera escritura, mientras las
+     * cabeceras todavía se pueden modificar.
+     */
+    private static final class RespuestaMedida extends HttpServletResponseWrapper {
+
+        private final HttpServletRequest request;
+        private final DiagnosticoPeticion diagnostico;
+        private boolean agregada;
+
+        RespuestaMedida(HttpServletRequest request, HttpServletResponse response, DiagnosticoPeticion diagnostico) {
+            super(response);
+            this.request = request;
+            this.diagnostico = diagnostico;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            agregarServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            agregarServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            agregarServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            agregarServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            agregarServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            agregarServerTiming();
+            super.sendRedirect(location);
+        }
+
+        void agregarServerTiming() {
+            // Un flujo asíncrono escribe desde otro hilo cuando los tiempos ya no significan nada
+            if (agregada || isCommitted() || request.isAsyncStarted()) {
+                return;
+            }
+            agregada = true;
+            long ahora = System.nanoTime();
+            long baseDatos = diagnostico.getBaseDatosNanos();
+            long inicioSerializacion = inicioSerializacion(diagnostico, ahora);
+            long mapeo = Math.max(0, inicioSerializacion - diagnostico.getInicioNanos() - baseDatos);
+            setHeader("Server-Timing", String.format(Locale.ROOT,
+                    "db;desc=\"Base de datos\";dur=%.2f, app;desc=\"Mapeo\";dur=%.2f, ser;desc=\"Serializacion\";dur=%.2f, total;dur=%.2f",
+                    ms(baseDatos), ms(mapeo), ms(ahora - inicioSerializacion), ms(ahora - diagnostico.getInicioNanos())));
+        }
+    }
+
+    private static List<SentenciaSql> sentencias(DiagnosticoPeticion diagnostico) {
+        List<SentenciaSql> sentencias = new ArrayList<>(diagnostico.getSentencias().size());
+        for (DiagnosticoPeticion.Sentencia sentencia : diagnostico.getSentencias()) {
+            List<String> parametros = new ArrayList<>(sentencia.parametros.length);
+            for (Object parametro : sentencia.parametros) {
+                parametros.add(texto(parametro));
+            }
+            sentencias.add(new SentenciaSql(sentencia.sql, parametros, ms(sentencia.duracionNanos),
+                    ms(sentencia.lecturaNanos), sentencia.filas));
+        }
+        return sentencias;
+    }
+
+    private static String texto(Object parametro) {
+        String texto = String.valueOf(parametro);
+        return texto.length() > LARGO_MAXIMO_PARAMETRO ? texto.substring(0, LARGO_MAXIMO_PARAMETRO) + "..." : texto;
+    }
+
+    private static String uri(HttpServletRequest request) {
+        return request.getQueryString() != null
+                ? request.getRequestURI() + "?" + request.getQueryString()
+                : request.getRequestURI();
+    }
+
+    private static double ms(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,141 @@
+package com.cqrs.patroncqrs.infrastructure.diagnostico;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Proxies JDBC que registran en el DiagnosticoPeticion del hilo cada sentencia ejecutada,
+ * con sus parámetros, su duración y las filas leídas o modificadas.
+ */
+final class JdbcDiagnostico {
+
+    private static final Object[] SIN_PARAMETROS = new Object[0];
+
+    private JdbcDiagnostico() {
+    }
+
+    static Connection envolver(Connection conexion) {
+        return proxy(Connection.class, conexion, (proxy, metodo, args) -> {
+            Object resultado = invocar(conexion, metodo, args);
+            if (resultado instanceof Statement sentencia && Statement.class.isAssignableFrom(metodo.getReturnType())) {
+                // prepareStatement/prepareCall traen el SQL; createStatement lo recibe al ejecutar
+                String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : null;
+                return proxy(metodo.getReturnType(), sentencia, new SentenciaHandler(sentencia, sql));
+            }
+            return resultado;
+        });
+    }
+
+    private static final class SentenciaHandler implements InvocationHandler {
+
+        private final Statement sentencia;
+        private final String sql;
+        private Object[] parametros = SIN_PARAMETROS;
+        private int cantidadParametros;
+        private int lote;
+        private DiagnosticoPeticion.Sentencia ultima;
+
+        SentenciaHandler(Statement sentencia, String sql) {
+            this.sentencia = sentencia;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nombre = metodo.getName();
+            if (nombre.startsWith("execute")) {
+                return ejecutar(metodo, args);
+            }
+            if (nombre.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer indice
+                    && sentencia instanceof PreparedStatement) {
+                guardarParametro(indice, "setNull".equals(nombre) ? null : args[1]);
+            } else if ("clearParameters".equals(nombre)) {
+                parametros = SIN_PARAMETROS;
+                cantidadParametros = 0;
+            } else if ("addBatch".equals(nombre)) {
+                lote++;
+            } else if ("clearBatch".equals(nombre)) {
+                lote = 0;
+            }
+            Object resultado = invocar(sentencia, metodo, args);
+            if (resultado instanceof ResultSet filas && "getResultSet".equals(nombre)) {
+                return envolverResultado(filas);
+            }
+            return resultado;
+        }
+
+        private Object ejecutar(Method metodo, Object[] args) throws Throwable {
+            DiagnosticoPeticion diagnostico = DiagnosticoPeticion.actual();
+            if (diagnostico == null) {
+                return invocar(sentencia, metodo, args);
+            }
+            String texto = args != null && args.length > 0 && args[0] instanceof String sqlDirecto ? sqlDirecto : sql;
+            long inicio = System.nanoTime();
+            Object resultado = invocar(sentencia, metodo, args);
+            long duracion = System.nanoTime() - inicio;
+
+            Object[] valores = lote > 0 ? new Object[]{"lote de " + lote} : Arrays.copyOf(parametros, cantidadParametros);
+            ultima = diagnostico.registrar(texto, valores, duracion);
+            if (resultado instanceof ResultSet filas) {
+                ultima.filas = 0;
+                return envolverResultado(filas);
+            }
+            if (resultado instanceof Integer modificadas) {
+                ultima.filas = modificadas;
+            } else if (resultado instanceof Long modificadas) {
+                ultima.filas = modificadas;
+            } else if (resultado instanceof int[] porLote) {
+                ultima.filas = Arrays.stream(porLote).filter(n -> n > 0).asLongStream().sum();
+            }
+            if (metodo.getName().endsWith("Batch")) {
+                lote = 0;
+            }
+            return resultado;
+        }
+
+        private Object envolverResultado(ResultSet filas) {
+            DiagnosticoPeticion diagnostico = DiagnosticoPeticion.actual();
+            DiagnosticoPeticion.Sentencia registrada = ultima;
+            if (diagnostico == null || registrada == null) {
+                return filas;
+            }
+            return proxy(ResultSet.class, filas, (proxy, metodo, args) -> {
+                if (!"next".equals(metodo.getName())) {
+                    return invocar(filas, metodo, args);
+                }
+                long inicio = System.nanoTime();
+                Object hayFila = invocar(filas, metodo, args);
+                diagnostico.sumarLectura(registrada, System.nanoTime() - inicio, Boolean.TRUE.equals(hayFila));
+                return hayFila;
+            });
+        }
+
+        private void guardarParametro(int indice, Object valor) {
+            if (indice > parametros.length) {
+                parametros = Arrays.copyOf(parametros, Math.max(indice, parametros.length * 2));
+            }
+            parametros[indice - 1] = valor;
+            cantidadParametros = Math.max(cantidadParametros, indice);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, Object destino, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(JdbcDiagnostico.class.getClassLoader(), new Class<?>[]{tipo}, handler);
+    }
+
+    private static Object invocar(Object destino, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(destino, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
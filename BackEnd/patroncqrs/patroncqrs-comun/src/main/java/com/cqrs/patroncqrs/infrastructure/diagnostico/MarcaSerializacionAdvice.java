@@ -0,0 +1,35 @@
+package com.cqrs.patroncqrs.infrastructure.diagnostico;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marca el fin del trabajo del controlador justo antes de que el convertidor escriba el cuerpo,
+ * para separar el tiempo de mapeo del de serialización.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "app.diagnostico.habilitado", havingValue = "true", matchIfMissing = true)
+public class MarcaSerializacionAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        DiagnosticoPeticion diagnostico = DiagnosticoPeticion.actual();
+        if (diagnostico != null) {
+            diagnostico.marcarSerializacion();
+        }
+        return body;
+    }
+}
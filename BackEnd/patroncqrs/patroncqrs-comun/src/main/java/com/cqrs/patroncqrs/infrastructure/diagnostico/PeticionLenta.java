@@ -0,0 +1,20 @@
+package com.cqrs.patroncqrs.infrastructure.diagnostico;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Petición guardada por superar el umbral de latencia o por caer en el muestreo.
+ */
+public record PeticionLenta(Instant fecha,
+                            String metodo,
+                            String uri,
+                            int estado,
+                            double totalMs,
+                            double baseDatosMs,
+                            double mapeoMs,
+                            double serializacionMs,
+                            boolean muestreada,
+                            int sentenciasOmitidas,
+                            List<SentenciaSql> sentencias) {
+}
@@ -0,0 +1,32 @@
+package com.cqrs.patroncqrs.infrastructure.diagnostico;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * GET /actuator/peticioneslentas lista las peticiones guardadas (la más reciente primero);
+ * DELETE vacía el buffer. Incluye las sentencias con los valores de sus parámetros: no se expone por
+ * defecto (ver patroncqrs-comun.properties).
+ */
+@Endpoint(id = "peticioneslentas")
+public class PeticionesLentasEndpoint {
+
+    private final RegistroPeticionesLentas registro;
+
+    public PeticionesLentasEndpoint(RegistroPeticionesLentas registro) {
+        this.registro = registro;
+    }
+
+    @ReadOperation
+    public List<PeticionLenta> peticiones() {
+        return registro.obtenerTodas();
+    }
+
+    @DeleteOperation
+    public void limpiar() {
+        registro.limpiar();
+    }
+}
@@ -0,0 +1,37 @@
+package com.cqrs.patroncqrs.infrastructure.diagnostico;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Buffer circular de tamaño fijo con las últimas peticiones lentas; las más viejas se pisan.
+ */
+public class RegistroPeticionesLentas {
+
+    private final PeticionLenta[] peticiones;
+    private long siguiente;
+
+    public RegistroPeticionesLentas(int capacidad) {
+        this.peticiones = new PeticionLenta[capacidad];
+    }
+
+    public synchronized void agregar(PeticionLenta peticion) {
+        peticiones[(int) (siguiente++ % peticiones.length)] = peticion;
+    }
+
+    // De la más reciente a la más antigua
+    public synchronized List<PeticionLenta> obtenerTodas() {
+        int cantidad = (int) Math.min(siguiente, peticiones.length);
+        List<PeticionLenta> resultado = new ArrayList<>(cantidad);
+        for (long i = siguiente - 1; i >= siguiente - cantidad; i--) {
+            resultado.add(peticiones[(int) (i % peticiones.length)]);
+        }
+        return resultado;
+    }
+
+    public synchronized void limpiar() {
+        Arrays.fill(peticiones, null);
+        siguiente = 0;
+    }
+}
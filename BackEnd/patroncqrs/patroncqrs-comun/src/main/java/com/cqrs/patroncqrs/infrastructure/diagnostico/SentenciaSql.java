@@ -0,0 +1,9 @@
+package com.cqrs.patroncqrs.infrastructure.diagnostico;
+
+import java.util.List;
+
+/**
+ * Sentencia guardada de una petición lenta. Las filas son -1 cuando el driver no las informa.
+ */
+public record SentenciaSql(String sql, List<String> parametros, double duracionMs, double lecturaMs, long filas) {
+}
@@ -0,0 +1,12 @@
+package com.cqrs.patroncqrs.infrastructure.invalidacion;
+
+import java.util.List;
+
+/**
+ * Difunde invalidaciones de cache entre los nodos. Cada implementación entrega lo que recibe
+ * de los demás nodos a su {@link ReceptorInvalidaciones}.
+ */
+public interface BusInvalidacion {
+
+    void publicar(List<Invalidacion> lote);
+}
@@ -0,0 +1,13 @@
+package com.cqrs.patroncqrs.infrastructure.invalidacion;
+
+import java.util.List;
+
+/**
+ * Un solo nodo: no hay a quién avisar, Hibernate ya mantiene al día la cache local.
+ */
+public class BusInvalidacionLocal implements BusInvalidacion {
+
+    @Override
+    public void publicar(List<Invalidacion> lote) {
+    }
+}
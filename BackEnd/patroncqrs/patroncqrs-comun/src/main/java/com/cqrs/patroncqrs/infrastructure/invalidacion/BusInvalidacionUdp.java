@@ -0,0 +1,181 @@
+package com.cqrs.patroncqrs.infrastructure.invalidacion;
+
+import com.cqrs.patroncqrs.domain.event.CambioCatalogoEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bus punto a punto sobre UDP: cada nodo escucha en su dirección y puerto y envía cada lote a la lista fija
+ * de pares (puede incluirse a sí mismo, sus propios mensajes se ignoran). Un lote viaja en uno o más
+ * datagramas de hasta {@value #TAMANIO_DATAGRAMA} bytes, firmados con HMAC-SHA256 y una clave compartida:
+ * los que no traen una firma válida se descartan. UDP puede perder mensajes: el sondeo de cambios del
+ * servicio de consultas sigue siendo la garantía de que la cache termina al día.
+ * <p>
+ * La firma no lleva marca de tiempo ni nonce, así que un datagrama capturado se puede reenviar tal cual.
+ * El receptor descarta las versiones ya aplicadas; después de un reinicio, un reenvío solo provoca
+ * desalojos y recargas de más, nunca datos viejos.
+ */
+public class BusInvalidacionUdp implements BusInvalidacion {
+
+    private static final Logger log = LoggerFactory.getLogger(BusInvalidacionUdp.class);
+
+    private static final int MAGIA = 0x494E5631; // "INV1"
+    private static final int TAMANIO_DATAGRAMA = 1200;
+    private static final int TAMANIO_CABECERA = Integer.BYTES + Long.BYTES + Short.BYTES;
+    private static final int TAMANIO_INVALIDACION = Byte.BYTES + Long.BYTES + Long.BYTES;
+    private static final String ALGORITMO_FIRMA = "HmacSHA256";
+    private static final int TAMANIO_FIRMA = 32;
+    static final int INVALIDACIONES_POR_DATAGRAMA =
+            (TAMANIO_DATAGRAMA - TAMANIO_CABECERA - TAMANIO_FIRMA) / TAMANIO_INVALIDACION;
+    private static final long ID_COMPLETA = -1L;
+    private static final CambioCatalogoEvent.Entidad[] ENTIDADES = CambioCatalogoEvent.Entidad.values();
+
+    private final DatagramChannel canal;
+    private final List<InetSocketAddress> pares;
+    private final ReceptorInvalidaciones receptor;
+    private final long nodo = ThreadLocalRandom.current().nextLong();
+    // Mac no es seguro entre hilos: uno para los envíos (bajo su monitor) y otro para el hilo que escucha
+    private final Mac firmaEnvio;
+    private final Mac firmaRecepcion;
+    private final Counter enviados;
+    private final Counter erroresEnvio;
+    private final Counter rechazados;
+
+    public BusInvalidacionUdp(InetSocketAddress direccion, List<InetSocketAddress> pares, byte[] clave,
+                              ReceptorInvalidaciones receptor, MeterRegistry registry) throws IOException {
+        this.pares = pares;
+        this.receptor = receptor;
+        this.firmaEnvio = firma(clave);
+        this.firmaRecepcion = firma(clave);
+        this.canal = DatagramChannel.open();
+        this.canal.bind(direccion);
+        this.enviados = Counter.builder("invalidacion.datagramas.enviados")
+                .description("Datagramas de invalidación enviados a los pares")
+                .register(registry);
+        this.erroresEnvio = Counter.builder("invalidacion.datagramas.errores")
+                .description("Datagramas de invalidación que no se pudieron enviar")
+                .register(registry);
+        this.rechazados = Counter.builder("invalidacion.datagramas.rechazados")
+                .description("Datagramas recibidos sin una firma válida")
+                .register(registry);
+
+        Thread escucha = new Thread(this::escuchar, "invalidacion-udp");
+        escucha.setDaemon(true);
+        escucha.start();
+        log.info("Bus de invalidación UDP escuchando en {} con pares {}", direccion, pares);
+    }
+
+    @Override
+    public void publicar(List<Invalidacion> lote) {
+        for (int desde = 0; desde < lote.size(); desde += INVALIDACIONES_POR_DATAGRAMA) {
+            ByteBuffer datagrama = codificar(lote.subList(desde, Math.min(desde + INVALIDACIONES_POR_DATAGRAMA, lote.size())));
+            for (InetSocketAddress par : pares) {
+                try {
+                    canal.send(datagrama.duplicate(), par);
+                    enviados.increment();
+                } catch (IOException e) {
+                    erroresEnvio.increment();
+                    log.warn("No se pudo enviar la invalidación a {}: {}", par, e.getMessage());
+                }
+            }
+        }
+    }
+
+    public void cerrar() throws IOException {
+        canal.close();
+    }
+
+    private void escuchar() {
+        ByteBuffer buffer = ByteBuffer.allocate(TAMANIO_DATAGRAMA);
+        while (canal.isOpen()) {
+            try {
+                buffer.clear();
+                canal.receive(buffer);
+                buffer.flip();
+                List<Invalidacion> lote = decodificar(buffer);
+                if (!lote.isEmpty()) {
+                    receptor.recibir(lote);
+                }
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Invalidación recibida descartada: {}", e.toString());
+            }
+        }
+    }
+
+    private ByteBuffer codificar(List<Invalidacion> lote) {
+        int tamanio = TAMANIO_CABECERA + lote.size() * TAMANIO_INVALIDACION;
+        ByteBuffer buffer = ByteBuffer.allocate(tamanio + TAMANIO_FIRMA);
+        buffer.putInt(MAGIA).putLong(nodo).putShort((short) lote.size());
+        for (Invalidacion invalidacion : lote) {
+            buffer.put((byte) invalidacion.entidad().ordinal())
+                    .putLong(invalidacion.esCompleta() ? ID_COMPLETA : invalidacion.id())
+                    .putLong(invalidacion.version());
+        }
+        synchronized (firmaEnvio) {
+            firmaEnvio.update(buffer.array(), 0, tamanio);
+            buffer.put(firmaEnvio.doFinal());
+        }
+        return buffer.flip();
+    }
+
+    private List<Invalidacion> decodificar(ByteBuffer buffer) {
+        // Sin firma válida se descarta en silencio (solo el contador): no se deja llenar el log desde afuera
+        int tamanio = buffer.remaining() - TAMANIO_FIRMA;
+        if (tamanio < TAMANIO_CABECERA) {
+            rechazados.increment();
+            return List.of();
+        }
+        firmaRecepcion.update(buffer.array(), 0, tamanio);
+        byte[] esperada = firmaRecepcion.doFinal();
+        byte[] recibida = Arrays.copyOfRange(buffer.array(), tamanio, tamanio + TAMANIO_FIRMA);
+        if (!MessageDigest.isEqual(esperada, recibida)) {
+            rechazados.increment();
+            return List.of();
+        }
+        buffer.limit(tamanio);
+        try {
+            if (buffer.getInt() != MAGIA || buffer.getLong() == nodo) {
+                return List.of();
+            }
+            int cantidad = buffer.getShort();
+            List<Invalidacion> lote = new ArrayList<>(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                CambioCatalogoEvent.Entidad entidad = ENTIDADES[buffer.get()];
+                long id = buffer.getLong();
+                lote.add(new Invalidacion(entidad, id == ID_COMPLETA ? null : id, buffer.getLong()));
+            }
+            return lote;
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("datagrama mal formado", e);
+        }
+    }
+
+    private static Mac firma(byte[] clave) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMO_FIRMA);
+            mac.init(new SecretKeySpec(clave, ALGORITMO_FIRMA));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo preparar la firma de invalidaciones", e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.cqrs.patroncqrs.infrastructure.invalidacion;
+
+import com.cqrs.patroncqrs.domain.event.CambioCatalogoEvent;
+
+/**
+ * Aviso compacto de que un registro cambió en otro nodo. La versión es la secuencia de cambios del
+ * catálogo al enviarlo: los datos leídos después de aplicarlo son al menos así de nuevos.
+ *
+ * @param id nulo si cambió toda la entidad (operaciones en bloque)
+ */
+public record Invalidacion(CambioCatalogoEvent.Entidad entidad, Long id, long version) {
+
+    public boolean esCompleta() {
+        return id == null;
+    }
+}
@@ -0,0 +1,90 @@
+package com.cqrs.patroncqrs.infrastructure.invalidacion;
+
+import com.cqrs.patroncqrs.domain.entity.Categoria;
+import com.cqrs.patroncqrs.domain.entity.Producto;
+import com.cqrs.patroncqrs.domain.event.CambioCatalogoEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aplica en este nodo las invalidaciones que llegan de los demás: saca el registro de la cache de
+ * segundo nivel y publica la {@link Invalidacion} como evento local para las demás caches.
+ * Un mensaje atrasado (con versión no mayor a la ya aplicada para el registro) se descarta,
+ * así nunca desaloja datos más nuevos que los que invalida.
+ */
+public class ReceptorInvalidaciones {
+
+    private record Clave(CambioCatalogoEvent.Entidad entidad, Long id) {
+    }
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    // Última versión aplicada por registro; las más viejas se olvidan y a lo sumo provocan una recarga de más
+    private final Cache<Clave, Long> versiones;
+    // Versión de la última invalidación completa de cada entidad: cubre a todos sus registros
+    private final Map<CambioCatalogoEvent.Entidad, Long> completas = new ConcurrentHashMap<>();
+    private final Counter aplicadas;
+    private final Counter descartadas;
+
+    public ReceptorInvalidaciones(EntityManagerFactory entityManagerFactory, ApplicationEventPublisher eventPublisher,
+                                  long maximoVersiones, MeterRegistry registry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.versiones = Caffeine.newBuilder().maximumSize(maximoVersiones).build();
+        this.aplicadas = Counter.builder("invalidacion.recibidas")
+                .tag("resultado", "aplicada")
+                .description("Invalidaciones recibidas de otros nodos")
+                .register(registry);
+        this.descartadas = Counter.builder("invalidacion.recibidas")
+                .tag("resultado", "descartada")
+                .description("Invalidaciones recibidas de otros nodos")
+                .register(registry);
+    }
+
+    public void recibir(List<Invalidacion> lote) {
+        for (Invalidacion invalidacion : lote) {
+            if (!esNueva(invalidacion)) {
+                descartadas.increment();
+                continue;
+            }
+            Class<?> tipo = invalidacion.entidad() == CambioCatalogoEvent.Entidad.CATEGORIA ? Categoria.class : Producto.class;
+            // Desalojar una entidad que no se guarda en la cache de segundo nivel no hace nada
+            if (invalidacion.esCompleta()) {
+                entityManagerFactory.getCache().evict(tipo);
+            } else {
+                entityManagerFactory.getCache().evict(tipo, invalidacion.id());
+            }
+            aplicadas.increment();
+            eventPublisher.publishEvent(invalidacion);
+        }
+    }
+
+    private boolean esNueva(Invalidacion invalidacion) {
+        long version = invalidacion.version();
+        if (version <= completas.getOrDefault(invalidacion.entidad(), 0L)) {
+            return false;
+        }
+        if (invalidacion.esCompleta()) {
+            completas.merge(invalidacion.entidad(), version, Math::max);
+            return true;
+        }
+
+        boolean[] nueva = {false};
+        versiones.asMap().compute(new Clave(invalidacion.entidad(), invalidacion.id()), (clave, aplicada) -> {
+            if (aplicada != null && aplicada >= version) {
+                return aplicada;
+            }
+            nueva[0] = true;
+            return version;
+        });
+        return nueva[0];
+    }
+}
@@ -0,0 +1,139 @@
+package com.cqrs.patroncqrs.infrastructure.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoint de Actuator para controlar una grabación de Flight Recorder en caliente.
+ * <ul>
+ *   <li>GET /actuator/jfr: estado de la grabación</li>
+ *   <li>POST /actuator/jfr: inicia (duracionSegundos, configuracion "default"/"profile", umbralMs)</li>
+ *   <li>DELETE /actuator/jfr: detiene (los datos se conservan hasta la siguiente grabación)</li>
+ *   <li>GET /actuator/jfr/volcado: descarga el archivo .jfr</li>
+ * </ul>
+ * No se expone por defecto: Actuator no tiene autenticación (ver patroncqrs-comun.properties).
+ */
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+    static final String NOMBRE_GRABACION = "patroncqrs";
+    private static final String VOLCADO = "volcado";
+    // Variables de entorno, propiedades de sistema y argumentos de la JVM: pueden llevar credenciales
+    private static final List<String> EVENTOS_EXCLUIDOS = List.of(
+            "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private final long tamanioMaximoBytes;
+    private final Duration antiguedadMaxima;
+
+    private Recording grabacion;
+
+    public JfrEndpoint(long tamanioMaximoBytes, Duration antiguedadMaxima) {
+        this.tamanioMaximoBytes = tamanioMaximoBytes;
+        this.antiguedadMaxima = antiguedadMaxima;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> estado() {
+        Map<String, Object> estado = new LinkedHashMap<>();
+        if (grabacion == null) {
+            estado.put("estado", "SIN_GRABACION");
+            return estado;
+        }
+        estado.put("estado", grabacion.getState());
+        estado.put("nombre", grabacion.getName());
+        estado.put("inicio", grabacion.getStartTime());
+        estado.put("fin", grabacion.getStopTime());
+        estado.put("duracion", grabacion.getDuration());
+        estado.put("tamanioBytes", grabacion.getSize());
+        return estado;
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> iniciar(@Nullable Integer duracionSegundos,
+                                                                        @Nullable String configuracion,
+                                                                        @Nullable Long umbralMs) {
+        if (grabacion != null && grabacion.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(estado(), HttpStatus.CONFLICT.value());
+        }
+        Configuration plantilla;
+        try {
+            plantilla = Configuration.getConfiguration(configuracion != null ? configuracion : "default");
+        } catch (IOException | ParseException e) {
+            return new WebEndpointResponse<>(Map.of("error", "Configuración JFR no válida: " + configuracion),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        cerrar();
+
+        Recording nueva = new Recording(plantilla);
+        nueva.setName(NOMBRE_GRABACION);
+        nueva.setToDisk(true);
+        nueva.setMaxSize(tamanioMaximoBytes);
+        nueva.setMaxAge(antiguedadMaxima);
+        if (duracionSegundos != null && duracionSegundos > 0) {
+            nueva.setDuration(Duration.ofSeconds(duracionSegundos));
+        }
+        EVENTOS_EXCLUIDOS.forEach(nueva::disable);
+        nueva.enable(OperacionEvent.class).withThreshold(Duration.ofMillis(umbralMs != null ? umbralMs : 0));
+        nueva.start();
+        grabacion = nueva;
+        return new WebEndpointResponse<>(estado(), WebEndpointResponse.STATUS_OK);
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> detener() {
+        if (grabacion != null && grabacion.getState() == RecordingState.RUNNING) {
+            grabacion.stop();
+        }
+        return estado();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> volcado(@Selector String archivo) throws IOException {
+        if (!VOLCADO.equals(archivo)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (grabacion == null || grabacion.getState() == RecordingState.NEW) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path temporal = Files.createTempFile(NOMBRE_GRABACION + "-", ".jfr");
+        try {
+            grabacion.dump(temporal);
+            byte[] contenido = Files.readAllBytes(temporal);
+            return new WebEndpointResponse<>(new ByteArrayResource(contenido) {
+                @Override
+                public String getFilename() {
+                    return NOMBRE_GRABACION + ".jfr";
+                }
+            }, WebEndpointResponse.STATUS_OK);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    public synchronized void cerrar() {
+        if (grabacion != null) {
+            grabacion.close();
+            grabacion = null;
+        }
+    }
+}
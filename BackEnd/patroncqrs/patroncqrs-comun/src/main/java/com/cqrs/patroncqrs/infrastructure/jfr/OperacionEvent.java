@@ -0,0 +1,35 @@
+package com.cqrs.patroncqrs.infrastructure.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Evento de Flight Recorder para una operación de negocio o de acceso a datos.
+ * La duración la mide JFR (begin/end); sin stack trace para que sea barato dejarlo activo.
+ * El umbral se puede subir desde la configuración de la grabación
+ * ({@code com.cqrs.patroncqrs.Operacion#threshold}).
+ */
+@Name("com.cqrs.patroncqrs.Operacion")
+@Label("Operación")
+@Description("Método de un servicio de comandos o consultas, o llamada a un repositorio")
+@Category({"PatronCQRS", "Operaciones"})
+@StackTrace(false)
+@Threshold("0 ms")
+public class OperacionEvent extends Event {
+
+    @Label("Capa")
+    @Description("COMMAND, QUERY o REPOSITORIO")
+    String capa;
+
+    @Label("Operación")
+    String operacion;
+
+    @Label("ID del agregado")
+    String agregadoId;
+
+    @Label("Filas")
+    @Description("Filas devueltas o modificadas (-1 si no aplica)")
+    int filas;
+
+    @Label("Falló")
+    boolean fallo;
+}
@@ -0,0 +1,104 @@
+package com.cqrs.patroncqrs.infrastructure.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Emite un OperacionEvent alrededor de cada método de los servicios de comandos y consultas
+ * y de cada llamada a un repositorio. Sin una grabación activa el costo es crear el evento y
+ * consultar {@code shouldCommit()}; los datos del evento solo se calculan si se va a guardar.
+ * Va por dentro de la agrupación de consultas (mide ejecuciones reales) y por fuera de
+ * la transacción (incluye el commit).
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class OperacionJfrAspect {
+
+    private static final ClassValue<String> NOMBRE_REPOSITORIO = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> tipo) {
+            // Los repositorios son proxies: el nombre útil es el de la interfaz de la aplicación
+            for (Class<?> interfaz : tipo.getInterfaces()) {
+                if (Repository.class.isAssignableFrom(interfaz) && interfaz.getName().startsWith("com.cqrs.")) {
+                    return interfaz.getSimpleName();
+                }
+            }
+            return tipo.getSimpleName();
+        }
+    };
+
+    @Around("execution(public * com.cqrs.patroncqrs..*CommandServiceImpl.*(..))")
+    public Object comando(ProceedingJoinPoint joinPoint) throws Throwable {
+        return registrar(joinPoint, "COMMAND");
+    }
+
+    @Around("execution(public * com.cqrs.patroncqrs..*QueryServiceImpl.*(..))")
+    public Object consulta(ProceedingJoinPoint joinPoint) throws Throwable {
+        return registrar(joinPoint, "QUERY");
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object repositorio(ProceedingJoinPoint joinPoint) throws Throwable {
+        return registrar(joinPoint, "REPOSITORIO");
+    }
+
+    private Object registrar(ProceedingJoinPoint joinPoint, String capa) throws Throwable {
+        OperacionEvent evento = new OperacionEvent();
+        evento.begin();
+        Object resultado = null;
+        boolean fallo = true;
+        try {
+            resultado = joinPoint.proceed();
+            fallo = false;
+            return resultado;
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.capa = capa;
+                evento.operacion = nombreOperacion(joinPoint, capa);
+                evento.agregadoId = agregadoId(joinPoint.getArgs(), resultado, capa);
+                evento.filas = filas(resultado);
+                evento.fallo = fallo;
+                evento.commit();
+            }
+        }
+    }
+
+    private static String nombreOperacion(ProceedingJoinPoint joinPoint, String capa) {
+        String tipo = "REPOSITORIO".equals(capa)
+                ? NOMBRE_REPOSITORIO.get(joinPoint.getThis().getClass())
+                : joinPoint.getSignature().getDeclaringType().getSimpleName();
+        return tipo + "." + joinPoint.getSignature().getName();
+    }
+
+    // El primer argumento Long es el ID en todos los métodos por ID; al crear, es el valor devuelto
+    private static String agregadoId(Object[] argumentos, Object resultado, String capa) {
+        if (argumentos.length > 0 && argumentos[0] instanceof Long id) {
+            return id.toString();
+        }
+        if ("COMMAND".equals(capa) && resultado instanceof Long id) {
+            return id.toString();
+        }
+        return null;
+    }
+
+    private static int filas(Object resultado) {
+        if (resultado instanceof Collection<?> coleccion) {
+            return coleccion.size();
+        }
+        if (resultado instanceof Optional<?> opcional) {
+            return opcional.isPresent() ? 1 : 0;
+        }
+        if (resultado instanceof Integer modificadas) {
+            return modificadas;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,113 @@
+package com.cqrs.patroncqrs.infrastructure.limite;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Límite de concurrencia AIMD guiado por la latencia observada.
+ * Mientras las respuestas llegan dentro de la latencia objetivo y el límite se está usando,
+ * crece de a uno por cada "límite" respuestas (suma). Ante una respuesta lenta o un 5xx se
+ * multiplica por el factor de reducción, como mucho una vez por período objetivo para que
+ * una ráfaga de respuestas lentas no lo desplome de golpe. Lo que excede el límite se
+ * rechaza al instante en vez de esperar en cola.
+ */
+public class LimiteAdaptativo {
+
+    private final String grupo;
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final long latenciaObjetivoNanos;
+    private final double factorReduccion;
+
+    private final AtomicInteger enCurso = new AtomicInteger();
+    // double guardado como bits para actualizarlo con CAS
+    private final AtomicLong limite;
+    private final AtomicLong ultimaReduccion = new AtomicLong();
+    private final Counter rechazos;
+
+    public LimiteAdaptativo(String grupo, int limiteInicial, int limiteMinimo, int limiteMaximo,
+                            long latenciaObjetivoMs, double factorReduccion, MeterRegistry registry) {
+        this.grupo = grupo;
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.latenciaObjetivoNanos = TimeUnit.MILLISECONDS.toNanos(latenciaObjetivoMs);
+        this.factorReduccion = factorReduccion;
+        this.limite = new AtomicLong(Double.doubleToLongBits(acotar(limiteInicial)));
+
+        Gauge.builder("limite.concurrencia.limite", this, LimiteAdaptativo::getLimite)
+                .tag("grupo", grupo)
+                .description("Límite de concurrencia vigente")
+                .register(registry);
+        Gauge.builder("limite.concurrencia.en.curso", enCurso, AtomicInteger::get)
+                .tag("grupo", grupo)
+                .description("Peticiones en curso dentro del límite")
+                .register(registry);
+        this.rechazos = Counter.builder("limite.concurrencia.rechazos")
+                .tag("grupo", grupo)
+                .description("Peticiones rechazadas por superar el límite")
+                .register(registry);
+    }
+
+    public boolean intentarEntrar() {
+        while (true) {
+            int actual = enCurso.get();
+            if (actual >= getLimite()) {
+                rechazos.increment();
+                return false;
+            }
+            if (enCurso.compareAndSet(actual, actual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera el lugar y ajusta el límite según cómo terminó la petición.
+     */
+    public void salir(long latenciaNanos, boolean fallo) {
+        int concurrentes = enCurso.getAndDecrement();
+
+        if (fallo || latenciaNanos > latenciaObjetivoNanos) {
+            long ahora = System.nanoTime();
+            long anterior = ultimaReduccion.get();
+            if (ahora - anterior >= latenciaObjetivoNanos && ultimaReduccion.compareAndSet(anterior, ahora)) {
+                actualizar(-1);
+            }
+        } else if (concurrentes * 2 >= getLimite()) {
+            // Solo crece si el límite actual se está aprovechando
+            actualizar(1);
+        }
+    }
+
+    private void actualizar(int direccion) {
+        while (true) {
+            long bits = limite.get();
+            double actual = Double.longBitsToDouble(bits);
+            double nuevo = acotar(direccion > 0 ? actual + 1.0 / actual : actual * factorReduccion);
+            if (nuevo == actual || limite.compareAndSet(bits, Double.doubleToLongBits(nuevo))) {
+                return;
+            }
+        }
+    }
+
+    private double acotar(double valor) {
+        return Math.max(limiteMinimo, Math.min(limiteMaximo, valor));
+    }
+
+    public String getGrupo() {
+        return grupo;
+    }
+
+    public int getLimite() {
+        return (int) Double.longBitsToDouble(limite.get());
+    }
+
+    public int getEnCurso() {
+        return enCurso.get();
+    }
+}
@@ -0,0 +1,42 @@
+package com.cqrs.patroncqrs.infrastructure.limite;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Aplica un LimiteAdaptativo a un grupo de endpoints: responde 503 si está lleno y
+ * al terminar informa la latencia y si la respuesta fue un error del servidor.
+ */
+public class LimiteConcurrenciaInterceptor implements HandlerInterceptor {
+
+    private final LimiteAdaptativo limite;
+    private final String atributo;
+
+    public LimiteConcurrenciaInterceptor(LimiteAdaptativo limite) {
+        this.limite = limite;
+        this.atributo = LimiteConcurrenciaInterceptor.class.getName() + "." + limite.getGrupo();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!limite.intentarEntrar()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            return false;
+        }
+        request.setAttribute(atributo, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object inicio = request.getAttribute(atributo);
+        if (inicio != null) {
+            request.removeAttribute(atributo);
+            boolean fallo = ex != null || response.getStatus() >= 500;
+            limite.salir(System.nanoTime() - (Long) inicio, fallo);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.cqrs.patroncqrs.infrastructure.nodo;
+
+/**
+ * Identidad de esta instancia entre las que comparten la base. Es app.nodo.id o, si no se configuró,
+ * host:puerto, que no se repite entre las instancias de una máquina y se mantiene entre reinicios.
+ *
+ * @param id         identificador del nodo
+ * @param configurada si salió de app.nodo.id y no del valor por defecto
+ */
+public record IdentidadNodo(String id, boolean configurada) {
+}
@@ -0,0 +1,44 @@
+package com.cqrs.patroncqrs.infrastructure.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard al que van las operaciones del hilo actual. Sin shard asignado se usa el principal (0).
+ * Se asigna antes de abrir la transacción: la conexión se pide recién en la primera sentencia
+ * y ahí se elige el shard, así que cambiarlo a mitad de una transacción no tiene efecto.
+ */
+public final class ContextoShard {
+
+    public static final int PRINCIPAL = 0;
+
+    private static final ThreadLocal<Integer> ACTUAL = new ThreadLocal<>();
+
+    private ContextoShard() {
+    }
+
+    public static Integer actual() {
+        return ACTUAL.get();
+    }
+
+    /**
+     * Asigna el shard del hilo (nulo lo quita) y devuelve el anterior para restaurarlo.
+     */
+    public static Integer asignar(Integer shard) {
+        Integer anterior = ACTUAL.get();
+        if (shard == null) {
+            ACTUAL.remove();
+        } else {
+            ACTUAL.set(shard);
+        }
+        return anterior;
+    }
+
+    public static <T> T en(int shard, Supplier<T> operacion) {
+        Integer anterior = asignar(shard);
+        try {
+            return operacion.get();
+        } finally {
+            asignar(anterior);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.cqrs.patroncqrs.infrastructure.shard;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Deja listos los shards en cuanto existe el EntityManagerFactory, antes de que otro bean los consulte.
+ * Hibernate crea el esquema solo en la conexión por defecto (el principal): con ddl-auto create se
+ * replica en los demás. Con update se rechaza el arranque, porque solo se migraría el principal: los
+ * shards se migran por fuera y se arranca con validate o none. Spring ejecuta data.sql solo en el
+ * principal: acá se ejecuta también en los demás (las semillas son idempotentes). En H2, que no tiene
+ * auto_increment_increment por sesión, se intercalan acá las identidades de las tablas que reparten
+ * IDs (en MySQL lo hace la sesión de cada pool).
+ */
+public class EsquemaShards implements BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(EsquemaShards.class);
+
+    // Tablas cuyos IDs indican el shard
+    private static final List<String> TABLAS_CON_ID_INTERCALADO = List.of("categorias", "productos");
+
+    private static final String SEMILLAS = "data.sql";
+
+    private final int cantidad;
+
+    public EsquemaShards(int cantidad) {
+        this.cantidad = cantidad;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof EntityManagerFactory entityManagerFactory) {
+            SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+            String ddlAuto = String.valueOf(entityManagerFactory.getProperties().get(AvailableSettings.HBM2DDL_AUTO));
+            if (ddlAuto.equals("update") && cantidad > 1) {
+                throw new IllegalStateException("Con la base dividida en shards spring.jpa.hibernate.ddl-auto=update solo "
+                        + "migraría el principal: migre cada shard por fuera y use validate o none (create en desarrollo)");
+            }
+            for (int shard = 1; shard < cantidad; shard++) {
+                int actual = shard;
+                ContextoShard.en(shard, () -> {
+                    replicarEsquema(sessionFactory, ddlAuto, actual);
+                    sembrar(sessionFactory);
+                    return null;
+                });
+            }
+            for (int shard = 0; shard < cantidad; shard++) {
+                int actual = shard;
+                ContextoShard.en(shard, () -> {
+                    intercalarIdentidadesH2(sessionFactory, actual);
+                    return null;
+                });
+            }
+        }
+        return bean;
+    }
+
+    private void replicarEsquema(SessionFactory sessionFactory, String ddlAuto, int shard) {
+        if (ddlAuto.startsWith("create")) {
+            sessionFactory.getSchemaManager().dropMappedObjects(false);
+            sessionFactory.getSchemaManager().exportMappedObjects(false);
+            log.info("Esquema creado en el shard {}", shard);
+        }
+    }
+
+    // data.sql está solo en el servicio de comandos: el de consultas no escribe
+    private void sembrar(SessionFactory sessionFactory) {
+        ClassPathResource semillas = new ClassPathResource(SEMILLAS);
+        if (!semillas.exists()) {
+            return;
+        }
+        try (StatelessSession sesion = sessionFactory.openStatelessSession()) {
+            sesion.doWork(conexion -> ScriptUtils.executeSqlScript(conexion, new EncodedResource(semillas, StandardCharsets.UTF_8)));
+        }
+    }
+
+    private void intercalarIdentidadesH2(SessionFactory sessionFactory, int shard) {
+        try (StatelessSession sesion = sessionFactory.openStatelessSession()) {
+            sesion.doWork(conexion -> {
+                if (!"H2".equals(conexion.getMetaData().getDatabaseProductName())) {
+                    return;
+                }
+                try (Statement sentencia = conexion.createStatement()) {
+                    for (String tabla : TABLAS_CON_ID_INTERCALADO) {
+                        // El próximo ID libre que le corresponde al shard, sin pisar filas existentes
+                        long siguiente = shard + 1;
+                        try (var maximo = sentencia.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + tabla)) {
+                            maximo.next();
+                            long ultimo = maximo.getLong(1);
+                            if (ultimo >= siguiente) {
+                                siguiente += ((ultimo - siguiente) / cantidad + 1) * cantidad;
+                            }
+                        }
+                        sentencia.execute("ALTER TABLE " + tabla + " ALTER COLUMN id RESTART WITH " + siguiente
+                                + " SET INCREMENT BY " + cantidad);
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.cqrs.patroncqrs.infrastructure.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.List;
+
+/**
+ * Envía cada conexión al shard asignado al hilo ({@link ContextoShard}), o al principal si no hay ninguno.
+ * Igual que el ruteo por tipo de carga, debe usarse detrás de un LazyConnectionDataSourceProxy.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    // Los pools de todos los shards, para cerrarlos con la aplicación
+    private final List<HikariDataSource> pools;
+
+    public ShardRoutingDataSource(List<HikariDataSource> pools) {
+        this.pools = pools;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ContextoShard.actual();
+        return shard != null ? shard : ContextoShard.PRINCIPAL;
+    }
+
+    public void cerrar() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,50 @@
+package com.cqrs.patroncqrs.infrastructure.shard;
+
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Una sola base: las consultas corren directamente en el hilo y la transacción de quien llama.
+ */
+public class ShardUnico implements Shards {
+
+    @Override
+    public int cantidad() {
+        return 1;
+    }
+
+    @Override
+    public int deId(Long id) {
+        return ContextoShard.PRINCIPAL;
+    }
+
+    @Override
+    public <T> T ejecutarEn(int shard, Supplier<T> operacion) {
+        return operacion.get();
+    }
+
+    @Override
+    public <T> T leerDe(Long id, Supplier<T> consulta) {
+        return consulta.get();
+    }
+
+    @Override
+    public <T> List<T> reunir(Supplier<List<T>> consulta) {
+        return consulta.get();
+    }
+
+    // La consulta ya viene ordenada por la base
+    @Override
+    public <T> List<T> reunir(Supplier<List<T>> consulta, Comparator<? super T> orden) {
+        return consulta.get();
+    }
+
+    // Corre en la transacción de quien llama, que ya tiene su aislamiento
+    @Override
+    public <T> List<T> reunir(Supplier<List<T>> consulta, TransactionDefinition definicion) {
+        return consulta.get();
+    }
+}
@@ -0,0 +1,49 @@
+package com.cqrs.patroncqrs.infrastructure.shard;
+
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Acceso a los datos repartidos en shards. Cada categoría vive en un shard junto con todos sus productos
+ * (y sus filas archivadas), así que lo que se consulta por categoría o por ID va a un solo shard y lo
+ * global se consulta en todos y se junta. Con un solo shard ({@link ShardUnico}) todo corre tal cual,
+ * dentro de la transacción de quien llama.
+ */
+public interface Shards {
+
+    int cantidad();
+
+    /**
+     * Shard que guarda la categoría o el producto con ese ID.
+     */
+    int deId(Long id);
+
+    /**
+     * Ejecuta la operación con el hilo ligado al shard; la transacción, si hace falta, la abre la operación.
+     */
+    <T> T ejecutarEn(int shard, Supplier<T> operacion);
+
+    /**
+     * Ejecuta la consulta de solo lectura en el shard del ID.
+     */
+    <T> T leerDe(Long id, Supplier<T> consulta);
+
+    /**
+     * Ejecuta la consulta de solo lectura en todos los shards y junta los resultados en orden de shard.
+     */
+    <T> List<T> reunir(Supplier<List<T>> consulta);
+
+    /**
+     * Como {@link #reunir(Supplier)} para consultas ordenadas: el resultado conserva el mismo orden.
+     */
+    <T> List<T> reunir(Supplier<List<T>> consulta, Comparator<? super T> orden);
+
+    /**
+     * Como {@link #reunir(Supplier)}, con el aislamiento de la definición: en cada shard la consulta entera
+     * corre en una sola transacción con ese nivel (sigue siendo de solo lectura y nueva en cada shard).
+     */
+    <T> List<T> reunir(Supplier<List<T>> consulta, TransactionDefinition definicion);
+}
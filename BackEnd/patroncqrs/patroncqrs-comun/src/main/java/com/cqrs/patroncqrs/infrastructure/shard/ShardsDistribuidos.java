@@ -0,0 +1,141 @@
+package com.cqrs.patroncqrs.infrastructure.shard;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Varias bases. Los IDs se generan intercalados (el shard k entrega k+1, k+1+N, k+1+2N...), así que el
+ * shard de una fila sale de su ID sin consultar ningún directorio. Cada lectura corre en una transacción
+ * propia de solo lectura en su shard; las que van a todos los shards corren en paralelo.
+ */
+public class ShardsDistribuidos implements Shards {
+
+    private final int cantidad;
+    private final PlatformTransactionManager transactionManager;
+    // REQUIRES_NEW: quien llama puede estar en una transacción ligada a otro shard
+    private final TransactionTemplate lectura;
+    private final ThreadPoolExecutor dispersion;
+    private final Timer duracionReunir;
+
+    public ShardsDistribuidos(int cantidad, PlatformTransactionManager transactionManager, int hilos, MeterRegistry registry) {
+        this.cantidad = cantidad;
+        this.transactionManager = transactionManager;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.lectura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // Con la cola llena, quien llama ejecuta su parte: se frena en lugar de fallar
+        this.dispersion = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(hilos * 4), r -> {
+                    Thread hilo = new Thread(r, "shards-consulta");
+                    hilo.setDaemon(true);
+                    return hilo;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.duracionReunir = Timer.builder("shards.reunir")
+                .description("Consultas ejecutadas en todos los shards y juntadas")
+                .register(registry);
+    }
+
+    @Override
+    public int cantidad() {
+        return cantidad;
+    }
+
+    @Override
+    public int deId(Long id) {
+        return (int) Math.floorMod(id - 1, (long) cantidad);
+    }
+
+    @Override
+    public <T> T ejecutarEn(int shard, Supplier<T> operacion) {
+        return ContextoShard.en(shard, operacion);
+    }
+
+    @Override
+    public <T> T leerDe(Long id, Supplier<T> consulta) {
+        return leerEn(deId(id), consulta);
+    }
+
+    @Override
+    public <T> List<T> reunir(Supplier<List<T>> consulta) {
+        return reunir(consulta, lectura);
+    }
+
+    @Override
+    public <T> List<T> reunir(Supplier<List<T>> consulta, Comparator<? super T> orden) {
+        List<T> resultado = reunir(consulta);
+        resultado.sort(orden);
+        return resultado;
+    }
+
+    @Override
+    public <T> List<T> reunir(Supplier<List<T>> consulta, TransactionDefinition definicion) {
+        DefaultTransactionDefinition porShard = new DefaultTransactionDefinition(definicion);
+        porShard.setReadOnly(true);
+        porShard.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return reunir(consulta, new TransactionTemplate(transactionManager, porShard));
+    }
+
+    public void cerrar() {
+        dispersion.shutdownNow();
+    }
+
+    private <T> List<T> reunir(Supplier<List<T>> consulta, TransactionTemplate transaccion) {
+        return duracionReunir.record(() -> {
+            List<Future<List<T>>> partes = new ArrayList<>(cantidad - 1);
+            try {
+                for (int shard = 1; shard < cantidad; shard++) {
+                    int destino = shard;
+                    partes.add(dispersion.submit(() -> leerEn(destino, consulta, transaccion)));
+                }
+                // El principal en este hilo, mientras los demás corren en paralelo
+                List<T> resultado = new ArrayList<>(leerEn(ContextoShard.PRINCIPAL, consulta, transaccion));
+                for (Future<List<T>> parte : partes) {
+                    resultado.addAll(esperar(parte));
+                }
+                return resultado;
+            } finally {
+                // Si una parte falló, las demás ya no hacen falta
+                partes.forEach(parte -> parte.cancel(true));
+            }
+        });
+    }
+
+    private <T> T leerEn(int shard, Supplier<T> consulta) {
+        return leerEn(shard, consulta, lectura);
+    }
+
+    private <T> T leerEn(int shard, Supplier<T> consulta, TransactionTemplate transaccion) {
+        return ContextoShard.en(shard, () -> transaccion.execute(status -> consulta.get()));
+    }
+
+    private static <T> T esperar(Future<T> parte) {
+        try {
+            return parte.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta a los shards interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
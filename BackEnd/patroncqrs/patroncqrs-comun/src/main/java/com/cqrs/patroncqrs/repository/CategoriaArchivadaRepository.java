@@ -0,0 +1,41 @@
+package com.cqrs.patroncqrs.repository;
+
+import com.cqrs.patroncqrs.domain.entity.CategoriaArchivada;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+
+import java.util.*;
+
+public interface CategoriaArchivadaRepository extends JpaRepository<CategoriaArchivada, Long> {
+
+    // Copiar categorías eliminadas de la tabla principal al archivo
+    @Modifying
+    @Query(value = "INSERT INTO categorias_archivadas (id, nombre, descripcion, fecha_eliminacion, fecha_archivado, secuencia_cambio) " +
+            "SELECT id, nombre, descripcion, fecha_eliminacion, CURRENT_TIMESTAMP, secuencia_cambio " +
+            "FROM categorias WHERE eliminado = true AND id IN (:ids)", nativeQuery = true)
+    int archivar(@Param("ids") List<Long> ids);
+
+    // Devolver una categoría archivada a la tabla principal (sigue eliminada)
+    @Modifying
+    @Query(value = "INSERT INTO categorias (id, nombre, descripcion, eliminado, fecha_eliminacion, secuencia_cambio) " +
+            "SELECT id, nombre, descripcion, true, fecha_eliminacion, secuencia_cambio " +
+            "FROM categorias_archivadas WHERE id = :id", nativeQuery = true)
+    int desarchivar(@Param("id") Long id);
+
+    // Quitar una categoría del archivo
+    @Modifying
+    @Query("DELETE FROM CategoriaArchivada c WHERE c.id = :id")
+    int deleteArchivadaById(@Param("id") Long id);
+
+    // Categorías archivadas ordenadas por nombre
+    @Query("SELECT c FROM CategoriaArchivada c ORDER BY c.nombre")
+    List<CategoriaArchivada> findAllOrdenadas();
+
+    // Archivadas después de la marca de agua (se informan como bajas en la sincronización)
+    @Query("SELECT c FROM CategoriaArchivada c " +
+            "WHERE c.secuenciaCambio > :desde OR (c.secuenciaCambio = :desde AND c.id > :desdeId) " +
+            "ORDER BY c.secuenciaCambio, c.id")
+    List<CategoriaArchivada> findCambiosDesde(@Param("desde") Long desde, @Param("desdeId") Long desdeId, Limit limite);
+
+}
@@ -0,0 +1,94 @@
+package com.cqrs.patroncqrs.repository;
+
+import com.cqrs.patroncqrs.domain.entity.Categoria;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.*;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+public interface CategoriaRepository extends JpaRepository<Categoria, Long>, CategoriaRepositoryCustom {
+
+    // Buscar por nombre exacto (solo activas)
+    @Query("SELECT c FROM Categoria c WHERE c.eliminado = false AND LOWER(c.nombre) = LOWER(:nombre)")
+    Optional<Categoria> findByNombreIgnoreCase(@Param("nombre") String nombre);
+
+    // ID de la categoría activa con el nombre normalizado indicado
+    @Query("SELECT c.id FROM Categoria c WHERE c.nombreActivo = :nombreActivo AND c.eliminado = false")
+    Optional<Long> findIdByNombreActivo(@Param("nombreActivo") String nombreActivo);
+
+    // Buscar por nombre parcial (solo activas)
+    @Query("SELECT c FROM Categoria c WHERE c.eliminado = false AND LOWER(c.nombre) LIKE LOWER(CONCAT('%', :nombre, '%'))")
+    List<Categoria> findByNombreContainingIgnoreCase(@Param("nombre") String nombre);
+
+    // Soft delete por ID
+    @Modifying
+    @Transactional
+    @Query("UPDATE Categoria c SET c.eliminado = true, c.fechaEliminacion = CURRENT_TIMESTAMP, c.nombreActivo = NULL, c.secuenciaCambio = :secuencia WHERE c.id = :id")
+    void softDeleteById(@Param("id") Long id, @Param("secuencia") Long secuencia);
+
+    // Restaurar categoría eliminada
+    @Modifying
+    @Transactional
+    @Query("UPDATE Categoria c SET c.eliminado = false, c.fechaEliminacion = NULL, c.nombreActivo = :nombreActivo, c.secuenciaCambio = :secuencia WHERE c.id = :id")
+    void restoreById(@Param("id") Long id, @Param("nombreActivo") String nombreActivo, @Param("secuencia") Long secuencia);
+
+    // Buscar categorías eliminadas
+    @Query(value = "SELECT * FROM categorias WHERE eliminado = true", nativeQuery = true)
+    List<Categoria> findAllDeleted();
+
+    // Buscar por ID incluyendo eliminadas
+    @Query("SELECT c FROM Categoria c WHERE c.id = :id")
+    Optional<Categoria> findByIdIncludingDeleted(@Param("id") Long id);
+
+    // Verificar si existe (incluyendo eliminadas)
+    @Query("SELECT COUNT(c) > 0 FROM Categoria c WHERE c.id = :id")
+    boolean existsByIdIncludingDeleted(@Param("id") Long id);
+
+    // Obtener todas las categorías activas
+    @Query("SELECT c FROM Categoria c WHERE c.eliminado = false ORDER BY c.nombre")
+    List<Categoria> findAllActive();
+
+    // Verificar si una categoría puede ser eliminada (no tiene productos activos)
+    @Query("SELECT COUNT(p) = 0 FROM Producto p WHERE p.categoria.id = :categoriaId AND p.eliminado = false")
+    boolean canBeDeleted(@Param("categoriaId") Long categoriaId);
+
+    // IDs de categorías eliminadas antes de la fecha límite y sin productos en la tabla principal.
+    // Las eliminadas antes de registrar la fecha (fecha_eliminacion nula) también son archivables
+    @Query(value = "SELECT c.id FROM categorias c WHERE c.eliminado = true " +
+            "AND (c.fecha_eliminacion IS NULL OR c.fecha_eliminacion < :limite) " +
+            "AND NOT EXISTS (SELECT 1 FROM productos p WHERE p.categoria_id = c.id) ORDER BY c.id LIMIT :lote FOR UPDATE", nativeQuery = true)
+    List<Long> findIdsArchivablesAntesDe(@Param("limite") LocalDateTime limite, @Param("lote") int lote);
+
+    // Borrado físico de categorías ya copiadas al archivo
+    @Modifying
+    @Query("DELETE FROM Categoria c WHERE c.eliminado = true AND c.id IN :ids")
+    int deleteEliminadasByIdIn(@Param("ids") List<Long> ids);
+
+    // Categorías (incluidas eliminadas) modificadas después de la marca de agua (secuencia, id)
+    @Query("SELECT c FROM Categoria c " +
+            "WHERE c.secuenciaCambio > :desde OR (c.secuenciaCambio = :desde AND c.id > :desdeId) " +
+            "ORDER BY c.secuenciaCambio, c.id")
+    List<Categoria> findCambiosDesde(@Param("desde") Long desde, @Param("desdeId") Long desdeId, Limit limite);
+
+    // ID, nombre y nombre normalizado de las filas activas (carga del registro de nombres)
+    @Query("SELECT c.id, c.nombre, c.nombreActivo FROM Categoria c WHERE c.eliminado = false ORDER BY c.id")
+    List<Object[]> findNombresActivos();
+
+    // Cuáles de esos nombres normalizados usa alguna fila activa (confirmación del registro de nombres)
+    @Query("SELECT c.nombreActivo FROM Categoria c WHERE c.nombreActivo IN :nombres")
+    List<String> findNombresActivosEn(@Param("nombres") Collection<String> nombres);
+
+    // Nombres normalizados en uso por esas filas (resincronización del registro tras cambios de otros nodos)
+    @Query("SELECT c.nombreActivo FROM Categoria c WHERE c.id IN :ids AND c.nombreActivo IS NOT NULL")
+    List<String> findNombresActivosPorIds(@Param("ids") Collection<Long> ids);
+
+    // Completar el nombre normalizado de filas creadas antes de existir la columna
+    @Modifying
+    @Query("UPDATE Categoria c SET c.nombreActivo = :nombreActivo WHERE c.id = :id AND c.eliminado = false")
+    int asignarNombreActivo(@Param("id") Long id, @Param("nombreActivo") String nombreActivo);
+
+}
@@ -0,0 +1,12 @@
+package com.cqrs.patroncqrs.repository;
+
+import com.cqrs.patroncqrs.domain.entity.Categoria;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CategoriaRepositoryCustom {
+
+    // Buscar varias por ID (incluyendo eliminadas) resolviendo primero desde la cache de segundo nivel
+    List<Categoria> findAllByIdEnCache(Collection<Long> ids);
+}
@@ -0,0 +1,34 @@
+package com.cqrs.patroncqrs.repository;
+
+import com.cqrs.patroncqrs.domain.entity.Categoria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Carga múltiple de Hibernate: las categorías que están en la cache de segundo nivel no van
+ * a la base y las que faltan se traen juntas con un único IN.
+ */
+public class CategoriaRepositoryCustomImpl implements CategoriaRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Categoria> findAllByIdEnCache(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Categoria> categorias = entityManager.unwrap(Session.class)
+                .byMultipleIds(Categoria.class)
+                .withBatchSize(ids.size())
+                .multiLoad(new ArrayList<>(ids));
+        // multiLoad devuelve null en la posición de cada ID inexistente
+        return categorias.stream().filter(Objects::nonNull).toList();
+    }
+}
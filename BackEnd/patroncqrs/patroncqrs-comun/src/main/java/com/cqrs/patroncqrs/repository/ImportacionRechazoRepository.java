@@ -0,0 +1,13 @@
+package com.cqrs.patroncqrs.repository;
+
+import com.cqrs.patroncqrs.domain.entity.ImportacionRechazo;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ImportacionRechazoRepository extends JpaRepository<ImportacionRechazo, Long> {
+
+    // Rechazos de una importación posteriores a un número de registro, en orden
+    List<ImportacionRechazo> findByImportacionIdAndRegistroGreaterThanOrderByRegistro(Long importacionId, Long registro, Limit limite);
+}
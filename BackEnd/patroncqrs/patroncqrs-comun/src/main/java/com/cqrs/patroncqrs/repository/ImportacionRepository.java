@@ -0,0 +1,30 @@
+package com.cqrs.patroncqrs.repository;
+
+import com.cqrs.patroncqrs.domain.entity.Importacion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+public interface ImportacionRepository extends JpaRepository<Importacion, Long> {
+
+    // Avanzar el punto de control; no hace nada si otra ejecución ya lo movió desde el valor esperado
+    @Modifying
+    @Query("UPDATE Importacion i SET i.registrosProcesados = i.registrosProcesados + :procesados, " +
+            "i.importados = i.importados + :importados, i.rechazados = i.rechazados + :rechazados, " +
+            "i.fechaActualizacion = CURRENT_TIMESTAMP WHERE i.id = :id AND i.registrosProcesados = :desde")
+    int registrarAvance(@Param("id") Long id, @Param("desde") Long desde, @Param("procesados") long procesados,
+                        @Param("importados") long importados, @Param("rechazados") long rechazados);
+
+    // Al arrancar, las importaciones que este nodo dejó a medias pasan a interrumpidas (se pueden reanudar).
+    // Las de otros nodos siguen en curso allí; las que no tienen nodo son anteriores a la columna.
+    @Modifying
+    @Transactional
+    @Query("UPDATE Importacion i SET i.estado = :nuevo, i.fechaActualizacion = CURRENT_TIMESTAMP " +
+            "WHERE i.estado IN :estados AND (i.nodo = :nodo OR i.nodo IS NULL)")
+    int cambiarEstadosDeNodo(@Param("nodo") String nodo, @Param("estados") Collection<Importacion.Estado> estados,
+                             @Param("nuevo") Importacion.Estado nuevo);
+}
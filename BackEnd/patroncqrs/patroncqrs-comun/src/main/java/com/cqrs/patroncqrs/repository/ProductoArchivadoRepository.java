@@ -0,0 +1,69 @@
+package com.cqrs.patroncqrs.repository;
+
+import com.cqrs.patroncqrs.domain.entity.ProductoArchivado;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+
+import java.util.*;
+
+public interface ProductoArchivadoRepository extends JpaRepository<ProductoArchivado, Long> {
+
+    // Los mismos criterios que ProductoRepository.FILTRO_MASIVO sobre las columnas del archivo
+    String FILTRO_MASIVO = "(:categoriaId IS NULL OR p.categoriaId = :categoriaId) " +
+            "AND (:precioMin IS NULL OR p.precio >= :precioMin) AND (:precioMax IS NULL OR p.precio <= :precioMax) " +
+            "AND (:stockMin IS NULL OR p.stock >= :stockMin) AND (:stockMax IS NULL OR p.stock <= :stockMax)";
+
+    // Copiar productos eliminados de la tabla principal al archivo
+    @Modifying
+    @Query(value = "INSERT INTO productos_archivados (id, nombre, descripcion, precio, stock, categoria_id, categoria_nombre, fecha_eliminacion, fecha_archivado, secuencia_cambio) " +
+            "SELECT p.id, p.nombre, p.descripcion, p.precio, p.stock, p.categoria_id, c.nombre, p.fecha_eliminacion, CURRENT_TIMESTAMP, p.secuencia_cambio " +
+            "FROM productos p LEFT JOIN categorias c ON c.id = p.categoria_id WHERE p.eliminado = true AND p.id IN (:ids)", nativeQuery = true)
+    int archivar(@Param("ids") List<Long> ids);
+
+    // Devolver un producto archivado a la tabla principal (sigue eliminado)
+    @Modifying
+    @Query(value = "INSERT INTO productos (id, nombre, descripcion, precio, stock, categoria_id, eliminado, fecha_eliminacion, secuencia_cambio) " +
+            "SELECT id, nombre, descripcion, precio, stock, categoria_id, true, fecha_eliminacion, secuencia_cambio " +
+            "FROM productos_archivados WHERE id = :id", nativeQuery = true)
+    int desarchivar(@Param("id") Long id);
+
+    // Devolver varios productos archivados a la tabla principal (siguen eliminados)
+    @Modifying
+    @Query(value = "INSERT INTO productos (id, nombre, descripcion, precio, stock, categoria_id, eliminado, fecha_eliminacion, secuencia_cambio) " +
+            "SELECT id, nombre, descripcion, precio, stock, categoria_id, true, fecha_eliminacion, secuencia_cambio " +
+            "FROM productos_archivados WHERE id IN (:ids)", nativeQuery = true)
+    int desarchivarTodos(@Param("ids") List<Long> ids);
+
+    // Quitar varios productos del archivo
+    @Modifying
+    @Query("DELETE FROM ProductoArchivado p WHERE p.id IN :ids")
+    int deleteArchivadosByIdIn(@Param("ids") List<Long> ids);
+
+    // IDs de los productos archivados con categoría activa que cumplen el filtro (candidatos a restaurar)
+    @Query("SELECT p.id FROM ProductoArchivado p WHERE " + FILTRO_MASIVO +
+            " AND p.categoriaId IN (SELECT c.id FROM Categoria c WHERE c.eliminado = false) ORDER BY p.id")
+    List<Long> findIdsPorFiltro(@Param("categoriaId") Long categoriaId,
+                                @Param("precioMin") Double precioMin, @Param("precioMax") Double precioMax,
+                                @Param("stockMin") Integer stockMin, @Param("stockMax") Integer stockMax);
+
+    // IDs de los productos archivados que se eliminaron junto con su categoría (misma secuencia de cambio)
+    @Query("SELECT p.id FROM ProductoArchivado p WHERE p.categoriaId = :categoriaId AND p.secuenciaCambio = :secuencia ORDER BY p.id")
+    List<Long> findIdsConCategoria(@Param("categoriaId") Long categoriaId, @Param("secuencia") Long secuencia);
+
+    // Quitar un producto del archivo
+    @Modifying
+    @Query("DELETE FROM ProductoArchivado p WHERE p.id = :id")
+    int deleteArchivadoById(@Param("id") Long id);
+
+    // Productos archivados ordenados por nombre
+    @Query("SELECT p FROM ProductoArchivado p ORDER BY p.nombre")
+    List<ProductoArchivado> findAllOrdenados();
+
+    // Archivados después de la marca de agua (se informan como bajas en la sincronización)
+    @Query("SELECT p FROM ProductoArchivado p " +
+            "WHERE p.secuenciaCambio > :desde OR (p.secuenciaCambio = :desde AND p.id > :desdeId) " +
+            "ORDER BY p.secuenciaCambio, p.id")
+    List<ProductoArchivado> findCambiosDesde(@Param("desde") Long desde, @Param("desdeId") Long desdeId, Limit limite);
+
+}
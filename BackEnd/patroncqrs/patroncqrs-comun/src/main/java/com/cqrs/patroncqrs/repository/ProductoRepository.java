@@ -0,0 +1,204 @@
+package com.cqrs.patroncqrs.repository;
+
+import com.cqrs.patroncqrs.domain.entity.Producto;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+public interface ProductoRepository extends JpaRepository<Producto, Long>, ProductoRepositoryCustom {
+
+    // Criterios opcionales de las operaciones en bloque (un parámetro nulo no filtra)
+    String FILTRO_MASIVO = "(:categoriaId IS NULL OR p.categoria.id = :categoriaId) " +
+            "AND (:precioMin IS NULL OR p.precio >= :precioMin) AND (:precioMax IS NULL OR p.precio <= :precioMax) " +
+            "AND (:stockMin IS NULL OR p.stock >= :stockMin) AND (:stockMax IS NULL OR p.stock <= :stockMax)";
+
+    // Buscar por nombre (solo activos)
+    @Query("SELECT p FROM Producto p WHERE p.eliminado = false AND LOWER(p.nombre) LIKE LOWER(CONCAT('%', :nombre, '%'))")
+    List<Producto> findByNombreContainingIgnoreCase(@Param("nombre") String nombre);
+
+    // Buscar por categoría (solo activos con categoría activa)
+    @Query("SELECT p FROM Producto p WHERE p.eliminado = false AND p.categoria.id = :categoriaId AND p.categoria.eliminado = false")
+    List<Producto> findByCategoriaId(@Param("categoriaId") Long categoriaId);
+
+    // Buscar por rango de precio (solo activos)
+    @Query("SELECT p FROM Producto p WHERE p.eliminado = false AND p.precio BETWEEN :precioMin AND :precioMax")
+    List<Producto> findByPrecioBetween(@Param("precioMin") Double precioMin, @Param("precioMax") Double precioMax);
+
+    // Buscar por stock mayor a X (solo activos)
+    @Query("SELECT p FROM Producto p WHERE p.eliminado = false AND p.stock > :stock")
+    List<Producto> findByStockGreaterThan(@Param("stock") Integer stock);
+
+    // Buscar por ID con categoría (solo activos)
+    @Query("SELECT p FROM Producto p JOIN FETCH p.categoria c WHERE p.id = :id AND p.eliminado = false AND c.eliminado = false")
+    Optional<Producto> findByIdWithCategoria(@Param("id") Long id);
+
+    // Buscar varios por ID con categoría (solo activos)
+    @Query("SELECT p FROM Producto p JOIN FETCH p.categoria c WHERE p.id IN :ids AND p.eliminado = false AND c.eliminado = false")
+    List<Producto> findAllByIdInWithCategoria(@Param("ids") Collection<Long> ids);
+
+    // Obtener todos con categoría (solo activos)
+    @Query("SELECT p FROM Producto p JOIN FETCH p.categoria c WHERE p.eliminado = false AND c.eliminado = false")
+    List<Producto> findAllWithCategoria();
+
+    // Soft delete por ID
+    @Modifying
+    @Transactional
+    @Query("UPDATE Producto p SET p.eliminado = true, p.fechaEliminacion = CURRENT_TIMESTAMP, p.nombreActivo = NULL, p.secuenciaCambio = :secuencia WHERE p.id = :id")
+    void softDeleteById(@Param("id") Long id, @Param("secuencia") Long secuencia);
+
+    // Restaurar producto eliminado
+    @Modifying
+    @Transactional
+    @Query("UPDATE Producto p SET p.eliminado = false, p.fechaEliminacion = NULL, p.nombreActivo = :nombreActivo, p.secuenciaCambio = :secuencia WHERE p.id = :id")
+    void restoreById(@Param("id") Long id, @Param("nombreActivo") String nombreActivo, @Param("secuencia") Long secuencia);
+
+    // Nombres normalizados de los productos activos que cumplen el filtro (se liberan al eliminarlos en bloque)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.nombreActivo FROM Producto p WHERE p.eliminado = false AND p.nombreActivo IS NOT NULL AND " + FILTRO_MASIVO)
+    List<String> findNombresActivosPorFiltro(@Param("categoriaId") Long categoriaId,
+                                             @Param("precioMin") Double precioMin, @Param("precioMax") Double precioMax,
+                                             @Param("stockMin") Integer stockMin, @Param("stockMax") Integer stockMax);
+
+    // Soft delete en bloque de los productos activos que cumplen el filtro
+    @Modifying
+    @Query("UPDATE Producto p SET p.eliminado = true, p.fechaEliminacion = CURRENT_TIMESTAMP, p.nombreActivo = NULL, p.secuenciaCambio = :secuencia " +
+            "WHERE p.eliminado = false AND " + FILTRO_MASIVO)
+    int softDeletePorFiltro(@Param("categoriaId") Long categoriaId,
+                            @Param("precioMin") Double precioMin, @Param("precioMax") Double precioMax,
+                            @Param("stockMin") Integer stockMin, @Param("stockMax") Integer stockMax,
+                            @Param("secuencia") Long secuencia);
+
+    // ID y nombre de los productos eliminados con categoría activa que cumplen el filtro (candidatos a restaurar)
+    @Query("SELECT p.id, p.nombre FROM Producto p WHERE p.eliminado = true AND p.categoria.eliminado = false AND " + FILTRO_MASIVO + " ORDER BY p.id")
+    List<Object[]> findEliminadosPorFiltro(@Param("categoriaId") Long categoriaId,
+                                           @Param("precioMin") Double precioMin, @Param("precioMax") Double precioMax,
+                                           @Param("stockMin") Integer stockMin, @Param("stockMax") Integer stockMax);
+
+    // ID y nombre de los productos eliminados junto con su categoría (misma secuencia de cambio)
+    @Query("SELECT p.id, p.nombre FROM Producto p WHERE p.eliminado = true AND p.categoria.id = :categoriaId " +
+            "AND p.secuenciaCambio = :secuencia ORDER BY p.id")
+    List<Object[]> findEliminadosConCategoria(@Param("categoriaId") Long categoriaId, @Param("secuencia") Long secuencia);
+
+    // Precio nuevo de un cambio en bloque: redondeado al múltiplo de :paso más cercano, menos :ajuste
+    String PRECIO_NUEVO = "ROUND(ROUND((p.precio * :factor + :suma) / :paso, 0) * :paso - :ajuste, 2)";
+
+    // IDs del siguiente lote de productos activos que cumplen el filtro, a partir de un ID
+    @Query("SELECT p.id FROM Producto p WHERE p.eliminado = false AND p.id > :desdeId AND " + FILTRO_MASIVO + " ORDER BY p.id")
+    List<Long> findIdsActivosPorFiltro(@Param("categoriaId") Long categoriaId,
+                                       @Param("precioMin") Double precioMin, @Param("precioMax") Double precioMax,
+                                       @Param("stockMin") Integer stockMin, @Param("stockMax") Integer stockMax,
+                                       @Param("desdeId") Long desdeId, Limit limite);
+
+    // Cambio de precio de los productos del rango de IDs (desdeId, hastaId] que cumplen el filtro
+    @Modifying
+    @Query("UPDATE Producto p SET p.precio = " + PRECIO_NUEVO + ", p.secuenciaCambio = :secuencia " +
+            "WHERE p.eliminado = false AND p.id > :desdeId AND p.id <= :hastaId AND " + FILTRO_MASIVO +
+            " AND " + PRECIO_NUEVO + " > 0")
+    int repreciarRango(@Param("categoriaId") Long categoriaId,
+                       @Param("precioMin") Double precioMin, @Param("precioMax") Double precioMax,
+                       @Param("stockMin") Integer stockMin, @Param("stockMax") Integer stockMax,
+                       @Param("desdeId") Long desdeId, @Param("hastaId") Long hastaId,
+                       @Param("factor") Double factor, @Param("suma") Double suma,
+                       @Param("paso") Double paso, @Param("ajuste") Double ajuste,
+                       @Param("secuencia") Long secuencia);
+
+    // Cantidad de productos que cumplen el filtro y cuántos quedarían con un precio válido
+    @Query("SELECT COUNT(p), COALESCE(SUM(CASE WHEN " + PRECIO_NUEVO + " > 0 THEN 1 ELSE 0 END), 0) " +
+            "FROM Producto p WHERE p.eliminado = false AND " + FILTRO_MASIVO)
+    List<Object[]> contarReprecio(@Param("categoriaId") Long categoriaId,
+                                  @Param("precioMin") Double precioMin, @Param("precioMax") Double precioMax,
+                                  @Param("stockMin") Integer stockMin, @Param("stockMax") Integer stockMax,
+                                  @Param("factor") Double factor, @Param("suma") Double suma,
+                                  @Param("paso") Double paso, @Param("ajuste") Double ajuste);
+
+    // ID, nombre, precio actual y precio nuevo de los primeros productos que cumplen el filtro
+    @Query("SELECT p.id, p.nombre, p.precio, " + PRECIO_NUEVO + " FROM Producto p " +
+            "WHERE p.eliminado = false AND " + FILTRO_MASIVO + " ORDER BY p.id")
+    List<Object[]> findMuestraReprecio(@Param("categoriaId") Long categoriaId,
+                                       @Param("precioMin") Double precioMin, @Param("precioMax") Double precioMax,
+                                       @Param("stockMin") Integer stockMin, @Param("stockMax") Integer stockMax,
+                                       @Param("factor") Double factor, @Param("suma") Double suma,
+                                       @Param("paso") Double paso, @Param("ajuste") Double ajuste,
+                                       Limit limite);
+
+    // Cantidad de productos activos de cada categoría activa (ID de categoría, cantidad)
+    @Query("SELECT p.categoria.id, COUNT(p) FROM Producto p WHERE p.eliminado = false AND p.categoria.eliminado = false GROUP BY p.categoria.id")
+    List<Object[]> countActivosAgrupadosPorCategoria();
+
+    // Productos activos de cada categoría activa en las posiciones (inicio, fin] ordenados por nombre
+    @Query(value = "SELECT * FROM (SELECT p.*, ROW_NUMBER() OVER (PARTITION BY p.categoria_id ORDER BY p.nombre, p.id) AS fila " +
+            "FROM productos p JOIN categorias c ON c.id = p.categoria_id WHERE p.eliminado = false AND c.eliminado = false) t " +
+            "WHERE t.fila > :inicio AND t.fila <= :fin ORDER BY t.categoria_id, t.fila", nativeQuery = true)
+    List<Producto> findPaginaPorCategoria(@Param("inicio") int inicio, @Param("fin") int fin);
+
+    // Buscar productos eliminados
+    @Query("SELECT p FROM Producto p WHERE p.eliminado = true")
+    List<Producto> findAllDeleted();
+
+    // Buscar por ID incluyendo eliminados
+    @Query("SELECT p FROM Producto p WHERE p.id = :id")
+    Optional<Producto> findByIdIncludingDeleted(@Param("id") Long id);
+
+    // Verificar si existe (incluyendo eliminados)
+    @Query("SELECT COUNT(p) > 0 FROM Producto p WHERE p.id = :id")
+    boolean existsByIdIncludingDeleted(@Param("id") Long id);
+
+    // Contar productos activos por categoría
+    @Query("SELECT COUNT(p) FROM Producto p WHERE p.eliminado = false AND p.categoria.id = :categoriaId AND p.categoria.eliminado = false")
+    Long countActiveByCategoriaId(@Param("categoriaId") Long categoriaId);
+
+    // IDs de productos eliminados antes de la fecha límite (candidatos a archivar), incluidos los
+    // eliminados antes de registrar la fecha (fecha_eliminacion nula)
+    @Query(value = "SELECT id FROM productos WHERE eliminado = true AND (fecha_eliminacion IS NULL OR fecha_eliminacion < :limite) " +
+            "ORDER BY id LIMIT :lote FOR UPDATE", nativeQuery = true)
+    List<Long> findIdsEliminadosAntesDe(@Param("limite") LocalDateTime limite, @Param("lote") int lote);
+
+    // Borrado físico de productos ya copiados al archivo
+    @Modifying
+    @Query("DELETE FROM Producto p WHERE p.eliminado = true AND p.id IN :ids")
+    int deleteEliminadosByIdIn(@Param("ids") List<Long> ids);
+
+    // Marcar como modificados los productos de una categoría (por ejemplo al renombrarla)
+    @Modifying
+    @Query("UPDATE Producto p SET p.secuenciaCambio = :secuencia WHERE p.categoria.id = :categoriaId")
+    int marcarCambioPorCategoriaId(@Param("categoriaId") Long categoriaId, @Param("secuencia") Long secuencia);
+
+    // Productos (incluidos eliminados) modificados después de la marca de agua (secuencia, id)
+    @Query("SELECT p FROM Producto p LEFT JOIN FETCH p.categoria c " +
+            "WHERE p.secuenciaCambio > :desde OR (p.secuenciaCambio = :desde AND p.id > :desdeId) " +
+            "ORDER BY p.secuenciaCambio, p.id")
+    List<Producto> findCambiosDesde(@Param("desde") Long desde, @Param("desdeId") Long desdeId, Limit limite);
+
+    // Sumar (o restar) stock a un producto activo sin dejarlo negativo; 0 filas si no existe o no alcanza
+    @Modifying
+    @Query("UPDATE Producto p SET p.stock = p.stock + :cantidad, p.secuenciaCambio = :secuencia " +
+            "WHERE p.id = :id AND p.eliminado = false AND p.stock + :cantidad >= 0")
+    int moverStock(@Param("id") Long id, @Param("cantidad") Integer cantidad, @Param("secuencia") Long secuencia);
+
+    // Stock actual de un producto activo
+    @Query("SELECT p.stock FROM Producto p WHERE p.id = :id AND p.eliminado = false")
+    Optional<Integer> findStockActivo(@Param("id") Long id);
+
+    // ID, nombre y nombre normalizado de las filas activas (carga del registro de nombres)
+    @Query("SELECT p.id, p.nombre, p.nombreActivo FROM Producto p WHERE p.eliminado = false ORDER BY p.id")
+    List<Object[]> findNombresActivos();
+
+    // Cuáles de esos nombres normalizados usa alguna fila activa (confirmación del registro de nombres)
+    @Query("SELECT p.nombreActivo FROM Producto p WHERE p.nombreActivo IN :nombres")
+    List<String> findNombresActivosEn(@Param("nombres") Collection<String> nombres);
+
+    // Nombres normalizados en uso por esas filas (resincronización del registro tras cambios de otros nodos)
+    @Query("SELECT p.nombreActivo FROM Producto p WHERE p.id IN :ids AND p.nombreActivo IS NOT NULL")
+    List<String> findNombresActivosPorIds(@Param("ids") Collection<Long> ids);
+
+    // Completar el nombre normalizado de filas creadas antes de existir la columna
+    @Modifying
+    @Query("UPDATE Producto p SET p.nombreActivo = :nombreActivo WHERE p.id = :id AND p.eliminado = false")
+    int asignarNombreActivo(@Param("id") Long id, @Param("nombreActivo") String nombreActivo);
+
+}
@@ -0,0 +1,20 @@
+package com.cqrs.patroncqrs.repository;
+
+import com.cqrs.patroncqrs.domain.entity.Producto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface ProductoRepositoryCustom {
+
+    // Restaurar en bloque productos eliminados, cada uno con su nombre normalizado (ID -> nombre)
+    int restaurarConNombres(Map<Long, String> nombresActivosPorId, Long secuencia);
+
+    // Insertar productos nuevos en lotes JDBC (la identidad no permite que Hibernate agrupe los INSERT)
+    int insertarEnLote(List<Producto> productos);
+
+    // Sumar a cada producto activo su diferencia de stock acumulada (ID -> diferencia) en lotes JDBC, sin dejarlo
+    // negativo; devuelve los IDs cuya diferencia no se aplicó (producto eliminado o stock insuficiente)
+    Set<Long> sumarStockEnLote(Map<Long, Long> diferenciasPorId, Long secuencia);
+}
@@ -0,0 +1,141 @@
+package com.cqrs.patroncqrs.repository;
+
+import com.cqrs.patroncqrs.domain.entity.Producto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Escrituras en bloque que Hibernate no agrupa: la restauración y el volcado de stock necesitan un valor
+ * distinto por fila, que no entra en un único UPDATE, y los INSERT con ID por identidad se envían de a uno.
+ * Todas van como lotes JDBC sobre la conexión de la transacción en curso.
+ */
+public class ProductoRepositoryCustomImpl implements ProductoRepositoryCustom {
+
+    private static final String RESTAURAR = "UPDATE productos SET eliminado = false, fecha_eliminacion = NULL, " +
+            "nombre_activo = ?, secuencia_cambio = ? WHERE id = ? AND eliminado = true";
+    private static final String INSERTAR = "INSERT INTO productos (nombre, nombre_activo, descripcion, precio, stock, " +
+            "eliminado, secuencia_cambio, categoria_id) VALUES (?, ?, ?, ?, ?, false, ?, ?)";
+    private static final String SUMAR_STOCK = "UPDATE productos SET stock = stock + ?, secuencia_cambio = ? " +
+            "WHERE id = ? AND eliminado = false AND stock + ? >= 0";
+    private static final int TAMANIO_LOTE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int restaurarConNombres(Map<Long, String> nombresActivosPorId, Long secuencia) {
+        if (nombresActivosPorId.isEmpty()) {
+            return 0;
+        }
+        // El lote va directo a JDBC: lo pendiente en el contexto de persistencia tiene que estar escrito antes
+        entityManager.flush();
+        return entityManager.unwrap(Session.class).doReturningWork(conexion -> {
+            int restaurados = 0;
+            try (PreparedStatement sentencia = conexion.prepareStatement(RESTAURAR)) {
+                int enLote = 0;
+                for (Map.Entry<Long, String> entrada : nombresActivosPorId.entrySet()) {
+                    sentencia.setString(1, entrada.getValue());
+                    sentencia.setLong(2, secuencia);
+                    sentencia.setLong(3, entrada.getKey());
+                    sentencia.addBatch();
+                    if (++enLote == TAMANIO_LOTE) {
+                        restaurados += contar(sentencia.executeBatch());
+                        enLote = 0;
+                    }
+                }
+                if (enLote > 0) {
+                    restaurados += contar(sentencia.executeBatch());
+                }
+            }
+            return restaurados;
+        });
+    }
+
+    @Override
+    public int insertarEnLote(List<Producto> productos) {
+        if (productos.isEmpty()) {
+            return 0;
+        }
+        entityManager.flush();
+        return entityManager.unwrap(Session.class).doReturningWork(conexion -> {
+            int insertados = 0;
+            try (PreparedStatement sentencia = conexion.prepareStatement(INSERTAR)) {
+                int enLote = 0;
+                for (Producto producto : productos) {
+                    sentencia.setString(1, producto.getNombre());
+                    sentencia.setString(2, producto.getNombreActivo());
+                    sentencia.setString(3, producto.getDescripcion());
+                    sentencia.setDouble(4, producto.getPrecio());
+                    sentencia.setInt(5, producto.getStock());
+                    sentencia.setLong(6, producto.getSecuenciaCambio());
+                    sentencia.setLong(7, producto.getCategoria().getId());
+                    sentencia.addBatch();
+                    if (++enLote == TAMANIO_LOTE) {
+                        insertados += contar(sentencia.executeBatch());
+                        enLote = 0;
+                    }
+                }
+                if (enLote > 0) {
+                    insertados += contar(sentencia.executeBatch());
+                }
+            }
+            return insertados;
+        });
+    }
+
+    @Override
+    public Set<Long> sumarStockEnLote(Map<Long, Long> diferenciasPorId, Long secuencia) {
+        if (diferenciasPorId.isEmpty()) {
+            return Set.of();
+        }
+        entityManager.flush();
+        return entityManager.unwrap(Session.class).doReturningWork(conexion -> {
+            Set<Long> rechazados = new HashSet<>();
+            try (PreparedStatement sentencia = conexion.prepareStatement(SUMAR_STOCK)) {
+                List<Long> enLote = new ArrayList<>(TAMANIO_LOTE);
+                for (Map.Entry<Long, Long> entrada : diferenciasPorId.entrySet()) {
+                    sentencia.setLong(1, entrada.getValue());
+                    sentencia.setLong(2, secuencia);
+                    sentencia.setLong(3, entrada.getKey());
+                    sentencia.setLong(4, entrada.getValue());
+                    sentencia.addBatch();
+                    enLote.add(entrada.getKey());
+                    if (enLote.size() == TAMANIO_LOTE) {
+                        agregarSinFilas(sentencia.executeBatch(), enLote, rechazados);
+                        enLote.clear();
+                    }
+                }
+                if (!enLote.isEmpty()) {
+                    agregarSinFilas(sentencia.executeBatch(), enLote, rechazados);
+                }
+            }
+            return rechazados;
+        });
+    }
+
+    // Los IDs cuya sentencia no modificó ninguna fila (SUCCESS_NO_INFO cuenta como modificada)
+    private static void agregarSinFilas(int[] resultados, List<Long> ids, Set<Long> sinFilas) {
+        for (int i = 0; i < resultados.length; i++) {
+            if (resultados[i] == 0) {
+                sinFilas.add(ids.get(i));
+            }
+        }
+    }
+
+    private static int contar(int[] resultados) {
+        int total = 0;
+        for (int filas : resultados) {
+            // SUCCESS_NO_INFO (-2): el driver no informa filas, la fila existía
+            total += filas == PreparedStatement.SUCCESS_NO_INFO ? 1 : filas;
+        }
+        return total;
+    }
+}
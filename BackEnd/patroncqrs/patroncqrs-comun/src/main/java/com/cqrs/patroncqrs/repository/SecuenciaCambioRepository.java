@@ -0,0 +1,21 @@
+package com.cqrs.patroncqrs.repository;
+
+import com.cqrs.patroncqrs.domain.entity.SecuenciaCambio;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface SecuenciaCambioRepository extends JpaRepository<SecuenciaCambio, String> {
+
+    // Bloquea el contador hasta el fin de la transacción: los valores se confirman en orden
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SecuenciaCambio s WHERE s.nombre = :nombre")
+    Optional<SecuenciaCambio> findParaActualizar(@Param("nombre") String nombre);
+
+    // Valor actual del contador, sin bloquear
+    @Query("SELECT s.valor FROM SecuenciaCambio s WHERE s.nombre = :nombre")
+    Optional<Long> findValor(@Param("nombre") String nombre);
+
+}
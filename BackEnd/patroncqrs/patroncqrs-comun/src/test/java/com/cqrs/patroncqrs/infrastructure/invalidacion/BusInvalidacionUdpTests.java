@@ -0,0 +1,149 @@
+package com.cqrs.patroncqrs.infrastructure.invalidacion;
+
+import com.cqrs.patroncqrs.domain.event.CambioCatalogoEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Dos buses UDP por loopback en puertos efímeros: formato, firma, eco propio, lotes partidos y versiones.
+ */
+class BusInvalidacionUdpTests {
+
+    private static final byte[] CLAVE = "clave-compartida-de-prueba".getBytes(StandardCharsets.UTF_8);
+    private static final CambioCatalogoEvent.Entidad PRODUCTO = CambioCatalogoEvent.Entidad.PRODUCTO;
+
+    private final List<AutoCloseable> abiertos = new ArrayList<>();
+
+    @AfterEach
+    void cerrar() throws Exception {
+        for (AutoCloseable abierto : abiertos) {
+            abierto.close();
+        }
+    }
+
+    @Test
+    void unLoteDeVariosDatagramasLlegaCompletoYElEmisorNoSeLoAplica() throws Exception {
+        InetSocketAddress direccionA = libre();
+        InetSocketAddress direccionB = libre();
+        Nodo a = nodo(direccionA, List.of(direccionA, direccionB));
+        Nodo b = nodo(direccionB, List.of(direccionA));
+        int cantidad = 3 * BusInvalidacionUdp.INVALIDACIONES_POR_DATAGRAMA + 1;
+        List<Invalidacion> lote = LongStream.rangeClosed(1, cantidad)
+                .mapToObj(id -> new Invalidacion(PRODUCTO, id, 100 + id))
+                .toList();
+
+        a.bus().publicar(lote);
+
+        assertThat(esperar(() -> b.eventos().size() == cantidad)).isTrue();
+        assertThat(b.eventos()).containsExactlyElementsOf(lote);
+        assertThat(b.registry().get("invalidacion.datagramas.rechazados").counter().count()).isZero();
+        // Sus propios datagramas le llegan (está entre sus pares) pero los ignora
+        Thread.sleep(200);
+        assertThat(a.eventos()).isEmpty();
+        assertThat(a.registry().get("invalidacion.datagramas.rechazados").counter().count()).isZero();
+    }
+
+    @Test
+    void unDatagramaAlteradoSeRechaza() throws Exception {
+        InetSocketAddress direccionA = libre();
+        InetSocketAddress direccionB = libre();
+        DatagramChannel captura = DatagramChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        abiertos.add(captura);
+        Nodo a = nodo(direccionA, List.of((InetSocketAddress) captura.getLocalAddress()));
+        Nodo b = nodo(direccionB, List.of());
+
+        a.bus().publicar(List.of(new Invalidacion(PRODUCTO, 7L, 3)));
+        ByteBuffer datagrama = ByteBuffer.allocate(2048);
+        captura.receive(datagrama);
+        datagrama.flip();
+
+        // Otro ID con la firma original
+        ByteBuffer alterado = ByteBuffer.allocate(datagrama.remaining()).put(datagrama.duplicate()).flip();
+        alterado.put(4 + 8 + 2 + 1 + 7, (byte) 8);
+        captura.send(alterado, direccionB);
+        captura.send(ByteBuffer.wrap(new byte[]{1, 2, 3}), direccionB);
+
+        assertThat(esperar(() -> b.registry().get("invalidacion.datagramas.rechazados").counter().count() == 2)).isTrue();
+        assertThat(b.eventos()).isEmpty();
+
+        // El original, reenviado tal cual, se acepta: la firma no impide reenvíos
+        captura.send(datagrama, direccionB);
+        assertThat(esperar(() -> b.eventos().size() == 1)).isTrue();
+        assertThat(b.eventos()).containsExactly(new Invalidacion(PRODUCTO, 7L, 3));
+    }
+
+    @Test
+    void despuesDeUnaInvalidacionCompletaLasVersionesMenoresSeDescartan() throws Exception {
+        InetSocketAddress direccionA = libre();
+        InetSocketAddress direccionB = libre();
+        Nodo a = nodo(direccionA, List.of(direccionB));
+        Nodo b = nodo(direccionB, List.of());
+        Invalidacion completa = new Invalidacion(PRODUCTO, null, 10);
+        Invalidacion nueva = new Invalidacion(PRODUCTO, 5L, 12);
+
+        a.bus().publicar(List.of(completa));
+        assertThat(esperar(() -> b.eventos().size() == 1)).isTrue();
+        a.bus().publicar(List.of(new Invalidacion(PRODUCTO, 5L, 7), completa, nueva, new Invalidacion(PRODUCTO, 5L, 11)));
+
+        assertThat(esperar(() -> descartadas(b) == 3)).isTrue();
+        assertThat(b.eventos()).containsExactly(completa, nueva);
+    }
+
+    private record Nodo(BusInvalidacionUdp bus, List<Invalidacion> eventos, SimpleMeterRegistry registry) {
+    }
+
+    private Nodo nodo(InetSocketAddress direccion, List<InetSocketAddress> pares) throws IOException {
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(mock(Cache.class));
+        List<Invalidacion> eventos = new CopyOnWriteArrayList<>();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReceptorInvalidaciones receptor = new ReceptorInvalidaciones(entityManagerFactory,
+                evento -> eventos.add((Invalidacion) evento), 1000, registry);
+        BusInvalidacionUdp bus = new BusInvalidacionUdp(direccion, pares, CLAVE, receptor, registry);
+        abiertos.add(bus::cerrar);
+        return new Nodo(bus, eventos, registry);
+    }
+
+    // Un puerto efímero libre en loopback, para conocer las direcciones antes de crear los buses
+    private static InetSocketAddress libre() throws IOException {
+        try (DatagramChannel canal = DatagramChannel.open()) {
+            canal.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            return (InetSocketAddress) canal.getLocalAddress();
+        }
+    }
+
+    private static double descartadas(Nodo nodo) {
+        return nodo.registry().get("invalidacion.recibidas").tag("resultado", "descartada").counter().count();
+    }
+
+    private static boolean esperar(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < limite) {
+            if (condicion.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return condicion.getAsBoolean();
+    }
+}
@@ -0,0 +1,17 @@
+package com.cqrs.patroncqrs;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Servicio de consultas: lecturas, catálogo y flujo de cambios. Se puede apuntar a una réplica de lectura
+ * y escalar con tantas instancias como haga falta.
+ */
+@SpringBootApplication
+public class PatroncqrsQueryApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(PatroncqrsQueryApplication.class, args);
+    }
+
+}
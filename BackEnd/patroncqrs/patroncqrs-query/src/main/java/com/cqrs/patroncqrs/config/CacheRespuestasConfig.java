@@ -0,0 +1,71 @@
+package com.cqrs.patroncqrs.config;
+
+import com.cqrs.patroncqrs.domain.entity.SecuenciaCambio;
+import com.cqrs.patroncqrs.infrastructure.respuesta.CacheRespuestas;
+import com.cqrs.patroncqrs.infrastructure.respuesta.InstantaneaRespuestas;
+import com.cqrs.patroncqrs.infrastructure.shard.Shards;
+import com.cqrs.patroncqrs.query.sync.SondeoCambiosCatalogo;
+import com.cqrs.patroncqrs.repository.SecuenciaCambioRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.info.BuildProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CacheRespuestasConfig {
+
+    @Bean(destroyMethod = "cerrar")
+    public CacheRespuestas cacheRespuestas(ObjectMapper objectMapper,
+                                           MeterRegistry registry,
+                                           SecuenciaCambioRepository secuenciaCambioRepository,
+                                           Shards shards,
+                                           ObjectProvider<BuildProperties> buildProperties,
+                                           ObjectProvider<SondeoCambiosCatalogo> sondeo,
+                                           @Value("${app.respuestas.cache.habilitada:true}") boolean habilitada,
+                                           @Value("${app.respuestas.cache.maximo-mb:256}") long maximoMb,
+                                           @Value("${app.respuestas.cache.umbral-gzip-bytes:1024}") int umbralGzip,
+                                           @Value("${app.respuestas.cache.refresco.hilos:2}") int hilosRefresco,
+                                           @Value("${app.respuestas.cache.productos.obsoleto-ms:0}") long productosObsoletoMs,
+                                           @Value("${app.respuestas.cache.productos.ttl-ms:0}") long productosTtlMs,
+                                           @Value("${app.respuestas.cache.categorias-estadisticas.obsoleto-ms:0}") long estadisticasObsoletoMs,
+                                           @Value("${app.respuestas.cache.categorias-estadisticas.ttl-ms:0}") long estadisticasTtlMs,
+                                           @Value("${app.respuestas.instantanea.habilitada:false}") boolean instantaneaHabilitada,
+                                           @Value("${app.respuestas.instantanea.archivo:}") String archivo) {
+        // Deshabilitada no guarda nada: cada petición consulta y serializa como antes
+        long maximoBytes = habilitada ? maximoMb * 1024 * 1024 : 0;
+        // Solo los listados anónimos más caros toleran servirse obsoletos; las demás claves se descartan con cada cambio
+        Map<String, CacheRespuestas.Politica> politicas = Map.of(
+                "productos", new CacheRespuestas.Politica(productosObsoletoMs, productosTtlMs),
+                "categorias-estadisticas", new CacheRespuestas.Politica(estadisticasObsoletoMs, estadisticasTtlMs));
+
+        InstantaneaRespuestas instantanea = null;
+        LongSupplier marcaCatalogo = null;
+        LongSupplier marcaVista = null;
+        if (habilitada && instantaneaHabilitada && !archivo.isBlank()) {
+            // Sin build-info (por ejemplo desde el IDE) no se distingue una build de otra
+            String etiqueta = buildProperties.stream()
+                    .map(build -> build.getVersion() + "@" + build.getTime())
+                    .findFirst()
+                    .orElse("sin-build-info");
+            instantanea = new InstantaneaRespuestas(Path.of(archivo), etiqueta);
+            // Con shards cada uno numera sus cambios: la marca es la suma
+            marcaCatalogo = () -> shards.reunir(() -> List.of(secuenciaCambioRepository.findValor(SecuenciaCambio.CATALOGO).orElse(0L)))
+                    .stream().mapToLong(Long::longValue).sum();
+            // Sin sondeo no hay una marca en memoria: cada respuesta nueva la lee de la base
+            SondeoCambiosCatalogo sondeoCambios = sondeo.getIfAvailable();
+            marcaVista = sondeoCambios != null ? sondeoCambios::getSecuenciaVista : marcaCatalogo;
+        }
+        return new CacheRespuestas(objectMapper, maximoBytes, umbralGzip, politicas, hilosRefresco,
+                instantanea, marcaCatalogo, marcaVista, registry);
+    }
+}
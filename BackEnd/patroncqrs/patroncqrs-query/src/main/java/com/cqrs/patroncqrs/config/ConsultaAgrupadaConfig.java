@@ -0,0 +1,24 @@
+package com.cqrs.patroncqrs.config;
+
+import com.cqrs.patroncqrs.infrastructure.coalescing.ConsultaAgrupadaAspect;
+import com.cqrs.patroncqrs.infrastructure.coalescing.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.consultas.agrupacion.habilitada", havingValue = "true", matchIfMissing = true)
+public class ConsultaAgrupadaConfig {
+
+    @Bean(destroyMethod = "cerrar")
+    public SingleFlight singleFlight(@Value("${app.consultas.agrupacion.ventana-ms:0}") long ventanaMs) {
+        return new SingleFlight(ventanaMs);
+    }
+
+    @Bean
+    public ConsultaAgrupadaAspect consultaAgrupadaAspect(SingleFlight singleFlight, MeterRegistry registry) {
+        return new ConsultaAgrupadaAspect(singleFlight, registry);
+    }
+}
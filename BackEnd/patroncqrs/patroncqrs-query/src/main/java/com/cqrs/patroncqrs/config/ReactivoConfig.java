@@ -0,0 +1,25 @@
+package com.cqrs.patroncqrs.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Pila reactiva (perfil reactivo). Tomcat sigue en el classpath por la pila servlet y Boot lo
+ * preferiría también para WebFlux: se fija Netty para atender con pocos hilos de event loop.
+ * R2DBC lee una sola base (spring.r2dbc.url), así que no se admite con la base dividida en shards.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivoConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(@Value("${app.shards.habilitado:false}") boolean shards) {
+        if (shards) {
+            throw new IllegalStateException("El perfil reactivo no admite la base dividida en shards (app.shards.habilitado=true)");
+        }
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,13 @@
+package com.cqrs.patroncqrs.infrastructure.coalescing;
+
+import java.lang.annotation.*;
+
+/**
+ * Marca métodos (o clases completas) cuyas llamadas concurrentes idénticas
+ * -mismo método y mismos argumentos- comparten una única ejecución y su resultado.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConsultaAgrupada {
+}
@@ -0,0 +1,47 @@
+package com.cqrs.patroncqrs.infrastructure.coalescing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aplica SingleFlight a los métodos marcados con @ConsultaAgrupada.
+ * Se ordena por fuera de @Transactional para que las llamadas agrupadas no abran
+ * su propia transacción mientras esperan.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConsultaAgrupadaAspect {
+
+    private record Clave(String metodo, List<Object> argumentos) {
+    }
+
+    private final SingleFlight singleFlight;
+    private final MeterRegistry registry;
+
+    public ConsultaAgrupadaAspect(SingleFlight singleFlight, MeterRegistry registry) {
+        this.singleFlight = singleFlight;
+        this.registry = registry;
+    }
+
+    @Around("(@within(com.cqrs.patroncqrs.infrastructure.coalescing.ConsultaAgrupada) && execution(public * *(..)))"
+            + " || @annotation(com.cqrs.patroncqrs.infrastructure.coalescing.ConsultaAgrupada)")
+    public Object agrupar(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature firma = (MethodSignature) joinPoint.getSignature();
+        String metodo = firma.getDeclaringType().getSimpleName() + "." + firma.getName();
+        Clave clave = new Clave(metodo, Arrays.asList(joinPoint.getArgs()));
+
+        SingleFlight.Resultado resultado = singleFlight.ejecutar(clave, joinPoint::proceed);
+
+        registry.counter(resultado.agrupada() ? "consultas.agrupadas" : "consultas.ejecutadas",
+                "metodo", metodo).increment();
+        return resultado.valor();
+    }
+}
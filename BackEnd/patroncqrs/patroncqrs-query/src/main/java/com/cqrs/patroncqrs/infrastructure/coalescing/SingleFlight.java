@@ -0,0 +1,82 @@
+package com.cqrs.patroncqrs.infrastructure.coalescing;
+
+import java.util.concurrent.*;
+
+/**
+ * Agrupa ejecuciones concurrentes con la misma clave: la primera llamada ejecuta
+ * y las demás esperan su resultado. Con una ventana mayor a cero, el resultado
+ * también se comparte con las llamadas que llegan poco después de terminar.
+ */
+public class SingleFlight {
+
+    @FunctionalInterface
+    public interface Ejecucion {
+        Object ejecutar() throws Throwable;
+    }
+
+    /**
+     * Resultado de una llamada: el valor y si fue resuelta por otra ejecución en curso.
+     */
+    public record Resultado(Object valor, boolean agrupada) {
+    }
+
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> enCurso = new ConcurrentHashMap<>();
+    private final long ventanaMs;
+    private final ScheduledExecutorService limpieza;
+
+    public SingleFlight(long ventanaMs) {
+        this.ventanaMs = ventanaMs;
+        this.limpieza = ventanaMs > 0
+                ? Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread hilo = new Thread(r, "single-flight-limpieza");
+                    hilo.setDaemon(true);
+                    return hilo;
+                })
+                : null;
+    }
+
+    public Resultado ejecutar(Object clave, Ejecucion ejecucion) throws Throwable {
+        CompletableFuture<Object> propio = new CompletableFuture<>();
+        CompletableFuture<Object> existente = enCurso.putIfAbsent(clave, propio);
+        if (existente != null) {
+            return new Resultado(esperar(existente), true);
+        }
+
+        try {
+            Object valor = ejecucion.ejecutar();
+            propio.complete(valor);
+            return new Resultado(valor, false);
+        } catch (Throwable t) {
+            // Los errores no se comparten más allá de las llamadas que ya estaban esperando
+            propio.completeExceptionally(t);
+            throw t;
+        } finally {
+            liberar(clave, propio);
+        }
+    }
+
+    private void liberar(Object clave, CompletableFuture<Object> propio) {
+        if (limpieza == null || propio.isCompletedExceptionally()) {
+            enCurso.remove(clave, propio);
+        } else {
+            limpieza.schedule(() -> enCurso.remove(clave, propio), ventanaMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static Object esperar(CompletableFuture<Object> futuro) throws Throwable {
+        try {
+            return futuro.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    public void cerrar() {
+        if (limpieza != null) {
+            limpieza.shutdownNow();
+        }
+    }
+}
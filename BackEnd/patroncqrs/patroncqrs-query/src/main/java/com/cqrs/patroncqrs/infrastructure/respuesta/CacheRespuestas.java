@@ -0,0 +1,476 @@
+package com.cqrs.patroncqrs.infrastructure.respuesta;
+
+import com.cqrs.patroncqrs.domain.event.CambioCatalogoEvent;
+import com.cqrs.patroncqrs.domain.event.LineaBaseCatalogoEvent;
+import com.cqrs.patroncqrs.infrastructure.coalescing.SingleFlight;
+import com.cqrs.patroncqrs.infrastructure.invalidacion.Invalidacion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Guarda respuestas de listados ya serializadas a JSON (y comprimidas con gzip si vale la pena) en buffers
+ * directos, fuera del heap. En un acierto la respuesta se copia tal cual al stream del servlet, sin mapear
+ * entidades ni pasar por Jackson. Cualquier cambio del catálogo (detectado por el sondeo o avisado por el
+ * bus de invalidación) invalida las respuestas: las claves sin {@link Politica} se descartan y las que
+ * la tienen se siguen sirviendo obsoletas dentro de su presupuesto mientras se recalculan en segundo plano.
+ * El encabezado Age indica los segundos desde que se calculó la respuesta servida.
+ * <p>
+ * Con una {@link InstantaneaRespuestas} las respuestas vigentes se guardan periódicamente (y al cerrar) en
+ * un archivo junto con la secuencia de cambios del catálogo con la que se calcularon, y al arrancar se
+ * sirven desde el archivo mapeado en memoria en lugar de consultar todos los listados a la vez.
+ */
+public class CacheRespuestas {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheRespuestas.class);
+
+    /**
+     * Obsolescencia tolerada por una clave: cuánto tiempo después de un cambio se sigue sirviendo la
+     * respuesta anterior y la edad máxima de cualquier respuesta, pasada la cual se recalcula en la petición.
+     */
+    public record Politica(long obsoletoMs, long ttlMs) {
+
+        public static final Politica SIN_OBSOLETOS = new Politica(0, 0);
+
+        long obsoletoNanos() {
+            return TimeUnit.MILLISECONDS.toNanos(obsoletoMs);
+        }
+
+        // 0 = sin límite de edad
+        long ttlNanos() {
+            return ttlMs > 0 ? TimeUnit.MILLISECONDS.toNanos(ttlMs) : Long.MAX_VALUE;
+        }
+    }
+
+    // Instantes de System.nanoTime(); invalidada solo cuenta si la entrada ya no está vigente.
+    // marca: secuencia de cambios del catálogo al empezar la consulta (-1 si no se conoce)
+    private record Entrada(ByteBuffer json, ByteBuffer gzip, long calculada, boolean vigente, long invalidada, long marca) {
+
+        long tamanio() {
+            return json.capacity() + (gzip != null ? gzip.capacity() : 0);
+        }
+
+        Entrada invalidar(long instante) {
+            return new Entrada(json, gzip, calculada, false, instante, marca);
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final long maximoBytes;
+    private final int umbralGzip;
+    private final Map<String, Politica> politicas;
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+    // Los fallos concurrentes de una misma clave (y su refresco) consultan y serializan una sola vez
+    private final SingleFlight cargas = new SingleFlight(0);
+    // Claves con un refresco encolado o en curso: nunca más de uno por clave
+    private final Set<String> refrescando = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refresco;
+    // Nulos si no se guarda instantánea. La marca del catálogo se lee de la base al restaurar; la de cada
+    // respuesta nueva es la última que vio el sondeo (en memoria, sin ir a la base en cada fallo)
+    private final InstantaneaRespuestas instantanea;
+    private final LongSupplier marcaCatalogo;
+    private final LongSupplier marcaVista;
+    private final Counter aciertos;
+    private final Counter obsoletas;
+    private final Counter fallos;
+
+    // Protegidos por this: una carga que empezó antes de una invalidación no se guarda como vigente
+    private long generacion;
+    private long bytesOcupados;
+    // Cuenta cada cambio del contenido: sin cambios desde la última instantánea no se reescribe
+    private long modificaciones;
+    private long modificacionesGuardadas;
+    private boolean restaurada;
+    // Secuencia con la que se restauró la instantánea, hasta que el sondeo fija su línea base
+    private long marcaRestaurada = -1;
+
+    public CacheRespuestas(ObjectMapper objectMapper, long maximoBytes, int umbralGzip, Map<String, Politica> politicas,
+                           int hilosRefresco, InstantaneaRespuestas instantanea, LongSupplier marcaCatalogo,
+                           LongSupplier marcaVista, MeterRegistry registry) {
+        this.objectMapper = objectMapper;
+        this.instantanea = instantanea;
+        this.marcaCatalogo = marcaCatalogo;
+        this.marcaVista = marcaVista;
+        this.maximoBytes = maximoBytes;
+        this.umbralGzip = umbralGzip;
+        this.politicas = Map.copyOf(politicas);
+        // Como hay a lo sumo un refresco por clave, la cola nunca necesita más lugares que claves con política
+        this.refresco = new ThreadPoolExecutor(hilosRefresco, hilosRefresco, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, politicas.size())), r -> {
+                    Thread hilo = new Thread(r, "respuestas-refresco");
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+
+        Gauge.builder("respuestas.cache.bytes", this, CacheRespuestas::getBytesOcupados)
+                .description("Bytes fuera del heap ocupados por respuestas serializadas")
+                .register(registry);
+        this.aciertos = Counter.builder("respuestas.cache.aciertos")
+                .description("Respuestas servidas desde los bytes ya serializados")
+                .register(registry);
+        this.obsoletas = Counter.builder("respuestas.cache.obsoletas")
+                .description("Respuestas servidas obsoletas mientras se recalculaban en segundo plano")
+                .register(registry);
+        this.fallos = Counter.builder("respuestas.cache.fallos")
+                .description("Respuestas que hubo que consultar y serializar")
+                .register(registry);
+    }
+
+    /**
+     * Escribe la respuesta de la clave, calculándola con la consulta si no está en la cache o ya no se
+     * puede servir. Con Cache-Control: no-cache la petición no acepta respuestas obsoletas.
+     */
+    public void responder(String clave, Supplier<?> consulta, HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        Politica politica = politica(clave);
+        long ahora = System.nanoTime();
+        Entrada entrada = entradas.get(clave);
+        if (entrada != null && ahora - entrada.calculada() < politica.ttlNanos()
+                && (entrada.vigente() || servibleObsoleta(entrada, politica, ahora, request))) {
+            if (entrada.vigente()) {
+                aciertos.increment();
+            } else {
+                obsoletas.increment();
+                refrescar(clave, consulta);
+            }
+        } else {
+            fallos.increment();
+            entrada = cargar(clave, consulta);
+        }
+
+        boolean gzip = entrada.gzip() != null && aceptaGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        ByteBuffer cuerpo = gzip ? entrada.gzip() : entrada.json();
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.AGE, String.valueOf(
+                TimeUnit.NANOSECONDS.toSeconds(Math.max(0, System.nanoTime() - entrada.calculada()))));
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(cuerpo.capacity());
+
+        // duplicate() para no mover la posición del buffer compartido entre peticiones
+        ByteBuffer lectura = cuerpo.duplicate();
+        WritableByteChannel canal = Channels.newChannel(response.getOutputStream());
+        while (lectura.hasRemaining()) {
+            canal.write(lectura);
+        }
+    }
+
+    /**
+     * Si Accept-Encoding admite gzip con calidad mayor que cero, por nombre o con el comodín.
+     */
+    static boolean aceptaGzip(String aceptadas) {
+        if (aceptadas == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double comodin = null;
+        for (String parte : aceptadas.split(",")) {
+            String[] campos = parte.split(";");
+            String codificacion = campos[0].trim().toLowerCase(Locale.ROOT);
+            double calidad = 1;
+            for (int i = 1; i < campos.length; i++) {
+                String parametro = campos[i].trim().toLowerCase(Locale.ROOT);
+                if (parametro.startsWith("q=")) {
+                    try {
+                        calidad = Double.parseDouble(parametro.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        calidad = 0;
+                    }
+                }
+            }
+            if (codificacion.equals("gzip") || codificacion.equals("x-gzip")) {
+                gzip = calidad;
+            } else if (codificacion.equals("*")) {
+                comodin = calidad;
+            }
+        }
+        double calidad = gzip != null ? gzip : comodin != null ? comodin : 0;
+        return calidad > 0;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alConfirmarCambio(CambioCatalogoEvent evento) {
+        invalidar();
+    }
+
+    @EventListener
+    public void alRecibirInvalidacion(Invalidacion invalidacion) {
+        invalidar();
+    }
+
+    /**
+     * Lo que se confirmó entre la lectura de la secuencia al restaurar y la primera lectura del sondeo no
+     * llega como {@link CambioCatalogoEvent}: si la secuencia avanzó en ese intervalo se invalida todo.
+     */
+    @EventListener
+    public synchronized void alFijarLineaBase(LineaBaseCatalogoEvent evento) {
+        if (marcaRestaurada >= 0 && evento.getSecuencia() != marcaRestaurada) {
+            invalidar();
+        }
+        marcaRestaurada = -1;
+    }
+
+    public synchronized void invalidar() {
+        generacion++;
+        modificaciones++;
+        long ahora = System.nanoTime();
+        for (Iterator<Map.Entry<String, Entrada>> it = entradas.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Entrada> actual = it.next();
+            if (politica(actual.getKey()).obsoletoMs() <= 0) {
+                bytesOcupados -= actual.getValue().tamanio();
+                it.remove();
+            } else if (actual.getValue().vigente()) {
+                // El presupuesto de obsolescencia se cuenta desde el primer cambio que la dejó vieja
+                actual.setValue(actual.getValue().invalidar(ahora));
+            }
+        }
+    }
+
+    public synchronized long getBytesOcupados() {
+        return bytesOcupados;
+    }
+
+    /**
+     * Carga la instantánea cuando el servidor empieza a aceptar peticiones, antes del primer sondeo de
+     * cambios. Las respuestas calculadas con la secuencia de cambios actual quedan vigentes; las demás se
+     * sirven obsoletas mientras se recalculan si su clave lo tolera, y si no se descartan.
+     */
+    @EventListener(WebServerInitializedEvent.class)
+    public void restaurarInstantanea() {
+        if (instantanea == null) {
+            return;
+        }
+        synchronized (this) {
+            // Un servidor de management aparte publica otro evento
+            if (restaurada) {
+                return;
+            }
+            restaurada = true;
+        }
+
+        long inicio = System.nanoTime();
+        List<InstantaneaRespuestas.Registro> registros;
+        try {
+            registros = instantanea.leer();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Se descarta la instantánea de respuestas {}", instantanea.getArchivo(), e);
+            return;
+        }
+        if (registros.isEmpty()) {
+            return;
+        }
+        // Sin base todas se consideran obsoletas
+        long marcaActual = leerMarca();
+
+        int vigentes = 0;
+        int obsoletasRestauradas = 0;
+        synchronized (this) {
+            long ahora = System.nanoTime();
+            for (InstantaneaRespuestas.Registro registro : registros) {
+                Politica politica = politica(registro.clave());
+                long edad = TimeUnit.MILLISECONDS.toNanos(registro.edadMs());
+                boolean vigente = marcaActual >= 0 && registro.marca() == marcaActual;
+                if (edad >= politica.ttlNanos() || (!vigente && politica.obsoletoMs() <= 0)
+                        || entradas.containsKey(registro.clave())) {
+                    continue;
+                }
+                Entrada entrada = new Entrada(registro.json(), registro.gzip(), ahora - edad, vigente,
+                        vigente ? 0 : ahora, registro.marca());
+                if (bytesOcupados + entrada.tamanio() > maximoBytes) {
+                    continue;
+                }
+                entradas.put(registro.clave(), entrada);
+                bytesOcupados += entrada.tamanio();
+                if (vigente) {
+                    vigentes++;
+                } else {
+                    obsoletasRestauradas++;
+                }
+            }
+            marcaRestaurada = marcaActual;
+        }
+        log.info("Respuestas restauradas de {}: {} vigentes y {} obsoletas en {} ms", instantanea.getArchivo(),
+                vigentes, obsoletasRestauradas, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+    }
+
+    /**
+     * Escribe las respuestas vigentes en la instantánea si algo cambió desde la última escritura.
+     */
+    @Scheduled(fixedDelayString = "${app.respuestas.instantanea.intervalo-ms:60000}",
+            initialDelayString = "${app.respuestas.instantanea.intervalo-ms:60000}")
+    public void guardarInstantanea() {
+        if (instantanea == null) {
+            return;
+        }
+        // Una sola escritura a la vez: así la periódica no reemplaza a la del cierre con datos anteriores
+        synchronized (instantanea) {
+            long version;
+            List<InstantaneaRespuestas.Registro> registros;
+            synchronized (this) {
+                if (modificaciones == modificacionesGuardadas) {
+                    return;
+                }
+                version = modificaciones;
+                long ahora = System.nanoTime();
+                registros = entradas.entrySet().stream()
+                        .filter(actual -> actual.getValue().vigente() && actual.getValue().marca() >= 0)
+                        .map(actual -> new InstantaneaRespuestas.Registro(actual.getKey(), actual.getValue().json(),
+                                actual.getValue().gzip(), TimeUnit.NANOSECONDS.toMillis(ahora - actual.getValue().calculada()),
+                                actual.getValue().marca()))
+                        .toList();
+            }
+            try {
+                instantanea.guardar(registros);
+                synchronized (this) {
+                    modificacionesGuardadas = version;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("No se pudo escribir la instantánea de respuestas {}", instantanea.getArchivo(), e);
+            }
+        }
+    }
+
+    public void cerrar() {
+        refresco.shutdownNow();
+        guardarInstantanea();
+    }
+
+    private Politica politica(String clave) {
+        return politicas.getOrDefault(clave, Politica.SIN_OBSOLETOS);
+    }
+
+    private long leerMarca() {
+        return leerMarca(marcaCatalogo);
+    }
+
+    private static long leerMarca(LongSupplier marca) {
+        try {
+            return marca != null ? marca.getAsLong() : -1;
+        } catch (RuntimeException e) {
+            log.debug("No se pudo leer la secuencia de cambios del catálogo", e);
+            return -1;
+        }
+    }
+
+    private static boolean servibleObsoleta(Entrada entrada, Politica politica, long ahora, HttpServletRequest request) {
+        String cacheControl = request.getHeader(HttpHeaders.CACHE_CONTROL);
+        return ahora - entrada.invalidada() <= politica.obsoletoNanos()
+                && (cacheControl == null || !cacheControl.contains("no-cache"));
+    }
+
+    private void refrescar(String clave, Supplier<?> consulta) {
+        if (!refrescando.add(clave)) {
+            return;
+        }
+        try {
+            refresco.execute(() -> {
+                try {
+                    cargar(clave, consulta);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("No se pudo refrescar la respuesta '{}'; se sigue sirviendo la anterior", clave, e);
+                } finally {
+                    refrescando.remove(clave);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Ejecutor saturado o cerrado: la próxima petición obsoleta lo vuelve a intentar
+            refrescando.remove(clave);
+        }
+    }
+
+    private Entrada cargar(String clave, Supplier<?> consulta) throws IOException {
+        try {
+            return (Entrada) cargas.ejecutar(clave, () -> serializarYGuardar(clave, consulta)).valor();
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private Entrada serializarYGuardar(String clave, Supplier<?> consulta) throws IOException {
+        long generacionInicial;
+        synchronized (this) {
+            generacionInicial = generacion;
+        }
+
+        // La edad de la respuesta cuenta desde que empezó la consulta: refleja el catálogo de ese momento
+        long inicio = System.nanoTime();
+        // La marca vista puede ir detrás de la base: la respuesta queda marcada como más vieja, nunca más nueva
+        long marca = instantanea != null ? leerMarca(marcaVista) : -1;
+        byte[] json = objectMapper.writeValueAsBytes(consulta.get());
+        Entrada entrada = new Entrada(directo(json), json.length >= umbralGzip ? directo(comprimir(json)) : null,
+                inicio, true, 0, marca);
+
+        synchronized (this) {
+            Entrada anterior = entradas.get(clave);
+            Entrada guardada = entrada;
+            if (generacion != generacionInicial) {
+                // Hubo un cambio durante la consulta: solo reemplaza a una anterior ya obsoleta, y hereda
+                // su instante de invalidación (anterior o igual al del cambio, así el presupuesto no se estira)
+                if (anterior == null || anterior.vigente()) {
+                    return entrada;
+                }
+                guardada = entrada.invalidar(anterior.invalidada());
+            }
+            long ocupados = bytesOcupados - (anterior != null ? anterior.tamanio() : 0) + guardada.tamanio();
+            if (ocupados <= maximoBytes) {
+                entradas.put(clave, guardada);
+                bytesOcupados = ocupados;
+                modificaciones++;
+            }
+        }
+        return entrada;
+    }
+
+    private static byte[] comprimir(byte[] datos) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(datos.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(datos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return salida.toByteArray();
+    }
+
+    private static ByteBuffer directo(byte[] datos) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(datos.length);
+        buffer.put(datos).flip();
+        return buffer.asReadOnlyBuffer();
+    }
+}
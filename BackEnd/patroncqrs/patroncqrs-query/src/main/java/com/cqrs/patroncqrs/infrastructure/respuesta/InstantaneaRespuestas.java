@@ -0,0 +1,157 @@
+package com.cqrs.patroncqrs.infrastructure.respuesta;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Archivo con las respuestas de {@link CacheRespuestas}, para que un reinicio arranque con la cache llena
+ * en lugar de consultar todos los listados a la vez. Formato (big-endian): "PCQR", versión del formato,
+ * etiqueta de la build, instante de escritura y cantidad de registros; cada registro lleva clave, edad,
+ * marca de agua del catálogo, JSON y gzip (largo -1 si no hay). Cierra un CRC32 de todo lo anterior.
+ * Se escribe en un temporal propio del mismo directorio que reemplaza al archivo (nunca se escribe
+ * sobre el archivo, que puede estar mapeado) y se lee mapeándolo en memoria: los cuerpos restaurados son
+ * vistas del archivo mapeado, no copias. El archivo es de un solo nodo: dos nodos no comparten la ruta.
+ */
+public class InstantaneaRespuestas {
+
+    private static final int MAGICO = 0x50435152;
+    private static final int FORMATO = 1;
+
+    /**
+     * @param marca secuencia de cambios del catálogo leída antes de calcular la respuesta
+     */
+    public record Registro(String clave, ByteBuffer json, ByteBuffer gzip, long edadMs, long marca) {
+    }
+
+    private final Path archivo;
+    // Otra build puede serializar distinto: solo se restaura lo que escribió la misma
+    private final String etiqueta;
+
+    public InstantaneaRespuestas(Path archivo, String etiqueta) {
+        this.archivo = archivo;
+        this.etiqueta = etiqueta;
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    public void guardar(List<Registro> registros) throws IOException {
+        List<ByteBuffer> partes = new ArrayList<>(registros.size() * 3 + 2);
+        byte[] etiquetaBytes = etiqueta.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer encabezado = ByteBuffer.allocate(4 + 4 + 2 + etiquetaBytes.length + 8 + 4);
+        encabezado.putInt(MAGICO).putInt(FORMATO).putShort((short) etiquetaBytes.length).put(etiquetaBytes)
+                .putLong(System.currentTimeMillis()).putInt(registros.size()).flip();
+        partes.add(encabezado);
+
+        for (Registro registro : registros) {
+            byte[] clave = registro.clave().getBytes(StandardCharsets.UTF_8);
+            ByteBuffer datos = ByteBuffer.allocate(2 + clave.length + 8 + 8 + 4);
+            datos.putShort((short) clave.length).put(clave).putLong(registro.edadMs()).putLong(registro.marca())
+                    .putInt(registro.json().capacity()).flip();
+            partes.add(datos);
+            partes.add(registro.json().duplicate().rewind());
+            ByteBuffer largoGzip = ByteBuffer.allocate(4).putInt(registro.gzip() != null ? registro.gzip().capacity() : -1).flip();
+            partes.add(largoGzip);
+            if (registro.gzip() != null) {
+                partes.add(registro.gzip().duplicate().rewind());
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        partes.forEach(parte -> crc.update(parte.duplicate()));
+        partes.add(ByteBuffer.allocate(8).putLong(crc.getValue()).flip());
+
+        Path directorio = Files.createDirectories(archivo.toAbsolutePath().getParent());
+        Path temporal = Files.createTempFile(directorio, archivo.getFileName() + ".", ".tmp");
+        try {
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+                ByteBuffer[] buffers = partes.toArray(ByteBuffer[]::new);
+                long pendientes = partes.stream().mapToLong(ByteBuffer::remaining).sum();
+                while (pendientes > 0) {
+                    pendientes -= canal.write(buffers);
+                }
+                canal.force(true);
+            }
+            // En POSIX el reemplazo solo desvincula el archivo anterior, que sigue mapeado tal cual. En Windows
+            // falla mientras siga mapeado: se conserva el anterior y se reintenta en la próxima escritura
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporal);
+            throw e;
+        }
+    }
+
+    /**
+     * Registros del archivo con la edad actualizada al momento de la lectura. Vacío si no hay archivo
+     * o si lo escribió otra build; un archivo dañado o truncado se rechaza con IOException.
+     */
+    public List<Registro> leer() throws IOException {
+        MappedByteBuffer mapa;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            if (canal.size() > Integer.MAX_VALUE) {
+                throw new IOException("Instantánea demasiado grande: " + canal.size() + " bytes");
+            }
+            mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        } catch (NoSuchFileException e) {
+            return List.of();
+        }
+
+        try {
+            if (mapa.capacity() < 8 || mapa.getInt(0) != MAGICO || mapa.getInt(4) != FORMATO) {
+                throw new IOException("Formato de instantánea desconocido");
+            }
+            int fin = mapa.capacity() - 8;
+            CRC32 crc = new CRC32();
+            crc.update(mapa.slice(0, fin));
+            if (crc.getValue() != mapa.getLong(fin)) {
+                throw new IOException("CRC de la instantánea inválido");
+            }
+
+            ByteBuffer lectura = mapa.slice(8, fin - 8);
+            if (!etiqueta.equals(texto(lectura))) {
+                return List.of();
+            }
+            long transcurridoMs = Math.max(0, System.currentTimeMillis() - lectura.getLong());
+            int cantidad = lectura.getInt();
+            List<Registro> registros = new ArrayList<>(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                String clave = texto(lectura);
+                long edadMs = lectura.getLong() + transcurridoMs;
+                long marca = lectura.getLong();
+                ByteBuffer json = cuerpo(mapa, lectura, lectura.getInt());
+                int largoGzip = lectura.getInt();
+                ByteBuffer gzip = largoGzip >= 0 ? cuerpo(mapa, lectura, largoGzip) : null;
+                registros.add(new Registro(clave, json, gzip, edadMs, marca));
+            }
+            return registros;
+        } catch (IndexOutOfBoundsException | java.nio.BufferUnderflowException e) {
+            throw new IOException("Instantánea truncada", e);
+        }
+    }
+
+    private static String texto(ByteBuffer lectura) {
+        byte[] bytes = new byte[lectura.getShort()];
+        lectura.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Vista de solo lectura sobre el archivo mapeado; avanza la lectura hasta después del cuerpo
+    private static ByteBuffer cuerpo(MappedByteBuffer mapa, ByteBuffer lectura, int largo) {
+        int inicio = 8 + lectura.position();
+        ByteBuffer vista = mapa.slice(inicio, largo).asReadOnlyBuffer();
+        lectura.position(lectura.position() + largo);
+        return vista;
+    }
+}
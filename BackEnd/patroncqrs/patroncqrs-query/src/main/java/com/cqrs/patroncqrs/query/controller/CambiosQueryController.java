@@ -0,0 +1,34 @@
+package com.cqrs.patroncqrs.query.controller;
+
+import com.cqrs.patroncqrs.query.service.CambiosQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/cambios")
+@CrossOrigin(origins = "*")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Tag(name = "Cambios del Catálogo", description = "Flujo en tiempo real de altas, modificaciones, eliminaciones y restauraciones")
+public class CambiosQueryController {
+
+    private final CambiosQueryService cambiosService;
+
+    @Autowired
+    public CambiosQueryController(CambiosQueryService cambiosService) {
+        this.cambiosService = cambiosService;
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Suscribirse a los cambios del catálogo (Server-Sent Events)")
+    public SseEmitter suscribir(
+            @Parameter(description = "ID del último evento recibido, para reanudar sin perder cambios")
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEvento) {
+        return cambiosService.suscribir(ultimoEvento);
+    }
+}
@@ -0,0 +1,39 @@
+package com.cqrs.patroncqrs.query.controller;
+
+import com.cqrs.patroncqrs.query.dto.CatalogoDTO;
+import com.cqrs.patroncqrs.query.service.CatalogoQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/catalogo/queries")
+@CrossOrigin(origins = "*")
+@Tag(name = "Consultas del Catálogo", description = "Vista combinada de categorías y productos")
+public class CatalogoQueryController {
+
+    private static final int MAXIMO_PRODUCTOS_POR_CATEGORIA = 1000;
+
+    private final CatalogoQueryService queryService;
+
+    @Autowired
+    public CatalogoQueryController(CatalogoQueryService queryService) {
+        this.queryService = queryService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Obtener las categorías activas con su cantidad de productos y una página de ellos")
+    public ResponseEntity<CatalogoDTO> obtenerCatalogo(
+            @Parameter(description = "Página de productos de cada categoría (desde 0)")
+            @RequestParam(defaultValue = "0") int paginaProductos,
+            @Parameter(description = "Productos por categoría en cada página (0 = solo categorías y cantidades)")
+            @RequestParam(defaultValue = "20") int productosPorCategoria) {
+        if (paginaProductos < 0 || productosPorCategoria < 0 || productosPorCategoria > MAXIMO_PRODUCTOS_POR_CATEGORIA) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(queryService.obtenerCatalogo(paginaProductos, productosPorCategoria));
+    }
+}
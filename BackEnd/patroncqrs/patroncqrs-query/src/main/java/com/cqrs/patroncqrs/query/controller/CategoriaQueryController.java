@@ -1,9 +1,15 @@
 package com.cqrs.patroncqrs.query.controller;
 
+import com.cqrs.patroncqrs.query.dto.CambiosDesdeDTO;
 import com.cqrs.patroncqrs.query.dto.CategoriaDTO;
+import com.cqrs.patroncqrs.query.dto.LoteDTO;
 import com.cqrs.patroncqrs.query.service.CategoriaQueryService;
 import com.cqrs.patroncqrs.query.service.impl.CategoriaQueryServiceImpl;
+import com.cqrs.patroncqrs.infrastructure.respuesta.CacheRespuestas;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,24 +17,35 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/categorias/queries")
 @CrossOrigin(origins = "*")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(name = "Consultas de Categorías", description = "Operaciones de lectura de categorías")
 public class CategoriaQueryController {
 
+    private static final int LIMITE_MAXIMO_CAMBIOS = 5000;
+    private static final int MAXIMO_IDS_POR_LOTE = 500;
+
     private final CategoriaQueryService queryService;
     private final CategoriaQueryServiceImpl queryServiceImpl; // Para métodos específicos
+    private final CacheRespuestas cacheRespuestas;
 
     @Autowired
     public CategoriaQueryController(CategoriaQueryService queryService,
-                                    CategoriaQueryServiceImpl queryServiceImpl) {
+                                    CategoriaQueryServiceImpl queryServiceImpl,
+                                    CacheRespuestas cacheRespuestas) {
         this.queryService = queryService;
         this.queryServiceImpl = queryServiceImpl;
+        this.cacheRespuestas = cacheRespuestas;
     }
 
     @GetMapping
@@ -58,9 +75,10 @@ public class CategoriaQueryController {
 
     @GetMapping("/estadisticas")
     @Operation(summary = "Obtener categorías con estadísticas de productos")
-    public ResponseEntity<List<CategoriaDTO>> obtenerCategoriasConEstadisticas() {
-        List<CategoriaDTO> categorias = queryService.obtenerCategoriasConConteoProductos();
-        return ResponseEntity.ok(categorias);
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = CategoriaDTO.class))))
+    public void obtenerCategoriasConEstadisticas(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        cacheRespuestas.responder("categorias-estadisticas", queryService::obtenerCategoriasConConteoProductos, request, response);
     }
 
     @GetMapping("/eliminadas")
@@ -76,4 +94,37 @@ public class CategoriaQueryController {
         List<CategoriaDTO> categorias = queryServiceImpl.obtenerCategoriasConEstado();
         return ResponseEntity.ok(categorias);
     }
+
+    @GetMapping("/cambios")
+    @Operation(summary = "Obtener las categorías modificadas después de una marca de agua (sincronización incremental)")
+    public ResponseEntity<CambiosDesdeDTO<CategoriaDTO>> obtenerCambiosDesde(
+            @Parameter(description = "Marca de agua de la última sincronización (omitir para una sincronización completa)")
+            @RequestParam(defaultValue = "-1") Long desde,
+            @Parameter(description = "ID de la marca de agua de la última sincronización")
+            @RequestParam(defaultValue = "0") Long desdeId,
+            @Parameter(description = "Cantidad máxima de cambios por página")
+            @RequestParam(defaultValue = "500") int limite) {
+        int limiteAcotado = Math.max(1, Math.min(limite, LIMITE_MAXIMO_CAMBIOS));
+        return ResponseEntity.ok(queryService.obtenerCambiosDesde(desde, desdeId, limiteAcotado));
+    }
+
+    @GetMapping("/lote")
+    @Operation(summary = "Obtener varias categorías por ID en una sola consulta")
+    public ResponseEntity<LoteDTO<CategoriaDTO>> obtenerCategoriasPorIds(
+            @Parameter(description = "IDs separados por coma (máximo " + MAXIMO_IDS_POR_LOTE + ")") @RequestParam List<Long> ids) {
+        return obtenerLote(ids);
+    }
+
+    @PostMapping("/lote")
+    @Operation(summary = "Obtener varias categorías por ID con la lista en el cuerpo (para listas largas)")
+    public ResponseEntity<LoteDTO<CategoriaDTO>> obtenerCategoriasPorIdsEnCuerpo(@RequestBody List<Long> ids) {
+        return obtenerLote(ids);
+    }
+
+    private ResponseEntity<LoteDTO<CategoriaDTO>> obtenerLote(List<Long> ids) {
+        if (ids.size() > MAXIMO_IDS_POR_LOTE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(queryService.obtenerCategoriasPorIds(ids));
+    }
 }
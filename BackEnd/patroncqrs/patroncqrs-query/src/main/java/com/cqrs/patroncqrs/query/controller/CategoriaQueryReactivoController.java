@@ -0,0 +1,121 @@
+package com.cqrs.patroncqrs.query.controller;
+
+import com.cqrs.patroncqrs.query.dto.CambiosDesdeDTO;
+import com.cqrs.patroncqrs.query.dto.CategoriaDTO;
+import com.cqrs.patroncqrs.query.dto.LoteDTO;
+import com.cqrs.patroncqrs.query.mapper.CategoriaQueryMapper;
+import com.cqrs.patroncqrs.query.service.CategoriaQueryReactivoService;
+import com.cqrs.patroncqrs.query.service.CategoriaQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * Las mismas rutas que {@link CategoriaQueryController} sobre WebFlux (perfil reactivo).
+ */
+@RestController
+@RequestMapping("/api/categorias/queries")
+@CrossOrigin(origins = "*")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Consultas de Categorías", description = "Operaciones de lectura de categorías")
+public class CategoriaQueryReactivoController {
+
+    private static final int LIMITE_MAXIMO_CAMBIOS = 5000;
+    private static final int MAXIMO_IDS_POR_LOTE = 500;
+
+    private final CategoriaQueryReactivoService queryService;
+    private final CategoriaQueryService queryServiceBloqueante;
+    private final CategoriaQueryMapper mapper;
+
+    @Autowired
+    public CategoriaQueryReactivoController(CategoriaQueryReactivoService queryService,
+                                            CategoriaQueryService queryServiceBloqueante,
+                                            CategoriaQueryMapper mapper) {
+        this.queryService = queryService;
+        this.queryServiceBloqueante = queryServiceBloqueante;
+        this.mapper = mapper;
+    }
+
+    @GetMapping
+    @Operation(summary = "Obtener todas las categorías")
+    public Flux<CategoriaDTO> obtenerTodasLasCategorias() {
+        return queryService.obtenerTodasLasCategorias();
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener categoría por ID")
+    public Mono<ResponseEntity<CategoriaDTO>> obtenerCategoriaPorId(@Parameter(description = "ID de la categoría") @PathVariable Long id) {
+        return queryService.obtenerCategoriaPorId(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/buscar")
+    @Operation(summary = "Buscar categorías por nombre")
+    public Flux<CategoriaDTO> buscarCategoriasPorNombre(@Parameter(description = "Nombre de la categoría") @RequestParam String nombre) {
+        return queryService.buscarCategoriasPorNombre(nombre);
+    }
+
+    @GetMapping("/estadisticas")
+    @Operation(summary = "Obtener categorías con estadísticas de productos")
+    public Flux<CategoriaDTO> obtenerCategoriasConEstadisticas() {
+        return queryService.obtenerCategoriasConConteoProductos();
+    }
+
+    @GetMapping("/eliminadas")
+    @Operation(summary = "Obtener categorías eliminadas")
+    public Flux<CategoriaDTO> obtenerCategoriasEliminadas() {
+        return queryService.obtenerCategoriasEliminadas();
+    }
+
+    @GetMapping("/con-estado")
+    @Operation(summary = "Obtener categorías con su estado actual")
+    public Flux<CategoriaDTO> obtenerCategoriasConEstado() {
+        return queryService.obtenerTodasLasCategorias()
+                .doOnNext(categoria -> categoria.setEstado(mapper.mapEstado(categoria.getEliminado())));
+    }
+
+    @GetMapping("/cambios")
+    @Operation(summary = "Obtener las categorías modificadas después de una marca de agua (sincronización incremental)")
+    public Mono<CambiosDesdeDTO<CategoriaDTO>> obtenerCambiosDesde(
+            @Parameter(description = "Marca de agua de la última sincronización (omitir para una sincronización completa)")
+            @RequestParam(defaultValue = "-1") Long desde,
+            @Parameter(description = "ID de la marca de agua de la última sincronización")
+            @RequestParam(defaultValue = "0") Long desdeId,
+            @Parameter(description = "Cantidad máxima de cambios por página")
+            @RequestParam(defaultValue = "500") int limite) {
+        int limiteAcotado = Math.max(1, Math.min(limite, LIMITE_MAXIMO_CAMBIOS));
+        return Mono.fromCallable(() -> queryServiceBloqueante.obtenerCambiosDesde(desde, desdeId, limiteAcotado))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @GetMapping("/lote")
+    @Operation(summary = "Obtener varias categorías por ID en una sola consulta")
+    public Mono<ResponseEntity<LoteDTO<CategoriaDTO>>> obtenerCategoriasPorIds(
+            @Parameter(description = "IDs separados por coma (máximo " + MAXIMO_IDS_POR_LOTE + ")") @RequestParam List<Long> ids) {
+        return obtenerLote(ids);
+    }
+
+    @PostMapping("/lote")
+    @Operation(summary = "Obtener varias categorías por ID con la lista en el cuerpo (para listas largas)")
+    public Mono<ResponseEntity<LoteDTO<CategoriaDTO>>> obtenerCategoriasPorIdsEnCuerpo(@RequestBody List<Long> ids) {
+        return obtenerLote(ids);
+    }
+
+    private Mono<ResponseEntity<LoteDTO<CategoriaDTO>>> obtenerLote(List<Long> ids) {
+        if (ids.size() > MAXIMO_IDS_POR_LOTE) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return Mono.fromCallable(() -> ResponseEntity.ok(queryServiceBloqueante.obtenerCategoriasPorIds(ids)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,54 @@
+package com.cqrs.patroncqrs.query.controller;
+
+import com.cqrs.patroncqrs.query.dto.ImportacionDTO;
+import com.cqrs.patroncqrs.query.dto.RechazoImportacionDTO;
+import com.cqrs.patroncqrs.query.service.ImportacionQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/productos/queries/importaciones")
+@CrossOrigin(origins = "*")
+@Tag(name = "Consultas de Importaciones", description = "Avance y rechazos de las importaciones de productos")
+public class ImportacionQueryController {
+
+    private static final int MAXIMO_RECHAZOS = 1000;
+
+    private final ImportacionQueryService queryService;
+
+    @Autowired
+    public ImportacionQueryController(ImportacionQueryService queryService) {
+        this.queryService = queryService;
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener el estado y el avance de una importación")
+    public ResponseEntity<ImportacionDTO> obtenerImportacion(
+            @Parameter(description = "ID de la importación", required = true) @PathVariable Long id) {
+        return queryService.obtenerImportacion(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/rechazados")
+    @Operation(summary = "Obtener los registros rechazados de una importación, ordenados por número de registro")
+    public ResponseEntity<List<RechazoImportacionDTO>> obtenerRechazos(
+            @Parameter(description = "ID de la importación", required = true) @PathVariable Long id,
+            @Parameter(description = "Devolver rechazos posteriores a este número de registro")
+            @RequestParam(defaultValue = "0") long desde,
+            @Parameter(description = "Cantidad máxima de rechazos")
+            @RequestParam(defaultValue = "100") int limite) {
+        if (desde < 0 || limite < 1 || limite > MAXIMO_RECHAZOS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return queryService.obtenerRechazos(id, desde, limite)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
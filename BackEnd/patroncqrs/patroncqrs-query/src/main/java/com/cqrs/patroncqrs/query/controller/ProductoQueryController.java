@@ -1,38 +1,58 @@
 package com.cqrs.patroncqrs.query.controller;
 
+import com.cqrs.patroncqrs.query.dto.CambiosDesdeDTO;
 import com.cqrs.patroncqrs.query.dto.ProductoDTO;
+import com.cqrs.patroncqrs.query.dto.LoteDTO;
 import com.cqrs.patroncqrs.query.service.ProductoQueryService;
 import com.cqrs.patroncqrs.query.service.impl.ProductoQueryServiceImpl;
+import com.cqrs.patroncqrs.infrastructure.respuesta.CacheRespuestas;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
+import java.io.IOException;
 import java.util.*;
 
 @RestController
 @RequestMapping("/api/productos/queries")
 @CrossOrigin(origins = "*")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(name = "Consultas de Productos", description = "Operaciones de lectura de productos")
 public class ProductoQueryController {
 
+    private static final int LIMITE_MAXIMO_CAMBIOS = 5000;
+    private static final int MAXIMO_IDS_POR_LOTE = 500;
+
     private final ProductoQueryService queryService;
     private final ProductoQueryServiceImpl queryServiceImpl; // Para métodos específicos
+    private final CacheRespuestas cacheRespuestas;
 
     @Autowired
     public ProductoQueryController(ProductoQueryService queryService,
-                                   ProductoQueryServiceImpl queryServiceImpl) {
+                                   ProductoQueryServiceImpl queryServiceImpl,
+                                   CacheRespuestas cacheRespuestas) {
         this.queryService = queryService;
         this.queryServiceImpl = queryServiceImpl;
+        this.cacheRespuestas = cacheRespuestas;
     }
 
+    // Listado completo servido desde la cache de respuestas serializadas
     @GetMapping
     @Operation(summary = "Obtener todos los productos")
-    public ResponseEntity<List<ProductoDTO>> obtenerTodosLosProductos() {
-        List<ProductoDTO> productos = queryService.obtenerTodosLosProductos();
-        return ResponseEntity.ok(productos);
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = ProductoDTO.class))))
+    public void obtenerTodosLosProductos(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        cacheRespuestas.responder("productos", queryService::obtenerTodosLosProductos, request, response);
     }
 
     @GetMapping("/{id}")
@@ -85,9 +105,10 @@ public class ProductoQueryController {
 
     @GetMapping("/con-estado-stock")
     @Operation(summary = "Obtener productos con estado de stock")
-    public ResponseEntity<List<ProductoDTO>> obtenerProductosConEstadoStock() {
-        List<ProductoDTO> productos = queryServiceImpl.obtenerProductosConEstadoStock();
-        return ResponseEntity.ok(productos);
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = ProductoDTO.class))))
+    public void obtenerProductosConEstadoStock(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        cacheRespuestas.responder("productos-con-estado-stock", queryServiceImpl::obtenerProductosConEstadoStock, request, response);
     }
 
     @GetMapping("/con-precio-formateado")
@@ -96,4 +117,37 @@ public class ProductoQueryController {
         List<ProductoDTO> productos = queryServiceImpl.obtenerProductosConPrecioFormateado();
         return ResponseEntity.ok(productos);
     }
+
+    @GetMapping("/cambios")
+    @Operation(summary = "Obtener los productos modificados después de una marca de agua (sincronización incremental)")
+    public ResponseEntity<CambiosDesdeDTO<ProductoDTO>> obtenerCambiosDesde(
+            @Parameter(description = "Marca de agua de la última sincronización (omitir para una sincronización completa)")
+            @RequestParam(defaultValue = "-1") Long desde,
+            @Parameter(description = "ID de la marca de agua de la última sincronización")
+            @RequestParam(defaultValue = "0") Long desdeId,
+            @Parameter(description = "Cantidad máxima de cambios por página")
+            @RequestParam(defaultValue = "500") int limite) {
+        int limiteAcotado = Math.max(1, Math.min(limite, LIMITE_MAXIMO_CAMBIOS));
+        return ResponseEntity.ok(queryService.obtenerCambiosDesde(desde, desdeId, limiteAcotado));
+    }
+
+    @GetMapping("/lote")
+    @Operation(summary = "Obtener varios productos por ID en una sola consulta")
+    public ResponseEntity<LoteDTO<ProductoDTO>> obtenerProductosPorIds(
+            @Parameter(description = "IDs separados por coma (máximo " + MAXIMO_IDS_POR_LOTE + ")") @RequestParam List<Long> ids) {
+        return obtenerLote(ids);
+    }
+
+    @PostMapping("/lote")
+    @Operation(summary = "Obtener varios productos por ID con la lista en el cuerpo (para listas largas)")
+    public ResponseEntity<LoteDTO<ProductoDTO>> obtenerProductosPorIdsEnCuerpo(@RequestBody List<Long> ids) {
+        return obtenerLote(ids);
+    }
+
+    private ResponseEntity<LoteDTO<ProductoDTO>> obtenerLote(List<Long> ids) {
+        if (ids.size() > MAXIMO_IDS_POR_LOTE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(queryService.obtenerProductosPorIds(ids));
+    }
 }
@@ -0,0 +1,145 @@
+package com.cqrs.patroncqrs.query.controller;
+
+import com.cqrs.patroncqrs.query.dto.CambiosDesdeDTO;
+import com.cqrs.patroncqrs.query.dto.LoteDTO;
+import com.cqrs.patroncqrs.query.dto.ProductoDTO;
+import com.cqrs.patroncqrs.query.mapper.ProductoQueryMapper;
+import com.cqrs.patroncqrs.query.service.ProductoQueryReactivoService;
+import com.cqrs.patroncqrs.query.service.ProductoQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * Las mismas rutas que {@link ProductoQueryController} sobre WebFlux (perfil reactivo).
+ * Los listados se devuelven como Flux: el arreglo JSON se escribe a medida que llegan las filas
+ * y un cliente lento frena la lectura en lugar de acumular la respuesta en memoria.
+ * La sincronización incremental y los lotes por ID siguen en la pila JPA, en el scheduler elástico.
+ */
+@RestController
+@RequestMapping("/api/productos/queries")
+@CrossOrigin(origins = "*")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Consultas de Productos", description = "Operaciones de lectura de productos")
+public class ProductoQueryReactivoController {
+
+    private static final int LIMITE_MAXIMO_CAMBIOS = 5000;
+    private static final int MAXIMO_IDS_POR_LOTE = 500;
+
+    private final ProductoQueryReactivoService queryService;
+    private final ProductoQueryService queryServiceBloqueante;
+    private final ProductoQueryMapper mapper;
+
+    @Autowired
+    public ProductoQueryReactivoController(ProductoQueryReactivoService queryService,
+                                           ProductoQueryService queryServiceBloqueante,
+                                           ProductoQueryMapper mapper) {
+        this.queryService = queryService;
+        this.queryServiceBloqueante = queryServiceBloqueante;
+        this.mapper = mapper;
+    }
+
+    @GetMapping
+    @Operation(summary = "Obtener todos los productos")
+    public Flux<ProductoDTO> obtenerTodosLosProductos() {
+        return queryService.obtenerTodosLosProductos();
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener producto por ID")
+    public Mono<ResponseEntity<ProductoDTO>> obtenerProductoPorId(@Parameter(description = "ID del producto") @PathVariable Long id) {
+        return queryService.obtenerProductoPorId(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/buscar")
+    @Operation(summary = "Buscar productos por nombre")
+    public Flux<ProductoDTO> buscarProductosPorNombre(@Parameter(description = "Nombre del producto") @RequestParam String nombre) {
+        return queryService.buscarProductosPorNombre(nombre);
+    }
+
+    @GetMapping("/categoria/{categoriaId}")
+    @Operation(summary = "Obtener productos por categoría")
+    public Flux<ProductoDTO> obtenerProductosPorCategoria(@Parameter(description = "ID de la categoría") @PathVariable Long categoriaId) {
+        return queryService.obtenerProductosPorCategoria(categoriaId);
+    }
+
+    @GetMapping("/precio")
+    @Operation(summary = "Obtener productos por rango de precio")
+    public Flux<ProductoDTO> obtenerProductosPorRangoPrecio(
+            @Parameter(description = "Precio mínimo") @RequestParam Double precioMin,
+            @Parameter(description = "Precio máximo") @RequestParam Double precioMax) {
+        return queryService.obtenerProductosPorRangoPrecio(precioMin, precioMax);
+    }
+
+    @GetMapping("/stock")
+    @Operation(summary = "Obtener productos con stock mínimo")
+    public Flux<ProductoDTO> obtenerProductosEnStock(@Parameter(description = "Stock mínimo") @RequestParam Integer stockMinimo) {
+        return queryService.obtenerProductosEnStock(stockMinimo);
+    }
+
+    @GetMapping("/eliminados")
+    @Operation(summary = "Obtener productos eliminados")
+    public Flux<ProductoDTO> obtenerProductosEliminados() {
+        return queryService.obtenerProductosEliminados();
+    }
+
+    @GetMapping("/con-estado-stock")
+    @Operation(summary = "Obtener productos con estado de stock")
+    public Flux<ProductoDTO> obtenerProductosConEstadoStock() {
+        return queryService.obtenerTodosLosProductos()
+                .doOnNext(producto -> producto.setStockStatus(mapper.mapStockStatus(producto.getStock())));
+    }
+
+    @GetMapping("/con-precio-formateado")
+    @Operation(summary = "Obtener productos con precio formateado")
+    public Flux<ProductoDTO> obtenerProductosConPrecioFormateado() {
+        return queryService.obtenerTodosLosProductos()
+                .doOnNext(producto -> producto.setPrecioFormateado(mapper.formatPrice(producto.getPrecio())));
+    }
+
+    @GetMapping("/cambios")
+    @Operation(summary = "Obtener los productos modificados después de una marca de agua (sincronización incremental)")
+    public Mono<CambiosDesdeDTO<ProductoDTO>> obtenerCambiosDesde(
+            @Parameter(description = "Marca de agua de la última sincronización (omitir para una sincronización completa)")
+            @RequestParam(defaultValue = "-1") Long desde,
+            @Parameter(description = "ID de la marca de agua de la última sincronización")
+            @RequestParam(defaultValue = "0") Long desdeId,
+            @Parameter(description = "Cantidad máxima de cambios por página")
+            @RequestParam(defaultValue = "500") int limite) {
+        int limiteAcotado = Math.max(1, Math.min(limite, LIMITE_MAXIMO_CAMBIOS));
+        return Mono.fromCallable(() -> queryServiceBloqueante.obtenerCambiosDesde(desde, desdeId, limiteAcotado))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @GetMapping("/lote")
+    @Operation(summary = "Obtener varios productos por ID en una sola consulta")
+    public Mono<ResponseEntity<LoteDTO<ProductoDTO>>> obtenerProductosPorIds(
+            @Parameter(description = "IDs separados por coma (máximo " + MAXIMO_IDS_POR_LOTE + ")") @RequestParam List<Long> ids) {
+        return obtenerLote(ids);
+    }
+
+    @PostMapping("/lote")
+    @Operation(summary = "Obtener varios productos por ID con la lista en el cuerpo (para listas largas)")
+    public Mono<ResponseEntity<LoteDTO<ProductoDTO>>> obtenerProductosPorIdsEnCuerpo(@RequestBody List<Long> ids) {
+        return obtenerLote(ids);
+    }
+
+    private Mono<ResponseEntity<LoteDTO<ProductoDTO>>> obtenerLote(List<Long> ids) {
+        if (ids.size() > MAXIMO_IDS_POR_LOTE) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return Mono.fromCallable(() -> ResponseEntity.ok(queryServiceBloqueante.obtenerProductosPorIds(ids)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,33 @@
+package com.cqrs.patroncqrs.query.controller;
+
+import com.cqrs.patroncqrs.domain.exception.ConflictoDominioException;
+import com.cqrs.patroncqrs.domain.exception.DominioException;
+import com.cqrs.patroncqrs.domain.exception.EntidadNoEncontradaException;
+import com.cqrs.patroncqrs.query.dto.ErrorDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Traduce las fallas de dominio de las consultas (por ejemplo, una consulta que no admite shards)
+ * a respuestas con código de error.
+ */
+@RestControllerAdvice(basePackageClasses = QueryExceptionHandler.class)
+public class QueryExceptionHandler {
+
+    @ExceptionHandler(DominioException.class)
+    public ResponseEntity<ErrorDTO> manejarDominio(DominioException e) {
+        return ResponseEntity.status(estado(e)).body(new ErrorDTO(e.getCodigo().name(), e.getMessage()));
+    }
+
+    private HttpStatus estado(DominioException e) {
+        if (e instanceof EntidadNoEncontradaException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (e instanceof ConflictoDominioException) {
+            return HttpStatus.CONFLICT;
+        }
+        return HttpStatus.BAD_REQUEST;
+    }
+}
@@ -0,0 +1,19 @@
+package com.cqrs.patroncqrs.query.dto;
+
+import com.cqrs.patroncqrs.domain.event.CambioCatalogoEvent;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CambioCatalogoDTO {
+
+    private Long secuencia;
+    private CambioCatalogoEvent.Entidad entidad;
+    private CambioCatalogoEvent.Operacion operacion;
+    private Long id;
+
+    // ProductoDTO o CategoriaDTO con el estado confirmado
+    private Object datos;
+}
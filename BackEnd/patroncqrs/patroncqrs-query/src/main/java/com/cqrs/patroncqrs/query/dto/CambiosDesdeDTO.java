@@ -0,0 +1,29 @@
+package com.cqrs.patroncqrs.query.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Respuesta de la sincronización incremental: registros modificados, bajas (tombstones)
+ * y la nueva marca de agua que el cliente debe enviar en la próxima llamada.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CambiosDesdeDTO<T> {
+
+    // Registros activos creados o modificados
+    private List<T> modificados;
+
+    // IDs eliminados desde la marca de agua anterior
+    private List<Long> eliminados;
+
+    // Nueva marca de agua (secuencia e ID del último registro incluido)
+    private Long marcaAgua;
+    private Long marcaAguaId;
+
+    // true si quedaron cambios sin enviar: repetir la llamada con la nueva marca de agua
+    private Boolean hayMas;
+}
@@ -0,0 +1,21 @@
+package com.cqrs.patroncqrs.query.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Vista completa del catálogo armada en una única transacción de lectura.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogoDTO {
+
+    // Categorías activas ordenadas por nombre
+    private List<CategoriaCatalogoDTO> categorias;
+
+    // Marca de agua del catálogo leído: sirve como "desde" para /cambios
+    private Long secuenciaCambio;
+}
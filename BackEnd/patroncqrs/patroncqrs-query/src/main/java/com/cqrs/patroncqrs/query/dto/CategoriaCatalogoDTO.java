@@ -0,0 +1,26 @@
+package com.cqrs.patroncqrs.query.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Categoría activa dentro del catálogo, con su cantidad de productos y una página de ellos.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoriaCatalogoDTO {
+    private Long id;
+    private String nombre;
+    private String descripcion;
+    private Long secuenciaCambio;
+    private Integer cantidadProductos;
+
+    // Página de productos activos ordenados por nombre (vacía si no se pidieron productos)
+    private List<ProductoDTO> productos;
+
+    // true si la categoría tiene más productos después de esta página
+    private Boolean hayMasProductos;
+}
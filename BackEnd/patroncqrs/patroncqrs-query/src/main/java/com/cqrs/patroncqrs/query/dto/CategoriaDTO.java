@@ -11,6 +11,7 @@ public class CategoriaDTO {
     private String nombre;
     private String descripcion;
     private Boolean eliminado;
+    private Long secuenciaCambio;
     private Integer cantidadProductos;
 
     private String estado;
@@ -0,0 +1,28 @@
+package com.cqrs.patroncqrs.query.dto;
+
+import com.cqrs.patroncqrs.domain.entity.Importacion;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacionDTO {
+
+    private Long id;
+    private String archivo;
+    private Importacion.Formato formato;
+    private Importacion.Estado estado;
+    private Long registrosProcesados;
+    private Long importados;
+    private Long rechazados;
+
+    // Ritmo de la ejecución actual (o la última), en registros por segundo
+    private Double registrosPorSegundo;
+
+    private LocalDateTime fechaCreacion;
+    private LocalDateTime fechaActualizacion;
+    private String error;
+}
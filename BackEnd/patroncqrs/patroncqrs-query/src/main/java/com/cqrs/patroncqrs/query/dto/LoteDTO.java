@@ -0,0 +1,21 @@
+package com.cqrs.patroncqrs.query.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Respuesta de las consultas de varios IDs a la vez.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoteDTO<T> {
+
+    // Registros encontrados, en el orden en que se pidieron los IDs
+    private List<T> encontrados;
+
+    // IDs pedidos que no existen (o no están activos)
+    private List<Long> faltantes;
+}
@@ -16,6 +16,7 @@ public class ProductoDTO {
     private String categoriaNombre;
     private Long categoriaId;
     private Boolean eliminado;
+    private Long secuenciaCambio;
 
     private String stockStatus;
     private String precioFormateado;
@@ -0,0 +1,15 @@
+package com.cqrs.patroncqrs.query.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RechazoImportacionDTO {
+
+    // Número de registro dentro del archivo (desde 1)
+    private Long registro;
+    private String motivo;
+    private String contenido;
+}
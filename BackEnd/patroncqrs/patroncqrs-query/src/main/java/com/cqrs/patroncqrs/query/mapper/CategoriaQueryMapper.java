@@ -1,6 +1,8 @@
 package com.cqrs.patroncqrs.query.mapper;
 
 import com.cqrs.patroncqrs.domain.entity.Categoria;
+import com.cqrs.patroncqrs.domain.entity.CategoriaArchivada;
+import com.cqrs.patroncqrs.query.dto.CategoriaCatalogoDTO;
 import com.cqrs.patroncqrs.query.dto.CategoriaDTO;
 import org.mapstruct.*;
 
@@ -23,6 +25,24 @@ public interface CategoriaQueryMapper {
      */
     List<CategoriaDTO> toDTOList(List<Categoria> categorias);
 
+    /**
+     * Convierte una categoría del archivo (siempre eliminada) a CategoriaDTO
+     */
+    @Mapping(target = "eliminado", constant = "true")
+    @Mapping(target = "cantidadProductos", ignore = true)
+    @Mapping(target = "estado", ignore = true)
+    CategoriaDTO toDTO(CategoriaArchivada categoria);
+
+    List<CategoriaDTO> toDTOListArchivadas(List<CategoriaArchivada> categorias);
+
+    /**
+     * Convierte una categoría a su entrada del catálogo (cantidad y productos se completan aparte)
+     */
+    @Mapping(target = "cantidadProductos", ignore = true)
+    @Mapping(target = "productos", ignore = true)
+    @Mapping(target = "hayMasProductos", ignore = true)
+    CategoriaCatalogoDTO toCatalogoDTO(Categoria categoria);
+
     /**
      * Mapeo con información de estado
      */
@@ -1,6 +1,7 @@
 package com.cqrs.patroncqrs.query.mapper;
 
 import com.cqrs.patroncqrs.domain.entity.Producto;
+import com.cqrs.patroncqrs.domain.entity.ProductoArchivado;
 import com.cqrs.patroncqrs.query.dto.ProductoDTO;
 import org.mapstruct.*;
 
@@ -20,6 +21,14 @@ public interface ProductoQueryMapper {
 
     List<ProductoDTO> toDTOList(List<Producto> productos);
 
+    // Mapeo desde el archivo (siempre eliminado)
+    @Mapping(target = "eliminado", constant = "true")
+    @Mapping(target = "stockStatus", ignore = true)
+    @Mapping(target = "precioFormateado", ignore = true)
+    ProductoDTO toDTO(ProductoArchivado producto);
+
+    List<ProductoDTO> toDTOListArchivados(List<ProductoArchivado> productos);
+
     @Named("toDTOWithExtraInfo")
     @Mapping(target = "categoriaNombre", source = "categoria.nombre")
     @Mapping(target = "categoriaId", source = "categoria.id")
@@ -0,0 +1,7 @@
+package com.cqrs.patroncqrs.query.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface CambiosQueryService {
+    SseEmitter suscribir(String ultimoEvento);
+}
@@ -0,0 +1,7 @@
+package com.cqrs.patroncqrs.query.service;
+
+import com.cqrs.patroncqrs.query.dto.CatalogoDTO;
+
+public interface CatalogoQueryService {
+    CatalogoDTO obtenerCatalogo(int paginaProductos, int productosPorCategoria);
+}
@@ -0,0 +1,17 @@
+package com.cqrs.patroncqrs.query.service;
+
+import com.cqrs.patroncqrs.query.dto.CategoriaDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lecturas de categorías sobre R2DBC (perfil reactivo). Mismas reglas de visibilidad que
+ * {@link CategoriaQueryService}.
+ */
+public interface CategoriaQueryReactivoService {
+    Flux<CategoriaDTO> obtenerTodasLasCategorias();
+    Mono<CategoriaDTO> obtenerCategoriaPorId(Long id);
+    Flux<CategoriaDTO> buscarCategoriasPorNombre(String nombre);
+    Flux<CategoriaDTO> obtenerCategoriasConConteoProductos();
+    Flux<CategoriaDTO> obtenerCategoriasEliminadas();
+}
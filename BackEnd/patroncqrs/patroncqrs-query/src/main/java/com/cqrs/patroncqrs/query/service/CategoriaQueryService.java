@@ -1,6 +1,8 @@
 package com.cqrs.patroncqrs.query.service;
 
+import com.cqrs.patroncqrs.query.dto.CambiosDesdeDTO;
 import com.cqrs.patroncqrs.query.dto.CategoriaDTO;
+import com.cqrs.patroncqrs.query.dto.LoteDTO;
 
 import java.util.*;
 
@@ -10,4 +12,6 @@ public interface CategoriaQueryService {
     List<CategoriaDTO> buscarCategoriasPorNombre(String nombre);
     List<CategoriaDTO> obtenerCategoriasConConteoProductos();
     List<CategoriaDTO> obtenerCategoriasEliminadas();
+    CambiosDesdeDTO<CategoriaDTO> obtenerCambiosDesde(Long desde, Long desdeId, int limite);
+    LoteDTO<CategoriaDTO> obtenerCategoriasPorIds(List<Long> ids);
 }
@@ -0,0 +1,14 @@
+package com.cqrs.patroncqrs.query.service;
+
+import com.cqrs.patroncqrs.query.dto.ImportacionDTO;
+import com.cqrs.patroncqrs.query.dto.RechazoImportacionDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ImportacionQueryService {
+    Optional<ImportacionDTO> obtenerImportacion(Long id);
+
+    // Rechazos con número de registro mayor a "desde", hasta "limite"
+    Optional<List<RechazoImportacionDTO>> obtenerRechazos(Long id, long desde, int limite);
+}
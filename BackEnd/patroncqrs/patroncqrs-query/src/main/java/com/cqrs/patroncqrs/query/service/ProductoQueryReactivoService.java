@@ -0,0 +1,19 @@
+package com.cqrs.patroncqrs.query.service;
+
+import com.cqrs.patroncqrs.query.dto.ProductoDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lecturas de productos sobre R2DBC (perfil reactivo). Mismas reglas de visibilidad que
+ * {@link ProductoQueryService}; las filas se emiten a medida que llegan de la base.
+ */
+public interface ProductoQueryReactivoService {
+    Flux<ProductoDTO> obtenerTodosLosProductos();
+    Mono<ProductoDTO> obtenerProductoPorId(Long id);
+    Flux<ProductoDTO> buscarProductosPorNombre(String nombre);
+    Flux<ProductoDTO> obtenerProductosPorCategoria(Long categoriaId);
+    Flux<ProductoDTO> obtenerProductosPorRangoPrecio(Double precioMin, Double precioMax);
+    Flux<ProductoDTO> obtenerProductosEnStock(Integer stockMinimo);
+    Flux<ProductoDTO> obtenerProductosEliminados();
+}
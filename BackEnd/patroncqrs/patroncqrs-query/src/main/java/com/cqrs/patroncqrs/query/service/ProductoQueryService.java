@@ -1,6 +1,8 @@
 package com.cqrs.patroncqrs.query.service;
 
+import com.cqrs.patroncqrs.query.dto.CambiosDesdeDTO;
 import com.cqrs.patroncqrs.query.dto.ProductoDTO;
+import com.cqrs.patroncqrs.query.dto.LoteDTO;
 
 import java.util.*;
 
@@ -12,4 +14,6 @@ public interface ProductoQueryService {
     List<ProductoDTO> obtenerProductosPorRangoPrecio(Double precioMin, Double precioMax);
     List<ProductoDTO> obtenerProductosEnStock(Integer stockMinimo);
     List<ProductoDTO> obtenerProductosEliminados();
+    CambiosDesdeDTO<ProductoDTO> obtenerCambiosDesde(Long desde, Long desdeId, int limite);
+    LoteDTO<ProductoDTO> obtenerProductosPorIds(List<Long> ids);
 }
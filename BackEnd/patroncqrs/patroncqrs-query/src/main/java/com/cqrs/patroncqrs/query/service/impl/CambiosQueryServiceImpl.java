@@ -0,0 +1,305 @@
+package com.cqrs.patroncqrs.query.service.impl;
+
+import com.cqrs.patroncqrs.domain.event.CambioCatalogoEvent;
+import com.cqrs.patroncqrs.infrastructure.shard.Shards;
+import com.cqrs.patroncqrs.query.dto.CambioCatalogoDTO;
+import com.cqrs.patroncqrs.query.mapper.CategoriaQueryMapper;
+import com.cqrs.patroncqrs.query.mapper.ProductoQueryMapper;
+import com.cqrs.patroncqrs.query.service.CambiosQueryService;
+import com.cqrs.patroncqrs.repository.CategoriaRepository;
+import com.cqrs.patroncqrs.repository.ProductoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Difunde los cambios confirmados del catálogo a los clientes suscriptos por Server-Sent Events.
+ * Las conexiones son asíncronas (no ocupan un hilo cada una) y toda la difusión pasa por un único
+ * hilo, lo que garantiza el orden de la secuencia sin bloquear a los servicios de comandos.
+ * <p>
+ * Cada suscriptor tiene su propia cola y los envíos salen de un pool aparte: un cliente lento no frena
+ * a los demás ni a la difusión. El que se atrasa más que el historial se desconecta y, al reconectarse,
+ * recibe lo que falta o un {@code recargar}.
+ * <p>
+ * Los IDs de evento llevan una época propia de este proceso ({@code época-secuencia}): un Last-Event-ID de
+ * otro nodo o de antes de un reinicio no se puede comparar con esta secuencia y se responde con {@code recargar}.
+ */
+@Service
+public class CambiosQueryServiceImpl implements CambiosQueryService {
+
+    private static final Logger log = LoggerFactory.getLogger(CambiosQueryServiceImpl.class);
+
+    // En el historial, un cambio que se omitió porque no había suscriptores: quien lo necesite, recarga
+    private static final Set<DataWithMediaType> OMITIDO = Collections.emptySet();
+
+    private final ProductoRepository productoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final ProductoQueryMapper productoMapper;
+    private final CategoriaQueryMapper categoriaMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate lectura;
+    private final Shards shards;
+    private final long timeoutMs;
+    private final int tamanioHistorial;
+    private final String epoca = UUID.randomUUID().toString().substring(0, 8);
+
+    private final Map<SseEmitter, Suscriptor> suscriptores = new ConcurrentHashMap<>();
+    private final Deque<Set<DataWithMediaType>> historial = new ArrayDeque<>();
+    private final ExecutorService difusion = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "cambios-difusion");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private final ExecutorService envios;
+
+    // Solo se modifican desde el hilo de difusión
+    private long secuencia = 0;
+    private long primeraSecuenciaEnHistorial = 1;
+
+    @Autowired
+    public CambiosQueryServiceImpl(ProductoRepository productoRepository,
+                                   CategoriaRepository categoriaRepository,
+                                   ProductoQueryMapper productoMapper,
+                                   CategoriaQueryMapper categoriaMapper,
+                                   ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   Shards shards,
+                                   @Value("${app.cambios.timeout-ms:1800000}") long timeoutMs,
+                                   @Value("${app.cambios.historial:1000}") int tamanioHistorial,
+                                   @Value("${app.cambios.envio.hilos:4}") int hilosEnvio) {
+        this.productoRepository = productoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.productoMapper = productoMapper;
+        this.categoriaMapper = categoriaMapper;
+        this.objectMapper = objectMapper;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.shards = shards;
+        this.timeoutMs = timeoutMs;
+        this.tamanioHistorial = tamanioHistorial;
+        AtomicInteger numero = new AtomicInteger();
+        this.envios = Executors.newFixedThreadPool(hilosEnvio, r -> {
+            Thread hilo = new Thread(r, "cambios-envio-" + numero.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    @Override
+    public SseEmitter suscribir(String ultimoEvento) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        emitter.onCompletion(() -> suscriptores.remove(emitter));
+        emitter.onTimeout(() -> suscriptores.remove(emitter));
+        emitter.onError(e -> suscriptores.remove(emitter));
+
+        // Se registra desde el hilo de difusión para no perder ni duplicar eventos
+        difusion.execute(() -> {
+            Suscriptor suscriptor = new Suscriptor(emitter);
+            if (ultimoEvento != null) {
+                pendientesDesde(ultimoEvento).forEach(suscriptor::encolar);
+            }
+            suscriptores.put(emitter, suscriptor);
+        });
+        return emitter;
+    }
+
+    // Sin transacción el evento llega del sondeo de cambios (SondeoCambiosCatalogo), ya confirmado
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alConfirmarCambio(CambioCatalogoEvent evento) {
+        difusion.execute(() -> difundir(evento));
+    }
+
+    @Scheduled(fixedRateString = "${app.cambios.heartbeat-ms:25000}")
+    public void mantenerConexiones() {
+        difusion.execute(() -> enviarATodos(SseEmitter.event().comment("ping").build()));
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        difusion.shutdownNow();
+        envios.shutdownNow();
+        suscriptores.keySet().forEach(SseEmitter::complete);
+    }
+
+    private void difundir(CambioCatalogoEvent evento) {
+        try {
+            Set<DataWithMediaType> mensaje;
+            if (evento.getOperacion() == CambioCatalogoEvent.Operacion.RECARGAR) {
+                // Cambio en bloque: queda en el historial para que también recarguen los que se reconectan
+                mensaje = recargar(++secuencia);
+            } else if (suscriptores.isEmpty()) {
+                // Nadie lo va a recibir ahora: no se consulta la base y el historial lo registra como omitido
+                ++secuencia;
+                mensaje = OMITIDO;
+            } else {
+                CambioCatalogoDTO cambio = shards.ejecutarEn(shards.deId(evento.getId()),
+                        () -> lectura.execute(status -> construirCambio(evento)));
+                cambio.setSecuencia(++secuencia);
+
+                // Se serializa una sola vez para todos los suscriptores
+                mensaje = SseEmitter.event()
+                        .id(idEvento(cambio.getSecuencia()))
+                        .name("cambio")
+                        .data(objectMapper.writeValueAsString(cambio))
+                        .build();
+            }
+
+            historial.addLast(mensaje);
+            if (historial.size() > tamanioHistorial) {
+                historial.removeFirst();
+                primeraSecuenciaEnHistorial++;
+            }
+            if (mensaje != OMITIDO) {
+                enviarATodos(mensaje);
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("No se pudo difundir el cambio {} {} {}", evento.getEntidad(), evento.getOperacion(), evento.getId(), e);
+        }
+    }
+
+    private CambioCatalogoDTO construirCambio(CambioCatalogoEvent evento) {
+        Object datos = switch (evento.getEntidad()) {
+            case PRODUCTO -> productoRepository.findByIdIncludingDeleted(evento.getId())
+                    .map(productoMapper::toDTOWithExtraInfo)
+                    .orElse(null);
+            case CATEGORIA -> categoriaRepository.findByIdIncludingDeleted(evento.getId())
+                    .map(categoriaMapper::toDTOWithStatus)
+                    .orElse(null);
+        };
+        return new CambioCatalogoDTO(null, evento.getEntidad(), evento.getOperacion(), evento.getId(), datos);
+    }
+
+    /**
+     * Lo que el cliente se perdió mientras estaba desconectado. Si el ID es de otra época, ya no está en
+     * el historial o abarca un cambio omitido, le indica que recargue las listas completas.
+     */
+    private List<Set<DataWithMediaType>> pendientesDesde(String ultimoEvento) {
+        long ultimaSecuencia = secuenciaDe(ultimoEvento);
+        if (ultimaSecuencia < 0 || ultimaSecuencia + 1 < primeraSecuenciaEnHistorial || ultimaSecuencia > secuencia) {
+            return List.of(recargar(secuencia));
+        }
+        List<Set<DataWithMediaType>> pendientes = new ArrayList<>();
+        long actual = primeraSecuenciaEnHistorial;
+        for (Set<DataWithMediaType> mensaje : historial) {
+            if (actual++ > ultimaSecuencia) {
+                if (mensaje == OMITIDO) {
+                    return List.of(recargar(secuencia));
+                }
+                pendientes.add(mensaje);
+            }
+        }
+        return pendientes;
+    }
+
+    // Secuencia de un ID de evento de esta época, o -1 si es de otro nodo, de antes de un reinicio o inválido
+    private long secuenciaDe(String idEvento) {
+        String prefijo = epoca + "-";
+        if (!idEvento.startsWith(prefijo)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(idEvento.substring(prefijo.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String idEvento(long secuencia) {
+        return epoca + "-" + secuencia;
+    }
+
+    // Con ID: el cliente reanuda desde aquí y no vuelve a recibir la recarga al reconectarse
+    private Set<DataWithMediaType> recargar(long secuencia) {
+        return SseEmitter.event().id(idEvento(secuencia)).name("recargar").data(secuencia).build();
+    }
+
+    private void enviarATodos(Set<DataWithMediaType> mensaje) {
+        for (Suscriptor suscriptor : suscriptores.values()) {
+            suscriptor.encolar(mensaje);
+        }
+    }
+
+    /**
+     * Mensajes pendientes de un cliente. Los envía un hilo del pool a la vez y en orden; si se acumulan más
+     * que el historial, el cliente se desconecta cuando termine el envío en curso.
+     */
+    private final class Suscriptor {
+
+        private final SseEmitter emitter;
+        private final Deque<Set<DataWithMediaType>> pendientes = new ArrayDeque<>();
+        private boolean enviando;
+        private boolean descartado;
+
+        private Suscriptor(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void encolar(Set<DataWithMediaType> mensaje) {
+            synchronized (this) {
+                if (descartado) {
+                    return;
+                }
+                if (pendientes.size() >= tamanioHistorial) {
+                    // Solo pasa mientras hay un envío en curso: ese hilo cierra la conexión al terminar
+                    descartado = true;
+                    pendientes.clear();
+                    suscriptores.remove(emitter);
+                    log.debug("Cliente de cambios desconectado por no leer a tiempo");
+                    return;
+                }
+                pendientes.addLast(mensaje);
+                if (enviando) {
+                    return;
+                }
+                enviando = true;
+            }
+            envios.execute(this::enviarPendientes);
+        }
+
+        private void enviarPendientes() {
+            while (true) {
+                Set<DataWithMediaType> mensaje;
+                synchronized (this) {
+                    mensaje = pendientes.pollFirst();
+                    if (mensaje == null) {
+                        enviando = false;
+                        if (descartado) {
+                            emitter.complete();
+                        }
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(mensaje);
+                } catch (IOException | IllegalStateException e) {
+                    synchronized (this) {
+                        descartado = true;
+                        pendientes.clear();
+                        enviando = false;
+                    }
+                    suscriptores.remove(emitter);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
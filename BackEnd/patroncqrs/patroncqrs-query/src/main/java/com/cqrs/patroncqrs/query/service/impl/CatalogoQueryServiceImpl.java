@@ -0,0 +1,124 @@
+package com.cqrs.patroncqrs.query.service.impl;
+
+import com.cqrs.patroncqrs.domain.entity.Categoria;
+import com.cqrs.patroncqrs.domain.entity.Producto;
+import com.cqrs.patroncqrs.domain.entity.SecuenciaCambio;
+import com.cqrs.patroncqrs.infrastructure.coalescing.ConsultaAgrupada;
+import com.cqrs.patroncqrs.infrastructure.shard.Shards;
+import com.cqrs.patroncqrs.query.dto.CatalogoDTO;
+import com.cqrs.patroncqrs.query.dto.CategoriaCatalogoDTO;
+import com.cqrs.patroncqrs.query.dto.ProductoDTO;
+import com.cqrs.patroncqrs.query.mapper.CategoriaQueryMapper;
+import com.cqrs.patroncqrs.query.mapper.ProductoQueryMapper;
+import com.cqrs.patroncqrs.query.service.CatalogoQueryService;
+import com.cqrs.patroncqrs.repository.CategoriaRepository;
+import com.cqrs.patroncqrs.repository.ProductoRepository;
+import com.cqrs.patroncqrs.repository.SecuenciaCambioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.util.*;
+
+/**
+ * Arma el catálogo con una cantidad fija de consultas sin importar cuántas categorías haya:
+ * la marca de agua, las categorías activas, los conteos agrupados y (opcionalmente) una página
+ * de productos por categoría con ROW_NUMBER. Todo dentro de una transacción REPEATABLE READ
+ * para que las partes salgan de la misma foto de la base.
+ * Con shards cada uno arma su parte (sus categorías tienen todos sus productos) en su propia transacción
+ * REPEATABLE READ y se juntan por nombre; la marca de agua es la suma de las secuencias de todos. Cada parte
+ * es coherente en sí misma, pero las de shards distintos pueden ser de momentos apenas distintos.
+ */
+@Service
+@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+@ConsultaAgrupada
+public class CatalogoQueryServiceImpl implements CatalogoQueryService {
+
+    // Con shards, el aislamiento de cada parte: el de la anotación solo rige la transacción de quien llama
+    private static final TransactionDefinition FOTO = foto();
+
+    private final CategoriaRepository categoriaRepository;
+    private final ProductoRepository productoRepository;
+    private final SecuenciaCambioRepository secuenciaCambioRepository;
+    private final CategoriaQueryMapper categoriaMapper;
+    private final ProductoQueryMapper productoMapper;
+    private final Shards shards;
+
+    @Autowired
+    public CatalogoQueryServiceImpl(CategoriaRepository categoriaRepository,
+                                    ProductoRepository productoRepository,
+                                    SecuenciaCambioRepository secuenciaCambioRepository,
+                                    CategoriaQueryMapper categoriaMapper,
+                                    ProductoQueryMapper productoMapper,
+                                    Shards shards) {
+        this.categoriaRepository = categoriaRepository;
+        this.productoRepository = productoRepository;
+        this.secuenciaCambioRepository = secuenciaCambioRepository;
+        this.categoriaMapper = categoriaMapper;
+        this.productoMapper = productoMapper;
+        this.shards = shards;
+    }
+
+    @Override
+    public CatalogoDTO obtenerCatalogo(int paginaProductos, int productosPorCategoria) {
+        List<CatalogoDTO> partes = shards.reunir(() -> List.of(armarCatalogo(paginaProductos, productosPorCategoria)), FOTO);
+        if (partes.size() == 1) {
+            return partes.get(0);
+        }
+
+        long secuenciaCambio = 0;
+        List<CategoriaCatalogoDTO> categorias = new ArrayList<>();
+        for (CatalogoDTO parte : partes) {
+            secuenciaCambio += parte.getSecuenciaCambio();
+            categorias.addAll(parte.getCategorias());
+        }
+        categorias.sort(Comparator.comparing(CategoriaCatalogoDTO::getNombre, String.CASE_INSENSITIVE_ORDER));
+        return new CatalogoDTO(categorias, secuenciaCambio);
+    }
+
+    private static TransactionDefinition foto() {
+        DefaultTransactionDefinition definicion = new DefaultTransactionDefinition();
+        definicion.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return definicion;
+    }
+
+    private CatalogoDTO armarCatalogo(int paginaProductos, int productosPorCategoria) {
+        Long secuenciaCambio = secuenciaCambioRepository.findValor(SecuenciaCambio.CATALOGO).orElse(0L);
+
+        Map<Long, CategoriaCatalogoDTO> porId = new LinkedHashMap<>();
+        for (Categoria categoria : categoriaRepository.findAllActive()) {
+            CategoriaCatalogoDTO dto = categoriaMapper.toCatalogoDTO(categoria);
+            dto.setCantidadProductos(0);
+            dto.setProductos(new ArrayList<>());
+            dto.setHayMasProductos(false);
+            porId.put(categoria.getId(), dto);
+        }
+
+        for (Object[] fila : productoRepository.countActivosAgrupadosPorCategoria()) {
+            CategoriaCatalogoDTO dto = porId.get((Long) fila[0]);
+            if (dto != null) {
+                dto.setCantidadProductos(((Long) fila[1]).intValue());
+            }
+        }
+
+        if (productosPorCategoria > 0) {
+            int inicio = paginaProductos * productosPorCategoria;
+            // Las categorías ya están en el contexto de persistencia: mapear no dispara más consultas
+            for (Producto producto : productoRepository.findPaginaPorCategoria(inicio, inicio + productosPorCategoria)) {
+                CategoriaCatalogoDTO dto = porId.get(producto.getCategoria().getId());
+                if (dto != null) {
+                    ProductoDTO productoDTO = productoMapper.toDTOWithExtraInfo(producto);
+                    dto.getProductos().add(productoDTO);
+                }
+            }
+            for (CategoriaCatalogoDTO dto : porId.values()) {
+                dto.setHayMasProductos(dto.getCantidadProductos() > inicio + productosPorCategoria);
+            }
+        }
+
+        return new CatalogoDTO(new ArrayList<>(porId.values()), secuenciaCambio);
+    }
+}
@@ -0,0 +1,89 @@
+package com.cqrs.patroncqrs.query.service.impl;
+
+import com.cqrs.patroncqrs.query.dto.CategoriaDTO;
+import com.cqrs.patroncqrs.query.service.CategoriaQueryReactivoService;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class CategoriaQueryReactivoServiceImpl implements CategoriaQueryReactivoService {
+
+    private static final String SELECT_CATEGORIA =
+            "SELECT c.id, c.nombre, c.descripcion, c.eliminado, c.secuencia_cambio FROM categorias c ";
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public CategoriaQueryReactivoServiceImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Flux<CategoriaDTO> obtenerTodasLasCategorias() {
+        return databaseClient.sql(SELECT_CATEGORIA + "WHERE c.eliminado = false ORDER BY c.nombre")
+                .map(CategoriaQueryReactivoServiceImpl::toDTO)
+                .all();
+    }
+
+    @Override
+    public Mono<CategoriaDTO> obtenerCategoriaPorId(Long id) {
+        return databaseClient.sql(SELECT_CATEGORIA + "WHERE c.id = :id")
+                .bind("id", id)
+                .map(CategoriaQueryReactivoServiceImpl::toDTO)
+                .one();
+    }
+
+    @Override
+    public Flux<CategoriaDTO> buscarCategoriasPorNombre(String nombre) {
+        return databaseClient.sql(SELECT_CATEGORIA + "WHERE c.eliminado = false AND LOWER(c.nombre) LIKE LOWER(CONCAT('%', :nombre, '%'))")
+                .bind("nombre", nombre)
+                .map(CategoriaQueryReactivoServiceImpl::toDTO)
+                .all();
+    }
+
+    @Override
+    public Flux<CategoriaDTO> obtenerCategoriasConConteoProductos() {
+        // El conteo agrupado va en la misma sentencia
+        return databaseClient.sql(
+                        "SELECT c.id, c.nombre, c.descripcion, c.eliminado, c.secuencia_cambio, COUNT(p.id) AS cantidad " +
+                        "FROM categorias c LEFT JOIN productos p ON p.categoria_id = c.id AND p.eliminado = false " +
+                        "WHERE c.eliminado = false " +
+                        "GROUP BY c.id, c.nombre, c.descripcion, c.eliminado, c.secuencia_cambio ORDER BY c.nombre")
+                .map(fila -> {
+                    CategoriaDTO dto = toDTO(fila);
+                    dto.setCantidadProductos(fila.get("cantidad", Long.class).intValue());
+                    return dto;
+                })
+                .all();
+    }
+
+    @Override
+    public Flux<CategoriaDTO> obtenerCategoriasEliminadas() {
+        // Eliminadas recientes (tabla principal) y después las ya archivadas
+        Flux<CategoriaDTO> recientes = databaseClient.sql(SELECT_CATEGORIA + "WHERE c.eliminado = true")
+                .map(CategoriaQueryReactivoServiceImpl::toDTO)
+                .all();
+        Flux<CategoriaDTO> archivadas = databaseClient.sql(
+                        "SELECT c.id, c.nombre, c.descripcion, true AS eliminado, c.secuencia_cambio " +
+                        "FROM categorias_archivadas c ORDER BY c.nombre")
+                .map(CategoriaQueryReactivoServiceImpl::toDTO)
+                .all();
+        return recientes.concatWith(archivadas);
+    }
+
+    private static CategoriaDTO toDTO(Readable fila) {
+        CategoriaDTO dto = new CategoriaDTO();
+        dto.setId(fila.get("id", Long.class));
+        dto.setNombre(fila.get("nombre", String.class));
+        dto.setDescripcion(fila.get("descripcion", String.class));
+        dto.setEliminado(fila.get("eliminado", Boolean.class));
+        dto.setSecuenciaCambio(fila.get("secuencia_cambio", Long.class));
+        return dto;
+    }
+}
@@ -0,0 +1,162 @@
+package com.cqrs.patroncqrs.query.service.impl;
+
+import com.cqrs.patroncqrs.infrastructure.coalescing.ConsultaAgrupada;
+import com.cqrs.patroncqrs.domain.entity.Categoria;
+import com.cqrs.patroncqrs.domain.entity.CategoriaArchivada;
+import com.cqrs.patroncqrs.domain.exception.CodigoError;
+import com.cqrs.patroncqrs.domain.exception.ConflictoDominioException;
+import com.cqrs.patroncqrs.infrastructure.shard.Shards;
+import com.cqrs.patroncqrs.query.dto.CambiosDesdeDTO;
+import com.cqrs.patroncqrs.query.dto.CategoriaDTO;
+import com.cqrs.patroncqrs.query.dto.LoteDTO;
+import com.cqrs.patroncqrs.query.mapper.CategoriaQueryMapper;
+import com.cqrs.patroncqrs.query.service.CategoriaQueryService;
+import com.cqrs.patroncqrs.query.sync.CambiosDesdeBuilder;
+import com.cqrs.patroncqrs.repository.CategoriaArchivadaRepository;
+import com.cqrs.patroncqrs.repository.CategoriaRepository;
+import com.cqrs.patroncqrs.repository.ProductoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Consultas de categorías. Cada categoría vive en un shard con todos sus productos, así que los
+ * conteos se calculan dentro de cada shard y los listados de todos se juntan por nombre.
+ */
+@Service
+@Transactional(readOnly = true)
+@ConsultaAgrupada
+public class CategoriaQueryServiceImpl implements CategoriaQueryService {
+
+    private static final Comparator<CategoriaDTO> POR_NOMBRE =
+            Comparator.comparing(CategoriaDTO::getNombre, String.CASE_INSENSITIVE_ORDER);
+
+    private final CategoriaRepository categoriaRepository;
+    private final ProductoRepository productoRepository;
+    private final CategoriaArchivadaRepository categoriaArchivadaRepository;
+    private final CategoriaQueryMapper mapper;
+    private final Shards shards;
+
+    @Autowired
+    public CategoriaQueryServiceImpl(CategoriaRepository categoriaRepository,
+                                     ProductoRepository productoRepository,
+                                     CategoriaArchivadaRepository categoriaArchivadaRepository,
+                                     CategoriaQueryMapper mapper,
+                                     Shards shards) {
+        this.categoriaRepository = categoriaRepository;
+        this.productoRepository = productoRepository;
+        this.categoriaArchivadaRepository = categoriaArchivadaRepository;
+        this.mapper = mapper;
+        this.shards = shards;
+    }
+
+    @Override
+    public List<CategoriaDTO> obtenerTodasLasCategorias() {
+        return shards.reunir(() -> mapper.toDTOList(categoriaRepository.findAllActive()), POR_NOMBRE);
+    }
+
+    @Override
+    public Optional<CategoriaDTO> obtenerCategoriaPorId(Long id) {
+        return shards.leerDe(id, () -> categoriaRepository.findById(id)
+                .map(mapper::toDTO));
+    }
+
+    @Override
+    public List<CategoriaDTO> buscarCategoriasPorNombre(String nombre) {
+        return shards.reunir(() -> mapper.toDTOList(categoriaRepository.findByNombreContainingIgnoreCase(nombre)));
+    }
+
+    @Override
+    public List<CategoriaDTO> obtenerCategoriasConConteoProductos() {
+        return shards.reunir(this::categoriasConConteoProductos, POR_NOMBRE);
+    }
+
+    private List<CategoriaDTO> categoriasConConteoProductos() {
+        // Un único conteo agrupado en lugar de una consulta por categoría
+        Map<Long, Long> conteos = new HashMap<>();
+        for (Object[] fila : productoRepository.countActivosAgrupadosPorCategoria()) {
+            conteos.put((Long) fila[0], (Long) fila[1]);
+        }
+
+        return categoriaRepository.findAllActive().stream()
+                .map(categoria -> {
+                    CategoriaDTO dto = mapper.toDTO(categoria);
+                    dto.setCantidadProductos(conteos.getOrDefault(categoria.getId(), 0L).intValue());
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<CategoriaDTO> obtenerCategoriasEliminadas() {
+        // Eliminadas recientes (tabla principal) más las ya archivadas
+        return shards.reunir(() -> {
+            List<CategoriaDTO> eliminadas = new ArrayList<>(mapper.toDTOList(categoriaRepository.findAllDeleted()));
+            eliminadas.addAll(mapper.toDTOListArchivadas(categoriaArchivadaRepository.findAllOrdenadas()));
+            return eliminadas;
+        });
+    }
+
+    @Override
+    public LoteDTO<CategoriaDTO> obtenerCategoriasPorIds(List<Long> ids) {
+        // Una sola consulta para todos los IDs; la respuesta respeta el orden pedido
+        Set<Long> pedidos = new LinkedHashSet<>();
+        ids.stream().filter(Objects::nonNull).forEach(pedidos::add);
+
+        // Sin IDs no hace falta consultar ningún shard
+        if (pedidos.isEmpty()) {
+            return new LoteDTO<>(List.of(), List.of());
+        }
+
+        Map<Long, CategoriaDTO> porId = new HashMap<>();
+        for (CategoriaDTO categoria : shards.reunir(() -> mapper.toDTOList(categoriaRepository.findAllByIdEnCache(pedidos)))) {
+            porId.put(categoria.getId(), categoria);
+        }
+
+        List<CategoriaDTO> encontrados = new ArrayList<>(porId.size());
+        List<Long> faltantes = new ArrayList<>();
+        for (Long id : pedidos) {
+            CategoriaDTO categoria = porId.get(id);
+            if (categoria == null) {
+                faltantes.add(id);
+            } else {
+                encontrados.add(categoria);
+            }
+        }
+        return new LoteDTO<>(encontrados, faltantes);
+    }
+
+    @Override
+    public CambiosDesdeDTO<CategoriaDTO> obtenerCambiosDesde(Long desde, Long desdeId, int limite) {
+        // Cada shard numera sus cambios por separado: no hay un único orden para paginar
+        if (shards.cantidad() > 1) {
+            throw new ConflictoDominioException(CodigoError.NO_DISPONIBLE_CON_SHARDS, "sincronización por cambios");
+        }
+        // Se pide un registro de más a cada tabla para saber si quedan cambios pendientes
+        Limit lote = Limit.of(limite + 1);
+        CambiosDesdeBuilder<CategoriaDTO> cambios = new CambiosDesdeBuilder<>();
+
+        for (Categoria categoria : categoriaRepository.findCambiosDesde(desde, desdeId, lote)) {
+            if (categoria.getEliminado()) {
+                cambios.eliminado(categoria.getSecuenciaCambio(), categoria.getId());
+            } else {
+                cambios.modificado(categoria.getSecuenciaCambio(), categoria.getId(), mapper.toDTO(categoria));
+            }
+        }
+        for (CategoriaArchivada archivada : categoriaArchivadaRepository.findCambiosDesde(desde, desdeId, lote)) {
+            cambios.eliminado(archivada.getSecuenciaCambio(), archivada.getId());
+        }
+        return cambios.build(desde, desdeId, limite);
+    }
+
+    // Funcion adicional usando mapper con estado
+    public List<CategoriaDTO> obtenerCategoriasConEstado() {
+        return shards.reunir(() -> categoriaRepository.findAllActive().stream()
+                .map(categoria -> mapper.toDTOWithStatus(categoria))
+                .collect(Collectors.toList()), POR_NOMBRE);
+    }
+}
@@ -0,0 +1,66 @@
+package com.cqrs.patroncqrs.query.service.impl;
+
+import com.cqrs.patroncqrs.domain.entity.Importacion;
+import com.cqrs.patroncqrs.query.dto.ImportacionDTO;
+import com.cqrs.patroncqrs.query.dto.RechazoImportacionDTO;
+import com.cqrs.patroncqrs.query.service.ImportacionQueryService;
+import com.cqrs.patroncqrs.repository.ImportacionRechazoRepository;
+import com.cqrs.patroncqrs.repository.ImportacionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Transactional(readOnly = true)
+public class ImportacionQueryServiceImpl implements ImportacionQueryService {
+
+    private final ImportacionRepository importacionRepository;
+    private final ImportacionRechazoRepository rechazoRepository;
+
+    @Autowired
+    public ImportacionQueryServiceImpl(ImportacionRepository importacionRepository,
+                                       ImportacionRechazoRepository rechazoRepository) {
+        this.importacionRepository = importacionRepository;
+        this.rechazoRepository = rechazoRepository;
+    }
+
+    @Override
+    public Optional<ImportacionDTO> obtenerImportacion(Long id) {
+        return importacionRepository.findById(id).map(this::toDTO);
+    }
+
+    @Override
+    public Optional<List<RechazoImportacionDTO>> obtenerRechazos(Long id, long desde, int limite) {
+        if (!importacionRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        return Optional.of(rechazoRepository
+                .findByImportacionIdAndRegistroGreaterThanOrderByRegistro(id, desde, Limit.of(limite)).stream()
+                .map(rechazo -> new RechazoImportacionDTO(rechazo.getRegistro(), rechazo.getMotivo(), rechazo.getContenido()))
+                .toList());
+    }
+
+    private ImportacionDTO toDTO(Importacion importacion) {
+        return new ImportacionDTO(importacion.getId(), importacion.getArchivo(), importacion.getFormato(),
+                importacion.getEstado(), importacion.getRegistrosProcesados(), importacion.getImportados(),
+                importacion.getRechazados(), registrosPorSegundo(importacion), importacion.getFechaCreacion(),
+                importacion.getFechaActualizacion(), importacion.getError());
+    }
+
+    private static Double registrosPorSegundo(Importacion importacion) {
+        if (importacion.getFechaInicioEjecucion() == null) {
+            return null;
+        }
+        LocalDateTime fin = importacion.getEstado() == Importacion.Estado.EN_CURSO || importacion.getFechaActualizacion() == null
+                ? LocalDateTime.now() : importacion.getFechaActualizacion();
+        long milisegundos = Duration.between(importacion.getFechaInicioEjecucion(), fin).toMillis();
+        long registros = importacion.getRegistrosProcesados() - importacion.getProcesadosAlIniciar();
+        return milisegundos > 0 ? registros * 1000.0 / milisegundos : null;
+    }
+}
@@ -0,0 +1,110 @@
+package com.cqrs.patroncqrs.query.service.impl;
+
+import com.cqrs.patroncqrs.query.dto.ProductoDTO;
+import com.cqrs.patroncqrs.query.service.ProductoQueryReactivoService;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * SQL directo con DatabaseClient: una fila por producto con los datos de su categoría, sin
+ * entidades ni contexto de persistencia. Sin transacción: cada lectura es una sola sentencia.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ProductoQueryReactivoServiceImpl implements ProductoQueryReactivoService {
+
+    private static final String SELECT_PRODUCTO =
+            "SELECT p.id, p.nombre, p.descripcion, p.precio, p.stock, p.eliminado, p.secuencia_cambio, " +
+            "c.id AS categoria_id, c.nombre AS categoria_nombre " +
+            "FROM productos p LEFT JOIN categorias c ON c.id = p.categoria_id ";
+
+    private static final String VISIBLE = "p.eliminado = false AND c.eliminado = false";
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ProductoQueryReactivoServiceImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Flux<ProductoDTO> obtenerTodosLosProductos() {
+        return databaseClient.sql(SELECT_PRODUCTO + "WHERE " + VISIBLE)
+                .map(ProductoQueryReactivoServiceImpl::toDTO)
+                .all();
+    }
+
+    @Override
+    public Mono<ProductoDTO> obtenerProductoPorId(Long id) {
+        return databaseClient.sql(SELECT_PRODUCTO + "WHERE p.id = :id AND " + VISIBLE)
+                .bind("id", id)
+                .map(ProductoQueryReactivoServiceImpl::toDTO)
+                .one();
+    }
+
+    @Override
+    public Flux<ProductoDTO> buscarProductosPorNombre(String nombre) {
+        return databaseClient.sql(SELECT_PRODUCTO + "WHERE p.eliminado = false AND LOWER(p.nombre) LIKE LOWER(CONCAT('%', :nombre, '%'))")
+                .bind("nombre", nombre)
+                .map(ProductoQueryReactivoServiceImpl::toDTO)
+                .all();
+    }
+
+    @Override
+    public Flux<ProductoDTO> obtenerProductosPorCategoria(Long categoriaId) {
+        return databaseClient.sql(SELECT_PRODUCTO + "WHERE p.categoria_id = :categoriaId AND " + VISIBLE)
+                .bind("categoriaId", categoriaId)
+                .map(ProductoQueryReactivoServiceImpl::toDTO)
+                .all();
+    }
+
+    @Override
+    public Flux<ProductoDTO> obtenerProductosPorRangoPrecio(Double precioMin, Double precioMax) {
+        return databaseClient.sql(SELECT_PRODUCTO + "WHERE p.eliminado = false AND p.precio BETWEEN :precioMin AND :precioMax")
+                .bind("precioMin", precioMin)
+                .bind("precioMax", precioMax)
+                .map(ProductoQueryReactivoServiceImpl::toDTO)
+                .all();
+    }
+
+    @Override
+    public Flux<ProductoDTO> obtenerProductosEnStock(Integer stockMinimo) {
+        return databaseClient.sql(SELECT_PRODUCTO + "WHERE p.eliminado = false AND p.stock > :stock")
+                .bind("stock", stockMinimo)
+                .map(ProductoQueryReactivoServiceImpl::toDTO)
+                .all();
+    }
+
+    @Override
+    public Flux<ProductoDTO> obtenerProductosEliminados() {
+        // Eliminados recientes (tabla principal) y después los ya archivados, como en la pila bloqueante
+        Flux<ProductoDTO> recientes = databaseClient.sql(SELECT_PRODUCTO + "WHERE p.eliminado = true")
+                .map(ProductoQueryReactivoServiceImpl::toDTO)
+                .all();
+        Flux<ProductoDTO> archivados = databaseClient.sql(
+                        "SELECT id, nombre, descripcion, precio, stock, true AS eliminado, secuencia_cambio, " +
+                        "categoria_id, categoria_nombre FROM productos_archivados ORDER BY nombre")
+                .map(ProductoQueryReactivoServiceImpl::toDTO)
+                .all();
+        return recientes.concatWith(archivados);
+    }
+
+    private static ProductoDTO toDTO(Readable fila) {
+        ProductoDTO dto = new ProductoDTO();
+        dto.setId(fila.get("id", Long.class));
+        dto.setNombre(fila.get("nombre", String.class));
+        dto.setDescripcion(fila.get("descripcion", String.class));
+        dto.setPrecio(fila.get("precio", Double.class));
+        dto.setStock(fila.get("stock", Integer.class));
+        dto.setEliminado(fila.get("eliminado", Boolean.class));
+        dto.setSecuenciaCambio(fila.get("secuencia_cambio", Long.class));
+        dto.setCategoriaId(fila.get("categoria_id", Long.class));
+        dto.setCategoriaNombre(fila.get("categoria_nombre", String.class));
+        return dto;
+    }
+}
@@ -0,0 +1,157 @@
+package com.cqrs.patroncqrs.query.service.impl;
+
+import com.cqrs.patroncqrs.infrastructure.coalescing.ConsultaAgrupada;
+import com.cqrs.patroncqrs.domain.entity.Producto;
+import com.cqrs.patroncqrs.domain.entity.ProductoArchivado;
+import com.cqrs.patroncqrs.domain.exception.CodigoError;
+import com.cqrs.patroncqrs.domain.exception.ConflictoDominioException;
+import com.cqrs.patroncqrs.infrastructure.shard.Shards;
+import com.cqrs.patroncqrs.query.dto.CambiosDesdeDTO;
+import com.cqrs.patroncqrs.query.dto.ProductoDTO;
+import com.cqrs.patroncqrs.query.dto.LoteDTO;
+import com.cqrs.patroncqrs.query.mapper.ProductoQueryMapper;
+import com.cqrs.patroncqrs.query.service.ProductoQueryService;
+import com.cqrs.patroncqrs.query.sync.CambiosDesdeBuilder;
+import com.cqrs.patroncqrs.repository.ProductoArchivadoRepository;
+import com.cqrs.patroncqrs.repository.ProductoRepository;
+import org.springframework.beans.factory.annotation.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Consultas de productos. Lo que se pide por ID o por categoría va al shard que la guarda; lo demás
+ * se consulta en todos los shards y se junta. Los DTOs se arman dentro de cada consulta, mientras la
+ * categoría del producto todavía se puede cargar.
+ */
+@Service
+@Transactional(readOnly = true)
+@ConsultaAgrupada
+public class ProductoQueryServiceImpl implements ProductoQueryService {
+
+    private final ProductoRepository productoRepository;
+    private final ProductoArchivadoRepository productoArchivadoRepository;
+    private final ProductoQueryMapper mapper;
+    private final Shards shards;
+
+    @Autowired
+    public ProductoQueryServiceImpl(ProductoRepository productoRepository,
+                                    ProductoArchivadoRepository productoArchivadoRepository,
+                                    ProductoQueryMapper mapper,
+                                    Shards shards) {
+        this.productoRepository = productoRepository;
+        this.productoArchivadoRepository = productoArchivadoRepository;
+        this.mapper = mapper;
+        this.shards = shards;
+    }
+
+    @Override
+    public List<ProductoDTO> obtenerTodosLosProductos() {
+        return shards.reunir(() -> mapper.toDTOList(productoRepository.findAllWithCategoria()));
+    }
+
+    @Override
+    public Optional<ProductoDTO> obtenerProductoPorId(Long id) {
+        return shards.leerDe(id, () -> productoRepository.findByIdWithCategoria(id)
+                .map(mapper::toDTO));
+    }
+
+    @Override
+    public List<ProductoDTO> buscarProductosPorNombre(String nombre) {
+        return shards.reunir(() -> mapper.toDTOList(productoRepository.findByNombreContainingIgnoreCase(nombre)));
+    }
+
+    @Override
+    public List<ProductoDTO> obtenerProductosPorCategoria(Long categoriaId) {
+        return shards.leerDe(categoriaId, () -> mapper.toDTOList(productoRepository.findByCategoriaId(categoriaId)));
+    }
+
+    @Override
+    public List<ProductoDTO> obtenerProductosPorRangoPrecio(Double precioMin, Double precioMax) {
+        return shards.reunir(() -> mapper.toDTOList(productoRepository.findByPrecioBetween(precioMin, precioMax)));
+    }
+
+    @Override
+    public List<ProductoDTO> obtenerProductosEnStock(Integer stockMinimo) {
+        return shards.reunir(() -> mapper.toDTOList(productoRepository.findByStockGreaterThan(stockMinimo)));
+    }
+
+    @Override
+    public List<ProductoDTO> obtenerProductosEliminados() {
+        // Eliminados recientes (tabla principal) más los ya archivados
+        return shards.reunir(() -> {
+            List<ProductoDTO> eliminados = new ArrayList<>(mapper.toDTOList(productoRepository.findAllDeleted()));
+            eliminados.addAll(mapper.toDTOListArchivados(productoArchivadoRepository.findAllOrdenados()));
+            return eliminados;
+        });
+    }
+
+    @Override
+    public LoteDTO<ProductoDTO> obtenerProductosPorIds(List<Long> ids) {
+        // Una sola consulta para todos los IDs; la respuesta respeta el orden pedido
+        Set<Long> pedidos = new LinkedHashSet<>();
+        ids.stream().filter(Objects::nonNull).forEach(pedidos::add);
+
+        // Sin IDs no hace falta consultar ningún shard
+        if (pedidos.isEmpty()) {
+            return new LoteDTO<>(List.of(), List.of());
+        }
+
+        Map<Long, ProductoDTO> porId = new HashMap<>();
+        for (ProductoDTO producto : shards.reunir(() -> mapper.toDTOList(productoRepository.findAllByIdInWithCategoria(pedidos)))) {
+            porId.put(producto.getId(), producto);
+        }
+
+        List<ProductoDTO> encontrados = new ArrayList<>(porId.size());
+        List<Long> faltantes = new ArrayList<>();
+        for (Long id : pedidos) {
+            ProductoDTO producto = porId.get(id);
+            if (producto == null) {
+                faltantes.add(id);
+            } else {
+                encontrados.add(producto);
+            }
+        }
+        return new LoteDTO<>(encontrados, faltantes);
+    }
+
+    @Override
+    public CambiosDesdeDTO<ProductoDTO> obtenerCambiosDesde(Long desde, Long desdeId, int limite) {
+        // Cada shard numera sus cambios por separado: no hay un único orden para paginar
+        if (shards.cantidad() > 1) {
+            throw new ConflictoDominioException(CodigoError.NO_DISPONIBLE_CON_SHARDS, "sincronización por cambios");
+        }
+        // Se pide un registro de más a cada tabla para saber si quedan cambios pendientes
+        Limit lote = Limit.of(limite + 1);
+        CambiosDesdeBuilder<ProductoDTO> cambios = new CambiosDesdeBuilder<>();
+
+        for (Producto producto : productoRepository.findCambiosDesde(desde, desdeId, lote)) {
+            // Un producto de una categoría eliminada tampoco es visible para los clientes
+            boolean visible = !producto.getEliminado()
+                    && producto.getCategoria() != null && !producto.getCategoria().getEliminado();
+            if (visible) {
+                cambios.modificado(producto.getSecuenciaCambio(), producto.getId(), mapper.toDTO(producto));
+            } else {
+                cambios.eliminado(producto.getSecuenciaCambio(), producto.getId());
+            }
+        }
+        for (ProductoArchivado archivado : productoArchivadoRepository.findCambiosDesde(desde, desdeId, lote)) {
+            cambios.eliminado(archivado.getSecuenciaCambio(), archivado.getId());
+        }
+        return cambios.build(desde, desdeId, limite);
+    }
+
+    public List<ProductoDTO> obtenerProductosConEstadoStock() {
+        return shards.reunir(() -> productoRepository.findAllWithCategoria().stream()
+                .map(mapper::toDTOWithExtraInfo)
+                .toList());
+    }
+
+    public List<ProductoDTO> obtenerProductosConPrecioFormateado() {
+        return shards.reunir(() -> productoRepository.findAllWithCategoria().stream()
+                .map(mapper::toDTOWithFormattedPrice)
+                .toList());
+    }
+}
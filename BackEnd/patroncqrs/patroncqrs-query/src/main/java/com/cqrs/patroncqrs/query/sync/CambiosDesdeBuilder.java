@@ -0,0 +1,49 @@
+package com.cqrs.patroncqrs.query.sync;
+
+import com.cqrs.patroncqrs.query.dto.CambiosDesdeDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Combina los cambios de la tabla principal y del archivo, ordenados por (secuencia, id),
+ * y arma la página de sincronización con su nueva marca de agua.
+ */
+public class CambiosDesdeBuilder<T> {
+
+    private record Fila<T>(long secuencia, long id, T datos) {
+    }
+
+    private final List<Fila<T>> filas = new ArrayList<>();
+
+    public CambiosDesdeBuilder<T> modificado(Long secuencia, Long id, T datos) {
+        filas.add(new Fila<>(secuencia, id, datos));
+        return this;
+    }
+
+    public CambiosDesdeBuilder<T> eliminado(Long secuencia, Long id) {
+        filas.add(new Fila<>(secuencia, id, null));
+        return this;
+    }
+
+    public CambiosDesdeDTO<T> build(Long desde, Long desdeId, int limite) {
+        filas.sort(Comparator.<Fila<T>>comparingLong(Fila::secuencia).thenComparingLong(Fila::id));
+
+        List<T> modificados = new ArrayList<>();
+        List<Long> eliminados = new ArrayList<>();
+        Long marcaAgua = desde;
+        Long marcaAguaId = desdeId;
+
+        for (Fila<T> fila : filas.subList(0, Math.min(limite, filas.size()))) {
+            if (fila.datos() != null) {
+                modificados.add(fila.datos());
+            } else {
+                eliminados.add(fila.id());
+            }
+            marcaAgua = fila.secuencia();
+            marcaAguaId = fila.id();
+        }
+        return new CambiosDesdeDTO<>(modificados, eliminados, marcaAgua, marcaAguaId, filas.size() > limite);
+    }
+}
@@ -0,0 +1,194 @@
+package com.cqrs.patroncqrs.query.sync;
+
+import com.cqrs.patroncqrs.domain.entity.Categoria;
+import com.cqrs.patroncqrs.domain.entity.Producto;
+import com.cqrs.patroncqrs.domain.entity.SecuenciaCambio;
+import com.cqrs.patroncqrs.domain.event.CambioCatalogoEvent;
+import com.cqrs.patroncqrs.domain.event.LineaBaseCatalogoEvent;
+import com.cqrs.patroncqrs.infrastructure.shard.Shards;
+import com.cqrs.patroncqrs.repository.CategoriaArchivadaRepository;
+import com.cqrs.patroncqrs.repository.CategoriaRepository;
+import com.cqrs.patroncqrs.repository.ProductoArchivadoRepository;
+import com.cqrs.patroncqrs.repository.ProductoRepository;
+import com.cqrs.patroncqrs.repository.SecuenciaCambioRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trae al servicio de consultas los cambios que confirma el servicio de comandos, que corre en otro proceso.
+ * Sondea la secuencia de cambios del catálogo y, si avanzó, publica un {@link CambioCatalogoEvent} local por
+ * cada registro modificado (o una recarga si son demasiados) y saca de la cache de segundo nivel las
+ * categorías afectadas. Las secuencias se confirman en orden, así que alcanza con recordar la última vista
+ * (una por shard: cada uno numera sus cambios por separado). Cuando todos los shards tienen su primera
+ * lectura publica un {@link LineaBaseCatalogoEvent}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cambios.sondeo.habilitado", havingValue = "true", matchIfMissing = true)
+public class SondeoCambiosCatalogo {
+
+    private static final Logger log = LoggerFactory.getLogger(SondeoCambiosCatalogo.class);
+
+    private record Cambio(long secuencia, long id, CambioCatalogoEvent evento) {
+    }
+
+    // Secuencia leída de un shard y los cambios hasta ella
+    private record Lectura(long secuencia, List<CambioCatalogoEvent> eventos) {
+    }
+
+    private final SecuenciaCambioRepository secuenciaCambioRepository;
+    private final ProductoRepository productoRepository;
+    private final ProductoArchivadoRepository productoArchivadoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final CategoriaArchivadaRepository categoriaArchivadaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate lectura;
+    private final Shards shards;
+    private final int maximoDetallados;
+
+    // Solo se modifica desde el hilo del sondeo; sin valor para un shard hasta su primera lectura
+    private final Map<Integer, Long> ultimasSecuencias = new HashMap<>();
+    private boolean lineaBasePublicada;
+    private volatile long secuenciaVista = -1;
+
+    @Autowired
+    public SondeoCambiosCatalogo(SecuenciaCambioRepository secuenciaCambioRepository,
+                                 ProductoRepository productoRepository,
+                                 ProductoArchivadoRepository productoArchivadoRepository,
+                                 CategoriaRepository categoriaRepository,
+                                 CategoriaArchivadaRepository categoriaArchivadaRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 EntityManagerFactory entityManagerFactory,
+                                 PlatformTransactionManager transactionManager,
+                                 Shards shards,
+                                 @Value("${app.cambios.sondeo.maximo-detallados:500}") int maximoDetallados) {
+        this.secuenciaCambioRepository = secuenciaCambioRepository;
+        this.productoRepository = productoRepository;
+        this.productoArchivadoRepository = productoArchivadoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.categoriaArchivadaRepository = categoriaArchivadaRepository;
+        this.eventPublisher = eventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.shards = shards;
+        this.maximoDetallados = maximoDetallados;
+    }
+
+    @Scheduled(fixedDelayString = "${app.cambios.sondeo.intervalo-ms:500}")
+    public void sondear() {
+        List<CambioCatalogoEvent> eventos = new ArrayList<>();
+        for (int shard = 0; shard < shards.cantidad(); shard++) {
+            int leido = shard;
+            try {
+                Lectura leida = shards.ejecutarEn(shard, () -> lectura.execute(status -> leerCambios(leido)));
+                // Solo se avanza cuando se leyó todo: si algo falla, el próximo sondeo lee desde la misma secuencia
+                ultimasSecuencias.put(leido, leida.secuencia());
+                eventos.addAll(leida.eventos());
+            } catch (RuntimeException e) {
+                log.warn("No se pudieron leer los cambios del catálogo (shard {}); se reintenta en el próximo sondeo", leido, e);
+            }
+        }
+
+        // Si un shard pide recargar, los cambios detallados de los demás sobran
+        if (eventos.stream().anyMatch(evento -> evento.getOperacion() == CambioCatalogoEvent.Operacion.RECARGAR)) {
+            eventos = List.of(new CambioCatalogoEvent(CambioCatalogoEvent.Entidad.PRODUCTO, CambioCatalogoEvent.Operacion.RECARGAR, null));
+        }
+        eventos.forEach(eventPublisher::publishEvent);
+
+        if (ultimasSecuencias.size() == shards.cantidad()) {
+            // Después de publicar: quien lea esta secuencia ya no recibe los cambios anteriores a ella
+            secuenciaVista = ultimasSecuencias.values().stream().mapToLong(Long::longValue).sum();
+            if (!lineaBasePublicada) {
+                lineaBasePublicada = true;
+                eventPublisher.publishEvent(new LineaBaseCatalogoEvent(secuenciaVista));
+            }
+        }
+    }
+
+    /**
+     * Secuencia de cambios del catálogo (la suma de todos los shards) hasta la que ya se publicaron los
+     * cambios, o -1 antes de la primera lectura de todos.
+     */
+    public long getSecuenciaVista() {
+        return secuenciaVista;
+    }
+
+    private Lectura leerCambios(int shard) {
+        long actual = secuenciaCambioRepository.findValor(SecuenciaCambio.CATALOGO).orElse(0L);
+        Long ultimaSecuencia = ultimasSecuencias.get(shard);
+        if (ultimaSecuencia == null) {
+            // Al arrancar no se reenvía la historia: los clientes nuevos cargan las listas completas
+            return new Lectura(actual, List.of());
+        }
+        if (actual == ultimaSecuencia) {
+            return new Lectura(actual, List.of());
+        }
+
+        long desde = ultimaSecuencia;
+        if (actual < desde) {
+            return new Lectura(actual, recargar());
+        }
+
+        // Un registro de más por tabla para saber si hay que pasar a una recarga completa
+        Limit lote = Limit.of(maximoDetallados + 1);
+        List<Cambio> cambios = new ArrayList<>();
+        List<Producto> productos = productoRepository.findCambiosDesde(desde, Long.MAX_VALUE, lote);
+        List<Categoria> categorias = categoriaRepository.findCambiosDesde(desde, Long.MAX_VALUE, lote);
+        var productosArchivados = productoArchivadoRepository.findCambiosDesde(desde, Long.MAX_VALUE, lote);
+        var categoriasArchivadas = categoriaArchivadaRepository.findCambiosDesde(desde, Long.MAX_VALUE, lote);
+        if (productos.size() > maximoDetallados || categorias.size() > maximoDetallados
+                || productosArchivados.size() > maximoDetallados || categoriasArchivadas.size() > maximoDetallados) {
+            return new Lectura(actual, recargar());
+        }
+
+        for (Producto producto : productos) {
+            // Un producto de una categoría eliminada tampoco es visible para los clientes
+            boolean visible = !producto.getEliminado()
+                    && producto.getCategoria() != null && !producto.getCategoria().getEliminado();
+            cambios.add(cambio(producto.getSecuenciaCambio(), producto.getId(), CambioCatalogoEvent.Entidad.PRODUCTO,
+                    visible ? CambioCatalogoEvent.Operacion.UPSERT : CambioCatalogoEvent.Operacion.ELIMINACION));
+        }
+        for (Categoria categoria : categorias) {
+            entityManagerFactory.getCache().evict(Categoria.class, categoria.getId());
+            cambios.add(cambio(categoria.getSecuenciaCambio(), categoria.getId(), CambioCatalogoEvent.Entidad.CATEGORIA,
+                    categoria.getEliminado() ? CambioCatalogoEvent.Operacion.ELIMINACION : CambioCatalogoEvent.Operacion.UPSERT));
+        }
+        productosArchivados.forEach(archivado -> cambios.add(cambio(archivado.getSecuenciaCambio(), archivado.getId(),
+                CambioCatalogoEvent.Entidad.PRODUCTO, CambioCatalogoEvent.Operacion.ELIMINACION)));
+        categoriasArchivadas.forEach(archivada -> cambios.add(cambio(archivada.getSecuenciaCambio(), archivada.getId(),
+                CambioCatalogoEvent.Entidad.CATEGORIA, CambioCatalogoEvent.Operacion.ELIMINACION)));
+
+        // Lo confirmado después de leer la secuencia queda para el próximo sondeo
+        return new Lectura(actual, cambios.stream()
+                .filter(cambio -> cambio.secuencia() <= actual)
+                .sorted(Comparator.comparingLong(Cambio::secuencia).thenComparingLong(Cambio::id))
+                .map(Cambio::evento)
+                .toList());
+    }
+
+    private List<CambioCatalogoEvent> recargar() {
+        entityManagerFactory.getCache().evict(Categoria.class);
+        return List.of(new CambioCatalogoEvent(CambioCatalogoEvent.Entidad.PRODUCTO, CambioCatalogoEvent.Operacion.RECARGAR, null));
+    }
+
+    private static Cambio cambio(Long secuencia, Long id, CambioCatalogoEvent.Entidad entidad, CambioCatalogoEvent.Operacion operacion) {
+        return new Cambio(secuencia, id, new CambioCatalogoEvent(entidad, operacion, id));
+    }
+}
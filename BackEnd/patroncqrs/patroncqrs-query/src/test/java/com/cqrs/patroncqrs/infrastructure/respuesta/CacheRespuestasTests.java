@@ -0,0 +1,186 @@
+package com.cqrs.patroncqrs.infrastructure.respuesta;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Obsolescencia por clave (stale-while-revalidate) y negociación de gzip de la cache de respuestas.
+ */
+class CacheRespuestasTests {
+
+    private static final String CLAVE = "lista";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger consultas = new AtomicInteger();
+    private CacheRespuestas cache;
+
+    @AfterEach
+    void cerrar() {
+        if (cache != null) {
+            cache.cerrar();
+        }
+    }
+
+    @Test
+    void dentroDelPresupuestoSirveLaAnteriorMientrasCorreUnSoloRefresco() throws Exception {
+        cache = crear(new CacheRespuestas.Politica(60_000, 0));
+        CountDownLatch entro = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Supplier<Integer> consulta = () -> {
+            int numero = consultas.incrementAndGet();
+            if (numero == 2) {
+                entro.countDown();
+                esperar(liberar);
+            }
+            return numero;
+        };
+        assertThat(responder(consulta)).isEqualTo("1");
+
+        cache.invalidar();
+        for (int i = 0; i < 5; i++) {
+            assertThat(responder(consulta)).isEqualTo("1");
+        }
+        assertThat(entro.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(consultas.get()).isEqualTo(2);
+        assertThat(contador("respuestas.cache.obsoletas")).isEqualTo(5);
+
+        liberar.countDown();
+        assertThat(esperarCuerpo(consulta, "2")).isTrue();
+        assertThat(consultas.get()).isEqualTo(2);
+    }
+
+    @Test
+    void pasadoElTtlSeRecalculaEnLaPeticion() throws Exception {
+        cache = crear(new CacheRespuestas.Politica(60_000, 50));
+        Supplier<Integer> consulta = consultas::incrementAndGet;
+        assertThat(responder(consulta)).isEqualTo("1");
+
+        Thread.sleep(80);
+
+        assertThat(responder(consulta)).isEqualTo("2");
+        assertThat(contador("respuestas.cache.fallos")).isEqualTo(2);
+        assertThat(contador("respuestas.cache.obsoletas")).isZero();
+    }
+
+    @Test
+    void unCambioDuranteElRefrescoDejaObsoletoLoRefrescado() throws Exception {
+        cache = crear(new CacheRespuestas.Politica(60_000, 0));
+        CountDownLatch entro = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Supplier<Integer> consulta = () -> {
+            int numero = consultas.incrementAndGet();
+            if (numero == 2) {
+                entro.countDown();
+                esperar(liberar);
+            }
+            return numero;
+        };
+        responder(consulta);
+        cache.invalidar();
+        responder(consulta);
+        assertThat(entro.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // El refresco ya leyó el catálogo anterior a este cambio
+        cache.invalidar();
+        liberar.countDown();
+
+        // Lo refrescado se sirve, pero como obsoleto: dispara otro refresco que sí queda vigente
+        double obsoletasAntes;
+        String cuerpo;
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        do {
+            obsoletasAntes = contador("respuestas.cache.obsoletas");
+            cuerpo = responder(consulta);
+        } while (!cuerpo.equals("2") && System.nanoTime() < limite);
+        assertThat(cuerpo).isEqualTo("2");
+        assertThat(contador("respuestas.cache.obsoletas")).isEqualTo(obsoletasAntes + 1);
+        assertThat(esperarCuerpo(consulta, "3")).isTrue();
+    }
+
+    @Test
+    void sinPoliticaUnCambioDescartaLaRespuesta() throws Exception {
+        cache = crear(CacheRespuestas.Politica.SIN_OBSOLETOS);
+        Supplier<Integer> consulta = consultas::incrementAndGet;
+        responder(consulta);
+
+        cache.invalidar();
+
+        assertThat(responder(consulta)).isEqualTo("2");
+        assertThat(cache.getBytesOcupados()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', nullValues = "NULO", value = {
+            "NULO | false",
+            "gzip | true",
+            "x-gzip | true",
+            "GZIP;Q=0.5 | true",
+            "deflate, gzip;q=0.001 | true",
+            "gzip;q=0 | false",
+            "gzip;q=0.0, deflate | false",
+            "*;q=0 | false",
+            "* | true",
+            "deflate, *;q=0.1 | true",
+            "gzip;q=0, * | false",
+            "gzip;q=0, *;q=1 | false",
+            "deflate | false",
+            "gzip;q=abc | false",
+            "gzip;q= | false",
+            "identity, br | false"
+    })
+    void aceptaGzipSegunLasCalidades(String aceptadas, boolean esperado) {
+        assertThat(CacheRespuestas.aceptaGzip(aceptadas)).isEqualTo(esperado);
+    }
+
+    private CacheRespuestas crear(CacheRespuestas.Politica politica) {
+        return new CacheRespuestas(new ObjectMapper(), 1 << 20, 1 << 20, Map.of(CLAVE, politica), 1,
+                null, null, null, registry);
+    }
+
+    private String responder(Supplier<?> consulta) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/" + CLAVE);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        cache.responder(CLAVE, consulta, request, response);
+        assertThat(response.getHeader(HttpHeaders.AGE)).isNotNull();
+        return response.getContentAsString();
+    }
+
+    private boolean esperarCuerpo(Supplier<?> consulta, String esperado) throws Exception {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < limite) {
+            if (responder(consulta).equals(esperado)) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+
+    private double contador(String nombre) {
+        return registry.get(nombre).counter().count();
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.cqrs.patroncqrs.infrastructure.respuesta;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Formato binario de la instantánea: ida y vuelta, y los archivos que se tienen que rechazar.
+ */
+class InstantaneaRespuestasTests {
+
+    private static final String ETIQUETA = "1.0@2026-01-01T00:00:00Z";
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void loGuardadoSeLeeIgual() throws IOException {
+        InstantaneaRespuestas instantanea = new InstantaneaRespuestas(archivo(), ETIQUETA);
+        instantanea.guardar(List.of(
+                new InstantaneaRespuestas.Registro("productos", bytes("[{\"id\":1}]"), bytes("gzip"), 1500, 42),
+                new InstantaneaRespuestas.Registro("categorías", bytes("[]"), null, 0, 7)));
+
+        List<InstantaneaRespuestas.Registro> leidos = instantanea.leer();
+
+        assertThat(leidos).hasSize(2);
+        InstantaneaRespuestas.Registro productos = leidos.get(0);
+        assertThat(productos.clave()).isEqualTo("productos");
+        assertThat(texto(productos.json())).isEqualTo("[{\"id\":1}]");
+        assertThat(texto(productos.gzip())).isEqualTo("gzip");
+        assertThat(productos.marca()).isEqualTo(42);
+        assertThat(productos.edadMs()).isGreaterThanOrEqualTo(1500);
+        InstantaneaRespuestas.Registro categorias = leidos.get(1);
+        assertThat(categorias.clave()).isEqualTo("categorías");
+        assertThat(texto(categorias.json())).isEqualTo("[]");
+        assertThat(categorias.gzip()).isNull();
+        assertThat(categorias.marca()).isEqualTo(7);
+    }
+
+    @Test
+    void reemplazarNoDejaTemporales() throws IOException {
+        InstantaneaRespuestas instantanea = new InstantaneaRespuestas(archivo(), ETIQUETA);
+        instantanea.guardar(List.of(new InstantaneaRespuestas.Registro("a", bytes("1"), null, 0, 1)));
+        instantanea.guardar(List.of(new InstantaneaRespuestas.Registro("b", bytes("2"), null, 0, 2)));
+
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            assertThat(archivos).containsExactly(archivo());
+        }
+        assertThat(instantanea.leer()).extracting(InstantaneaRespuestas.Registro::clave).containsExactly("b");
+    }
+
+    @Test
+    void sinArchivoNoHayRegistros() throws IOException {
+        assertThat(new InstantaneaRespuestas(archivo(), ETIQUETA).leer()).isEmpty();
+    }
+
+    @Test
+    void otraBuildNoSeRestaura() throws IOException {
+        new InstantaneaRespuestas(archivo(), ETIQUETA)
+                .guardar(List.of(new InstantaneaRespuestas.Registro("productos", bytes("[]"), null, 0, 1)));
+
+        assertThat(new InstantaneaRespuestas(archivo(), "2.0@otra").leer()).isEmpty();
+    }
+
+    @Test
+    void archivoCortadoSeRechaza() throws IOException {
+        guardarUnRegistro();
+        byte[] contenido = Files.readAllBytes(archivo());
+        Files.write(archivo(), Arrays.copyOf(contenido, contenido.length / 2));
+
+        assertThatThrownBy(() -> new InstantaneaRespuestas(archivo(), ETIQUETA).leer()).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void crcInvalidoSeRechaza() throws IOException {
+        guardarUnRegistro();
+        byte[] contenido = Files.readAllBytes(archivo());
+        contenido[contenido.length - 12] ^= 1;
+        Files.write(archivo(), contenido);
+
+        assertThatThrownBy(() -> new InstantaneaRespuestas(archivo(), ETIQUETA).leer())
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("CRC");
+    }
+
+    @Test
+    void registrosIncompletosConCrcValidoSeRechazan() throws IOException {
+        guardarUnRegistro();
+        byte[] contenido = Files.readAllBytes(archivo());
+        // Se quitan bytes del último cuerpo y se recalcula el CRC: el problema lo detecta la lectura de registros
+        byte[] datos = Arrays.copyOf(contenido, contenido.length - 8 - 3);
+        CRC32 crc = new CRC32();
+        crc.update(datos);
+        Files.write(archivo(), ByteBuffer.allocate(datos.length + 8).put(datos).putLong(crc.getValue()).array());
+
+        assertThatThrownBy(() -> new InstantaneaRespuestas(archivo(), ETIQUETA).leer())
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("truncada");
+    }
+
+    @Test
+    void formatoDesconocidoSeRechaza() throws IOException {
+        Files.write(archivo(), "no es una instantánea".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> new InstantaneaRespuestas(archivo(), ETIQUETA).leer())
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Formato");
+    }
+
+    private void guardarUnRegistro() throws IOException {
+        new InstantaneaRespuestas(archivo(), ETIQUETA)
+                .guardar(List.of(new InstantaneaRespuestas.Registro("productos", bytes("[{\"id\":1}]"), null, 0, 3)));
+    }
+
+    private Path archivo() {
+        return directorio.resolve("respuestas.bin");
+    }
+
+    private static ByteBuffer bytes(String texto) {
+        return ByteBuffer.wrap(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String texto(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
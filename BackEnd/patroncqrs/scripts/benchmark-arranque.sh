@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# Compara el arranque normal contra el arranque optimizado (AOT + CDS + perfil prod).
+# Uso: benchmark-arranque.sh <jar-normal> <jar-extraido-optimizado> [--propiedad=valor ...]
+# Las propiedades extra se pasan a los dos arranques (las de -PpropiedadesAot tienen que coincidir con el build)
+# RUTA: ruta que tiene que responder para considerar terminado el arranque (por defecto /api/categorias/queries)
+# Requiere la base de datos configurada en application.properties.
+set -euo pipefail
+
+JAR_NORMAL="$1"
+JAR_RAPIDO="$2"
+shift 2
+EXTRA=("$@")
+PUERTO="${PUERTO:-8080}"
+URL="http://localhost:${PUERTO}${RUTA:-/api/categorias/queries}"
+REPETICIONES="${REPETICIONES:-3}"
+
+medir() {
+  local nombre="$1"; shift
+  local inicio fin pid rss
+
+  inicio=$(date +%s%N)
+  "$@" --server.port="${PUERTO}" > /dev/null 2>&1 &
+  pid=$!
+
+  until curl -sf -o /dev/null "${URL}"; do
+    if ! kill -0 "${pid}" 2> /dev/null; then
+      echo "${nombre}: la aplicacion termino antes de responder" >&2
+      return 1
+    fi
+    sleep 0.05
+  done
+  fin=$(date +%s%N)
+
+  rss=$(awk '/VmRSS/ {print $2}' "/proc/${pid}/status")
+  kill "${pid}"
+  wait "${pid}" 2> /dev/null || true
+
+  printf '%-10s primera respuesta: %6d ms   RSS: %6d MB\n' \
+    "${nombre}" $(((fin - inicio) / 1000000)) $((rss / 1024))
+}
+
+for i in $(seq 1 "${REPETICIONES}"); do
+  echo "--- Corrida ${i} ---"
+  medir "normal" java -jar "${JAR_NORMAL}" ${EXTRA[@]+"${EXTRA[@]}"}
+  (cd "$(dirname "${JAR_RAPIDO}")" && medir "rapido" java \
+    -XX:SharedArchiveFile=application.jsa \
+    -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=prod \
+    -jar "$(basename "${JAR_RAPIDO}")" ${EXTRA[@]+"${EXTRA[@]}"})
+done
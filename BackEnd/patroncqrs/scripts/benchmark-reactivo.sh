@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+# Compara la pila de consultas servlet (MVC + JPA) contra la reactiva (WebFlux + R2DBC, perfil reactivo).
+# Para cada pila abre clientes lentos que leen el listado de productos a pocos KB/s, y mientras tanto
+# mide el throughput de clientes normales con wrk. Informa req/s, latencia, RSS, heap e hilos vivos.
+# Uso: benchmark-reactivo.sh <jar>
+# Requiere wrk, la base de datos de application.properties y un catalogo cargado (cuantos mas productos, mejor).
+set -euo pipefail
+
+JAR="$1"
+PUERTO="${PUERTO:-8081}"
+BASE="http://localhost:${PUERTO}"
+URL="${BASE}/api/productos/queries"
+CONEXIONES="${CONEXIONES:-400}"
+HILOS_WRK="${HILOS_WRK:-4}"
+DURACION="${DURACION:-30s}"
+CLIENTES_LENTOS="${CLIENTES_LENTOS:-200}"
+VELOCIDAD_LENTA="${VELOCIDAD_LENTA:-2k}"
+
+metrica() {
+  curl -sf "${BASE}/actuator/metrics/$1${2:+?tag=$2}" \
+    | sed -n 's/.*"statistic":"VALUE","value":\([0-9.E]*\).*/\1/p'
+}
+
+medir() {
+  local nombre="$1"; shift
+  local pid lentos=() salida rss heap hilos
+
+  java -jar "${JAR}" --server.port="${PUERTO}" "$@" > /dev/null 2>&1 &
+  pid=$!
+  until curl -s -o /dev/null "${BASE}/actuator/health"; do
+    if ! kill -0 "${pid}" 2> /dev/null; then
+      echo "${nombre}: la aplicacion termino antes de responder" >&2
+      return 1
+    fi
+    sleep 0.2
+  done
+
+  # Calentamiento
+  wrk -t"${HILOS_WRK}" -c50 -d10s "${URL}" > /dev/null
+
+  for _ in $(seq 1 "${CLIENTES_LENTOS}"); do
+    curl -s -o /dev/null --limit-rate "${VELOCIDAD_LENTA}" "${URL}" &
+    lentos+=($!)
+  done
+  sleep 2
+
+  salida=$(wrk -t"${HILOS_WRK}" -c"${CONEXIONES}" -d"${DURACION}" --latency "${URL}")
+  rss=$(awk '/VmRSS/ {print $2}' "/proc/${pid}/status")
+  heap=$(metrica jvm.memory.used area:heap)
+  hilos=$(metrica jvm.threads.live)
+
+  kill "${lentos[@]}" 2> /dev/null || true
+  kill "${pid}"
+  wait "${pid}" 2> /dev/null || true
+
+  echo "--- ${nombre} ---"
+  echo "${salida}" | grep -E 'Requests/sec|Latency|99%|Non-2xx|Socket errors' || true
+  printf 'RSS: %d MB   heap usado: %.0f MB   hilos vivos: %.0f\n' \
+    $((rss / 1024)) "$(echo "${heap:-0} / 1048576" | bc -l)" "${hilos:-0}"
+}
+
+medir "servlet"
+medir "reactivo" --spring.profiles.active=reactivo
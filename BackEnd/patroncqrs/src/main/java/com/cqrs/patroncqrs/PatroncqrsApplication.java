@@ -1,13 +0,0 @@
-package com.cqrs.patroncqrs;
-
-import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
-
-@SpringBootApplication
-public class PatroncqrsApplication {
-
-    public static void main(String[] args) {
-        SpringApplication.run(PatroncqrsApplication.class, args);
-    }
-
-}
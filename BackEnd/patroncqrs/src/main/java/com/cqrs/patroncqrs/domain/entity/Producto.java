@@ -1,31 +0,0 @@
-package com.cqrs.patroncqrs.domain.entity;
-
-import jakarta.persistence.*;
-import lombok.*;
-
-@Entity
-@Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
-@Table(name = "productos")
-public class Producto {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(nullable = false)
-    private String nombre;
-    private String descripcion;
-    private Double precio;
-
-    @Column(nullable = false)
-    private Integer stock;
-
-    @Column(name = "eliminado", nullable = false)
-    private Boolean eliminado = false;
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "categoria_id")
-    private Categoria categoria;
-}
@@ -14,7 +14,9 @@ import {
 import styled from 'styled-components';
 import { type CategoriaDTO } from '../../types/CategoriaDTO';
 import CategoriaQueryService from '../../services/categoriaQueryService';
+import CatalogoQueryService from '../../services/catalogoQueryService';
 import { eliminarCategoria, restaurarCategoria } from '../../services/categoriaCommandService';
+import { suscribirCambios } from '../../services/cambiosService';
 
 // Styled Components
 const StyledContainer = styled(Container)`
@@ -72,12 +74,19 @@ const CategoriaListar: React.FC<CategoriaListarProps> = ({
       
       if (mostrarEliminadas) {
         data = await CategoriaQueryService.obtenerEliminadas();
-      } else if (vistaEstadisticas) {
-        data = await CategoriaQueryService.obtenerConEstadisticas();
-        data = data.filter(c => !c.eliminado);
       } else {
-        data = await CategoriaQueryService.obtenerConEstado();
-        data = data.filter(c => !c.eliminado);
+        // Una sola consulta trae las categorías activas con su cantidad de productos
+        // para las dos vistas (normal y con estadísticas)
+        const catalogo = await CatalogoQueryService.obtenerSoloCategorias();
+        data = catalogo.categorias.map(c => ({
+          id: c.id,
+          nombre: c.nombre,
+          descripcion: c.descripcion,
+          eliminado: false,
+          secuenciaCambio: c.secuenciaCambio,
+          cantidadProductos: c.cantidadProductos,
+          estado: 'ACTIVA'
+        }));
       }
       
       setCategorias(data);
@@ -91,7 +100,34 @@ const CategoriaListar: React.FC<CategoriaListarProps> = ({
 
   useEffect(() => {
     cargarCategorias();
-  }, [mostrarEliminadas, vistaEstadisticas, refreshTrigger]);
+  }, [mostrarEliminadas, refreshTrigger]);
+
+  // Aplicar en el lugar los cambios publicados por el servidor
+  useEffect(() => {
+    return suscribirCambios({
+      onCambio: (cambio) => {
+        if (cambio.entidad !== 'CATEGORIA') {
+          return;
+        }
+        const categoria = cambio.datos;
+        setCategorias(prev => {
+          if (!categoria || categoria.eliminado !== mostrarEliminadas) {
+            return prev.filter(c => c.id !== cambio.id);
+          }
+          const actual = prev.find(c => c.id === cambio.id);
+          // El cambio no trae el conteo de productos: se conserva el que ya se mostraba
+          const actualizada = {
+            ...categoria,
+            cantidadProductos: actual?.cantidadProductos ?? categoria.cantidadProductos ?? 0
+          };
+          return actual
+            ? prev.map(c => (c.id === cambio.id ? actualizada : c))
+            : [...prev, actualizada];
+        });
+      },
+      onRecargar: cargarCategorias
+    });
+  }, [mostrarEliminadas]);
 
   const handleEliminar = async (id: number, nombre: string, cantidadProductos: number) => {
     if (cantidadProductos > 0) {
@@ -106,7 +142,6 @@ const CategoriaListar: React.FC<CategoriaListarProps> = ({
     setProcesando(id);
     try {
       await eliminarCategoria(id);
-      await cargarCategorias();
     } catch (err) {
       setError('Error al eliminar la categoría');
       console.error('Error:', err);
@@ -123,7 +158,6 @@ const CategoriaListar: React.FC<CategoriaListarProps> = ({
     setProcesando(id);
     try {
       await restaurarCategoria(id);
-      await cargarCategorias();
     } catch (err) {
       setError('Error al restaurar la categoría');
       console.error('Error:', err);
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { 
   Container, 
   Row, 
@@ -15,6 +15,7 @@ import styled from 'styled-components';
 import { type ProductoDTO } from '../../types/ProductoDTO';
 import ProductoQueryService from '../../services/productoQueryService';
 import { eliminarProducto, restaurarProducto } from '../../services/productoCommandService';
+import { suscribirCambios } from '../../services/cambiosService';
 
 // Styled Components
 const StyledContainer = styled(Container)`
@@ -65,12 +66,15 @@ interface ProductoListarProps {
   onEdit: (producto: ProductoDTO) => void;
   onCrear: () => void;
   refreshTrigger?: number;
+  // Productos activos ya cargados por la página (se usan en lugar de la primera consulta)
+  productosIniciales?: ProductoDTO[];
 }
 
 const ProductoListar: React.FC<ProductoListarProps> = ({
   onEdit,
   onCrear,
-  refreshTrigger
+  refreshTrigger,
+  productosIniciales
 }) => {
   const [productos, setProductos] = useState<ProductoDTO[]>([]);
   const [loading, setLoading] = useState(true);
@@ -78,6 +82,8 @@ const ProductoListar: React.FC<ProductoListarProps> = ({
   const [mostrarEliminados, setMostrarEliminados] = useState(false);
   const [filtro, setFiltro] = useState('');
   const [procesando, setProcesando] = useState<number | null>(null);
+  // Los productos de la página solo sirven para la primera carga; después se consulta siempre
+  const usarIniciales = useRef(productosIniciales !== undefined);
 
   const cargarProductos = async () => {
     setLoading(true);
@@ -103,9 +109,40 @@ const ProductoListar: React.FC<ProductoListarProps> = ({
   };
 
   useEffect(() => {
+    if (usarIniciales.current && productosIniciales && !mostrarEliminados) {
+      usarIniciales.current = false;
+      setProductos(productosIniciales);
+      setLoading(false);
+      return;
+    }
     cargarProductos();
   }, [mostrarEliminados, refreshTrigger]);
 
+  // Aplicar en el lugar los cambios publicados por el servidor
+  useEffect(() => {
+    return suscribirCambios({
+      onCambio: (cambio) => {
+        if (cambio.entidad === 'PRODUCTO') {
+          const producto = cambio.datos;
+          setProductos(prev => {
+            if (!producto || producto.eliminado !== mostrarEliminados) {
+              return prev.filter(p => p.id !== cambio.id);
+            }
+            return prev.some(p => p.id === cambio.id)
+              ? prev.map(p => (p.id === cambio.id ? producto : p))
+              : [...prev, producto];
+          });
+        } else if (cambio.datos) {
+          const categoria = cambio.datos;
+          setProductos(prev => prev.map(p =>
+            p.categoriaId === categoria.id ? { ...p, categoriaNombre: categoria.nombre } : p
+          ));
+        }
+      },
+      onRecargar: cargarProductos
+    });
+  }, [mostrarEliminados]);
+
   const handleEliminar = async (id: number) => {
     if (!window.confirm('¿Está seguro de que desea eliminar este producto?')) {
       return;
@@ -114,7 +151,6 @@ const ProductoListar: React.FC<ProductoListarProps> = ({
     setProcesando(id);
     try {
       await eliminarProducto(id);
-      await cargarProductos();
     } catch (err) {
       setError('Error al eliminar el producto');
       console.error('Error:', err);
@@ -131,7 +167,6 @@ const ProductoListar: React.FC<ProductoListarProps> = ({
     setProcesando(id);
     try {
       await restaurarProducto(id);
-      await cargarProductos();
     } catch (err) {
       setError('Error al restaurar el producto');
       console.error('Error:', err);
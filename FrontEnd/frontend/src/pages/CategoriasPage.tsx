@@ -37,7 +37,6 @@ type Vista = 'lista' | 'crear' | 'editar';
 const CategoriaPage: React.FC = () => {
   const [vista, setVista] = useState<Vista>('lista');
   const [categoriaEditando, setCategoriaEditando] = useState<CategoriaDTO | null>(null);
-  const [refreshTrigger, setRefreshTrigger] = useState(0);
   const [notification, setNotification] = useState<{
     message: string;
     type: 'success' | 'danger';
@@ -70,7 +69,6 @@ const CategoriaPage: React.FC = () => {
         message: `Categoría ${action} exitosamente`,
         type: 'success'
       });
-      setRefreshTrigger(prev => prev + 1);
       setVista('lista');
       setCategoriaEditando(null);
     } else {
@@ -133,7 +131,6 @@ const CategoriaPage: React.FC = () => {
               <CategoriaListar
                 onEdit={handleEditar}
                 onCrear={handleCrear}
-                refreshTrigger={refreshTrigger}
               />
             )}
 
@@ -1,10 +1,10 @@
 import React, { useState, useEffect } from 'react';
-import { Container, Alert, Breadcrumb, Row, Col } from 'react-bootstrap';
+import { Container, Alert, Breadcrumb, Row, Col, Spinner } from 'react-bootstrap';
 import styled from 'styled-components';
 import ProductoForm from '../components/productos/ProductoForm';
 import ProductoListar from '../components/productos/ProductoListar';
 import { type ProductoDTO } from '../types/ProductoDTO';
-import CategoriaQueryService from '../services/categoriaQueryService';
+import CatalogoQueryService, { MAXIMO_PRODUCTOS_POR_CATEGORIA } from '../services/catalogoQueryService';
 
 // Interfaz para las categorías
 interface Categoria {
@@ -44,34 +44,39 @@ type Vista = 'lista' | 'crear' | 'editar';
 const ProductoPage: React.FC = () => {
   const [vista, setVista] = useState<Vista>('lista');
   const [productoEditando, setProductoEditando] = useState<ProductoDTO | null>(null);
-  const [refreshTrigger, setRefreshTrigger] = useState(0);
   const [categorias, setCategorias] = useState<Categoria[]>([]);
+  const [cargandoCatalogo, setCargandoCatalogo] = useState(true);
+  const [productosIniciales, setProductosIniciales] = useState<ProductoDTO[] | undefined>(undefined);
   const [notification, setNotification] = useState<{
     message: string;
     type: 'success' | 'danger';
   } | null>(null);
 
-  // Cargar categorías desde la API
+  // Cargar categorías y productos activos en una sola consulta (misma foto del catálogo)
   useEffect(() => {
-    const cargarCategorias = async () => {
+    const cargarCatalogo = async () => {
       try {
-        const data = await CategoriaQueryService.obtenerTodas();
-        // Filtrar solo categorías activas (no eliminadas)
-        const categoriasActivas = data.filter(c => !c.eliminado).map(c => ({
+        const catalogo = await CatalogoQueryService.obtener(MAXIMO_PRODUCTOS_POR_CATEGORIA);
+        setCategorias(catalogo.categorias.map(c => ({
           id: c.id,
           nombre: c.nombre
-        }));
-        setCategorias(categoriasActivas);
+        })));
+        // Si alguna categoría no entró completa, la lista carga los productos por su cuenta
+        if (!catalogo.categorias.some(c => c.hayMasProductos)) {
+          setProductosIniciales(catalogo.categorias.flatMap(c => c.productos));
+        }
       } catch (error) {
         console.error('Error cargando categorías:', error);
         setNotification({
           message: 'Error al cargar las categorías',
           type: 'danger'
         });
+      } finally {
+        setCargandoCatalogo(false);
       }
     };
 
-    cargarCategorias();
+    cargarCatalogo();
   }, []);
 
   // Auto-ocultar notificaciones
@@ -85,11 +90,14 @@ const ProductoPage: React.FC = () => {
   }, [notification]);
 
   const handleCrear = () => {
+    // Al volver a la lista, los productos se consultan de nuevo
+    setProductosIniciales(undefined);
     setProductoEditando(null);
     setVista('crear');
   };
 
   const handleEditar = (producto: ProductoDTO) => {
+    setProductosIniciales(undefined);
     setProductoEditando(producto);
     setVista('editar');
   };
@@ -101,7 +109,6 @@ const ProductoPage: React.FC = () => {
         message: `Producto ${action} exitosamente`,
         type: 'success'
       });
-      setRefreshTrigger(prev => prev + 1);
       setVista('lista');
       setProductoEditando(null);
     } else {
@@ -160,11 +167,17 @@ const ProductoPage: React.FC = () => {
           <Col>
             {renderBreadcrumb()}
             
-            {vista === 'lista' && (
+            {vista === 'lista' && cargandoCatalogo && (
+              <div className="text-center py-5">
+                <Spinner animation="border" />
+              </div>
+            )}
+
+            {vista === 'lista' && !cargandoCatalogo && (
               <ProductoListar
                 onEdit={handleEditar}
                 onCrear={handleCrear}
-                refreshTrigger={refreshTrigger}
+                productosIniciales={productosIniciales}
               />
             )}
 
@@ -0,0 +1,41 @@
+import { type CambioCatalogo } from '../types/CambioCatalogo';
+
+const API_URL = 'http://localhost:8081/api/cambios';
+
+export interface OyenteCambios {
+  onCambio: (cambio: CambioCatalogo) => void;
+  onRecargar: () => void;
+}
+
+// Una única conexión compartida por todas las listas abiertas.
+// EventSource se reconecta solo y envía Last-Event-ID para no perder cambios.
+let fuente: EventSource | null = null;
+const oyentes = new Set<OyenteCambios>();
+
+const conectar = () => {
+  fuente = new EventSource(`${API_URL}/stream`);
+
+  fuente.addEventListener('cambio', (event) => {
+    const cambio: CambioCatalogo = JSON.parse((event as MessageEvent).data);
+    oyentes.forEach(oyente => oyente.onCambio(cambio));
+  });
+
+  fuente.addEventListener('recargar', () => {
+    oyentes.forEach(oyente => oyente.onRecargar());
+  });
+};
+
+export const suscribirCambios = (oyente: OyenteCambios): (() => void) => {
+  oyentes.add(oyente);
+  if (!fuente) {
+    conectar();
+  }
+
+  return () => {
+    oyentes.delete(oyente);
+    if (oyentes.size === 0 && fuente) {
+      fuente.close();
+      fuente = null;
+    }
+  };
+};
@@ -0,0 +1,17 @@
+import axios from 'axios';
+import { type CatalogoDTO } from '../types/CatalogoDTO';
+
+const API_URL = 'http://localhost:8081/api/catalogo/queries';
+
+// Máximo de productos por categoría que acepta el servidor en una página
+export const MAXIMO_PRODUCTOS_POR_CATEGORIA = 1000;
+
+const CatalogoQueryService = {
+  obtener: (productosPorCategoria = 20, paginaProductos = 0): Promise<CatalogoDTO> =>
+    axios.get(API_URL, { params: { productosPorCategoria, paginaProductos } }).then(res => res.data),
+
+  obtenerSoloCategorias: (): Promise<CatalogoDTO> =>
+    axios.get(API_URL, { params: { productosPorCategoria: 0 } }).then(res => res.data),
+};
+
+export default CatalogoQueryService;
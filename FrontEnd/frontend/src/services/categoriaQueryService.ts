@@ -1,7 +1,7 @@
 import axios from 'axios';
 import { type CategoriaDTO } from '../types/CategoriaDTO';
 
-const API_URL = 'http://localhost:8080/api/categorias/queries';
+const API_URL = 'http://localhost:8081/api/categorias/queries';
 
 const CategoriaQueryService = {
   obtenerTodas: (): Promise<CategoriaDTO[]> =>
@@ -1,7 +1,7 @@
 import axios from 'axios';
 import { type ProductoDTO } from '../types/ProductoDTO';
 
-const API_URL = 'http://localhost:8080/api/productos/queries';
+const API_URL = 'http://localhost:8081/api/productos/queries';
 
 const ProductoQueryService = {
   obtenerTodos: (): Promise<ProductoDTO[]> =>
@@ -0,0 +1,20 @@
+import { type ProductoDTO } from './ProductoDTO';
+import { type CategoriaDTO } from './CategoriaDTO';
+
+export type OperacionCambio = 'UPSERT' | 'ELIMINACION';
+
+export type CambioCatalogo =
+  | {
+      secuencia: number;
+      entidad: 'PRODUCTO';
+      operacion: OperacionCambio;
+      id: number;
+      datos: ProductoDTO | null;
+    }
+  | {
+      secuencia: number;
+      entidad: 'CATEGORIA';
+      operacion: OperacionCambio;
+      id: number;
+      datos: CategoriaDTO | null;
+    };
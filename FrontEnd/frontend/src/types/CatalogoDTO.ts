@@ -0,0 +1,16 @@
+import { type ProductoDTO } from './ProductoDTO';
+
+export interface CategoriaCatalogoDTO {
+  id: number;
+  nombre: string;
+  descripcion: string;
+  secuenciaCambio: number;
+  cantidadProductos: number;
+  productos: ProductoDTO[];
+  hayMasProductos: boolean;
+}
+
+export interface CatalogoDTO {
+  categorias: CategoriaCatalogoDTO[];
+  secuenciaCambio: number;
+}
@@ -3,6 +3,7 @@ export interface CategoriaDTO {
   nombre: string;
   descripcion: string;
   eliminado: boolean;
+  secuenciaCambio?: number;
   cantidadProductos: number;
 
   estado: string;
@@ -7,6 +7,7 @@ export interface ProductoDTO {
   categoriaNombre: string;
   categoriaId: number;
   eliminado: boolean;
+  secuenciaCambio?: number;
 
   stockStatus: string;
   precioFormateado: string;